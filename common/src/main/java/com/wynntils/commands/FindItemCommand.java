@@ -0,0 +1,82 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.commands;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.wynntils.core.components.Services;
+import com.wynntils.core.consumers.commands.Command;
+import com.wynntils.services.itemfilter.type.ItemProviderType;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemindex.type.ItemIndexSource;
+import com.wynntils.services.itemindex.type.ItemLocation;
+import com.wynntils.utils.EnumUtils;
+import java.util.List;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+
+public class FindItemCommand extends Command {
+    private static final int MAX_LISTED_LOCATIONS = 20;
+
+    @Override
+    public String getCommandName() {
+        return "finditem";
+    }
+
+    @Override
+    public LiteralArgumentBuilder<CommandSourceStack> getCommandBuilder(
+            LiteralArgumentBuilder<CommandSourceStack> base, CommandBuildContext context) {
+        return base.then(Commands.argument("query", StringArgumentType.greedyString())
+                .executes(this::findItem));
+    }
+
+    private int findItem(CommandContext<CommandSourceStack> context) {
+        String queryString = context.getArgument("query", String.class);
+        ItemSearchQuery searchQuery =
+                Services.ItemFilter.createSearchQuery(queryString, false, List.of(ItemProviderType.values()));
+
+        if (!searchQuery.errors().isEmpty()) {
+            context.getSource()
+                    .sendFailure(Component.literal(String.join("\n", searchQuery.errors()))
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        List<ItemLocation> locations = Services.ItemIndex.find(searchQuery);
+        if (locations.isEmpty()) {
+            context.getSource()
+                    .sendFailure(Component.literal("No matching item was seen yet, open your storage to index it")
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        MutableComponent response = Component.literal("Found " + locations.size() + " items:")
+                .withStyle(ChatFormatting.GOLD);
+        for (ItemLocation location : locations.subList(0, Math.min(locations.size(), MAX_LISTED_LOCATIONS))) {
+            response.append(Component.literal("\n" + location.name()).withStyle(ChatFormatting.WHITE))
+                    .append(Component.literal(" in ").withStyle(ChatFormatting.GRAY))
+                    .append(Component.literal(getLocationString(location)).withStyle(ChatFormatting.WHITE));
+        }
+        if (locations.size() > MAX_LISTED_LOCATIONS) {
+            response.append(Component.literal("\n...and " + (locations.size() - MAX_LISTED_LOCATIONS) + " more")
+                    .withStyle(ChatFormatting.GRAY));
+        }
+
+        context.getSource().sendSuccess(() -> response, false);
+        return 1;
+    }
+
+    private static String getLocationString(ItemLocation location) {
+        String source = EnumUtils.toNiceString(location.source());
+        if (location.source() == ItemIndexSource.SAVED_ITEMS) return source;
+
+        return source + ", page " + location.page();
+    }
+}
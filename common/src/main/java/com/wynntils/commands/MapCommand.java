@@ -139,7 +139,7 @@ public class MapCommand extends Command {
             return 0;
         }
 
-        poiProvider.get().setEnabled(!poiProvider.get().isEnabled());
+        Services.Poi.setCustomPoiProviderEnabled(poiProvider.get(), !poiProvider.get().isEnabled());
 
         context.getSource()
                 .sendSuccess(
@@ -11,6 +11,8 @@ import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.concurrent.type.LaneStatistics;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.consumers.commands.Command;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
@@ -73,6 +75,9 @@ public class WynntilsCommand extends Command {
                         .then(Commands.literal("run").executes(this::doClearCaches))
                         .executes(this::clearCaches))
                 .then(Commands.literal("debug")
+                        .then(Commands.literal("cosmetics").executes(this::debugCosmetics))
+                        .then(Commands.literal("decorations").executes(this::debugDecorations))
+                        .then(Commands.literal("executors").executes(this::debugExecutors))
                         .then(Commands.literal("profile")
                                 .then(Commands.literal("reset").executes(this::profileReset))
                                 .then(Commands.literal("showAnnotations").executes(this::profileShowAnnotations))
@@ -92,9 +97,60 @@ public class WynntilsCommand extends Command {
                 .executes(this::help);
     }
 
+    private int debugCosmetics(CommandContext<CommandSourceStack> context) {
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.cosmetics",
+                                        Services.Cosmetics.getLoadedTextureCount(),
+                                        Services.Cosmetics.getTexturedUserCount(),
+                                        Services.Cosmetics.getTextureMemoryBytes() / 1024,
+                                        Services.Cosmetics.getPendingDecodeCount())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int debugDecorations(CommandContext<CommandSourceStack> context) {
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.decorations",
+                                        Services.SlotDecoration.getRecomputesPerSecond(),
+                                        Services.SlotDecoration.getRecomputes(),
+                                        Services.SlotDecoration.getLookups())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int debugExecutors(CommandContext<CommandSourceStack> context) {
+        for (LaneStatistics statistics : Managers.Executor.getStatistics()) {
+            context.getSource()
+                    .sendSuccess(
+                            () -> Component.translatable(
+                                            "command.wynntils.debug.executors",
+                                            statistics.lane().getName(),
+                                            statistics.queued(),
+                                            statistics.running(),
+                                            statistics.completed(),
+                                            statistics.rejected(),
+                                            String.format("%.2f", statistics.averageWaitMillis()),
+                                            String.format("%.2f", statistics.maxWaitMillis()),
+                                            String.format("%.2f", statistics.averageRunMillis()))
+                                    .withStyle(ChatFormatting.AQUA),
+                            false);
+        }
+
+        return 1;
+    }
+
     private int profileReset(CommandContext<CommandSourceStack> context) {
         Handlers.Item.resetProfiling();
         Managers.Overlay.resetProfiling();
+        Services.SlotDecoration.resetCounters();
         context.getSource()
                 .sendSuccess(
                         () -> Component.translatable("command.wynntils.debug.profile.cleared")
@@ -110,6 +166,19 @@ public class WynntilsCommand extends Command {
 
         showProfilingData(context, profilingTimes, profilingCounts);
 
+        long skippedSlots = Handlers.Item.getSkippedSlots();
+        long comparedSlots = Handlers.Item.getComparedSlots();
+        long annotatedItems = Handlers.Item.getAnnotatedItems();
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.slots",
+                                        skippedSlots,
+                                        comparedSlots,
+                                        annotatedItems)
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
         return 1;
     }
 
@@ -361,7 +430,7 @@ public class WynntilsCommand extends Command {
             return 0;
         }
 
-        CompletableFuture.runAsync(() -> {
+        Managers.Executor.execute(TaskLane.IO, () -> {
             WynntilsMod.info("Attempting to fetch Wynntils update.");
             CompletableFuture<UpdateService.UpdateResult> completableFuture = Services.Update.tryUpdate();
 
@@ -384,6 +453,8 @@ public class WynntilsCommand extends Command {
     }
 
     private int rescan(CommandContext<CommandSourceStack> context) {
+        // A manual rescan should never be answered from the content book cache
+        Models.Activity.invalidateContentBookCache();
         Models.Character.scanCharacterInfo(true);
         return 1;
     }
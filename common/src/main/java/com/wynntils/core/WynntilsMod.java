@@ -15,9 +15,11 @@ import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.events.EventBusWrapper;
 import com.wynntils.core.mod.event.WynntilsCrashEvent;
 import com.wynntils.core.mod.type.CrashType;
+import com.wynntils.utils.ReflectionUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.io.File;
 import java.io.InputStream;
@@ -32,7 +34,6 @@ import net.minecraft.SharedConstants;
 import net.neoforged.bus.api.Event;
 import net.neoforged.bus.api.ICancellableEvent;
 import net.neoforged.bus.api.IEventBus;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -194,6 +195,8 @@ public final class WynntilsMod {
 
         WynntilsMod.eventBus = EventBusWrapper.createEventBus();
 
+        long startTime = System.nanoTime();
+
         registerComponents(Managers.class, Manager.class);
         registerComponents(Handlers.class, Handler.class);
         registerComponents(Models.class, Model.class);
@@ -208,6 +211,8 @@ public final class WynntilsMod {
         // Start loading all URLs, now that DownloadManager initialized
         Managers.Url.loadUrls();
 
+        LOGGER.info("Wynntils: Core components initialized in {} ms", (System.nanoTime() - startTime) / 1_000_000);
+
         addCrashCallbacks();
     }
 
@@ -215,7 +220,7 @@ public final class WynntilsMod {
         // Register all handler singletons as event listeners
         List<CoreComponent> components = componentMap.computeIfAbsent(componentClass, k -> new ArrayList<>());
 
-        FieldUtils.getAllFieldsList(registryClass).stream()
+        ReflectionUtils.getAllFields(registryClass).stream()
                 .filter(field -> componentClass.isAssignableFrom(field.getType()))
                 .forEach(field -> {
                     try {
@@ -240,6 +245,8 @@ public final class WynntilsMod {
     }
 
     private static void initFeatures() {
+        long startTime = System.nanoTime();
+
         // Init all features and functions. Now resources (i.e I18n) are available.
         Managers.Feature.init();
         Managers.Function.init();
@@ -251,10 +258,14 @@ public final class WynntilsMod {
         // Init services that depends on I18n
         Services.Statistics.init();
 
+        Runtime runtime = Runtime.getRuntime();
         LOGGER.info(
-                "Wynntils: {} features and {} functions are now loaded and ready",
+                "Wynntils: {} features ({} enabled) and {} functions are now ready in {} ms, heap used {} MB",
                 Managers.Feature.getFeatures().size(),
-                Managers.Function.getFunctions().size());
+                Managers.Feature.getFeatures().stream().filter(Feature::isEnabled).count(),
+                Managers.Function.getFunctions().size(),
+                (System.nanoTime() - startTime) / 1_000_000,
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
     }
 
     private static void addCrashCallbacks() {
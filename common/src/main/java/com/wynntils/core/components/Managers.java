@@ -4,6 +4,7 @@
  */
 package com.wynntils.core.components;
 
+import com.wynntils.core.concurrent.ExecutorManager;
 import com.wynntils.core.consumers.commands.ClientCommandManager;
 import com.wynntils.core.consumers.features.FeatureManager;
 import com.wynntils.core.consumers.functions.FunctionManager;
@@ -28,6 +29,9 @@ public final class Managers {
     // Start with SystemPropertiesManager so it can bootstrap before other Managers access properties
     public static final SystemPropertiesManager SystemProperties = new SystemPropertiesManager();
 
+    // Then, ExecutorManager, as all other components run their background work on it
+    public static final ExecutorManager Executor = new ExecutorManager();
+
     // Then, load UrlManager to give it chance to update URLs in background
     public static final NetManager Net = new NetManager();
     public static final UrlManager Url = new UrlManager(Net);
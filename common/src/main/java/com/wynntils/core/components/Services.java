@@ -13,6 +13,7 @@ import com.wynntils.services.discord.DiscordService;
 import com.wynntils.services.favorites.FavoritesService;
 import com.wynntils.services.hades.HadesService;
 import com.wynntils.services.itemfilter.ItemFilterService;
+import com.wynntils.services.itemindex.ItemIndexService;
 import com.wynntils.services.itemrecord.ItemRecordService;
 import com.wynntils.services.leaderboard.LeaderboardService;
 import com.wynntils.services.lootrunpaths.LootrunPathsService;
@@ -21,6 +22,7 @@ import com.wynntils.services.map.PoiService;
 import com.wynntils.services.mapdata.MapDataService;
 import com.wynntils.services.ping.PingService;
 import com.wynntils.services.resourcepack.ResourcePackService;
+import com.wynntils.services.slotdecoration.SlotDecorationService;
 import com.wynntils.services.splashes.SplashService;
 import com.wynntils.services.statistics.StatisticsService;
 import com.wynntils.services.stopwatch.StopwatchService;
@@ -34,6 +36,7 @@ public final class Services {
     public static final FavoritesService Favorites = new FavoritesService();
     public static final HadesService Hades = new HadesService();
     public static final ItemFilterService ItemFilter = new ItemFilterService();
+    public static final ItemIndexService ItemIndex = new ItemIndexService();
     public static final ItemRecordService ItemRecord = new ItemRecordService();
     public static final LeaderboardService Leaderboard = new LeaderboardService();
     public static final LootrunPathsService LootrunPaths = new LootrunPathsService();
@@ -42,6 +45,7 @@ public final class Services {
     public static final PingService Ping = new PingService();
     public static final PoiService Poi = new PoiService();
     public static final ResourcePackService ResourcePack = new ResourcePackService();
+    public static final SlotDecorationService SlotDecoration = new SlotDecorationService();
     public static final SplashService Splash = new SplashService();
     public static final StatisticsService Statistics = new StatisticsService();
     public static final StopwatchService Stopwatch = new StopwatchService();
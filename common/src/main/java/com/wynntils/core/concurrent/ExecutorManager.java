@@ -0,0 +1,189 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Manager;
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.concurrent.type.LaneStatistics;
+import com.wynntils.core.concurrent.type.TaskLane;
+import com.wynntils.core.properties.Property;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs all background work of the mod. Instead of creating their own executors, components run their tasks
+ * on one of the {@link TaskLane}s of this manager, which keeps track of the work done on them.
+ * <p>All threads of this manager are daemon threads, and the lanes are shut down when the game is closed.
+ * Tasks that have to touch the game should be handed back with {@link #runOnMainThread(Runnable)}.</p>
+ */
+public final class ExecutorManager extends Manager {
+    private static final int CPU_QUEUE_CAPACITY = 4096;
+    private static final long CPU_THREAD_KEEP_ALIVE_SECONDS = 30;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 3000;
+
+    // Background calculations should never compete with the game for all cores
+    private final Property<Integer> cpuThreads = createProperty(
+            Integer.class,
+            "cpu.threads",
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final Map<TaskLane, LaneExecutor> lanes = new EnumMap<>(TaskLane.class);
+
+    public ExecutorManager() {
+        super(List.of());
+
+        timer = new ScheduledThreadPoolExecutor(1, createThreadFactory("wynntils-timer-%d"));
+        // Cancelled tasks should not stay in the queue until their delay has passed
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        int threads = Math.max(1, cpuThreads.get());
+        ThreadPoolExecutor cpuExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                CPU_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(CPU_QUEUE_CAPACITY),
+                createThreadFactory("wynntils-cpu-%d"));
+        cpuExecutor.allowCoreThreadTimeOut(true);
+
+        lanes.put(
+                TaskLane.IO,
+                new LaneExecutor(
+                        TaskLane.IO,
+                        Executors.newThreadPerTaskExecutor(
+                                Thread.ofVirtual().name("wynntils-io-", 0).factory())));
+        lanes.put(TaskLane.CPU, new LaneExecutor(TaskLane.CPU, cpuExecutor));
+        lanes.put(TaskLane.TIMER, new LaneExecutor(TaskLane.TIMER, timer));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    }
+
+    public Executor getExecutor(TaskLane lane) {
+        return lanes.get(lane);
+    }
+
+    public Executor getMainThreadExecutor() {
+        return this::runOnMainThread;
+    }
+
+    public void execute(TaskLane lane, Runnable task) {
+        lanes.get(lane).execute(task);
+    }
+
+    public Future<?> submit(TaskLane lane, Runnable task) {
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        execute(lane, future);
+        return future;
+    }
+
+    /**
+     * Returns an executor that runs its tasks on the given lane one at a time, in the order they were submitted.
+     */
+    public Executor createSerialExecutor(TaskLane lane) {
+        return new SerialExecutor(getExecutor(lane));
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(TaskLane lane, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, getExecutor(lane));
+    }
+
+    /**
+     * Runs the task on the given lane once the delay has passed. Cancelling the returned future only
+     * prevents the task from being started, it does not interrupt it.
+     */
+    public ScheduledFuture<?> schedule(TaskLane lane, Runnable task, long delay, TimeUnit unit) {
+        try {
+            return timer.schedule(() -> execute(lane, task), delay, unit);
+        } catch (RejectedExecutionException e) {
+            lanes.get(lane).onRejected(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the task on the given lane repeatedly, until the returned future is cancelled. If a run takes longer
+     * than the delay, the run that was due while it was still running is skipped.
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(
+            TaskLane lane, Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        AtomicBoolean running = new AtomicBoolean(false);
+        Runnable guardedTask = () -> {
+            try {
+                task.run();
+            } finally {
+                running.set(false);
+            }
+        };
+
+        try {
+            return timer.scheduleWithFixedDelay(
+                    () -> {
+                        if (!running.compareAndSet(false, true)) return;
+
+                        try {
+                            execute(lane, guardedTask);
+                        } catch (RejectedExecutionException e) {
+                            // The task never started, so the next run must not be skipped. The exception is not
+                            // rethrown, as that would cancel all later runs.
+                            running.set(false);
+                        }
+                    },
+                    initialDelay,
+                    delay,
+                    unit);
+        } catch (RejectedExecutionException e) {
+            lanes.get(lane).onRejected(e);
+            throw e;
+        }
+    }
+
+    public void runOnMainThread(Runnable task) {
+        Managers.TickScheduler.scheduleNextTick(task);
+    }
+
+    public List<LaneStatistics> getStatistics() {
+        return lanes.values().stream().map(LaneExecutor::getStatistics).toList();
+    }
+
+    private void shutdown() {
+        // The timer goes first, so it can't hand new tasks to the other lanes
+        lanes.get(TaskLane.TIMER).shutdown();
+        lanes.values().forEach(LaneExecutor::shutdown);
+
+        // Give tasks that are already queued, like saving files, a chance to finish
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        lanes.forEach((lane, executor) -> {
+            long timeout = Math.max(0, deadline - System.currentTimeMillis());
+            if (executor.awaitTermination(timeout)) return;
+
+            List<Runnable> droppedTasks = executor.shutdownNow();
+            WynntilsMod.warn("The " + lane.getName() + " lane did not finish in time, dropped " + droppedTasks.size()
+                    + " queued tasks");
+        });
+    }
+
+    private static ThreadFactory createThreadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build();
+    }
+}
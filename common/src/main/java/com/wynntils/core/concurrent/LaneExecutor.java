@@ -0,0 +1,107 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.concurrent;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.concurrent.type.LaneStatistics;
+import com.wynntils.core.concurrent.type.TaskLane;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the tasks of a {@link TaskLane} on its executor service, and keeps track of how long they wait and run.
+ */
+final class LaneExecutor implements Executor {
+    private final TaskLane lane;
+    private final ExecutorService executorService;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalRunNanos = new LongAdder();
+
+    LaneExecutor(TaskLane lane, ExecutorService executorService) {
+        this.lane = lane;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submitTime = System.nanoTime();
+        submitted.increment();
+
+        try {
+            executorService.execute(() -> run(task, submitTime));
+        } catch (RejectedExecutionException e) {
+            submitted.decrement();
+            onRejected(e);
+            throw e;
+        }
+    }
+
+    void onRejected(RejectedExecutionException e) {
+        rejected.increment();
+        WynntilsMod.warn("Rejected a task on the " + lane.getName() + " lane: " + e.getMessage());
+    }
+
+    LaneStatistics getStatistics() {
+        // Read in reverse order of updates, so a task being started can't be counted twice
+        long completedCount = completed.sum();
+        long startedCount = started.sum();
+        long submittedCount = submitted.sum();
+
+        return new LaneStatistics(
+                lane,
+                (int) Math.max(0, submittedCount - startedCount),
+                (int) Math.max(0, startedCount - completedCount),
+                completedCount,
+                rejected.sum(),
+                startedCount == 0 ? 0 : totalWaitNanos.sum() / 1_000_000d / startedCount,
+                maxWaitNanos.get() / 1_000_000d,
+                completedCount == 0 ? 0 : totalRunNanos.sum() / 1_000_000d / completedCount);
+    }
+
+    void shutdown() {
+        executorService.shutdown();
+    }
+
+    boolean awaitTermination(long timeoutMillis) {
+        try {
+            return executorService.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    List<Runnable> shutdownNow() {
+        return executorService.shutdownNow();
+    }
+
+    private void run(Runnable task, long submitTime) {
+        long startTime = System.nanoTime();
+        started.increment();
+        totalWaitNanos.add(startTime - submitTime);
+        maxWaitNanos.accumulate(startTime - submitTime);
+
+        try {
+            task.run();
+        } catch (Throwable t) {
+            // Do not let the exception end the thread, most tasks are run without anyone waiting for them
+            WynntilsMod.error("Uncaught exception in a task on the " + lane.getName() + " lane", t);
+        } finally {
+            totalRunNanos.add(System.nanoTime() - startTime);
+            completed.increment();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs its tasks on another executor, one at a time and in the order they were submitted.
+ */
+final class SerialExecutor implements Executor {
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private Runnable active = null;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void execute(Runnable task) {
+        tasks.add(() -> {
+            try {
+                task.run();
+            } finally {
+                runNext();
+            }
+        });
+
+        if (active == null) {
+            scheduleNext();
+        }
+    }
+
+    private void runNext() {
+        try {
+            scheduleNext();
+        } catch (RejectedExecutionException e) {
+            // The lane has already reported the rejection, there is no caller left to tell
+        }
+    }
+
+    private synchronized void scheduleNext() {
+        active = tasks.poll();
+        if (active == null) return;
+
+        try {
+            executor.execute(active);
+        } catch (RejectedExecutionException e) {
+            // The rejected task is dropped, but the tasks queued after it can still run later
+            active = null;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.concurrent.type;
+
+/**
+ * A snapshot of the work done by a {@link TaskLane}.
+ *
+ * @param queued the number of tasks waiting to be started
+ * @param running the number of tasks being run
+ * @param completed the number of tasks that finished running, successfully or not
+ * @param rejected the number of tasks that could not be queued
+ * @param averageWaitMillis the average time tasks waited before being started
+ * @param maxWaitMillis the longest time a task waited before being started
+ * @param averageRunMillis the average time it took to run a task
+ */
+public record LaneStatistics(
+        TaskLane lane,
+        int queued,
+        int running,
+        long completed,
+        long rejected,
+        double averageWaitMillis,
+        double maxWaitMillis,
+        double averageRunMillis) {}
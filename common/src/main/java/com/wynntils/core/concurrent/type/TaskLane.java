@@ -0,0 +1,24 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.concurrent.type;
+
+public enum TaskLane {
+    // Blocking work, like file and network access, each task runs on its own virtual thread
+    IO("io"),
+    // Calculations, on a small and fixed number of threads
+    CPU("cpu"),
+    // Short tasks that have to run at a given time, and the scheduling of the other lanes
+    TIMER("timer");
+
+    private final String name;
+
+    TaskLane(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -16,6 +16,7 @@ import com.wynntils.commands.BombCommand;
 import com.wynntils.commands.CompassCommand;
 import com.wynntils.commands.ConfigCommand;
 import com.wynntils.commands.FeatureCommand;
+import com.wynntils.commands.FindItemCommand;
 import com.wynntils.commands.FunctionCommand;
 import com.wynntils.commands.LocateCommand;
 import com.wynntils.commands.LootrunCommand;
@@ -190,6 +191,7 @@ public final class ClientCommandManager extends Manager {
         registerCommand(new CompassCommand());
         registerCommand(new ConfigCommand());
         registerCommand(new FeatureCommand());
+        registerCommand(new FindItemCommand());
         registerCommand(new FunctionCommand());
         registerCommand(new LocateCommand());
         registerCommand(new LootrunCommand());
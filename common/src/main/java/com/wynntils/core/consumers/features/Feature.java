@@ -19,6 +19,7 @@ import com.wynntils.core.persisted.storage.Storageable;
  */
 public abstract class Feature extends AbstractConfigurable implements Storageable, Comparable<Feature> {
     private Category category = Category.UNCATEGORIZED;
+    private boolean loaded = false;
 
     @Persisted(i18nKey = "feature.wynntils.userFeature.userEnabled")
     public final Config<Boolean> userEnabled = new Config<>(true);
@@ -66,6 +67,20 @@ public abstract class Feature extends AbstractConfigurable implements Storageabl
         }
     }
 
+    /**
+     * Used to create state that is only needed while the feature is enabled. This is called
+     * once, right before the feature is enabled for the first time, so features that the user
+     * keeps disabled never create it.
+     */
+    protected void onFirstEnable() {}
+
+    final void loadIfNeeded() {
+        if (loaded) return;
+
+        onFirstEnable();
+        loaded = true;
+    }
+
     public void onEnable() {}
 
     public void onDisable() {}
@@ -9,6 +9,7 @@ import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.consumers.features.properties.RegisterCommand;
+import com.wynntils.utils.ReflectionUtils;
 import java.lang.reflect.Field;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -23,7 +24,7 @@ public class FeatureCommands {
     }
 
     public void discoverCommands(Feature feature) {
-        for (Field f : FieldUtils.getFieldsWithAnnotation(feature.getClass(), RegisterCommand.class)) {
+        for (Field f : ReflectionUtils.getFieldsWithAnnotation(feature.getClass(), RegisterCommand.class)) {
             if (!f.getType().equals(LiteralCommandNode.class)) {
                 WynntilsMod.error("Incorrect type for @RegisterCommand " + f.getName() + " in "
                         + feature.getClass().getName());
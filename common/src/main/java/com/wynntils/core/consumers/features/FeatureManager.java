@@ -480,7 +480,9 @@ public final class FeatureManager extends Manager {
         assert !feature.getTranslatedDescription().startsWith("feature.wynntils.")
                 : "Fix i18n for " + feature.getTranslatedDescription();
 
-        if (!feature.userEnabled.get()) return; // not enabled by user
+        // Use the saved state if there is one, so features the user has disabled are never loaded
+        boolean userEnabled = Managers.Config.getSavedUserEnabled(feature).orElse(feature.userEnabled.get());
+        if (!userEnabled) return; // not enabled by user
 
         enableFeature(feature);
     }
@@ -494,6 +496,7 @@ public final class FeatureManager extends Manager {
 
         if (state != FeatureState.DISABLED && state != FeatureState.CRASHED) return;
 
+        feature.loadIfNeeded();
         feature.onEnable();
 
         FEATURES.put(feature, FeatureState.ENABLED);
@@ -22,6 +22,7 @@ import com.wynntils.mc.event.TickEvent;
 import com.wynntils.mc.event.TitleScreenInitEvent;
 import com.wynntils.screens.overlays.placement.OverlayManagementScreen;
 import com.wynntils.screens.overlays.selection.OverlaySelectionScreen;
+import com.wynntils.utils.ReflectionUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.render.RenderUtils;
 import java.lang.reflect.Field;
@@ -112,8 +113,7 @@ public final class OverlayManager extends Manager {
     }
 
     public void discoverOverlays(Feature feature) {
-        Field[] overlayFields = FieldUtils.getFieldsWithAnnotation(feature.getClass(), OverlayInfo.class);
-        for (Field overlayField : overlayFields) {
+        for (Field overlayField : ReflectionUtils.getFieldsWithAnnotation(feature.getClass(), OverlayInfo.class)) {
             try {
                 Object fieldValue = FieldUtils.readField(overlayField, feature, true);
 
@@ -17,15 +17,13 @@ import com.wynntils.core.crowdsource.type.CrowdSourcedDataType;
 import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.stream.Collectors;
 
 /**
- * A holder class for crowd sourced data.
- * This class is only meant to be modified by the {@link CrowdSourcedDataManager}.
- * If you need to access crowd sourced data, use the {@link CrowdSourcedDataManager}.
+ * A holder class for crowd sourced data, as it was stored by older versions.
+ * The data is now kept in a {@link CrowdSourcedLocationStore}, and this class is only
+ * used by the {@link CrowdSourcedDataManager} to import data from the old storage.
  */
 public class CrowdSourcedData {
     private final Map<CrowdSourcedDataGameVersion, Map<CrowdSourcedDataType, Set<Object>>> data =
@@ -37,25 +35,12 @@ public class CrowdSourcedData {
         data.putAll(deserializedData);
     }
 
-    <T> void putData(
-            CrowdSourcedDataGameVersion version, CrowdSourcedDataType crowdSourcedDataType, T crowdSourceData) {
-        if (crowdSourcedDataType.getDataClass() != crowdSourceData.getClass()) {
-            throw new IllegalArgumentException("The provided data does not match the crows sourced data type.");
-        }
-
-        data.computeIfAbsent(version, k -> new TreeMap<>())
-                .computeIfAbsent(crowdSourcedDataType, k -> new ConcurrentSkipListSet<>())
-                .add(crowdSourceData);
+    boolean isEmpty() {
+        return data.values().stream().allMatch(Map::isEmpty);
     }
 
-    <T> Set<T> getData(CrowdSourcedDataGameVersion version, CrowdSourcedDataType crowdSourcedDataType, T dataClass) {
-        if (crowdSourcedDataType.getDataClass() != dataClass) {
-            throw new IllegalArgumentException("The provided data class does not match the crowd sourced data type.");
-        }
-
-        return (Set<T>) data.getOrDefault(version, Map.of()).getOrDefault(crowdSourcedDataType, Set.of()).stream()
-                .map(crowdSourcedDataType.getDataClass()::cast)
-                .collect(Collectors.toSet());
+    Map<CrowdSourcedDataGameVersion, Map<CrowdSourcedDataType, Set<Object>>> getAllData() {
+        return data;
     }
 
     public static class CrowdSourceDataSerializer implements JsonDeserializer<CrowdSourcedData> {
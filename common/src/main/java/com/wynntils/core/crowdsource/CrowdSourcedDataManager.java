@@ -4,9 +4,14 @@
  */
 package com.wynntils.core.crowdsource;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.crowdsource.type.CrowdSourcedDataGameVersion;
 import com.wynntils.core.crowdsource.type.CrowdSourcedDataType;
 import com.wynntils.core.persisted.Persisted;
@@ -16,39 +21,93 @@ import com.wynntils.crowdsource.NpcLocationDataCollector;
 import com.wynntils.crowdsource.ProfessionNodeLocationDataCollector;
 import com.wynntils.crowdsource.ProfessionStationLocationDataCollector;
 import com.wynntils.features.wynntils.DataCrowdSourcingFeature;
+import com.wynntils.utils.FileUtils;
+import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.ConfirmedBoolean;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class CrowdSourcedDataManager extends Manager {
     public static final CrowdSourcedDataGameVersion CURRENT_GAME_VERSION =
             CrowdSourcedDataGameVersion.VERSION_210_BETA_2;
 
+    private static final File STORAGE_DIR = WynntilsMod.getModStorageDir("storage");
+    private static final String FILE_SUFFIX = ".crowdsource.bin";
+    private static final long SAVE_DELAY_MS = 10_000;
+
+    // Data collected by older versions, only read to move it into the location store
     @Persisted
     private final Storage<CrowdSourcedData> collectedData = new Storage<>(new CrowdSourcedData());
 
     private final Map<CrowdSourcedDataType, CrowdSourcedDataCollector<?>> collectors = new HashMap<>();
 
+    private final File dataFile;
+    private final CrowdSourcedLocationStore locationStore;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean(false);
+
     public CrowdSourcedDataManager() {
         super(List.of());
 
+        dataFile = new File(
+                STORAGE_DIR, UndashedUuid.toString(McUtils.mc().getUser().getProfileId()) + FILE_SUFFIX);
+        locationStore = loadLocationStore();
+
         registerCollectors();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::saveIfScheduled));
+    }
+
+    @Override
+    public void onStorageLoad(Storage<?> storage) {
+        if (storage != collectedData || collectedData.get().isEmpty()) return;
+
+        collectedData.get().getAllData().forEach((version, versionData) -> versionData.forEach(
+                (crowdSourcedDataType, dataSet) ->
+                        dataSet.forEach(data -> addLocation(version, crowdSourcedDataType, data))));
+
+        // The old data is only cleared once it is in the store file, otherwise it is imported again
+        // the next time the storage is loaded
+        if (!saveStore()) {
+            scheduleSave();
+            return;
+        }
+
+        collectedData.store(new CrowdSourcedData());
+        collectedData.touched();
     }
 
     public <T> void putData(CrowdSourcedDataType crowdSourcedDataType, T crowdSourcedData) {
         if (getDataCollectionState(crowdSourcedDataType) != ConfirmedBoolean.TRUE) return;
 
-        collectedData.get().putData(CURRENT_GAME_VERSION, crowdSourcedDataType, crowdSourcedData);
-        collectedData.touched();
+        if (crowdSourcedDataType.getDataClass() != crowdSourcedData.getClass()) {
+            throw new IllegalArgumentException("The provided data does not match the crowd sourced data type.");
+        }
+
+        if (addLocation(CURRENT_GAME_VERSION, crowdSourcedDataType, crowdSourcedData)) {
+            scheduleSave();
+        }
     }
 
-    public <T> Set<T> getData(CrowdSourcedDataType crowdSourcedDataType) {
-        return (Set<T>) collectedData
-                .get()
-                .getData(CURRENT_GAME_VERSION, crowdSourcedDataType, crowdSourcedDataType.getDataClass());
+    /**
+     * Writes the collected data of the current game version as json, in the format we ask users to send us.
+     */
+    public void exportData(CrowdSourcedDataType crowdSourcedDataType, Writer writer) throws IOException {
+        JsonWriter jsonWriter = Managers.Json.GSON.newJsonWriter(writer);
+        locationStore.exportVersion(CURRENT_GAME_VERSION, crowdSourcedDataType, Managers.Json.GSON, jsonWriter);
+        jsonWriter.flush();
     }
 
     public ConfirmedBoolean getDataCollectionState(CrowdSourcedDataType crowdSourcedDataType) {
@@ -67,6 +126,70 @@ public class CrowdSourcedDataManager extends Manager {
                 .isEnabled();
     }
 
+    /**
+     * @return true if the sighting was not merged into an earlier one
+     */
+    private boolean addLocation(
+            CrowdSourcedDataGameVersion version, CrowdSourcedDataType crowdSourcedDataType, Object data) {
+        JsonObject payload = Managers.Json.GSON.toJsonTree(data).getAsJsonObject();
+        JsonElement location = payload.remove("location");
+        if (location == null || !location.isJsonObject()) {
+            WynntilsMod.warn("Crowd sourced data has no location: " + data);
+            return false;
+        }
+
+        JsonObject locationObject = location.getAsJsonObject();
+        return locationStore.add(
+                version,
+                crowdSourcedDataType,
+                locationObject.get("x").getAsInt(),
+                locationObject.get("y").getAsInt(),
+                locationObject.get("z").getAsInt(),
+                payload.toString());
+    }
+
+    private CrowdSourcedLocationStore loadLocationStore() {
+        if (!dataFile.exists()) return new CrowdSourcedLocationStore();
+
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(dataFile))) {
+            return CrowdSourcedLocationStore.read(inputStream);
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to load crowd sourced data, starting over", e);
+            FileUtils.tryCopyFile(dataFile, new File(dataFile.getPath() + ".bak"));
+            return new CrowdSourcedLocationStore();
+        }
+    }
+
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            Managers.Executor.schedule(TaskLane.IO, this::saveIfScheduled, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void saveIfScheduled() {
+        if (!saveScheduled.getAndSet(false)) return;
+
+        if (!saveStore()) {
+            scheduleSave();
+        }
+    }
+
+    /**
+     * @return whether the store file has all collected data
+     */
+    private synchronized boolean saveStore() {
+        FileUtils.mkdir(STORAGE_DIR);
+        File tempFile = new File(dataFile.getPath() + ".tmp");
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+            locationStore.write(outputStream);
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to save crowd sourced data", e);
+            return false;
+        }
+
+        return FileUtils.replaceFile(tempFile, dataFile);
+    }
+
     private void registerCollectors() {
         registerCollector(CrowdSourcedDataType.LOOTRUN_TASK_LOCATIONS, new LootrunLocationDataCollector());
         registerCollector(CrowdSourcedDataType.NPC_LOCATIONS, new NpcLocationDataCollector());
@@ -0,0 +1,401 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.crowdsource;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.wynntils.core.crowdsource.type.CrowdSourcedDataGameVersion;
+import com.wynntils.core.crowdsource.type.CrowdSourcedDataType;
+import com.wynntils.utils.EnumUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores crowd sourced location sightings column by column, one table per game version and
+ * data type. Everything about a sighting except its location (name, label, profession, ...)
+ * is kept as a json payload in a per-table dictionary, so a row is just five ints.
+ *
+ * <p>Sightings of the same payload within {@link #MERGE_DISTANCE} blocks of an existing row
+ * are merged into that row, found through a spatial hash of {@link #CELL_SIZE} sized cells.
+ * This keeps the store from growing when the same NPC or node is seen over and over.
+ *
+ * <p>This class is only meant to be used by the {@link CrowdSourcedDataManager}.
+ */
+public final class CrowdSourcedLocationStore {
+    // Sightings of the same thing closer than this, on every axis, are merged
+    public static final int MERGE_DISTANCE = 2;
+    // Must be at least the merge distance, so that only neighbouring cells need to be checked
+    private static final int CELL_SIZE = 4;
+    private static final int CELL_BITS = 21;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+
+    private static final int FILE_MAGIC = 0x57435344; // "WCSD"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<CrowdSourcedDataGameVersion, Map<CrowdSourcedDataType, Table>> tables =
+            new EnumMap<>(CrowdSourcedDataGameVersion.class);
+
+    /**
+     * Adds a sighting, merging it into an existing row if the same payload was already seen nearby.
+     *
+     * @param payload the json object of the sighting, without its location
+     * @return true if a new row was added, false if the sighting was merged
+     */
+    public synchronized boolean add(
+            CrowdSourcedDataGameVersion version, CrowdSourcedDataType type, int x, int y, int z, String payload) {
+        return tables.computeIfAbsent(version, k -> new EnumMap<>(CrowdSourcedDataType.class))
+                .computeIfAbsent(type, k -> new Table())
+                .add(x, y, z, payload);
+    }
+
+    public synchronized int size(CrowdSourcedDataGameVersion version, CrowdSourcedDataType type) {
+        Table table = getTable(version, type);
+        return table == null ? 0 : table.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return tables.values().stream()
+                .flatMap(versionTables -> versionTables.values().stream())
+                .allMatch(table -> table.size() == 0);
+    }
+
+    /**
+     * Streams the sightings as a json array of objects, in the same shape as the data classes
+     * serialize to, with the location added back to every object.
+     */
+    public synchronized void export(
+            CrowdSourcedDataGameVersion version, CrowdSourcedDataType type, Gson gson, JsonWriter writer)
+            throws IOException {
+        writer.beginArray();
+
+        Table table = getTable(version, type);
+        if (table != null) {
+            // Every payload is parsed once, no matter how many rows use it
+            JsonObject[] payloadObjects = new JsonObject[table.payloads.size()];
+
+            for (int row = 0; row < table.size(); row++) {
+                int payloadId = table.payloadIds.getInt(row);
+                if (payloadObjects[payloadId] == null) {
+                    payloadObjects[payloadId] =
+                            JsonParser.parseString(table.payloads.get(payloadId)).getAsJsonObject();
+                }
+
+                writer.beginObject();
+                for (Map.Entry<String, JsonElement> entry : payloadObjects[payloadId].entrySet()) {
+                    writer.name(entry.getKey());
+                    gson.toJson(entry.getValue(), writer);
+                }
+                writer.name("location");
+                writer.beginObject();
+                writer.name("x").value(table.xs.getInt(row));
+                writer.name("y").value(table.ys.getInt(row));
+                writer.name("z").value(table.zs.getInt(row));
+                writer.endObject();
+                writer.endObject();
+            }
+        }
+
+        writer.endArray();
+    }
+
+    /**
+     * Streams the sightings as a json object with the version as its only key, like older versions
+     * serialized a map of the version to the data set.
+     */
+    public synchronized void exportVersion(
+            CrowdSourcedDataGameVersion version, CrowdSourcedDataType type, Gson gson, JsonWriter writer)
+            throws IOException {
+        writer.beginObject();
+        // Enum map keys are written in the json format of the enum
+        writer.name(EnumUtils.toJsonFormat(version));
+        export(version, type, gson, writer);
+        writer.endObject();
+    }
+
+    public synchronized void clear() {
+        tables.clear();
+    }
+
+    private Table getTable(CrowdSourcedDataGameVersion version, CrowdSourcedDataType type) {
+        Map<CrowdSourcedDataType, Table> versionTables = tables.get(version);
+        return versionTables == null ? null : versionTables.get(type);
+    }
+
+    /**
+     * Writes the store in its binary format. Every column is delta and varint encoded, and
+     * the whole stream is gzipped.
+     */
+    public synchronized void write(OutputStream outputStream) throws IOException {
+        GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream);
+        DataOutputStream out = new DataOutputStream(gzipStream);
+
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+
+        List<Map.Entry<CrowdSourcedDataGameVersion, Map.Entry<CrowdSourcedDataType, Table>>> entries =
+                new ArrayList<>();
+        tables.forEach((version, versionTables) ->
+                versionTables.entrySet().forEach(entry -> entries.add(Map.entry(version, entry))));
+
+        out.writeInt(entries.size());
+        for (Map.Entry<CrowdSourcedDataGameVersion, Map.Entry<CrowdSourcedDataType, Table>> entry : entries) {
+            // Enums are stored by name, so reordering them does not break old files
+            writeString(out, entry.getKey().name());
+            writeString(out, entry.getValue().getKey().name());
+            entry.getValue().getValue().write(out);
+        }
+
+        out.flush();
+        gzipStream.finish();
+    }
+
+    public static CrowdSourcedLocationStore read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new GZIPInputStream(inputStream));
+
+        int magic = in.readInt();
+        if (magic != FILE_MAGIC) {
+            throw new IOException("Not a crowd sourced data file");
+        }
+        int formatVersion = in.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unknown crowd sourced data format version " + formatVersion);
+        }
+
+        CrowdSourcedLocationStore store = new CrowdSourcedLocationStore();
+
+        int tableCount = in.readInt();
+        for (int i = 0; i < tableCount; i++) {
+            String versionName = readString(in);
+            String typeName = readString(in);
+            Table table = Table.read(in);
+
+            CrowdSourcedDataGameVersion version;
+            CrowdSourcedDataType type;
+            try {
+                version = CrowdSourcedDataGameVersion.valueOf(versionName);
+                type = CrowdSourcedDataType.valueOf(typeName);
+            } catch (IllegalArgumentException e) {
+                // The version or type was removed, drop its data
+                continue;
+            }
+
+            store.tables
+                    .computeIfAbsent(version, k -> new EnumMap<>(CrowdSourcedDataType.class))
+                    .put(type, table);
+        }
+
+        return store;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeSignedVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    private static int readSignedVarInt(DataInputStream in) throws IOException {
+        int value = readVarInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Table {
+        private final List<String> payloads = new ArrayList<>();
+        private final Object2IntMap<String> payloadIndex = new Object2IntOpenHashMap<>();
+
+        private final IntArrayList xs = new IntArrayList();
+        private final IntArrayList ys = new IntArrayList();
+        private final IntArrayList zs = new IntArrayList();
+        private final IntArrayList payloadIds = new IntArrayList();
+        private final IntArrayList sightings = new IntArrayList();
+
+        private final Long2ObjectMap<IntArrayList> cells = new Long2ObjectOpenHashMap<>();
+
+        private Table() {
+            payloadIndex.defaultReturnValue(-1);
+        }
+
+        private int size() {
+            return xs.size();
+        }
+
+        private boolean add(int x, int y, int z, String payload) {
+            int payloadId = payloadIndex.getInt(payload);
+            if (payloadId == -1) {
+                payloadId = payloads.size();
+                payloads.add(payload);
+                payloadIndex.put(payload, payloadId);
+            } else {
+                int row = findNearbyRow(x, y, z, payloadId);
+                if (row != -1) {
+                    sightings.set(row, sightings.getInt(row) + 1);
+                    return false;
+                }
+            }
+
+            addRow(x, y, z, payloadId, 1);
+            return true;
+        }
+
+        private int findNearbyRow(int x, int y, int z, int payloadId) {
+            int cellX = cell(x);
+            int cellY = cell(y);
+            int cellZ = cell(z);
+
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        IntArrayList rows = cells.get(cellKey(cellX + dx, cellY + dy, cellZ + dz));
+                        if (rows == null) continue;
+
+                        for (int i = 0; i < rows.size(); i++) {
+                            int row = rows.getInt(i);
+                            if (payloadIds.getInt(row) == payloadId
+                                    && Math.abs(xs.getInt(row) - x) <= MERGE_DISTANCE
+                                    && Math.abs(ys.getInt(row) - y) <= MERGE_DISTANCE
+                                    && Math.abs(zs.getInt(row) - z) <= MERGE_DISTANCE) {
+                                return row;
+                            }
+                        }
+                    }
+                }
+            }
+
+            return -1;
+        }
+
+        private static int cell(int coordinate) {
+            return Math.floorDiv(coordinate, CELL_SIZE);
+        }
+
+        private static long cellKey(int cellX, int cellY, int cellZ) {
+            return (cellX & CELL_MASK) | ((cellY & CELL_MASK) << CELL_BITS) | ((cellZ & CELL_MASK) << (2 * CELL_BITS));
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            writeVarInt(out, payloads.size());
+            for (String payload : payloads) {
+                writeString(out, payload);
+            }
+
+            int rows = size();
+            writeVarInt(out, rows);
+            // Rows are mostly added while walking around, so neighbouring rows tend to be close
+            writeDeltaColumn(out, xs, rows);
+            writeDeltaColumn(out, ys, rows);
+            writeDeltaColumn(out, zs, rows);
+            for (int row = 0; row < rows; row++) {
+                writeVarInt(out, payloadIds.getInt(row));
+            }
+            for (int row = 0; row < rows; row++) {
+                writeVarInt(out, sightings.getInt(row));
+            }
+        }
+
+        private static Table read(DataInputStream in) throws IOException {
+            Table table = new Table();
+
+            int payloadCount = readVarInt(in);
+            for (int i = 0; i < payloadCount; i++) {
+                String payload = readString(in);
+                table.payloadIndex.put(payload, table.payloads.size());
+                table.payloads.add(payload);
+            }
+
+            int rows = readVarInt(in);
+            int[] xs = readDeltaColumn(in, rows);
+            int[] ys = readDeltaColumn(in, rows);
+            int[] zs = readDeltaColumn(in, rows);
+            int[] payloadIds = new int[rows];
+            for (int row = 0; row < rows; row++) {
+                payloadIds[row] = readVarInt(in);
+                if (payloadIds[row] >= payloadCount) {
+                    throw new IOException("Invalid crowd sourced data payload id " + payloadIds[row]);
+                }
+            }
+
+            for (int row = 0; row < rows; row++) {
+                table.addRow(xs[row], ys[row], zs[row], payloadIds[row], readVarInt(in));
+            }
+
+            return table;
+        }
+
+        private void addRow(int x, int y, int z, int payloadId, int sightingCount) {
+            int row = size();
+            xs.add(x);
+            ys.add(y);
+            zs.add(z);
+            payloadIds.add(payloadId);
+            sightings.add(sightingCount);
+            cells.computeIfAbsent(cellKey(cell(x), cell(y), cell(z)), k -> new IntArrayList())
+                    .add(row);
+        }
+
+        private static void writeDeltaColumn(DataOutputStream out, IntArrayList column, int rows) throws IOException {
+            int previous = 0;
+            for (int row = 0; row < rows; row++) {
+                int value = column.getInt(row);
+                writeSignedVarInt(out, value - previous);
+                previous = value;
+            }
+        }
+
+        private static int[] readDeltaColumn(DataInputStream in, int rows) throws IOException {
+            int[] column = new int[rows];
+            int previous = 0;
+            for (int row = 0; row < rows; row++) {
+                previous += readSignedVarInt(in);
+                column[row] = previous;
+            }
+            return column;
+        }
+    }
+}
@@ -15,6 +15,15 @@ import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
 
 public class EventBusWrapper extends EventBus {
+    // Features are registered again every time they are enabled, so only scan each class once
+    private static final ClassValue<Boolean> HAS_SUBSCRIBERS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return Arrays.stream(type.getMethods())
+                    .anyMatch(method -> method.isAnnotationPresent(SubscribeEvent.class));
+        }
+    };
+
     private EventBusWrapper(BusBuilderImpl busBuilder) {
         super(busBuilder);
     }
@@ -32,8 +41,7 @@ public class EventBusWrapper extends EventBus {
 
     @Override
     public void register(Object target) {
-        boolean anyEvents = Arrays.stream(target.getClass().getMethods())
-                .anyMatch(method -> method.isAnnotationPresent(SubscribeEvent.class));
+        boolean anyEvents = HAS_SUBSCRIBERS.get(target.getClass());
 
         // NeoForge EventBus does some sanity checking on registration, to help people forgetting to add @SubscribeEvent
         // This actually bites us, as sometimes we deliberately register objects without any events
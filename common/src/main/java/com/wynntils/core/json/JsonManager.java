@@ -19,6 +19,7 @@ import com.wynntils.services.itemrecord.type.SavedItem;
 import com.wynntils.utils.EnumUtils;
 import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.colors.CustomColor;
+import com.wynntils.utils.type.ChunkBitmap;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -40,6 +41,7 @@ public final class JsonManager extends Manager {
             .registerTypeAdapter(StyledText.class, new StyledText.StyledTextSerializer())
             .registerTypeAdapter(CrowdSourcedData.class, new CrowdSourcedData.CrowdSourceDataSerializer())
             .registerTypeAdapter(SavedItem.class, new SavedItem.SavedItemSerializer())
+            .registerTypeAdapter(ChunkBitmap.class, new ChunkBitmap.ChunkBitmapSerializer())
             .registerTypeAdapterFactory(new EnumUtils.EnumTypeAdapterFactory<>())
             .enableComplexMapKeySerialization()
             .setPrettyPrinting()
@@ -66,20 +68,23 @@ public final class JsonManager extends Manager {
     public void savePreciousJson(File jsonFile, JsonObject jsonObject) {
         FileUtils.mkdir(jsonFile.getParentFile());
 
-        if (jsonFile.exists()) {
-            File backupFile = new File(jsonFile.getPath() + ".bak");
-            // Remove old backup (if any), and move current json file to backup
-            FileUtils.deleteFile(backupFile);
-            FileUtils.moveFile(jsonFile, backupFile);
-        }
-
+        // Write to a temporary file first, so a crash while writing never leaves a truncated file behind
+        File tempFile = new File(jsonFile.getPath() + ".tmp");
         try (OutputStreamWriter fileWriter =
-                new OutputStreamWriter(new FileOutputStream(jsonFile), StandardCharsets.UTF_8)) {
+                new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
             GSON.toJson(jsonObject, fileWriter);
             fileWriter.flush();
         } catch (IOException e) {
             WynntilsMod.error("Failed to save json file " + jsonFile, e);
+            return;
         }
+
+        if (jsonFile.exists()) {
+            // Keep the current json file as backup
+            FileUtils.tryCopyFile(jsonFile, new File(jsonFile.getPath() + ".bak"));
+        }
+
+        FileUtils.replaceFile(tempFile, jsonFile);
     }
 
     /**
@@ -16,6 +16,7 @@ import com.wynntils.mc.event.InventoryKeyPressEvent;
 import com.wynntils.mc.event.InventoryMouseClickedEvent;
 import com.wynntils.mc.event.TickEvent;
 import com.wynntils.mc.mixin.accessors.OptionsAccessor;
+import com.wynntils.utils.ReflectionUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.Pair;
 import java.lang.reflect.Field;
@@ -40,7 +41,7 @@ public final class KeyBindManager extends Manager {
     }
 
     public void discoverKeyBinds(Feature feature) {
-        for (Field f : FieldUtils.getFieldsWithAnnotation(feature.getClass(), RegisterKeyBind.class)) {
+        for (Field f : ReflectionUtils.getFieldsWithAnnotation(feature.getClass(), RegisterKeyBind.class)) {
             if (!f.getType().equals(KeyBind.class)) continue;
 
             try {
@@ -0,0 +1,66 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.TeeInputStream;
+
+/**
+ * Copies everything that is read from a body to a temporary file, which replaces the cached file
+ * when the stream is closed. If the reader did not read the whole body, the rest is read on close.
+ * Until then, the cached file is left as it was, so a body that is discarded, or that could not be read
+ * completely, never replaces a good cached file.
+ */
+public final class CachingInputStream extends TeeInputStream {
+    private final File cacheFile;
+    private final File partFile;
+    private volatile boolean discarded = false;
+
+    public CachingInputStream(InputStream body, File cacheFile) throws FileNotFoundException {
+        this(body, cacheFile, new File(cacheFile.getPath() + ".part"));
+    }
+
+    private CachingInputStream(InputStream body, File cacheFile, File partFile) throws FileNotFoundException {
+        super(body, new BufferedOutputStream(new FileOutputStream(partFile)), true);
+        this.cacheFile = cacheFile;
+        this.partFile = partFile;
+    }
+
+    /**
+     * Makes sure the body does not replace the cached file when the stream is closed.
+     */
+    public void discard() {
+        discarded = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!discarded) {
+                IOUtils.consume(this);
+            }
+        } catch (IOException e) {
+            discarded = true;
+            throw e;
+        } finally {
+            super.close();
+
+            if (discarded) {
+                FileUtils.deleteQuietly(partFile);
+            } else {
+                Files.move(partFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
@@ -1,11 +1,12 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.net;
 
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -26,7 +27,11 @@ public class Download extends NetResult {
     private final File localFile;
 
     // Saved since we might need to get timestamps from the HttpResponse
-    private CompletableFuture<HttpResponse<Path>> httpResponse = null;
+    private CompletableFuture<? extends HttpResponse<?>> httpResponse = null;
+
+    // If set, the handlers read the body while it is being downloaded, instead of reading it from the cache
+    private boolean parseWhileDownloading = false;
+    private volatile CachingInputStream cachingInputStream = null;
 
     public Download(String desc, File localFile, NetResultProcessedEvent processedEvent) {
         super("DL:" + desc, null, processedEvent); // Only use cached file
@@ -55,8 +60,26 @@ public class Download extends NetResult {
         }
     }
 
+    /**
+     * Lets the handlers read the body while it is still being downloaded, instead of after it has been written
+     * to the cache. The cache is still updated, once the handler has succeeded and the whole body has been read.
+     * This must be called before any handler is set.
+     */
+    void parseWhileDownloading() {
+        this.parseWhileDownloading = true;
+    }
+
     @Override
     protected void onHandlingFailed() {
+        if (parseWhileDownloading) {
+            // The cached file is still the last one that was handled successfully, so only drop the new body
+            CachingInputStream inputStream = cachingInputStream;
+            if (inputStream != null) {
+                inputStream.discard();
+            }
+            return;
+        }
+
         // If handling of the file failed, our cache might be bad. Remove it so we
         // try to re-download the file next time
         WynntilsMod.warn("Deleting cached file due to handling error: " + localFile);
@@ -67,9 +90,16 @@ public class Download extends NetResult {
     protected CompletableFuture<InputStream> getInputStreamFuture() {
         if (request == null) {
             // File is already in downloaded, just read from the cache
-            return CompletableFuture.supplyAsync(this::getFileInputStreamFromCache);
+            return Managers.Executor.supplyAsync(TaskLane.IO, this::getFileInputStreamFromCache);
         } else {
             prepareForDownload();
+
+            if (parseWhileDownloading) {
+                // The body must not be read on the thread that delivers it, so switch to another one
+                return getStreamingInputStreamFuture()
+                        .thenApplyAsync(this::createCachingInputStream, Managers.Executor.getExecutor(TaskLane.IO));
+            }
+
             return getDownloadInputStreamFuture().thenApply(response -> getFileInputStreamFromCache());
         }
     }
@@ -83,6 +113,26 @@ public class Download extends NetResult {
         return future;
     }
 
+    private CompletableFuture<HttpResponse<InputStream>> getStreamingInputStreamFuture() {
+        CompletableFuture<HttpResponse<InputStream>> future =
+                Managers.Net.HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        // We must save the response so we can get the timestamp
+        this.httpResponse = future;
+        return future;
+    }
+
+    private InputStream createCachingInputStream(HttpResponse<InputStream> response) {
+        try {
+            cachingInputStream = new CachingInputStream(response.body(), localFile);
+            return cachingInputStream;
+        } catch (FileNotFoundException e) {
+            // We can still parse the body, it just won't be cached
+            WynntilsMod.error("Failed to create cache file for " + localFile, e);
+            return response.body();
+        }
+    }
+
     private InputStream getFileInputStreamFromCache() {
         try {
             return new FileInputStream(localFile);
@@ -94,7 +144,11 @@ public class Download extends NetResult {
     }
 
     private void prepareForDownload() {
-        FileUtils.deleteQuietly(localFile);
+        // When parsing while downloading, the cached file is only replaced once the new one is complete
+        if (!parseWhileDownloading) {
+            FileUtils.deleteQuietly(localFile);
+        }
+
         try {
             FileUtils.forceMkdirParent(localFile);
         } catch (IOException e) {
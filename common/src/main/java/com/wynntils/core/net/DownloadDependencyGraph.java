@@ -10,24 +10,51 @@ import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 
 public final class DownloadDependencyGraph {
+    // Downloads with a longer chain of dependents are started first, as everything in that chain has to wait for them.
+    // Out of downloads with equally long chains, the one with the most bytes left on its chain is started first.
+    private static final Comparator<Node> PRIORITY_COMPARATOR = Comparator.comparingInt((Node node) -> node.chainLength)
+            .thenComparingLong(node -> node.chainSize)
+            .reversed();
+
     private final Map<Node, NodeState> nodeMap = new ConcurrentHashMap<>();
 
+    // These never change after the graph is built, so they can be read without synchronization
+    private final List<Node> nodesByPriority;
+    private final Map<QueuedDownload, Node> nodesByDownload = new IdentityHashMap<>();
+
     private DownloadDependencyGraph(List<Node> nodes) {
         nodes.forEach(node ->
                 nodeMap.put(node, node.dependencies.isEmpty() ? NodeState.QUEUED : NodeState.WAITING_ON_DEPENDENCY));
+        nodes.forEach(node -> nodesByDownload.put(node.download, node));
+
+        this.nodesByPriority = nodes.stream().sorted(PRIORITY_COMPARATOR).toList();
     }
 
     public static DownloadDependencyGraph build(List<QueuedDownload> downloads) {
+        return build(downloads, download -> 0L);
+    }
+
+    /**
+     * Builds the graph of the given downloads.
+     *
+     * @param downloads the downloads to build the graph of
+     * @param expectedSize the size, in bytes, the downloaded file is expected to have, or 0 if it is not known.
+     *                     This is only used to decide which downloads to start first.
+     */
+    public static DownloadDependencyGraph build(
+            List<QueuedDownload> downloads, ToLongFunction<QueuedDownload> expectedSize) {
         // Short circut on no downloads, to handle the edge-case one and for all in all sanity checks
         if (downloads.isEmpty()) return new DownloadDependencyGraph(List.of());
 
@@ -46,30 +73,28 @@ public final class DownloadDependencyGraph {
         // 1. Check for circular dependencies
         checkCircularDependencies(nodes);
 
+        // Finally, calculate the priority of each download
+        nodes.forEach(node -> node.expectedSize = Math.max(0, expectedSize.applyAsLong(node.download)));
+        nodes.forEach(Node::calculateChain);
+
         return new DownloadDependencyGraph(nodes);
     }
 
     // region Processing
 
     public synchronized QueuedDownload nextDownload() {
-        Node nextNode = nodeMap.entrySet().stream()
-                .filter(entry -> entry.getValue() == NodeState.QUEUED)
-                .map(Map.Entry::getKey)
-                .findAny()
-                .orElse(null);
-
-        if (nextNode == null) return null;
+        for (Node node : nodesByPriority) {
+            if (nodeMap.get(node) != NodeState.QUEUED) continue;
 
-        nodeMap.put(nextNode, NodeState.IN_PROGRESS);
+            nodeMap.put(node, NodeState.IN_PROGRESS);
+            return node.download;
+        }
 
-        return nextNode.download;
+        return null;
     }
 
     public void markDownloadCompleted(QueuedDownload download) {
-        Node node = nodeMap.keySet().stream()
-                .filter(n -> n.download == download)
-                .findAny()
-                .orElseThrow(() -> new IllegalStateException("Download not found in graph: " + download.urlId()));
+        Node node = getNode(download);
 
         nodeMap.put(node, NodeState.COMPLETED);
 
@@ -83,10 +108,7 @@ public final class DownloadDependencyGraph {
     }
 
     public void markDownloadError(QueuedDownload download) {
-        Node node = nodeMap.keySet().stream()
-                .filter(n -> n.download == download)
-                .findAny()
-                .orElseThrow(() -> new IllegalStateException("Download not found in graph: " + download.urlId()));
+        Node node = getNode(download);
 
         nodeMap.put(node, NodeState.ERROR);
 
@@ -95,10 +117,7 @@ public final class DownloadDependencyGraph {
     }
 
     public void markDownloadRetry(QueuedDownload download) {
-        Node node = nodeMap.keySet().stream()
-                .filter(n -> n.download == download)
-                .findAny()
-                .orElseThrow(() -> new IllegalStateException("Download not found in graph: " + download.urlId()));
+        Node node = getNode(download);
 
         // Also mark all dependents as waiting on dependency, as they need to wait for the retry to complete
         node.dependents.forEach(dependent -> nodeMap.put(dependent, NodeState.WAITING_ON_DEPENDENCY));
@@ -167,14 +186,20 @@ public final class DownloadDependencyGraph {
     }
 
     public NodeState getDownloadState(QueuedDownload download) {
-        Node node = nodeMap.keySet().stream()
-                .filter(n -> n.download == download)
-                .findAny()
-                .orElseThrow(() -> new IllegalStateException("Download not found in graph: " + download.urlId()));
+        Node node = getNode(download);
 
         return nodeMap.get(node);
     }
 
+    private Node getNode(QueuedDownload download) {
+        Node node = nodesByDownload.get(download);
+        if (node == null) {
+            throw new IllegalStateException("Download not found in graph: " + download.urlId());
+        }
+
+        return node;
+    }
+
     // endregion
 
     // region Checks
@@ -306,6 +331,13 @@ public final class DownloadDependencyGraph {
         private List<Node> dependencies = List.of();
         private List<Node> dependents = List.of();
 
+        private long expectedSize = 0;
+
+        // The number of downloads in the longest chain of dependents starting with this one,
+        // and the expected size of the largest such chain, or -1 if not yet calculated
+        private int chainLength = -1;
+        private long chainSize = -1;
+
         private Node(QueuedDownload download) {
             this.download = download;
         }
@@ -326,6 +358,21 @@ public final class DownloadDependencyGraph {
             this.dependents = List.copyOf(dependents);
         }
 
+        private void calculateChain() {
+            if (chainLength != -1) return;
+
+            int longestDependentChain = 0;
+            long largestDependentChain = 0;
+            for (Node dependent : dependents) {
+                dependent.calculateChain();
+                longestDependentChain = Math.max(longestDependentChain, dependent.chainLength);
+                largestDependentChain = Math.max(largestDependentChain, dependent.chainSize);
+            }
+
+            this.chainLength = longestDependentChain + 1;
+            this.chainSize = largestDependentChain + expectedSize;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
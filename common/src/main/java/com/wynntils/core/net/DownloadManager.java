@@ -76,7 +76,7 @@ public class DownloadManager extends Manager {
         // no modifications should be done during the lifetime of the game instance
         registrationLock = true;
 
-        graph = DownloadDependencyGraph.build(registeredDownloads);
+        graph = DownloadDependencyGraph.build(registeredDownloads, this::getExpectedSize);
 
         // Dump the graph if the system property is set
         if (dumpGraph.get()) {
@@ -173,6 +173,12 @@ public class DownloadManager extends Manager {
             return download;
         }
 
+        // Json handlers of downloads without dependencies can parse the data as it arrives,
+        // instead of waiting until all of it has been written to the cache
+        if (queuedDownload.dependency().dependencies().isEmpty()) {
+            download.parseWhileDownloading();
+        }
+
         Consumer<JsonObject> jsonObjectHandler = queuedDownload.onCompletionJsonObject();
         if (jsonObjectHandler != null) {
             download.handleJsonObject(
@@ -190,6 +196,11 @@ public class DownloadManager extends Manager {
         throw new IllegalStateException("Queued download has no handler set: " + queuedDownload);
     }
 
+    private long getExpectedSize(QueuedDownload queuedDownload) {
+        // The file downloaded in the last run is our best guess for the size of the file in this run
+        return Managers.Net.getCacheFile(queuedDownload.urlId().getId()).length();
+    }
+
     private void queueNextDownload(QueuedDownload finishedDownload) {
         synchronized (currentDownloads) {
             QueuedDownload nextDownload = graph.nextDownload();
@@ -8,6 +8,7 @@ import com.google.gson.JsonObject;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
 import java.io.File;
 import java.io.IOException;
@@ -25,7 +26,9 @@ import net.minecraft.Util;
 import org.apache.commons.codec.digest.DigestUtils;
 
 public final class NetManager extends Manager {
-    static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .executor(Managers.Executor.getExecutor(TaskLane.IO))
+            .build();
 
     private static final int REQUEST_TIMEOUT_MILLIS = 10000;
     private static final File CACHE_DIR = WynntilsMod.getModStorageDir("cache");
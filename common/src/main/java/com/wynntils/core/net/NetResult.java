@@ -51,17 +51,8 @@ public abstract class NetResult {
     }
 
     public void handleJsonObject(Consumer<JsonObject> handler, Consumer<Throwable> onError) {
-        handleReader(
-                reader -> {
-                    try {
-                        handler.accept(JsonParser.parseReader(reader).getAsJsonObject());
-                    } catch (Throwable t) {
-                        WynntilsMod.warn("Failure in net manager [handleJsonObject], processing " + desc + ": "
-                                + t.getMessage());
-                        onError.accept(t);
-                    }
-                },
-                onError);
+        // Parsing failures are handled like handler failures, so a malformed file is not kept
+        handleReader(reader -> handler.accept(JsonParser.parseReader(reader).getAsJsonObject()), onError);
     }
 
     public void handleJsonObject(Consumer<JsonObject> handler) {
@@ -69,16 +60,8 @@ public abstract class NetResult {
     }
 
     public void handleJsonArray(Consumer<JsonArray> handler, Consumer<Throwable> onError) {
-        handleReader(
-                reader -> {
-                    try {
-                        handler.accept(JsonParser.parseReader(reader).getAsJsonArray());
-                    } catch (Throwable t) {
-                        WynntilsMod.warn("Failure in net manager [handleJsonArray], processing " + desc, t);
-                        onError.accept(t);
-                    }
-                },
-                onError);
+        // Parsing failures are handled like handler failures, so a malformed file is not kept
+        handleReader(reader -> handler.accept(JsonParser.parseReader(reader).getAsJsonArray()), onError);
     }
 
     public void handleJsonArray(Consumer<JsonArray> handler) {
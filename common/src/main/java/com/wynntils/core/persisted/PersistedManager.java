@@ -11,10 +11,10 @@ import com.wynntils.core.consumers.overlays.Overlay;
 import com.wynntils.core.persisted.config.Config;
 import com.wynntils.core.persisted.config.NullableConfig;
 import com.wynntils.core.persisted.type.PersistedMetadata;
+import com.wynntils.utils.ReflectionUtils;
 import com.wynntils.utils.type.Pair;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -60,7 +60,7 @@ public final class PersistedManager extends Manager {
 
     public List<Pair<Field, Persisted>> getPersisted(PersistedOwner owner, Class<? extends PersistedValue> clazzType) {
         // Get pairs of field and annotation for all persisted values of the requested type
-        return Arrays.stream(FieldUtils.getFieldsWithAnnotation(owner.getClass(), Persisted.class))
+        return ReflectionUtils.getFieldsWithAnnotation(owner.getClass(), Persisted.class).stream()
                 .filter(field -> clazzType.isAssignableFrom(field.getType()))
                 .map(field -> Pair.of(field, field.getAnnotation(Persisted.class)))
                 .toList();
@@ -68,7 +68,7 @@ public final class PersistedManager extends Manager {
 
     public void verifyAnnotations(PersistedOwner owner) {
         // Verify that only persistable fields are annotated
-        Arrays.stream(FieldUtils.getFieldsWithAnnotation(owner.getClass(), Persisted.class))
+        ReflectionUtils.getFieldsWithAnnotation(owner.getClass(), Persisted.class)
                 .forEach(field -> {
                     if (!PersistedValue.class.isAssignableFrom(field.getType())) {
                         throw new RuntimeException(
@@ -77,7 +77,7 @@ public final class PersistedManager extends Manager {
                 });
 
         // Verify that we have not missed to annotate a persistable field
-        FieldUtils.getAllFieldsList(owner.getClass()).stream()
+        ReflectionUtils.getAllFields(owner.getClass()).stream()
                 .filter(field -> PersistedValue.class.isAssignableFrom(field.getType()))
                 .forEach(field -> {
                     Persisted annotation = field.getAnnotation(Persisted.class);
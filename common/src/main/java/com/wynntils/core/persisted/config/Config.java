@@ -47,6 +47,8 @@ public class Config<T> extends PersistedValue<T> {
         Managers.Persisted.setRaw(this, value);
         ((Configurable) getMetadata().owner()).updateConfigOption(this);
         this.userEdited = true;
+        // Setting the same instance again can still change whether the config is saved
+        Managers.Config.markDirty(this);
     }
 
     void restoreValue(Object value) {
@@ -61,6 +63,7 @@ public class Config<T> extends PersistedValue<T> {
         setValue(Managers.Json.deepCopy(defaultValue, getMetadata().valueType()));
         // reset this flag so option is no longer saved to file
         this.userEdited = false;
+        Managers.Config.markDirty(this);
     }
 
     public boolean isVisible() {
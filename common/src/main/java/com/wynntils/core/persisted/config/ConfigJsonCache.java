@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.persisted.config;
+
+import com.google.gson.JsonElement;
+import com.wynntils.utils.colors.CustomColor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Keeps the json of every config since the last save, so saving only serializes the configs that changed.
+ *
+ * <p>A config is dirty when it was marked with {@link #markDirty}, or when it holds another value instance than
+ * when it was cached. Values that can be changed in place, like collections, are always treated as dirty,
+ * as settings screens change them without going through the config.</p>
+ */
+public final class ConfigJsonCache<K> {
+    private final Map<K, CachedJson> cachedJsons = new HashMap<>();
+
+    /**
+     * @param isSaved whether the value is saved at all, as values the user never set are left out of the file
+     * @return the json of the value, or null if it is not saved
+     */
+    public JsonElement getJson(K key, Object value, BooleanSupplier isSaved, Function<Object, JsonElement> serializer) {
+        CachedJson cached = cachedJsons.get(key);
+        if (cached != null && cached.value() == value) return cached.json();
+
+        JsonElement json = isSaved.getAsBoolean() ? serializer.apply(value) : null;
+        if (isImmutableValue(value)) {
+            cachedJsons.put(key, new CachedJson(value, json));
+        } else {
+            cachedJsons.remove(key);
+        }
+        return json;
+    }
+
+    public void markDirty(K key) {
+        cachedJsons.remove(key);
+    }
+
+    public int size() {
+        return cachedJsons.size();
+    }
+
+    private static boolean isImmutableValue(Object value) {
+        return value instanceof String
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum<?>
+                || value instanceof CustomColor;
+    }
+
+    private record CachedJson(Object value, JsonElement json) {}
+}
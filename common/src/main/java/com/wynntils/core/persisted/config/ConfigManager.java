@@ -13,6 +13,7 @@ import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.consumers.features.Configurable;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.consumers.overlays.DynamicOverlay;
@@ -30,8 +31,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
@@ -41,20 +44,37 @@ public final class ConfigManager extends Manager {
     private static final File DEFAULT_CONFIG = new File(CONFIG_DIR, "default" + FILE_SUFFIX);
     private static final String OVERLAY_GROUPS_JSON_KEY = "overlayGroups";
     private static final Set<Config<?>> CONFIGS = new TreeSet<>();
+    // Settings screens can save many times in a row, so wait a bit and write only the latest state
+    private static final long SAVE_DELAY_MS = 500;
 
     private final File userConfigFile;
     private JsonObject configObject;
+    // The config file as read before features are registered, only used until init()
+    private JsonObject startupConfigObject;
+
+    private final Object pendingLock = new Object();
+    // Guarded by pendingLock, only held to hand over the json, never while writing
+    private JsonObject pendingConfigJson;
+    // Held while writing, so an older json can never overwrite a newer one
+    private final Object fileLock = new Object();
+
+    // Only used on the main thread
+    private final ConfigJsonCache<Config<?>> configJsonCache = new ConfigJsonCache<>();
 
     public ConfigManager() {
         super(List.of());
 
         userConfigFile = new File(
                 CONFIG_DIR, UndashedUuid.toString(McUtils.mc().getUser().getProfileId()) + FILE_SUFFIX);
+
+        // Do not lose changes made right before the game is closed
+        Runtime.getRuntime().addShutdownHook(new Thread(this::writePendingConfig));
     }
 
     public void init() {
         // First, we load the config file
         configObject = Managers.Json.loadPreciousJson(userConfigFile);
+        startupConfigObject = null;
 
         // Register all features and overlays
         Managers.Feature.getFeatures().forEach(this::registerFeature);
@@ -78,6 +98,25 @@ public final class ConfigManager extends Manager {
         Managers.Config.saveDefaultConfig();
     }
 
+    /**
+     * Returns whether the user has saved this feature as enabled or disabled, before configs are
+     * loaded. This lets features the user keeps disabled skip being enabled during startup.
+     */
+    public Optional<Boolean> getSavedUserEnabled(Feature feature) {
+        if (startupConfigObject == null) {
+            startupConfigObject = Managers.Json.loadPreciousJson(userConfigFile);
+        }
+
+        JsonElement userEnabled = startupConfigObject.get(feature.getJsonName() + ".userEnabled");
+        if (userEnabled == null
+                || !userEnabled.isJsonPrimitive()
+                || !userEnabled.getAsJsonPrimitive().isBoolean()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(userEnabled.getAsBoolean());
+    }
+
     private void registerFeature(Feature feature) {
         registerConfigOptions(feature);
 
@@ -100,6 +139,7 @@ public final class ConfigManager extends Manager {
     }
 
     public void reloadConfiguration() {
+        writePendingConfig();
         configObject = Managers.Json.loadPreciousJson(userConfigFile);
         loadConfigOptions(true, true);
     }
@@ -184,10 +224,11 @@ public final class ConfigManager extends Manager {
         // create json object, with entry for each option of each container
         JsonObject configJson = new JsonObject();
         for (Config<?> config : getConfigList()) {
-            if (!config.valueChanged()) continue; // only save options that have been set by the user
-            Object value = config.get();
+            // only save options that have been set by the user
+            JsonElement configElement = configJsonCache.getJson(
+                    config, config.get(), config::valueChanged, Managers.Json.GSON::toJsonTree);
+            if (configElement == null) continue;
 
-            JsonElement configElement = Managers.Json.GSON.toJsonTree(value);
             configJson.add(config.getJsonName(), configElement);
         }
 
@@ -209,13 +250,41 @@ public final class ConfigManager extends Manager {
 
         configJson.add(OVERLAY_GROUPS_JSON_KEY, overlayGroups);
 
-        Managers.Json.savePreciousJson(userConfigFile, configJson);
+        // The json is built here, on the thread that changed the configs, but written in the background
+        synchronized (pendingLock) {
+            boolean writeScheduled = pendingConfigJson != null;
+            pendingConfigJson = configJson;
+            if (!writeScheduled) {
+                Managers.Executor.schedule(
+                        TaskLane.IO, this::writePendingConfig, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
     }
 
     public File getUserConfigFile() {
+        // Make sure the file is up to date before anyone reads it
+        writePendingConfig();
         return userConfigFile;
     }
 
+    void markDirty(Config<?> config) {
+        configJsonCache.markDirty(config);
+    }
+
+    private void writePendingConfig() {
+        synchronized (fileLock) {
+            JsonObject configJson;
+            synchronized (pendingLock) {
+                configJson = pendingConfigJson;
+                pendingConfigJson = null;
+            }
+            if (configJson == null) return;
+
+            // Gson streams the json straight to the file
+            Managers.Json.savePreciousJson(userConfigFile, configJson);
+        }
+    }
+
     private void saveDefaultConfig() {
         // create json object, with entry for each option of each container
         JsonObject configJson = new JsonObject();
@@ -10,6 +10,7 @@ import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.mod.event.WynncraftConnectionEvent;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.PersistedValue;
@@ -24,8 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import net.neoforged.bus.api.SubscribeEvent;
 import org.apache.commons.lang3.reflect.FieldUtils;
@@ -37,7 +36,6 @@ public final class StorageManager extends Manager {
     private static final String FILE_SUFFIX = ".data.json";
     private final File userStorageFile;
 
-    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
     private final Map<String, Storage<?>> storages = new TreeMap<>();
     private final Map<Storage<?>, Type> storageTypes = new HashMap<>();
     private final Map<Storage<?>, Storageable> storageOwner = new HashMap<>();
@@ -112,7 +110,8 @@ public final class StorageManager extends Manager {
         long now = System.currentTimeMillis();
         long delay = Math.max((lastPersisted + SAVE_INTERVAL) - now, 0);
 
-        executor.schedule(
+        Managers.Executor.schedule(
+                TaskLane.IO,
                 () -> {
                     scheduledPersist = false;
                     lastPersisted = System.currentTimeMillis();
@@ -23,6 +23,7 @@ import com.wynntils.mc.mixin.accessors.ChatScreenAccessor;
 import com.wynntils.mc.mixin.accessors.ItemStackInfoAccessor;
 import com.wynntils.models.items.FakeItemStack;
 import com.wynntils.models.items.WynnItem;
+import com.wynntils.models.items.encoding.type.EncodedItemMatch;
 import com.wynntils.models.items.encoding.type.EncodingSettings;
 import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.models.items.properties.GearTierItemProperty;
@@ -40,6 +41,7 @@ import com.wynntils.utils.type.IterationDecision;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -60,6 +62,8 @@ import org.lwjgl.glfw.GLFW;
 
 @ConfigCategory(Category.CHAT)
 public class ChatItemFeature extends Feature {
+    private static final int MAX_DECODED_CHAT_ITEMS = 100;
+
     @RegisterKeyBind
     private final KeyBind shareItemKeybind =
             new KeyBind("Share Item", GLFW.GLFW_KEY_F3, true, null, slot -> shareItem(slot, true));
@@ -80,6 +84,14 @@ public class ChatItemFeature extends Feature {
 
     private final Map<String, String> chatItems = new HashMap<>();
 
+    // Items are often repeated in chat, so the last decoded items are kept by their encoded string
+    private final Map<String, WynnItem> decodedChatItems = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WynnItem> eldest) {
+            return size() > MAX_DECODED_CHAT_ITEMS;
+        }
+    };
+
     @SubscribeEvent
     public void onKeyTyped(KeyInputEvent e) {
         if (!Models.WorldState.onWorld()) return;
@@ -133,6 +145,9 @@ public class ChatItemFeature extends Feature {
 
         StyledText styledText = e.getStyledText();
 
+        // Most messages don't contain any items, so they are skipped before unwrapping
+        if (!containsEncodedItem(styledText)) return;
+
         StyledText unwrapped = StyledTextUtils.unwrap(styledText);
 
         // Decode old chat item encoding
@@ -188,36 +203,62 @@ public class ChatItemFeature extends Feature {
         }
     }
 
+    private boolean containsEncodedItem(StyledText styledText) {
+        for (StyledTextPart part : styledText) {
+            if (Models.ItemEncoding.containsEncodedItem(part.getString(null, PartStyle.StyleType.NONE))) return true;
+        }
+
+        return false;
+    }
+
     private void decodeChatEncoding(List<StyledTextPart> changes, StyledTextPart partToReplace) {
-        Matcher matcher = Models.ItemEncoding.getEncodedDataPattern()
-                .matcher(partToReplace.getString(null, PartStyle.StyleType.NONE));
+        String unformattedString = partToReplace.getString(null, PartStyle.StyleType.NONE);
 
-        while (matcher.find()) {
-            String itemName = matcher.group("name");
-            EncodedByteBuffer encodedByteBuffer = EncodedByteBuffer.fromUtf16String(matcher.group("data"));
-            ErrorOr<WynnItem> errorOrDecodedItem = Models.ItemEncoding.decodeItem(encodedByteBuffer, itemName);
+        EncodedItemMatch match = Models.ItemEncoding.findEncodedItem(unformattedString, 0);
+        if (match == null) return;
+
+        PartStyle partStyle = partToReplace.getPartStyle();
+        List<StyledTextPart> replacedParts = new ArrayList<>();
+
+        int lastEnd = 0;
+        while (match != null) {
+            ErrorOr<WynnItem> errorOrDecodedItem = decodeChatItem(unformattedString, match);
+
+            String before = unformattedString.substring(lastEnd, match.start());
+            replacedParts.add(new StyledTextPart(before, partStyle.getStyle(), null, Style.EMPTY));
+            if (errorOrDecodedItem.hasError()) {
+                String originalString = unformattedString.substring(match.start(), match.end());
+                replacedParts.add(createErrorPart(originalString, errorOrDecodedItem.getError()));
+            } else {
+                replacedParts.addAll(createItemPart(errorOrDecodedItem.getValue()));
+            }
 
-            String unformattedString = partToReplace.getString(null, PartStyle.StyleType.NONE);
+            lastEnd = match.end();
+            match = Models.ItemEncoding.findEncodedItem(unformattedString, lastEnd);
+        }
 
-            String firstPart = unformattedString.substring(0, matcher.start());
-            String lastPart = unformattedString.substring(matcher.end());
+        String lastPart = unformattedString.substring(lastEnd);
+        replacedParts.add(new StyledTextPart(lastPart, partStyle.getStyle(), null, Style.EMPTY));
 
-            PartStyle partStyle = partToReplace.getPartStyle();
+        changes.remove(partToReplace);
+        changes.addAll(replacedParts);
+    }
 
-            StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), null, Style.EMPTY);
-            List<StyledTextPart> replacedParts = errorOrDecodedItem.hasError()
-                    ? List.of(createErrorPart(matcher.group(), errorOrDecodedItem.getError()))
-                    : createItemPart(errorOrDecodedItem.getValue());
-            StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), null, Style.EMPTY);
+    private ErrorOr<WynnItem> decodeChatItem(String text, EncodedItemMatch match) {
+        String payload = text.substring(match.start(), match.end());
+        WynnItem cachedItem = decodedChatItems.get(payload);
+        if (cachedItem != null) return ErrorOr.of(cachedItem);
 
-            changes.remove(partToReplace);
-            changes.add(first);
-            changes.addAll(replacedParts);
-            changes.add(last);
+        // Decode the data straight from the message, without copying it first
+        EncodedByteBuffer encodedByteBuffer = EncodedByteBuffer.fromUtf16String(text, match.start(), match.dataEnd());
+        ErrorOr<WynnItem> errorOrDecodedItem = Models.ItemEncoding.decodeItem(encodedByteBuffer, match.name());
 
-            partToReplace = last;
-            matcher = Models.ItemEncoding.getEncodedDataPattern().matcher(lastPart);
+        // Errors are not cached, as they can be caused by the item data not being loaded yet
+        if (!errorOrDecodedItem.hasError()) {
+            decodedChatItems.put(payload, errorOrDecodedItem.getValue());
         }
+
+        return errorOrDecodedItem;
     }
 
     private StyledTextPart createErrorPart(String originalString, String error) {
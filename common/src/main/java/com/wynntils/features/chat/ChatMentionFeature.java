@@ -48,14 +48,18 @@ public class ChatMentionFeature extends Feature {
     @Persisted
     public final Config<Boolean> suppressMentionsInInfo = new Config<>(false);
 
-    private List<Pattern> mentionPatterns;
+    private List<Pattern> mentionPatterns = List.of();
 
-    public ChatMentionFeature() {
+    @Override
+    public void onEnable() {
         mentionPatterns = buildPattern();
     }
 
     @Override
     protected void onConfigUpdate(Config<?> config) {
+        // Patterns are built when the feature is enabled
+        if (!isEnabled()) return;
+
         // rebuild pattern in case it has changed
         mentionPatterns = buildPattern();
     }
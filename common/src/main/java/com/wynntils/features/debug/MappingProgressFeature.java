@@ -14,12 +14,9 @@ import com.wynntils.core.persisted.config.Category;
 import com.wynntils.core.persisted.config.ConfigCategory;
 import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.mc.event.ChunkReceivedEvent;
-import java.util.Collections;
-import java.util.Set;
-import java.util.TreeSet;
+import com.wynntils.utils.type.ChunkBitmap;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
-import net.minecraft.world.level.ChunkPos;
 import net.neoforged.bus.api.SubscribeEvent;
 
 @ConfigCategory(Category.DEBUG)
@@ -32,16 +29,17 @@ public class MappingProgressFeature extends Feature {
             .build();
 
     @Persisted
-    private final Storage<Set<Long>> mappedChunks = new Storage<>(new TreeSet<>());
+    private final Storage<ChunkBitmap> mappedChunks = new Storage<>(new ChunkBitmap());
 
     @SubscribeEvent
     public void onChunkLoaded(ChunkReceivedEvent event) {
-        mappedChunks.get().add(ChunkPos.asLong(event.getChunkX(), event.getChunkZ()));
-        mappedChunks.touched();
+        if (mappedChunks.get().add(event.getChunkX(), event.getChunkZ())) {
+            mappedChunks.touched();
+        }
     }
 
-    public Set<Long> getMappedChunks() {
-        return Collections.unmodifiableSet(mappedChunks.get());
+    public ChunkBitmap getMappedChunks() {
+        return mappedChunks.get();
     }
 
     private int resetMappedChunks(CommandContext<CommandSourceStack> context) {
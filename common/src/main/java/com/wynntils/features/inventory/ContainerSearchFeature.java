@@ -42,6 +42,7 @@ import com.wynntils.models.containers.containers.personal.IslandBlockBankContain
 import com.wynntils.models.containers.containers.personal.MiscBucketContainer;
 import com.wynntils.models.containers.containers.personal.PersonalBlockBankContainer;
 import com.wynntils.models.containers.containers.personal.PersonalStorageContainer;
+import com.wynntils.models.containers.type.PersonalStorageType;
 import com.wynntils.models.containers.type.SearchableContainerProperty;
 import com.wynntils.models.items.WynnItem;
 import com.wynntils.models.items.WynnItemData;
@@ -50,6 +51,8 @@ import com.wynntils.screens.base.widgets.ItemFilterUIButton;
 import com.wynntils.screens.base.widgets.ItemSearchWidget;
 import com.wynntils.screens.base.widgets.SearchWidget;
 import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemindex.type.ItemIndexMatch;
+import com.wynntils.services.itemindex.type.ItemIndexSource;
 import com.wynntils.utils.colors.CommonColors;
 import com.wynntils.utils.colors.CustomColor;
 import com.wynntils.utils.mc.KeyboardUtils;
@@ -154,6 +157,8 @@ public class ContainerSearchFeature extends Feature {
     // some items are updated and some are not. We will assume that after SEARCH_DELAY_MS milliseconds, the inventory
     // is fully updated.
     private static final int GUILD_BANK_SEARCH_DELAY = 500;
+    // Quick jumps take a few page loads, give up waiting for one after this
+    private static final int INDEXED_JUMP_TIMEOUT_MS = 5000;
     private long guildBankLastSearch = 0;
 
     private SearchWidget lastSearchWidget;
@@ -162,6 +167,8 @@ public class ContainerSearchFeature extends Feature {
     private boolean matchedItems = false;
     private int direction = 0;
     private ItemSearchQuery lastSearchQuery;
+    private int indexedJumpDestination = 0;
+    private long indexedJumpStart = 0;
 
     @SubscribeEvent
     public void onScreenInit(ScreenInitEvent.Pre event) {
@@ -221,6 +228,7 @@ public class ContainerSearchFeature extends Feature {
     @SubscribeEvent
     public void onSlotClicked(ContainerClickEvent e) {
         autoSearching = false;
+        indexedJumpDestination = 0;
     }
 
     @SubscribeEvent
@@ -232,6 +240,7 @@ public class ContainerSearchFeature extends Feature {
         matchedItems = false;
         direction = 0;
         guildBankLastSearch = 0;
+        indexedJumpDestination = 0;
     }
 
     @SubscribeEvent
@@ -296,6 +305,8 @@ public class ContainerSearchFeature extends Feature {
             guildBankLastSearch = System.currentTimeMillis();
         }
 
+        if (currentContainer instanceof PersonalStorageContainer && tryIndexedJump()) return;
+
         int slot = direction == 1 ? currentContainer.getNextItemSlot() : currentContainer.getPreviousItemSlot();
 
         StyledText name = StyledText.fromComponent(
@@ -316,6 +327,47 @@ public class ContainerSearchFeature extends Feature {
                 abstractContainerScreen.getMenu().getItems());
     }
 
+    // Pages that were viewed before are looked up in the item index, so we can jump straight past the pages
+    // that can't contain a match, instead of opening them one by one
+    private boolean tryIndexedJump() {
+        PersonalStorageType storageType = Models.Bank.getStorageContainerType();
+        if (storageType == null || lastSearchQuery == null || lastSearchQuery.isEmpty()) return false;
+
+        PersonalStorageUtilitiesFeature storageUtilitiesFeature =
+                Managers.Feature.getFeatureInstance(PersonalStorageUtilitiesFeature.class);
+        if (!storageUtilitiesFeature.isEnabled()) return false;
+
+        int currentPage = Models.Bank.getCurrentPage();
+        if (indexedJumpDestination != 0) {
+            // The storage utilities are still jumping to the destination
+            if (currentPage != indexedJumpDestination
+                    && storageUtilitiesFeature.isJumpingTo(indexedJumpDestination)
+                    && System.currentTimeMillis() - indexedJumpStart < INDEXED_JUMP_TIMEOUT_MS) return true;
+
+            // We either arrived, or the jump was given up, so continue from the page we are on
+            indexedJumpDestination = 0;
+        }
+
+        ItemIndexSource source = ItemIndexSource.fromPersonalStorageType(storageType);
+        int finalPage = Models.Bank.getFinalPage();
+        for (int page = currentPage + direction; page >= 1 && page <= finalPage; page += direction) {
+            // Pages that were never viewed, or have items we can't check, have to be opened
+            if (Services.ItemIndex.matchPage(source, page, lastSearchQuery) == ItemIndexMatch.NO_MATCH) continue;
+
+            // The next page is opened the usual way
+            if (Math.abs(page - currentPage) == 1) return false;
+
+            indexedJumpDestination = page;
+            indexedJumpStart = System.currentTimeMillis();
+            storageUtilitiesFeature.jumpToDestination(page);
+            return true;
+        }
+
+        // All remaining pages are known, and none of them contain a match
+        autoSearching = false;
+        return true;
+    }
+
     private SearchableContainerProperty getCurrentSearchableContainer() {
         if (Models.Container.getCurrentContainer() instanceof SearchableContainerProperty searchableContainer) {
             for (Map.Entry<Class<? extends SearchableContainerProperty>, Supplier<Boolean>> entry :
@@ -6,7 +6,7 @@ package com.wynntils.features.inventory;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
-import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.config.Category;
@@ -14,17 +14,21 @@ import com.wynntils.core.persisted.config.Config;
 import com.wynntils.core.persisted.config.ConfigCategory;
 import com.wynntils.mc.event.HotbarSlotRenderEvent;
 import com.wynntils.mc.event.SlotRenderEvent;
+import com.wynntils.models.items.WynnItem;
 import com.wynntils.models.items.properties.DurableItemProperty;
+import com.wynntils.services.slotdecoration.type.ArcDecoration;
+import com.wynntils.services.slotdecoration.type.SlotDecorationKey;
 import com.wynntils.utils.colors.CustomColor;
-import com.wynntils.utils.render.RenderUtils;
 import com.wynntils.utils.type.CappedValue;
-import java.util.Optional;
 import net.minecraft.util.Mth;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.SubscribeEvent;
 
 @ConfigCategory(Category.INVENTORY)
 public class DurabilityArcFeature extends Feature {
+    private static final SlotDecorationKey<ArcDecoration> DURABILITY_ARC_KEY =
+            new SlotDecorationKey<>("durabilityArc");
+
     @Persisted
     public final Config<Boolean> renderDurabilityArcInventories = new Config<>(true);
 
@@ -46,18 +50,20 @@ public class DurabilityArcFeature extends Feature {
     }
 
     private void drawDurabilityArc(PoseStack poseStack, ItemStack itemStack, int slotX, int slotY, boolean hotbar) {
-        Optional<DurableItemProperty> durableItemOpt =
-                Models.Item.asWynnItemProperty(itemStack, DurableItemProperty.class);
-        if (durableItemOpt.isEmpty()) return;
+        Services.SlotDecoration.getDecoration(itemStack, DURABILITY_ARC_KEY, this::calculateDurabilityArc)
+                .ifPresent(arc -> arc.render(poseStack, slotX, slotY, hotbar ? 0 : 200));
+    }
+
+    private ArcDecoration calculateDurabilityArc(WynnItem wynnItem) {
+        if (!(wynnItem instanceof DurableItemProperty durableItem)) return null;
 
-        CappedValue durability = durableItemOpt.get().getDurability();
+        CappedValue durability = durableItem.getDurability();
 
         // calculate color of arc
         float durabilityFraction = (float) durability.current() / durability.max();
         int colorInt = Mth.hsvToRgb(Math.max(0f, durabilityFraction) / 3f, 1f, 1f);
         CustomColor color = CustomColor.fromInt(colorInt).withAlpha(160);
 
-        // draw
-        RenderUtils.drawArc(poseStack, color, slotX, slotY, hotbar ? 0 : 200, durabilityFraction, 6, 8);
+        return new ArcDecoration(color, durabilityFraction, 0, 6, 8);
     }
 }
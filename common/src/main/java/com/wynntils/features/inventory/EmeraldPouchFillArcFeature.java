@@ -6,7 +6,7 @@ package com.wynntils.features.inventory;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
-import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.config.Category;
@@ -14,17 +14,20 @@ import com.wynntils.core.persisted.config.Config;
 import com.wynntils.core.persisted.config.ConfigCategory;
 import com.wynntils.mc.event.HotbarSlotRenderEvent;
 import com.wynntils.mc.event.SlotRenderEvent;
+import com.wynntils.models.items.WynnItem;
 import com.wynntils.models.items.items.game.EmeraldPouchItem;
+import com.wynntils.services.slotdecoration.type.ArcDecoration;
+import com.wynntils.services.slotdecoration.type.SlotDecorationKey;
 import com.wynntils.utils.colors.CustomColor;
-import com.wynntils.utils.render.RenderUtils;
 import com.wynntils.utils.type.CappedValue;
-import java.util.Optional;
 import net.minecraft.util.Mth;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.SubscribeEvent;
 
 @ConfigCategory(Category.INVENTORY)
 public class EmeraldPouchFillArcFeature extends Feature {
+    private static final SlotDecorationKey<ArcDecoration> FILL_ARC_KEY = new SlotDecorationKey<>("emeraldPouchFillArc");
+
     @Persisted
     public final Config<Boolean> renderFillArcHotbar = new Config<>(true);
 
@@ -46,12 +49,14 @@ public class EmeraldPouchFillArcFeature extends Feature {
     }
 
     private void drawFilledArc(PoseStack poseStack, ItemStack itemStack, int slotX, int slotY, boolean hotbar) {
-        Optional<EmeraldPouchItem> optionalItem = Models.Item.asWynnItem(itemStack, EmeraldPouchItem.class);
+        Services.SlotDecoration.getDecoration(itemStack, FILL_ARC_KEY, this::calculateFillArc)
+                .ifPresent(arc -> arc.render(poseStack, slotX, slotY, hotbar ? 0 : 200));
+    }
 
-        if (optionalItem.isEmpty()) return;
+    private ArcDecoration calculateFillArc(WynnItem wynnItem) {
+        if (!(wynnItem instanceof EmeraldPouchItem emeraldPouchItem)) return null;
 
-        CappedValue capacity = new CappedValue(
-                optionalItem.get().getValue(), optionalItem.get().getCapacity());
+        CappedValue capacity = new CappedValue(emeraldPouchItem.getValue(), emeraldPouchItem.getCapacity());
 
         // calculate color of arc
         float capacityFraction = (float) capacity.current() / capacity.max();
@@ -61,7 +66,6 @@ public class EmeraldPouchFillArcFeature extends Feature {
         // The amount of ring to render
         float ringFraction = Math.min(1f, capacityFraction);
 
-        // draw
-        RenderUtils.drawArc(poseStack, color, slotX - 2, slotY - 2, hotbar ? 0 : 200, ringFraction, 8, 10);
+        return new ArcDecoration(color, ringFraction, -2, 8, 10);
     }
 }
@@ -111,17 +111,10 @@ public class ItemFavoriteFeature extends Feature {
         if (wynnItemOpt.isEmpty()) return false;
 
         WynnItem wynnItem = wynnItemOpt.get();
-        int currentRevision = Services.Favorites.getRevision();
-        Integer revision = wynnItem.getData().get(WynnItemData.FAVORITE_KEY);
-        if (revision != null && (revision == currentRevision || revision == -currentRevision)) {
-            // The cache is up to date; positive value means it is a favorite
-            return revision > 0;
-        }
-
-        // Cache is missing or outdated
-        boolean isFavorite = Services.Favorites.calculateFavorite(itemStack, wynnItem);
-        wynnItem.getData().store(WynnItemData.FAVORITE_KEY, isFavorite ? currentRevision : -currentRevision);
-        return isFavorite;
+        // The key is invalidated whenever the set of favorites changes
+        return wynnItem.getData()
+                .getOrCalculate(
+                        WynnItemData.FAVORITE_KEY, () -> Services.Favorites.calculateFavorite(itemStack, wynnItem));
     }
 
     private static void renderFavoriteItem(SlotRenderEvent.Post event) {
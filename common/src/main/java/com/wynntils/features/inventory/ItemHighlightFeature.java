@@ -5,7 +5,7 @@
 package com.wynntils.features.inventory;
 
 import com.mojang.blaze3d.systems.RenderSystem;
-import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.config.Category;
@@ -13,18 +13,18 @@ import com.wynntils.core.persisted.config.Config;
 import com.wynntils.core.persisted.config.ConfigCategory;
 import com.wynntils.mc.event.HotbarSlotRenderEvent;
 import com.wynntils.mc.event.SlotRenderEvent;
+import com.wynntils.models.items.ItemDataKey;
 import com.wynntils.models.items.WynnItem;
-import com.wynntils.models.items.WynnItemData;
 import com.wynntils.models.items.items.game.EmeraldPouchItem;
 import com.wynntils.models.items.items.game.IngredientItem;
 import com.wynntils.models.items.items.game.MaterialItem;
 import com.wynntils.models.items.items.game.PowderItem;
 import com.wynntils.models.items.items.gui.CosmeticItem;
 import com.wynntils.models.items.properties.GearTierItemProperty;
+import com.wynntils.services.slotdecoration.type.SlotDecorationKey;
 import com.wynntils.utils.colors.CustomColor;
 import com.wynntils.utils.render.RenderUtils;
 import com.wynntils.utils.render.Texture;
-import java.util.Optional;
 import net.minecraft.ChatFormatting;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.EventPriority;
@@ -146,11 +146,15 @@ public class ItemHighlightFeature extends Feature {
     @Persisted
     public final Config<Float> hotbarOpacity = new Config<>(.5f);
 
+    private static final ItemDataKey<HighlightInfo> HIGHLIGHT_INFO_KEY = ItemDataKey.create("highlight");
+
+    private final SlotDecorationKey<CustomColor> highlightKey = new SlotDecorationKey<>("itemHighlight");
+
     @SubscribeEvent(priority = EventPriority.HIGH)
     public void onRenderSlot(SlotRenderEvent.Pre e) {
         if (!inventoryHighlightEnabled.get()) return;
 
-        CustomColor color = getHighlightColor(e.getSlot().getItem(), false);
+        CustomColor color = getHighlightColor(e.getSlot().getItem());
         if (color == CustomColor.NONE) return;
 
         RenderSystem.enableDepthTest();
@@ -176,19 +180,26 @@ public class ItemHighlightFeature extends Feature {
     public void onRenderHotbarSlot(HotbarSlotRenderEvent.Pre e) {
         if (!hotbarHighlightEnabled.get()) return;
 
-        CustomColor color = getHighlightColor(e.getItemStack(), true);
+        CustomColor color = getHighlightColor(e.getItemStack());
         if (color == CustomColor.NONE) return;
 
         RenderUtils.drawRect(e.getPoseStack(), color.withAlpha(hotbarOpacity.get()), e.getX(), e.getY(), 0, 16, 16);
     }
 
-    private CustomColor getHighlightColor(ItemStack itemStack, boolean hotbarHighlight) {
-        Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(itemStack);
-        if (wynnItemOpt.isEmpty()) return CustomColor.NONE;
+    @Override
+    protected void onConfigUpdate(Config<?> config) {
+        // Any of the highlight configs can change the resolved color
+        highlightKey.invalidate();
+    }
+
+    private CustomColor getHighlightColor(ItemStack itemStack) {
+        return Services.SlotDecoration.getDecoration(itemStack, highlightKey, this::calculateHighlightColor)
+                .orElse(CustomColor.NONE);
+    }
 
-        WynnItem wynnItem = wynnItemOpt.get();
-        HighlightInfo highlight = wynnItem.getData()
-                .getOrCalculate(WynnItemData.HIGHLIGHT_KEY, () -> calculateHighlightInfo(wynnItemOpt.get()));
+    private CustomColor calculateHighlightColor(WynnItem wynnItem) {
+        HighlightInfo highlight =
+                wynnItem.getData().getOrCalculate(HIGHLIGHT_INFO_KEY, () -> calculateHighlightInfo(wynnItem));
         if (highlight == null) return CustomColor.NONE;
 
         if (!highlight.isHighlightEnabled()) return CustomColor.NONE;
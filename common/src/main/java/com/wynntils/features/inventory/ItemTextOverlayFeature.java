@@ -6,7 +6,7 @@ package com.wynntils.features.inventory;
 
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.wynntils.core.WynntilsMod;
-import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.config.Category;
@@ -16,8 +16,8 @@ import com.wynntils.mc.event.HotbarSlotRenderEvent;
 import com.wynntils.mc.event.SlotRenderEvent;
 import com.wynntils.models.dungeon.type.Dungeon;
 import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.items.ItemDataKey;
 import com.wynntils.models.items.WynnItem;
-import com.wynntils.models.items.WynnItemData;
 import com.wynntils.models.items.items.game.AmplifierItem;
 import com.wynntils.models.items.items.game.AspectItem;
 import com.wynntils.models.items.items.game.DungeonKeyItem;
@@ -29,6 +29,7 @@ import com.wynntils.models.items.items.game.PowderItem;
 import com.wynntils.models.items.items.game.TeleportScrollItem;
 import com.wynntils.models.items.items.gui.SeaskipperDestinationItem;
 import com.wynntils.models.items.items.gui.SkillPointItem;
+import com.wynntils.services.slotdecoration.type.SlotDecorationKey;
 import com.wynntils.utils.MathUtils;
 import com.wynntils.utils.colors.CustomColor;
 import com.wynntils.utils.render.FontRenderer;
@@ -118,6 +119,10 @@ public class ItemTextOverlayFeature extends Feature {
     @Persisted
     public final Config<TextShadow> teleportScrollShadow = new Config<>(TextShadow.OUTLINE);
 
+    private static final ItemDataKey<TextOverlayInfo> TEXT_OVERLAY_INFO_KEY = ItemDataKey.create("overlay");
+
+    private final SlotDecorationKey<TextOverlay> textOverlayKey = new SlotDecorationKey<>("itemTextOverlay");
+
     @SubscribeEvent
     public void onRenderSlot(SlotRenderEvent.Post e) {
         if (!inventoryTextOverlayEnabled.get()) return;
@@ -132,22 +137,18 @@ public class ItemTextOverlayFeature extends Feature {
         drawTextOverlay(e.getPoseStack(), e.getItemStack(), e.getX(), e.getY(), true);
     }
 
-    private void drawTextOverlay(PoseStack poseStack, ItemStack itemStack, int slotX, int slotY, boolean hotbar) {
-        Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(itemStack);
-        if (wynnItemOpt.isEmpty()) return;
-
-        WynnItem wynnItem = wynnItemOpt.get();
-        TextOverlayInfo overlayProperty =
-                wynnItem.getData().getOrCalculate(WynnItemData.OVERLAY_KEY, () -> calculateOverlay(wynnItem));
-        if (overlayProperty == null) return;
+    @Override
+    protected void onConfigUpdate(Config<?> config) {
+        // Any of the overlay configs can change the resolved text overlay
+        textOverlayKey.invalidate();
+    }
 
-        if (!overlayProperty.isTextOverlayEnabled()) return;
+    private void drawTextOverlay(PoseStack poseStack, ItemStack itemStack, int slotX, int slotY, boolean hotbar) {
+        Optional<TextOverlay> textOverlayOpt =
+                Services.SlotDecoration.getDecoration(itemStack, textOverlayKey, this::calculateTextOverlay);
+        if (textOverlayOpt.isEmpty()) return;
 
-        TextOverlay textOverlay = overlayProperty.getTextOverlay();
-        if (textOverlay == null) {
-            WynntilsMod.error(overlayProperty + "'s textOverlay was null.");
-            return;
-        }
+        TextOverlay textOverlay = textOverlayOpt.get();
 
         poseStack.pushPose();
         poseStack.translate(0, 0, 300); // items are drawn at z300, so text has to be as well
@@ -158,6 +159,21 @@ public class ItemTextOverlayFeature extends Feature {
         poseStack.popPose();
     }
 
+    private TextOverlay calculateTextOverlay(WynnItem wynnItem) {
+        TextOverlayInfo overlayProperty =
+                wynnItem.getData().getOrCalculate(TEXT_OVERLAY_INFO_KEY, () -> calculateOverlay(wynnItem));
+        if (overlayProperty == null) return null;
+
+        if (!overlayProperty.isTextOverlayEnabled()) return null;
+
+        TextOverlay textOverlay = overlayProperty.getTextOverlay();
+        if (textOverlay == null) {
+            WynntilsMod.error(overlayProperty + "'s textOverlay was null.");
+        }
+
+        return textOverlay;
+    }
+
     private TextOverlayInfo calculateOverlay(WynnItem wynnItem) {
         if (wynnItem instanceof AmplifierItem amplifierItem) {
             return new AmplifierOverlay(amplifierItem);
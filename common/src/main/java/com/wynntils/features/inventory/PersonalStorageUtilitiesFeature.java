@@ -131,6 +131,10 @@ public class PersonalStorageUtilitiesFeature extends Feature {
         widget.removeEditInput();
     }
 
+    public boolean isJumpingTo(int destination) {
+        return quickJumping && pageDestination == destination;
+    }
+
     public void jumpToDestination(int destination) {
         quickJumping = true;
         pageDestination = destination;
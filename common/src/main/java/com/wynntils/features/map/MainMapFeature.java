@@ -6,6 +6,7 @@ package com.wynntils.features.map;
 
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.consumers.features.properties.RegisterKeyBind;
 import com.wynntils.core.keybinds.KeyBind;
@@ -113,6 +114,7 @@ public class MainMapFeature extends Feature {
     public final Config<Boolean> holdGuildMapOpen = new Config<>(true);
 
     private BlockPos lastChestPos;
+    private int customPoisVersion = 0;
 
     @RegisterKeyBind
     public final KeyBind openMapKeybind = new KeyBind("Open Main Map", GLFW.GLFW_KEY_M, false, this::openMainMap);
@@ -199,8 +201,14 @@ public class MainMapFeature extends Feature {
         }
     }
 
+    public int getCustomPoisVersion() {
+        return customPoisVersion;
+    }
+
     public void updateWaypoints() {
+        customPoisVersion++;
         WaypointsProvider.resetFeatures();
         customPois.get().forEach(WaypointsProvider::registerFeature);
+        Services.MapData.invalidateSnapshot();
     }
 }
@@ -6,6 +6,7 @@ package com.wynntils.features.overlays;
 
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.consumers.features.properties.RegisterKeyBind;
 import com.wynntils.core.consumers.overlays.annotations.OverlayInfo;
@@ -28,8 +29,6 @@ import com.wynntils.utils.mc.McUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import net.minecraft.ChatFormatting;
@@ -74,7 +73,6 @@ public class NpcDialogueFeature extends Feature {
     @Persisted
     public final Config<Integer> dialogAutoProgressAdditionalTimePerWord = new Config<>(300); // Milliseconds
 
-    private final ScheduledExecutorService autoProgressExecutor = Executors.newSingleThreadScheduledExecutor();
     private ScheduledFuture<?> scheduledAutoProgressKeyPress = null;
 
     // Normal mode
@@ -163,7 +161,8 @@ public class NpcDialogueFeature extends Feature {
         scheduledAutoProgressKeyPress.cancel(true);
 
         // Must be scheduled, can't be sent immediately
-        autoProgressExecutor.schedule(
+        Managers.Executor.schedule(
+                TaskLane.TIMER,
                 () -> McUtils.sendPacket(new ServerboundPlayerCommandPacket(
                         McUtils.player(), ServerboundPlayerCommandPacket.Action.RELEASE_SHIFT_KEY)),
                 100,
@@ -202,7 +201,8 @@ public class NpcDialogueFeature extends Feature {
     private ScheduledFuture<?> scheduledSneakPress(List<StyledText> dialogue) {
         long delay = Models.NpcDialogue.calculateMessageReadTime(dialogue);
 
-        return autoProgressExecutor.schedule(
+        return Managers.Executor.schedule(
+                TaskLane.TIMER,
                 () -> McUtils.sendPacket(new ServerboundPlayerCommandPacket(
                         McUtils.player(), ServerboundPlayerCommandPacket.Action.PRESS_SHIFT_KEY)),
                 delay,
@@ -94,7 +94,8 @@ public class ChatRedirectFeature extends Feature {
 
     private final List<Redirector> redirectors = new ArrayList<>();
 
-    public ChatRedirectFeature() {
+    @Override
+    protected void onFirstEnable() {
         register(new BlacksmithRedirector());
         register(new BloodPactHealthDeficitRedirector());
         register(new CraftedDurabilityRedirector());
@@ -5,7 +5,9 @@
 package com.wynntils.features.utilities;
 
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.consumers.features.properties.StartDisabled;
 import com.wynntils.core.persisted.Persisted;
@@ -89,7 +91,7 @@ public class TranslationFeature extends Feature {
 
             CompletableFuture<List<StyledText>> translationFuture = new CompletableFuture<>();
 
-            CompletableFuture.runAsync(() -> {
+            Managers.Executor.execute(TaskLane.IO, () -> {
                 try {
                     Services.Translation.getTranslator(translationService.get())
                             .translate(
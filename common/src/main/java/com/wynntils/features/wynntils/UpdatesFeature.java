@@ -7,6 +7,7 @@ package com.wynntils.features.wynntils;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.config.Category;
@@ -35,7 +36,7 @@ public class UpdatesFeature extends Feature {
     public void onWorldStateChange(WorldStateEvent event) {
         if (!event.isFirstJoinWorld()) return;
 
-        CompletableFuture.runAsync(() -> Services.Update.getLatestBuild()
+        Managers.Executor.execute(TaskLane.IO, () -> Services.Update.getLatestBuild()
                 .whenCompleteAsync((version, throwable) -> Managers.TickScheduler.scheduleNextTick(() -> {
                     if (version == null) {
                         WynntilsMod.info(
@@ -71,7 +72,8 @@ public class UpdatesFeature extends Feature {
                         CompletableFuture<UpdateService.UpdateResult> completableFuture = Services.Update.tryUpdate();
 
                         completableFuture.whenCompleteAsync(
-                                (result, t) -> McUtils.sendMessageToClient(result.getMessage()));
+                                (result, t) -> McUtils.sendMessageToClient(result.getMessage()),
+                                Managers.Executor.getMainThreadExecutor());
                     }
                 })));
     }
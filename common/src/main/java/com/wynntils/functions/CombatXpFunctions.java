@@ -29,9 +29,7 @@ public class CombatXpFunctions {
     public static class XpPerMinuteRawFunction extends Function<Integer> {
         @Override
         public Integer getValue(FunctionArguments arguments) {
-            return (int) (Models.CombatXp.getRawXpGainInLastMinute().stream()
-                    .mapToDouble(Float::doubleValue)
-                    .sum());
+            return (int) Models.CombatXp.getRawXpGainInLastMinute();
         }
 
         @Override
@@ -43,9 +41,7 @@ public class CombatXpFunctions {
     public static class XpPerMinuteFunction extends Function<String> {
         @Override
         public String getValue(FunctionArguments arguments) {
-            return StringUtils.integerToShortString((int) (Models.CombatXp.getRawXpGainInLastMinute().stream()
-                    .mapToDouble(Float::doubleValue)
-                    .sum()));
+            return StringUtils.integerToShortString((int) Models.CombatXp.getRawXpGainInLastMinute());
         }
 
         @Override
@@ -57,9 +53,7 @@ public class CombatXpFunctions {
     public static class XpPercentagePerMinuteFunction extends Function<Double> {
         @Override
         public Double getValue(FunctionArguments arguments) {
-            return Models.CombatXp.getPercentageXpGainInLastMinute().stream()
-                    .mapToDouble(Float::doubleValue)
-                    .sum();
+            return Models.CombatXp.getPercentageXpGainInLastMinute();
         }
 
         @Override
@@ -65,9 +65,7 @@ public class ProfessionFunctions {
                     arguments.getArgument("profession").getStringValue());
             if (professionType == null) return -1;
 
-            return (int) Models.Profession.getRawXpGainInLastMinute().get(professionType).stream()
-                    .mapToDouble(Float::doubleValue)
-                    .sum();
+            return (int) Models.Profession.getRawXpGainInLastMinute(professionType);
         }
 
         @Override
@@ -89,10 +87,7 @@ public class ProfessionFunctions {
                     arguments.getArgument("profession").getStringValue());
             if (professionType == null) return "Invalid profession";
 
-            return StringUtils.integerToShortString(
-                    (int) Models.Profession.getRawXpGainInLastMinute().get(professionType).stream()
-                            .mapToDouble(Float::doubleValue)
-                            .sum());
+            return StringUtils.integerToShortString((int) Models.Profession.getRawXpGainInLastMinute(professionType));
         }
 
         @Override
@@ -9,6 +9,7 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
+import com.wynntils.handlers.container.type.ContainerQueryPriority;
 import com.wynntils.mc.event.ContainerSetContentEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
 import com.wynntils.mc.event.LocalSoundEvent;
@@ -22,6 +23,7 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.network.chat.Component;
@@ -33,12 +35,15 @@ import net.neoforged.bus.api.SubscribeEvent;
 
 public final class ContainerQueryHandler extends Handler {
     private static final int NO_CONTAINER = -2;
-    private static final int OPERATION_TIMEOUT_TICKS = 60; // normal operation is ~10 ticks
-    private static final int NEXT_OPERATION_DELAY_TICKS = 5; // normal operation is ~10 ticks
     private static final String MENU_CLICK_SOUND = "minecraft.block.wooden_pressure_plate.click_on";
 
     private final LinkedList<ContainerQueryStep> queuedQueries = new LinkedList<>();
 
+    // Operation timeouts and delays between operations are derived from the measured server response time
+    private final ContainerResponseTimer responseTimer = new ContainerResponseTimer();
+    private int tickCount = 0;
+    private int stepStartTick = -1;
+
     private ContainerQueryStep currentStep;
     private String firstStepName;
 
@@ -53,14 +58,7 @@ public final class ContainerQueryHandler extends Handler {
 
     public void runQuery(ContainerQueryStep firstStep) {
         if (currentStep != null) {
-            // Only add if it is not already enqueued
-            boolean alreadyRunning = currentStep.getName().equals(firstStep.getName());
-            boolean alreadyQueued =
-                    queuedQueries.stream().anyMatch(query -> query.getName().equals(firstStep.getName()));
-
-            if (alreadyRunning || alreadyQueued) return;
-
-            queuedQueries.add(firstStep);
+            enqueueQuery(firstStep);
             return;
         }
 
@@ -81,6 +79,7 @@ public final class ContainerQueryHandler extends Handler {
         firstStepName = firstStep.getName();
         resetTimer();
         try {
+            stepStartTick = tickCount;
             if (!firstStep.startStep(null)) {
                 endQuery();
             }
@@ -127,6 +126,8 @@ public final class ContainerQueryHandler extends Handler {
 
     @SubscribeEvent
     public void onTick(TickEvent event) {
+        tickCount++;
+
         if (currentStep == null) return;
 
         if (ticksUntilNextOperation >= 0) {
@@ -136,6 +137,7 @@ public final class ContainerQueryHandler extends Handler {
                 try {
                     // Reset the timer for the next operation
                     ticksUntilNextOperation = -1;
+                    stepStartTick = tickCount;
                     // Return true iff taking the next step succeeded
                     if (currentStep.startStep(currentContent)) return;
                 } catch (Throwable t) {
@@ -159,6 +161,7 @@ public final class ContainerQueryHandler extends Handler {
         ticksRemaining--;
 
         if (ticksRemaining <= 0) {
+            responseTimer.recordTimeout();
             McUtils.sendPacket(new ServerboundContainerClosePacket(containerId));
             raiseError("Container reply timed out");
         }
@@ -170,6 +173,7 @@ public final class ContainerQueryHandler extends Handler {
         if (currentStep == null) return;
 
         if (currentStep.verifyContainer(e.getTitle(), e.getMenuType())) {
+            recordResponse();
             containerId = e.getContainerId();
             currentTitle = e.getTitle();
             currentMenuType = e.getMenuType();
@@ -237,6 +241,7 @@ public final class ContainerQueryHandler extends Handler {
 
             // Process container iff verifying succeeded
             if (currentStep.verifyContentChange(currentContent, changeMap, ContainerContentChangeType.SET_CONTENT)) {
+                recordResponse();
                 processContainer(currentContent);
             }
         } catch (Throwable t) {
@@ -287,6 +292,7 @@ public final class ContainerQueryHandler extends Handler {
 
             // Process container iff verifying succeeded
             if (currentStep.verifyContentChange(currentContent, changeMap, ContainerContentChangeType.SET_SLOT)) {
+                recordResponse();
                 processContainer(currentContent);
             }
         } catch (Throwable t) {
@@ -305,7 +311,7 @@ public final class ContainerQueryHandler extends Handler {
         if (nextStep != null) {
             // Go on and query another container
             currentStep = nextStep;
-            ticksUntilNextOperation = NEXT_OPERATION_DELAY_TICKS;
+            ticksUntilNextOperation = responseTimer.getNextOperationDelay();
         } else {
             // We're done
             endQuery();
@@ -339,9 +345,47 @@ public final class ContainerQueryHandler extends Handler {
         currentStep = null;
         currentContent = null;
         ticksUntilNextOperation = -1;
+        stepStartTick = -1;
+    }
+
+    private void enqueueQuery(ContainerQueryStep query) {
+        // Only add if it is not already running
+        if (currentStep.getName().equals(query.getName())) return;
+
+        ListIterator<ContainerQueryStep> iterator = queuedQueries.listIterator();
+        while (iterator.hasNext()) {
+            ContainerQueryStep queuedQuery = iterator.next();
+            if (!queuedQuery.getName().equals(query.getName())) continue;
+
+            // Already queued, but if it is now requested with a higher priority, move it forward
+            if (query.getPriority().compareTo(queuedQuery.getPriority()) >= 0) return;
+
+            iterator.remove();
+            insertByPriority(queuedQuery, query.getPriority());
+            return;
+        }
+
+        insertByPriority(query, query.getPriority());
+    }
+
+    private void insertByPriority(ContainerQueryStep query, ContainerQueryPriority priority) {
+        // Keep the queue ordered by priority, and by request order within the same priority
+        int index = 0;
+        for (ContainerQueryStep queuedQuery : queuedQueries) {
+            if (queuedQuery.getPriority().compareTo(priority) > 0) break;
+            index++;
+        }
+        queuedQueries.add(index, query);
+    }
+
+    private void recordResponse() {
+        if (stepStartTick < 0) return;
+
+        responseTimer.recordResponse(tickCount - stepStartTick);
+        stepStartTick = -1;
     }
 
     private void resetTimer() {
-        ticksRemaining = OPERATION_TIMEOUT_TICKS;
+        ticksRemaining = responseTimer.getOperationTimeout();
     }
 }
@@ -6,6 +6,7 @@ package com.wynntils.handlers.container;
 
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
+import com.wynntils.handlers.container.type.ContainerQueryPriority;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.inventory.MenuType;
@@ -52,4 +53,9 @@ public interface ContainerQueryStep {
 
     /** A way to identify this query. It is used to help avoid queueing the same query twice. */
     String getName();
+
+    /** Queued queries with a higher priority are run first. */
+    default ContainerQueryPriority getPriority() {
+        return ContainerQueryPriority.NORMAL;
+    }
 }
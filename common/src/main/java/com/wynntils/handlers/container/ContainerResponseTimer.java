@@ -0,0 +1,70 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.container;
+
+/**
+ * Estimates how long the server takes to answer a container action, in ticks, and derives the
+ * delay before the next action and the reply timeout from it. This uses the same smoothed
+ * round-trip estimation as TCP retransmission timers, so the timeout grows past the old fixed
+ * 60 ticks when the server is measured to be slow. It never drops below them, a shorter timeout
+ * would only fail queries on lag spikes that the old timeout rode out.
+ */
+public final class ContainerResponseTimer {
+    // Before we have any samples, behave like the old fixed timings
+    private static final double INITIAL_LATENCY_TICKS = 10;
+    private static final double INITIAL_LATENCY_VARIANCE_TICKS = 5;
+
+    private static final double LATENCY_GAIN = 0.125;
+    private static final double VARIANCE_GAIN = 0.25;
+
+    private static final int MIN_NEXT_OPERATION_DELAY_TICKS = 2;
+    private static final int MAX_NEXT_OPERATION_DELAY_TICKS = 5;
+    private static final int MIN_TIMEOUT_TICKS = 60;
+    private static final int MAX_TIMEOUT_TICKS = 300;
+    private static final int MAX_TIMEOUT_BACKOFF = 4;
+
+    private double latency = INITIAL_LATENCY_TICKS;
+    private double latencyVariance = INITIAL_LATENCY_VARIANCE_TICKS;
+    private int samples = 0;
+    private int timeoutBackoff = 1;
+
+    public void recordResponse(int latencyTicks) {
+        if (latencyTicks < 0) return;
+
+        timeoutBackoff = 1;
+
+        if (samples == 0) {
+            latency = latencyTicks;
+            latencyVariance = latencyTicks / 2d;
+        } else {
+            latencyVariance =
+                    (1 - VARIANCE_GAIN) * latencyVariance + VARIANCE_GAIN * Math.abs(latency - latencyTicks);
+            latency = (1 - LATENCY_GAIN) * latency + LATENCY_GAIN * latencyTicks;
+        }
+
+        samples++;
+    }
+
+    /**
+     * A reply that never came can't be measured, so like TCP, double the timeout until the next reply arrives.
+     */
+    public void recordTimeout() {
+        timeoutBackoff = Math.min(timeoutBackoff * 2, MAX_TIMEOUT_BACKOFF);
+    }
+
+    /**
+     * The server sometimes sends follow-up updates right after the content we reacted on,
+     * so wait a fraction of the usual response time before clicking again.
+     */
+    public int getNextOperationDelay() {
+        int delay = (int) Math.ceil(latency / 2);
+        return Math.clamp(delay, MIN_NEXT_OPERATION_DELAY_TICKS, MAX_NEXT_OPERATION_DELAY_TICKS);
+    }
+
+    public int getOperationTimeout() {
+        int timeout = Math.max((int) Math.ceil(latency + 4 * latencyVariance) * 2, MIN_TIMEOUT_TICKS);
+        return Math.min(timeout * timeoutBackoff, MAX_TIMEOUT_TICKS);
+    }
+}
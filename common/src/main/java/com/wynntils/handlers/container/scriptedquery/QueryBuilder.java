@@ -7,6 +7,7 @@ package com.wynntils.handlers.container.scriptedquery;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.handlers.container.type.ContainerAction;
 import com.wynntils.handlers.container.type.ContainerPredicate;
+import com.wynntils.handlers.container.type.ContainerQueryPriority;
 import java.util.LinkedList;
 import java.util.function.Consumer;
 
@@ -28,6 +29,7 @@ public final class QueryBuilder {
     private final String name;
     private final LinkedList<QueryStep> steps = new LinkedList<>();
     private Consumer<String> errorHandler = DEFAULT_ERROR_HANDLER;
+    private ContainerQueryPriority priority = ContainerQueryPriority.NORMAL;
 
     QueryBuilder(String name) {
         this.name = name;
@@ -38,6 +40,11 @@ public final class QueryBuilder {
         return this;
     }
 
+    public QueryBuilder priority(ContainerQueryPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
     public QueryBuilder then(QueryStep step) {
         steps.add(step);
         return this;
@@ -63,6 +70,6 @@ public final class QueryBuilder {
     }
 
     public ScriptedContainerQuery build() {
-        return new ScriptedContainerQuery(name, steps, errorHandler);
+        return new ScriptedContainerQuery(name, steps, errorHandler, priority);
     }
 }
@@ -10,6 +10,7 @@ import com.wynntils.handlers.container.ContainerQueryException;
 import com.wynntils.handlers.container.ContainerQueryStep;
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
+import com.wynntils.handlers.container.type.ContainerQueryPriority;
 import com.wynntils.utils.wynn.ItemUtils;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import java.util.LinkedList;
@@ -23,12 +24,15 @@ public final class ScriptedContainerQuery implements ContainerQueryStep {
     private final LinkedList<QueryStep> steps;
     private final Consumer<String> errorHandler;
     private final String name;
+    private final ContainerQueryPriority priority;
     private QueryStep currentStep = null;
 
-    ScriptedContainerQuery(String name, LinkedList<QueryStep> steps, Consumer<String> errorHandler) {
+    ScriptedContainerQuery(
+            String name, LinkedList<QueryStep> steps, Consumer<String> errorHandler, ContainerQueryPriority priority) {
         this.name = name;
         this.steps = steps;
         this.errorHandler = errorHandler;
+        this.priority = priority;
     }
 
     public static QueryBuilder builder(String name) {
@@ -79,6 +83,11 @@ public final class ScriptedContainerQuery implements ContainerQueryStep {
         return name;
     }
 
+    @Override
+    public ContainerQueryPriority getPriority() {
+        return priority;
+    }
+
     @Override
     public void onError(String errorMsg) {
         errorHandler.accept(errorMsg);
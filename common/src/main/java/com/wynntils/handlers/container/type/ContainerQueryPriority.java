@@ -0,0 +1,14 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.container.type;
+
+/** Decides the order in which queued container queries are run. */
+public enum ContainerQueryPriority {
+    // Queries the user is actively waiting for, like toggling tracking
+    HIGH,
+    NORMAL,
+    // Background refreshes, which can wait until everything else is done
+    LOW
+}
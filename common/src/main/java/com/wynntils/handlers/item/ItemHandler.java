@@ -51,6 +51,13 @@ public class ItemHandler extends Handler {
     private final List<Pattern> knownMarkerNames = new ArrayList<>();
     private final List<Pattern> simplifiablePatterns = new ArrayList<>();
 
+    // The items the server last sent for the inventory and the open container
+    private final SlotFingerprints inventoryFingerprints = new SlotFingerprints();
+    private final SlotFingerprints containerFingerprints = new SlotFingerprints();
+    private long skippedSlots = 0;
+    private long comparedSlots = 0;
+    private long annotatedItems = 0;
+
     public void registerKnownMarkerNames(List<Pattern> markerPatterns) {
         knownMarkerNames.addAll(markerPatterns);
     }
@@ -125,10 +132,22 @@ public class ItemHandler extends Handler {
         }
 
         List<ItemStack> newItems = event.getItems();
-
-        for (int i = 0; i < newItems.size(); i++) {
-            onItemStackUpdate(existingItems.get(i), newItems.get(i));
-        }
+        SlotFingerprints fingerprints = event.getContainerId() == 0 ? inventoryFingerprints : containerFingerprints;
+
+        // Slots that still hold the item the server sent last time keep their annotation without being compared
+        int keptSlots = fingerprints.update(
+                event.getContainerId(),
+                existingItems,
+                newItems,
+                (existingItem, newItem) -> ((ItemStackExtension) existingItem).getAnnotation() != null
+                        && ((ItemStackExtension) newItem).getAnnotation() == null,
+                (existingItem, newItem) -> updateItem(
+                        newItem,
+                        ((ItemStackExtension) existingItem).getAnnotation(),
+                        ((ItemStackExtension) existingItem).getOriginalName()),
+                this::onItemStackUpdate);
+        skippedSlots += keptSlots;
+        comparedSlots += newItems.size() - keptSlots;
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
@@ -156,21 +175,25 @@ public class ItemHandler extends Handler {
         }
     }
 
-    private void onItemStackUpdate(ItemStack existingItem, ItemStack newItem) {
+    /**
+     * @return false if the new item was changed after it was received, so it can't be compared to the next item
+     *         the server sends for its slot
+     */
+    private boolean onItemStackUpdate(ItemStack existingItem, ItemStack newItem) {
         // For e.g. FakeItemStacks we will already have an annotation
-        if (((ItemStackExtension) newItem).getAnnotation() != null) return;
+        if (((ItemStackExtension) newItem).getAnnotation() != null) return true;
 
         ItemAnnotation annotation = ((ItemStackExtension) existingItem).getAnnotation();
         if (annotation == null) {
             annotate(newItem);
-            return;
+            return true;
         }
 
         // Check if item type, damage and count matches; if not, it's definitely a new item
         // Wildcard items are exempt from this check due to the possibility of gear skins
         if (!similarStack(existingItem, newItem) && !isWildcardItem(existingItem) && !isWildcardItem(newItem)) {
             annotate(newItem);
-            return;
+            return true;
         }
 
         // We need to check if the name has changed, and/or the lore has changed
@@ -207,6 +230,7 @@ public class ItemHandler extends Handler {
             WynntilsMod.postEvent(event);
             if (event.isCanceled()) {
                 newItem.set(DataComponents.CUSTOM_NAME, existingItem.getHoverName());
+                return false;
             }
         } else {
             // The name is different, and it is not a know special name. This means it could be a
@@ -214,6 +238,8 @@ public class ItemHandler extends Handler {
             // has decreased). In any case, we need to reparse the complete item.
             annotate(newItem);
         }
+
+        return true;
     }
 
     private boolean isKnownMarkerName(StyledText newName) {
@@ -281,6 +307,7 @@ public class ItemHandler extends Handler {
 
     private ItemAnnotation calculateAnnotation(ItemStack itemStack, StyledText name) {
         long startTime = System.currentTimeMillis();
+        annotatedItems++;
 
         StyledText simplified = simplifyName(name);
 
@@ -370,9 +397,24 @@ public class ItemHandler extends Handler {
         return profilingCounts;
     }
 
+    public long getSkippedSlots() {
+        return skippedSlots;
+    }
+
+    public long getComparedSlots() {
+        return comparedSlots;
+    }
+
+    public long getAnnotatedItems() {
+        return annotatedItems;
+    }
+
     public void resetProfiling() {
         profilingTimes.clear();
         profilingCounts.clear();
+        skippedSlots = 0;
+        comparedSlots = 0;
+        annotatedItems = 0;
     }
 
     public List<ItemAnnotator> getAnnotators() {
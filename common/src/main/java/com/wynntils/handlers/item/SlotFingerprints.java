@@ -0,0 +1,123 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.item;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Remembers the item the server last sent for each slot of a container, together with a fingerprint
+ * of its type, count, damage, name and lore. If the server sends an item with the same fingerprint again,
+ * which is also the same item with the same components, and the slot still holds the item we remembered,
+ * the slot has not changed.
+ */
+public final class SlotFingerprints {
+    private final ToLongFunction<ItemStack> fingerprintFunction;
+
+    private int containerId = -1;
+    private long[] fingerprints = new long[0];
+    private ItemStack[] itemStacks = new ItemStack[0];
+
+    public SlotFingerprints() {
+        this(SlotFingerprints::fingerprint);
+    }
+
+    public SlotFingerprints(ToLongFunction<ItemStack> fingerprintFunction) {
+        this.fingerprintFunction = fingerprintFunction;
+    }
+
+    static long fingerprint(ItemStack itemStack) {
+        // We have to use the count field here to bypass the getCount method empty flag
+        int stackHash = Objects.hash(
+                itemStack.getItem(), itemStack.count, itemStack.getDamageValue(), itemStack.getHoverName());
+        int loreHash = Objects.hashCode(itemStack.get(DataComponents.LORE));
+
+        return ((long) stackHash << 32) | (loreHash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Updates the slots of a container with the items the server sent. Containers are often sent again with
+     * only a few changed slots, e.g. when flipping pages, so this is done in two passes:
+     * slots that still hold the item the server sent last time are kept first, and the rest are
+     * compared and annotated afterwards.
+     *
+     * @param canKeep returns true if the new item can take over the annotation of the existing item
+     * @param keep makes the new item take over the annotation of the existing item
+     * @param compare compares the items and annotates the new item, and returns false if the new item was changed
+     *                after it was received, so it can't be compared to the next item the server sends
+     * @return the number of slots that were kept
+     */
+    public int update(
+            int containerId,
+            List<ItemStack> existingItems,
+            List<ItemStack> newItems,
+            BiPredicate<ItemStack, ItemStack> canKeep,
+            BiConsumer<ItemStack, ItemStack> keep,
+            BiPredicate<ItemStack, ItemStack> compare) {
+        prepare(containerId, newItems.size());
+
+        long[] newFingerprints = new long[newItems.size()];
+        int[] changedSlots = new int[newItems.size()];
+        int changedSlotCount = 0;
+
+        for (int i = 0; i < newItems.size(); i++) {
+            ItemStack existingItem = existingItems.get(i);
+            ItemStack newItem = newItems.get(i);
+            newFingerprints[i] = fingerprintFunction.applyAsLong(newItem);
+
+            if (canKeep.test(existingItem, newItem) && isUnchanged(i, existingItem, newItem, newFingerprints[i])) {
+                keep.accept(existingItem, newItem);
+                remember(i, newItem, newFingerprints[i]);
+                continue;
+            }
+
+            changedSlots[changedSlotCount++] = i;
+        }
+
+        for (int j = 0; j < changedSlotCount; j++) {
+            int slot = changedSlots[j];
+            ItemStack newItem = newItems.get(slot);
+
+            if (compare.test(existingItems.get(slot), newItem)) {
+                remember(slot, newItem, newFingerprints[slot]);
+            } else {
+                itemStacks[slot] = null;
+            }
+        }
+
+        return newItems.size() - changedSlotCount;
+    }
+
+    /**
+     * Forgets all slots if the items are for another container, or a container of another size.
+     */
+    private void prepare(int containerId, int size) {
+        if (this.containerId == containerId && itemStacks.length == size) return;
+
+        this.containerId = containerId;
+        this.fingerprints = new long[size];
+        this.itemStacks = new ItemStack[size];
+    }
+
+    private boolean isUnchanged(int slot, ItemStack existingItem, ItemStack newItem, long fingerprint) {
+        // Items that were moved or replaced since the server sent them are different instances
+        if (existingItem == null || itemStacks[slot] != existingItem || fingerprints[slot] != fingerprint) {
+            return false;
+        }
+
+        // Different items can have the same fingerprint, so the items have to match as well
+        return existingItem.count == newItem.count && ItemStack.isSameItemSameComponents(existingItem, newItem);
+    }
+
+    private void remember(int slot, ItemStack itemStack, long fingerprint) {
+        itemStacks[slot] = itemStack;
+        fingerprints[slot] = fingerprint;
+    }
+}
@@ -9,9 +9,12 @@ import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.persisted.Persisted;
+import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.features.combat.ContentTrackerFeature;
 import com.wynntils.features.ui.WynntilsContentBookFeature;
+import com.wynntils.handlers.container.type.ContainerQueryPriority;
 import com.wynntils.handlers.scoreboard.ScoreboardPart;
 import com.wynntils.mc.event.ScreenClosedEvent;
 import com.wynntils.mc.event.SetSpawnEvent;
@@ -20,6 +23,7 @@ import com.wynntils.models.activities.beacons.ActivityBeaconKind;
 import com.wynntils.models.activities.beacons.ActivityBeaconMarkerKind;
 import com.wynntils.models.activities.caves.CaveInfo;
 import com.wynntils.models.activities.event.ActivityTrackerUpdatedEvent;
+import com.wynntils.models.activities.event.ContentBookSyncedEvent;
 import com.wynntils.models.activities.event.DialogueHistoryReloadedEvent;
 import com.wynntils.models.activities.markers.ActivityMarkerProvider;
 import com.wynntils.models.activities.quests.QuestInfo;
@@ -31,6 +35,8 @@ import com.wynntils.models.activities.type.ActivityRequirements;
 import com.wynntils.models.activities.type.ActivityStatus;
 import com.wynntils.models.activities.type.ActivityTrackingState;
 import com.wynntils.models.activities.type.ActivityType;
+import com.wynntils.models.activities.type.CachedActivityInfo;
+import com.wynntils.models.activities.type.ContentBookSnapshot;
 import com.wynntils.models.beacons.event.BeaconEvent;
 import com.wynntils.models.beacons.event.BeaconMarkerEvent;
 import com.wynntils.models.beacons.type.Beacon;
@@ -47,8 +53,14 @@ import com.wynntils.utils.type.CappedValue;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -88,6 +100,11 @@ public final class ActivityModel extends Model {
     private static final DialogueHistoryQueries DIALOGUE_HISTORY_QUERIES = new DialogueHistoryQueries();
     public static final ActivityMarkerProvider ACTIVITY_MARKER_PROVIDER = new ActivityMarkerProvider();
 
+    // Per character id, the last full content book scan of each activity type
+    @Persisted
+    private final Storage<Map<String, Map<ActivityType, ContentBookSnapshot>>> contentBookCache =
+            new Storage<>(new TreeMap<>());
+
     private TrackedActivity trackedActivity;
     private List<List<StyledText>> dialogueHistory = List.of();
     private CappedValue overallProgress = CappedValue.EMPTY;
@@ -389,14 +406,52 @@ public final class ActivityModel extends Model {
         boolean showUpdates = Managers.Feature.getFeatureInstance(WynntilsContentBookFeature.class)
                 .showContentBookLoadingUpdates
                 .get();
-        CONTAINER_QUERIES.queryContentBook(activityType, processResult, showUpdates, false);
+
+        String characterId = Models.Character.getId();
+        ContentBookSnapshot cachedSnapshot = getCachedSnapshot(characterId, activityType);
+
+        // Computed from the first page, and then used to decide what to do with the result
+        AtomicReference<List<String>> fingerprint = new AtomicReference<>();
+
+        CONTAINER_QUERIES.queryContentBook(
+                activityType,
+                (activities, progress) -> {
+                    if (cachedSnapshot != null && cachedSnapshot.matches(fingerprint.get())) {
+                        // Nothing could have changed, the remaining pages were skipped
+                        processResult.accept(cachedSnapshot.getActivityInfos(), progress);
+                        WynntilsMod.postEvent(new ContentBookSyncedEvent(activityType, List.of(), true));
+                        return;
+                    }
+
+                    List<ActivityInfo> changedActivities = getChangedActivities(cachedSnapshot, activities);
+                    storeSnapshot(characterId, activityType, fingerprint.get(), activities);
+
+                    processResult.accept(activities, progress);
+                    WynntilsMod.postEvent(new ContentBookSyncedEvent(activityType, changedActivities, false));
+                },
+                showUpdates,
+                false,
+                (firstPageActivities, progress) -> {
+                    fingerprint.set(getContentBookFingerprint(firstPageActivities, progress));
+                    return cachedSnapshot != null && cachedSnapshot.matches(fingerprint.get());
+                },
+                ContainerQueryPriority.NORMAL);
+    }
+
+    public void invalidateContentBookCache() {
+        if (contentBookCache.get().remove(Models.Character.getId()) != null) {
+            contentBookCache.touched();
+        }
     }
 
     public void startTracking(String name, ActivityType activityType) {
+        // The tracker on the scoreboard, which is part of the fingerprint, might only update after the next scan
+        invalidateContentBookCache();
         CONTAINER_QUERIES.toggleTracking(name, activityType);
     }
 
     public void stopTracking() {
+        invalidateContentBookCache();
         CONTAINER_QUERIES.toggleTracking(trackedActivity.trackedName(), trackedActivity.trackedType());
     }
 
@@ -430,7 +485,9 @@ public final class ActivityModel extends Model {
                     }
                 },
                 false,
-                true);
+                true,
+                (firstPageActivities, progress) -> false,
+                ContainerQueryPriority.LOW);
     }
 
     void setDialogueHistory(List<List<StyledText>> newDialogueHistory) {
@@ -438,6 +495,51 @@ public final class ActivityModel extends Model {
         WynntilsMod.postEvent(new DialogueHistoryReloadedEvent());
     }
 
+    private ContentBookSnapshot getCachedSnapshot(String characterId, ActivityType activityType) {
+        Map<ActivityType, ContentBookSnapshot> snapshots = contentBookCache.get().get(characterId);
+        if (snapshots == null) return null;
+
+        return snapshots.get(activityType);
+    }
+
+    private void storeSnapshot(
+            String characterId, ActivityType activityType, List<String> fingerprint, List<ActivityInfo> activities) {
+        // Don't cache anything if we don't know which character the content book belongs to
+        if (!Models.Character.hasCharacter()) return;
+
+        List<CachedActivityInfo> cachedActivities =
+                activities.stream().map(CachedActivityInfo::fromActivityInfo).toList();
+        contentBookCache
+                .get()
+                .computeIfAbsent(characterId, k -> new EnumMap<>(ActivityType.class))
+                .put(activityType, new ContentBookSnapshot(fingerprint, cachedActivities, System.currentTimeMillis()));
+        contentBookCache.touched();
+    }
+
+    private List<String> getContentBookFingerprint(List<ActivityInfo> firstPageActivities, List<StyledText> progress) {
+        // The levels decide which activities are available, and which requirements are fulfilled
+        Map<String, Integer> levels = new LinkedHashMap<>();
+        levels.put("level", Models.CharacterStats.getLevel());
+        for (ProfessionType professionType : ProfessionType.values()) {
+            levels.put(professionType.name(), Models.Profession.getLevel(professionType));
+        }
+
+        String tracked = trackedActivity == null
+                ? ""
+                : trackedActivity.trackedName() + ":" + trackedActivity.trackedTask().getString();
+
+        return ContentBookSnapshot.createFingerprint(progress, firstPageActivities, tracked, levels);
+    }
+
+    private List<ActivityInfo> getChangedActivities(ContentBookSnapshot cachedSnapshot, List<ActivityInfo> activities) {
+        if (cachedSnapshot == null) return activities;
+
+        Set<ActivityInfo> cachedActivities = Set.copyOf(cachedSnapshot.getActivityInfos());
+        return activities.stream()
+                .filter(activity -> !cachedActivities.contains(activity))
+                .toList();
+    }
+
     private Location getTrackedLocation() {
         return StyledTextUtils.extractLocation(trackedActivity.trackedTask()).orElse(null);
     }
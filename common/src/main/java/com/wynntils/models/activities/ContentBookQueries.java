@@ -14,6 +14,7 @@ import com.wynntils.handlers.container.scriptedquery.QueryStep;
 import com.wynntils.handlers.container.scriptedquery.ScriptedContainerQuery;
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentVerification;
+import com.wynntils.handlers.container.type.ContainerQueryPriority;
 import com.wynntils.models.activities.type.ActivityInfo;
 import com.wynntils.models.activities.type.ActivityType;
 import com.wynntils.models.items.items.gui.ActivityItem;
@@ -25,7 +26,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.ChatFormatting;
@@ -62,17 +65,25 @@ public class ContentBookQueries {
     /**
      * Trigger a rescan of the content book. When the rescan is done, Models.Content.updateFromContentBookQuery
      * will be called.
+     *
+     * @param canSkipRemainingPages decides from the activities and progress lines of the first page if the
+     *     remaining pages can be skipped, as nothing on them could have changed
      */
     protected void queryContentBook(
             ActivityType activityType,
             BiConsumer<List<ActivityInfo>, List<StyledText>> processResult,
             boolean showUpdates,
-            boolean firstPageOnly) {
+            boolean firstPageOnly,
+            BiPredicate<List<ActivityInfo>, List<StyledText>> canSkipRemainingPages,
+            ContainerQueryPriority priority) {
         List<ActivityInfo> newActivity = new ArrayList<>();
         List<StyledText> progress = new ArrayList<>();
+        // Belongs to this query, as another one can be queued while this one is running
+        AtomicBoolean skipRemainingPages = new AtomicBoolean();
 
         ScriptedContainerQuery query = ScriptedContainerQuery.builder(
                         "Content Book Query for " + activityType.getDisplayName())
+                .priority(priority)
                 .onError(msg -> {
                     WynntilsMod.warn("Problem querying Content Book: " + msg);
                     if (showUpdates && stateMessageContainer != null) {
@@ -133,12 +144,13 @@ public class ContentBookQueries {
                     ItemStack itemStack = c.items().get(PROGRESS_SLOT);
                     progress.add(ItemUtils.getItemName(itemStack));
                     progress.addAll(LoreUtils.getLore(itemStack));
+                    skipRemainingPages.set(!firstPageOnly && canSkipRemainingPages.test(newActivity, progress));
                 })
 
                 // Repeatedly click next page, if available, and process the following page
                 .repeat(
                         c -> {
-                            if (firstPageOnly) {
+                            if (firstPageOnly || skipRemainingPages.get()) {
                                 return false;
                             }
                             return ScriptedContainerQuery.containerHasSlot(
@@ -281,6 +293,7 @@ public class ContentBookQueries {
         // We do not want to change filtering when tracking, since we get
         // no chance to reset it
         ScriptedContainerQuery query = ScriptedContainerQuery.builder("Toggle Activity Tracking Query: " + name)
+                .priority(ContainerQueryPriority.HIGH)
                 .onError(msg -> {
                     WynntilsMod.warn("Problem querying Content Book for tracking: " + msg);
                     Managers.Notification.queueMessage(
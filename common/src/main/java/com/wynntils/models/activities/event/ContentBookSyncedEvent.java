@@ -0,0 +1,39 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.activities.event;
+
+import com.wynntils.models.activities.type.ActivityInfo;
+import com.wynntils.models.activities.type.ActivityType;
+import java.util.List;
+import net.neoforged.bus.api.Event;
+
+/**
+ * Fired when a content book scan of an activity type finished. If nothing changed since the
+ * cached scan, the remaining pages were skipped, and the changed list is empty.
+ */
+public class ContentBookSyncedEvent extends Event {
+    private final ActivityType activityType;
+    private final List<ActivityInfo> changedActivities;
+    private final boolean fromCache;
+
+    public ContentBookSyncedEvent(
+            ActivityType activityType, List<ActivityInfo> changedActivities, boolean fromCache) {
+        this.activityType = activityType;
+        this.changedActivities = changedActivities;
+        this.fromCache = fromCache;
+    }
+
+    public ActivityType getActivityType() {
+        return activityType;
+    }
+
+    public List<ActivityInfo> getChangedActivities() {
+        return changedActivities;
+    }
+
+    public boolean isFromCache() {
+        return fromCache;
+    }
+}
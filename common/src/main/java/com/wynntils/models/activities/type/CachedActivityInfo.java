@@ -0,0 +1,62 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.activities.type;
+
+import com.wynntils.core.text.StyledText;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A persistable copy of {@link ActivityInfo}. Gson cannot serialize {@link Optional}s,
+ * so the optional parts are stored as nullable fields instead.
+ */
+public record CachedActivityInfo(
+        ActivityType type,
+        String name,
+        ActivityStatus status,
+        String specialInfo,
+        StyledText description,
+        ActivityLength length,
+        String lengthInfo,
+        ActivityDistance distance,
+        String distanceInfo,
+        ActivityDifficulty difficulty,
+        ActivityRequirements requirements,
+        List<String> rewards,
+        ActivityTrackingState trackingState) {
+    public static CachedActivityInfo fromActivityInfo(ActivityInfo info) {
+        return new CachedActivityInfo(
+                info.type(),
+                info.name(),
+                info.status(),
+                info.specialInfo().orElse(null),
+                info.description().orElse(null),
+                info.length().orElse(null),
+                info.lengthInfo().orElse(null),
+                info.distance().orElse(null),
+                info.distanceInfo().orElse(null),
+                info.difficulty().orElse(null),
+                info.requirements(),
+                info.rewards(),
+                info.trackingState());
+    }
+
+    public ActivityInfo toActivityInfo() {
+        return new ActivityInfo(
+                type,
+                name,
+                status,
+                Optional.ofNullable(specialInfo),
+                Optional.ofNullable(description),
+                Optional.ofNullable(length),
+                Optional.ofNullable(lengthInfo),
+                Optional.ofNullable(distance),
+                Optional.ofNullable(distanceInfo),
+                Optional.ofNullable(difficulty),
+                requirements,
+                rewards == null ? List.of() : rewards,
+                trackingState);
+    }
+}
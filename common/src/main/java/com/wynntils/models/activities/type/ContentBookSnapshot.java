@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.activities.type;
+
+import com.wynntils.core.text.StyledText;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of the last full content book scan of one activity type for one character.
+ * The fingerprint is built from everything the first page of the content book and the character show,
+ * which together decide whether any activity could have changed, see {@link #createFingerprint}.
+ */
+public record ContentBookSnapshot(List<String> fingerprint, List<CachedActivityInfo> activities, long scanTime) {
+    /**
+     * The progress item only counts completed activities, so the status and tracking state of every activity
+     * on the first page is part of the fingerprint as well, together with the tracked activity and its current
+     * stage. Starting a quest or advancing one of its stages changes the tracker, even when the quest is not
+     * on the first page.
+     *
+     * @param progress the name and lore of the progress item on the first page
+     * @param firstPageActivities the activities on the first page
+     * @param trackedActivity the name and task of the tracked activity, or an empty string
+     * @param levels the combat and profession levels of the character, which decide the requirements
+     */
+    public static List<String> createFingerprint(
+            List<StyledText> progress,
+            List<ActivityInfo> firstPageActivities,
+            String trackedActivity,
+            Map<String, Integer> levels) {
+        List<String> fingerprint = new ArrayList<>();
+        progress.forEach(line -> fingerprint.add(line.getString()));
+
+        List<String> statusLines = new ArrayList<>();
+        for (ActivityInfo activity : firstPageActivities) {
+            statusLines.add(activity.type() + ":" + activity.name() + ":" + activity.status() + ":"
+                    + activity.trackingState());
+        }
+        // Keep the persisted fingerprint short, List#hashCode is stable between sessions for strings
+        fingerprint.add("page:" + statusLines.size() + ":" + Integer.toHexString(statusLines.hashCode()));
+
+        fingerprint.add("tracked:" + trackedActivity);
+        levels.forEach((name, level) -> fingerprint.add(name + ":" + level));
+        return fingerprint;
+    }
+
+    public boolean matches(List<String> otherFingerprint) {
+        return fingerprint != null && fingerprint.equals(otherFingerprint);
+    }
+
+    public List<ActivityInfo> getActivityInfos() {
+        if (activities == null) return List.of();
+
+        return activities.stream().map(CachedActivityInfo::toActivityInfo).toList();
+    }
+}
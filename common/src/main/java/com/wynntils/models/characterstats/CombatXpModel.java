@@ -13,7 +13,7 @@ import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.CappedValue;
-import com.wynntils.utils.type.TimedSet;
+import com.wynntils.utils.type.SlidingWindowSum;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import net.neoforged.bus.api.EventPriority;
@@ -40,8 +40,8 @@ public class CombatXpModel extends Model {
 
     private boolean firstJoinHappened = false;
 
-    private final TimedSet<Float> rawXpGainInLastMinute = new TimedSet<>(1, TimeUnit.MINUTES, true);
-    private final TimedSet<Float> percentageXpGainInLastMinute = new TimedSet<>(1, TimeUnit.MINUTES, true);
+    private final SlidingWindowSum rawXpGainInLastMinute = new SlidingWindowSum(1, TimeUnit.MINUTES);
+    private final SlidingWindowSum percentageXpGainInLastMinute = new SlidingWindowSum(1, TimeUnit.MINUTES);
 
     public CombatXpModel() {
         super(List.of());
@@ -155,12 +155,12 @@ public class CombatXpModel extends Model {
         return LEVEL_UP_XP_REQUIREMENTS[levelIndex];
     }
 
-    public TimedSet<Float> getRawXpGainInLastMinute() {
-        return rawXpGainInLastMinute;
+    public double getRawXpGainInLastMinute() {
+        return rawXpGainInLastMinute.getSum();
     }
 
-    public TimedSet<Float> getPercentageXpGainInLastMinute() {
-        return percentageXpGainInLastMinute;
+    public double getPercentageXpGainInLastMinute() {
+        return percentageXpGainInLastMinute.getSum();
     }
 
     public long getLastXpGainTimestamp() {
@@ -18,7 +18,7 @@ import com.wynntils.models.stats.type.DamageType;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.StringUtils;
 import com.wynntils.utils.type.CappedValue;
-import com.wynntils.utils.type.TimedSet;
+import com.wynntils.utils.type.SlidingWindowSum;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
@@ -40,7 +40,7 @@ public final class DamageModel extends Model {
 
     private final DamageBar damageBar = new DamageBar();
 
-    private final TimedSet<Long> areaDamageSet = new TimedSet<>(60, TimeUnit.SECONDS, true);
+    private final SlidingWindowSum areaDamageSet = new SlidingWindowSum(60, TimeUnit.SECONDS);
     private final Map<Integer, Map<DamageType, Long>> liveDamageInfo = new HashMap<>();
 
     private String focusedMobName = "";
@@ -139,19 +139,11 @@ public final class DamageModel extends Model {
     }
 
     public long getAreaDamagePerSecond() {
-        return areaDamageSet.getEntries().stream()
-                .filter(timedEntry -> (System.currentTimeMillis() - timedEntry.getCreation()) <= 1000L)
-                .mapToLong(TimedSet.TimedEntry::getEntry)
-                .sum();
+        return (long) areaDamageSet.getSum(1000L);
     }
 
     public double getAverageAreaDamagePerSecond(int seconds) {
-        return areaDamageSet.getEntries().stream()
-                        .filter(timedEntry ->
-                                (System.currentTimeMillis() - timedEntry.getCreation()) <= seconds * 1000L)
-                        .mapToLong(TimedSet.TimedEntry::getEntry)
-                        .sum()
-                / (double) seconds;
+        return (long) areaDamageSet.getSum(seconds * 1000L) / (double) seconds;
     }
 
     private void checkFocusedMobValidity() {
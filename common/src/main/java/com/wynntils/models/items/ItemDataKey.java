@@ -0,0 +1,55 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.items;
+
+/**
+ * A typed key for {@link WynnItemData}. Every key gets its own slot in the data array of
+ * each item when it is created, so lookups are a plain array access.
+ *
+ * <p>Values are tagged with the revision of their key when stored. When whatever a value
+ * depends on changes (a config, the current character, ...), calling {@link #invalidate()}
+ * makes the value stale on every item at once, and it is recalculated on the next access.
+ */
+public final class ItemDataKey<T> {
+    private static int keyCount = 0;
+
+    private final String name;
+    private final int slot;
+    private int revision = 1;
+
+    private ItemDataKey(String name, int slot) {
+        this.name = name;
+        this.slot = slot;
+    }
+
+    public static synchronized <T> ItemDataKey<T> create(String name) {
+        return new ItemDataKey<>(name, keyCount++);
+    }
+
+    static synchronized int getKeyCount() {
+        return keyCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void invalidate() {
+        revision++;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    int getRevision() {
+        return revision;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemDataKey{" + "name='" + name + '\'' + ", slot=" + slot + ", revision=" + revision + '}';
+    }
+}
@@ -7,7 +7,9 @@ package com.wynntils.models.items;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.storage.Storage;
+import com.wynntils.models.items.encoding.EncodedItemScanner;
 import com.wynntils.models.items.encoding.ItemTransformerRegistry;
+import com.wynntils.models.items.encoding.type.EncodedItemMatch;
 import com.wynntils.models.items.encoding.type.EncodingSettings;
 import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.models.items.properties.CraftedItemProperty;
@@ -54,6 +56,21 @@ public class ItemEncodingModel extends Model {
         return ENCODED_DATA_PATTERN;
     }
 
+    /**
+     * A faster check than {@link #getEncodedDataPattern()}, for text that usually doesn't contain any items.
+     */
+    public boolean containsEncodedItem(CharSequence text) {
+        return EncodedItemScanner.containsEncodedItem(text);
+    }
+
+    /**
+     * @return the first encoded item in the text, starting at {@code fromIndex}, with the same bounds
+     *         as a match of {@link #getEncodedDataPattern()}, or null if there is none
+     */
+    public EncodedItemMatch findEncodedItem(CharSequence text, int fromIndex) {
+        return EncodedItemScanner.find(text, fromIndex);
+    }
+
     public String makeItemString(WynnItem wynnItem, EncodedByteBuffer encodedItem) {
         String itemName = "";
 
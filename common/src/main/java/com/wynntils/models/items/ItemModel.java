@@ -10,6 +10,7 @@ import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.item.ItemAnnotation;
 import com.wynntils.handlers.item.ItemAnnotator;
 import com.wynntils.handlers.item.ItemHandler;
+import com.wynntils.models.character.event.CharacterUpdateEvent;
 import com.wynntils.models.items.annotators.game.AmplifierAnnotator;
 import com.wynntils.models.items.annotators.game.AspectAnnotator;
 import com.wynntils.models.items.annotators.game.CharmAnnotator;
@@ -53,6 +54,7 @@ import com.wynntils.models.items.annotators.gui.TerritoryUpgradeAnnotator;
 import java.util.List;
 import java.util.Optional;
 import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
 
 public class ItemModel extends Model {
     public ItemModel() {
@@ -110,6 +112,12 @@ public class ItemModel extends Model {
         Handlers.Item.registerAnnotator(new FallbackAnnotator());
     }
 
+    @SubscribeEvent
+    public void onCharacterUpdate(CharacterUpdateEvent event) {
+        // Tooltips show requirements for the current class
+        WynnItemData.TOOLTIP_KEY.invalidate();
+    }
+
     public Optional<WynnItem> getWynnItem(ItemStack itemStack) {
         Optional<ItemAnnotation> annotationOpt = ItemHandler.getItemStackAnnotation(itemStack);
         if (annotationOpt.isEmpty()) return Optional.empty();
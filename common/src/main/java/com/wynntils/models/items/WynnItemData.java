@@ -1,47 +1,80 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.items;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.wynntils.handlers.tooltip.TooltipBuilder;
+import com.wynntils.models.trademarket.type.TradeMarketPriceInfo;
+import java.util.Arrays;
 import java.util.function.Supplier;
+import net.minecraft.world.item.ItemStack;
 
 public class WynnItemData {
-    public static final String ITEMSTACK_KEY = "itemstack";
-    public static final String HIGHLIGHT_KEY = "highlight";
-    public static final String OVERLAY_KEY = "overlay";
-    public static final String TOOLTIP_KEY = "tooltip";
-    public static final String SEARCHED_KEY = "searched";
-    public static final String FAVORITE_KEY = "favorite";
-    public static final String EMERALD_PRICE_KEY = "price";
-
-    private final Map<String, Object> cache = new HashMap<>();
-
-    public <T> T get(String key) {
-        return (T) cache.get(key);
+    public static final ItemDataKey<ItemStack> ITEMSTACK_KEY = ItemDataKey.create("itemstack");
+    // Depends on the current character, as requirements are marked as met or not
+    public static final ItemDataKey<TooltipBuilder> TOOLTIP_KEY = ItemDataKey.create("tooltip");
+    public static final ItemDataKey<Boolean> SEARCHED_KEY = ItemDataKey.create("searched");
+    // Depends on the set of favorites
+    public static final ItemDataKey<Boolean> FAVORITE_KEY = ItemDataKey.create("favorite");
+    public static final ItemDataKey<TradeMarketPriceInfo> EMERALD_PRICE_KEY = ItemDataKey.create("price");
+
+    private Object[] values;
+    // The revision of the key each value was stored at, 0 if there is no value
+    private int[] revisions;
+
+    public WynnItemData() {
+        int keyCount = ItemDataKey.getKeyCount();
+        values = new Object[keyCount];
+        revisions = new int[keyCount];
     }
 
-    public <T> T getOrCalculate(String key, Supplier<T> calculator) {
-        if (!cache.containsKey(key)) {
-            T value = calculator.get();
-            store(key, value);
-            return value;
-        } else {
-            return get(key);
-        }
+    public <T> T get(ItemDataKey<T> key) {
+        return has(key) ? (T) values[key.getSlot()] : null;
     }
 
-    public <T> void store(String key, T obj) {
-        cache.put(key, obj);
+    /**
+     * @return true if there is a value for this key that is still valid, even if that value is null
+     */
+    public boolean has(ItemDataKey<?> key) {
+        int slot = key.getSlot();
+        return slot < revisions.length && revisions[slot] == key.getRevision();
+    }
+
+    public <T> T getOrCalculate(ItemDataKey<T> key, Supplier<T> calculator) {
+        if (has(key)) return (T) values[key.getSlot()];
+
+        T value = calculator.get();
+        store(key, value);
+        return value;
     }
 
-    public <T> void clear(String key) {
-        cache.remove(key);
+    public <T> void store(ItemDataKey<T> key, T obj) {
+        int slot = key.getSlot();
+        if (slot >= values.length) {
+            // The key was created after this item
+            int keyCount = ItemDataKey.getKeyCount();
+            values = Arrays.copyOf(values, keyCount);
+            revisions = Arrays.copyOf(revisions, keyCount);
+        }
+
+        values[slot] = obj;
+        revisions[slot] = key.getRevision();
+    }
+
+    /**
+     * Makes the value of this key stale on this item only, unlike {@link ItemDataKey#invalidate()}.
+     */
+    public void clear(ItemDataKey<?> key) {
+        int slot = key.getSlot();
+        if (slot >= values.length) return;
+
+        values[slot] = null;
+        revisions[slot] = 0;
     }
 
     public void clearAll() {
-        cache.clear();
+        Arrays.fill(values, null);
+        Arrays.fill(revisions, 0);
     }
 }
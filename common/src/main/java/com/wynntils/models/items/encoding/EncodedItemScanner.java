@@ -0,0 +1,84 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.items.encoding;
+
+import com.wynntils.models.items.encoding.type.EncodedItemMatch;
+
+/**
+ * Finds encoded items in text by looking at its characters directly, instead of running a regex over it.
+ *
+ * <p>Encoded data consists of characters from Unicode Supplementary Private Use Area-A and B
+ * (U+F0000..U+FFFFD and U+100000..U+10FFFD). Both areas are made of surrogate pairs, whose high surrogate
+ * is at least {@link #MIN_HIGH_SURROGATE}, so text without encoded data is skipped with a single pass
+ * that only compares chars. Matches are the same as with {@code ItemEncodingModel#getEncodedDataPattern()}:
+ * the data, optionally followed by a space and the item name in quotes.</p>
+ */
+public final class EncodedItemScanner {
+    private static final char MIN_HIGH_SURROGATE = Character.highSurrogate(0xF0000);
+
+    private EncodedItemScanner() {}
+
+    public static boolean containsEncodedItem(CharSequence text) {
+        return indexOfData(text, 0) != -1;
+    }
+
+    /**
+     * @return the first encoded item starting at or after {@code fromIndex}, or null if there is none
+     */
+    public static EncodedItemMatch find(CharSequence text, int fromIndex) {
+        int start = indexOfData(text, fromIndex);
+        if (start == -1) return null;
+
+        int dataEnd = start;
+        while (isDataCodePoint(text, dataEnd)) {
+            dataEnd += 2;
+        }
+
+        // The name is followed by the last quote before the end of the line
+        if (dataEnd + 2 < text.length() && text.charAt(dataEnd) == ' ' && text.charAt(dataEnd + 1) == '"') {
+            int nameStart = dataEnd + 2;
+            int lineEnd = nameStart;
+            while (lineEnd < text.length() && !isLineTerminator(text.charAt(lineEnd))) {
+                lineEnd++;
+            }
+
+            for (int quote = lineEnd - 1; quote > nameStart; quote--) {
+                if (text.charAt(quote) == '"') {
+                    return new EncodedItemMatch(
+                            start, dataEnd, quote + 1, text.subSequence(nameStart, quote).toString());
+                }
+            }
+        }
+
+        return new EncodedItemMatch(start, dataEnd, dataEnd, null);
+    }
+
+    private static int indexOfData(CharSequence text, int fromIndex) {
+        for (int i = fromIndex; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= MIN_HIGH_SURROGATE && c <= Character.MAX_HIGH_SURROGATE && isDataCodePoint(text, i)) return i;
+        }
+
+        return -1;
+    }
+
+    private static boolean isDataCodePoint(CharSequence text, int index) {
+        if (index + 1 >= text.length()) return false;
+
+        char high = text.charAt(index);
+        char low = text.charAt(index + 1);
+        if (high < MIN_HIGH_SURROGATE || high > Character.MAX_HIGH_SURROGATE || !Character.isLowSurrogate(low)) {
+            return false;
+        }
+
+        // The last two code points of both areas are not used
+        return (Character.toCodePoint(high, low) & 0xFFFF) < 0xFFFE;
+    }
+
+    // The characters a regex dot does not match
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
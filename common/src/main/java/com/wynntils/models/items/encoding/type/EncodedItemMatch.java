@@ -0,0 +1,15 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.items.encoding.type;
+
+/**
+ * An encoded item found in a text.
+ *
+ * @param start the index of the first character of the encoded data
+ * @param dataEnd the index after the last character of the encoded data
+ * @param end the index after the item, including the item name if there is one
+ * @param name the item name that was shared with the item, or null
+ */
+public record EncodedItemMatch(int start, int dataEnd, int end, String name) {}
@@ -7,23 +7,39 @@ package com.wynntils.models.players;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.mojang.blaze3d.systems.RenderSystem;
+import com.google.gson.JsonParseException;
+import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.mc.event.PlayerJoinedWorldEvent;
 import com.wynntils.mc.event.PlayerTeamEvent;
+import com.wynntils.models.players.type.AccountType;
+import com.wynntils.models.players.type.CachedUserLookup;
+import com.wynntils.models.players.type.CosmeticInfo;
 import com.wynntils.models.players.type.WynnPlayerInfo;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
+import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.TimedSet;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -31,6 +47,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -56,6 +73,39 @@ public final class PlayerModel extends Model {
     // before disabling lookups for them
     private static final int MAX_USER_ERRORS = 3;
 
+    // Lookups requested within this window are collected and resolved together
+    private static final int LOOKUP_BATCH_WINDOW_TICKS = 10;
+
+    // Max amount of lookups sent in a single batch, the rest waits for the next window
+    private static final int MAX_LOOKUPS_PER_BATCH = 8;
+
+    // How long lookup results are trusted before asking Athena again. Accounts are only cached while they have
+    // no cosmetics, which can change at any time, so they are asked for again much sooner.
+    private static final long ACCOUNT_LOOKUP_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final long NO_ACCOUNT_LOOKUP_TTL_MILLIS = TimeUnit.HOURS.toMillis(6);
+
+    // Max amount of persisted lookups, the oldest ones are dropped first
+    private static final int MAX_CACHED_LOOKUPS = 2000;
+
+    private static final CosmeticInfo NO_COSMETICS = new CosmeticInfo(false, false, false, null);
+
+    private static final File STORAGE_DIR = WynntilsMod.getModStorageDir("storage");
+    private static final String LOOKUPS_FILE_SUFFIX = ".userlookups.json";
+    private static final long SAVE_DELAY_MS = 5000;
+    private static final Type CACHED_LOOKUPS_TYPE = new TypeToken<Map<UUID, CachedUserLookup>>() {}.getType();
+
+    // Kept in their own file, so the lookups are not written with every save of the main storage
+    private final File lookupsFile;
+    private final Map<UUID, CachedUserLookup> cachedLookups;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean(false);
+
+    private final UserLookupBatcher lookupBatcher = new UserLookupBatcher(
+            LOOKUP_BATCH_WINDOW_TICKS,
+            MAX_LOOKUPS_PER_BATCH,
+            (task, ticks) -> Managers.TickScheduler.scheduleLater(task, ticks),
+            this::isUserKnown,
+            this::lookupUser);
+
     private final Map<UUID, WynntilsUser> users = new ConcurrentHashMap<>();
     private final Set<UUID> usersWithoutWynntilsAccount = ConcurrentHashMap.newKeySet();
     private final Set<UUID> fetching = ConcurrentHashMap.newKeySet();
@@ -72,6 +122,12 @@ public final class PlayerModel extends Model {
         super(List.of());
         errors.clear();
         userFailures.clear();
+
+        lookupsFile = new File(
+                STORAGE_DIR, UndashedUuid.toString(McUtils.mc().getUser().getProfileId()) + LOOKUPS_FILE_SUFFIX);
+        cachedLookups = loadCachedLookups();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::saveIfScheduled));
     }
 
     // Returns true if the player is on the same server and is not a npc
@@ -103,6 +159,7 @@ public final class PlayerModel extends Model {
     }
 
     public void reset() {
+        lookupBatcher.clear();
         fetching.clear();
         errors.clear();
         userFailures.clear();
@@ -153,10 +210,40 @@ public final class PlayerModel extends Model {
     }
 
     private void loadUser(UUID uuid, String userName) {
+        nameMap.put(uuid, userName);
+
+        lookupBatcher.request(uuid, userName);
+    }
+
+    private boolean isUserKnown(UUID uuid) {
         // Avoid fetching the same user multiple times
-        if (fetching.contains(uuid)) return;
-        if (users.containsKey(uuid) || usersWithoutWynntilsAccount.contains(uuid)) return;
+        if (fetching.contains(uuid)) return true;
+        if (users.containsKey(uuid) || usersWithoutWynntilsAccount.contains(uuid)) return true;
+
+        return loadCachedUser(uuid);
+    }
+
+    private boolean loadCachedUser(UUID uuid) {
+        CachedUserLookup cachedLookup = cachedLookups.get(uuid);
+        if (cachedLookup == null) return false;
 
+        if (cachedLookup.isExpired(
+                System.currentTimeMillis(), ACCOUNT_LOOKUP_TTL_MILLIS, NO_ACCOUNT_LOOKUP_TTL_MILLIS)) {
+            cachedLookups.remove(uuid);
+            scheduleSave();
+            return false;
+        }
+
+        if (cachedLookup.hasAccount()) {
+            addUser(uuid, new WynntilsUser(cachedLookup.accountType(), NO_COSMETICS));
+        } else {
+            usersWithoutWynntilsAccount.add(uuid);
+        }
+
+        return true;
+    }
+
+    private void lookupUser(UUID uuid, String userName) {
         // Call getEntries to clear old entries
         if (errors.getEntries().size() >= MAX_ERRORS) {
             // Athena is having problems, skip this
@@ -169,7 +256,6 @@ public final class PlayerModel extends Model {
         }
 
         fetching.add(uuid); // temporary, avoid extra loads
-        nameMap.put(uuid, userName);
 
         ApiResponse apiResponse =
                 Services.WynntilsAccount.callApi(UrlId.API_ATHENA_USER_INFO, Map.of("uuid", uuid.toString()));
@@ -178,6 +264,7 @@ public final class PlayerModel extends Model {
                     if (json.has("message") && json.get("message").getAsString().equals(ATHENA_USER_NOT_FOUND)) {
                         // This user does not exist in our database, stop requesting it
                         usersWithoutWynntilsAccount.add(uuid);
+                        cacheLookup(uuid, null);
                         fetching.remove(uuid);
                         return;
                     }
@@ -190,11 +277,9 @@ public final class PlayerModel extends Model {
 
                     WynntilsUser user = WynntilsMod.GSON.fromJson(json.getAsJsonObject("user"), WynntilsUser.class);
 
-                    users.put(uuid, user);
+                    addUser(uuid, user);
+                    cacheLookup(uuid, user);
                     fetching.remove(uuid);
-
-                    // Schedule cape loading for next render tick
-                    RenderSystem.recordRenderCall(() -> Services.Cosmetics.loadCosmeticTextures(uuid, user));
                 },
                 onError -> {
                     errors.put(System.currentTimeMillis());
@@ -203,6 +288,92 @@ public final class PlayerModel extends Model {
                 });
     }
 
+    private void addUser(UUID uuid, WynntilsUser user) {
+        users.put(uuid, user);
+
+        // Cosmetics are decoded off-thread and uploaded on the render thread by the service
+        Services.Cosmetics.loadCosmeticTextures(uuid, user);
+    }
+
+    private void cacheLookup(UUID uuid, WynntilsUser user) {
+        if (user != null && hasCosmetics(user)) {
+            // Cosmetics have to be looked up again anyway, to get their textures
+            if (cachedLookups.remove(uuid) != null) {
+                scheduleSave();
+            }
+            return;
+        }
+
+        AccountType accountType = user == null ? null : user.accountType();
+        cachedLookups.put(uuid, new CachedUserLookup(accountType, System.currentTimeMillis()));
+
+        if (cachedLookups.size() > MAX_CACHED_LOOKUPS) {
+            cachedLookups.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lookupTime()))
+                    .limit(cachedLookups.size() - MAX_CACHED_LOOKUPS)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(cachedLookups::remove);
+        }
+
+        scheduleSave();
+    }
+
+    private static boolean hasCosmetics(WynntilsUser user) {
+        CosmeticInfo cosmetics = user.cosmetics();
+        return cosmetics != null
+                && (cosmetics.hasCape()
+                        || cosmetics.hasElytra()
+                        || cosmetics.hasEars()
+                        || (cosmetics.texture() != null && !cosmetics.texture().isEmpty()));
+    }
+
+    private Map<UUID, CachedUserLookup> loadCachedLookups() {
+        // Keep the map thread-safe, as lookups complete on network threads
+        Map<UUID, CachedUserLookup> lookups = new ConcurrentHashMap<>();
+        if (!lookupsFile.exists()) return lookups;
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(lookupsFile), StandardCharsets.UTF_8)) {
+            Map<UUID, CachedUserLookup> storedLookups = WynntilsMod.GSON.fromJson(reader, CACHED_LOOKUPS_TYPE);
+            if (storedLookups == null) return lookups;
+
+            // Drop expired lookups
+            long now = System.currentTimeMillis();
+            storedLookups.forEach((uuid, lookup) -> {
+                if (uuid == null || lookup == null) return;
+                if (lookup.isExpired(now, ACCOUNT_LOOKUP_TTL_MILLIS, NO_ACCOUNT_LOOKUP_TTL_MILLIS)) return;
+
+                lookups.put(uuid, lookup);
+            });
+        } catch (IOException | JsonParseException e) {
+            // The lookups are only a cache, they will be looked up again
+            WynntilsMod.warn("Failed to load cached user lookups", e);
+        }
+
+        return lookups;
+    }
+
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            Managers.Executor.schedule(TaskLane.IO, this::saveIfScheduled, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void saveIfScheduled() {
+        if (!saveScheduled.getAndSet(false)) return;
+
+        FileUtils.mkdir(STORAGE_DIR);
+        File tempFile = new File(lookupsFile.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+            WynntilsMod.GSON.toJson(Map.copyOf(cachedLookups), CACHED_LOOKUPS_TYPE, writer);
+        } catch (IOException e) {
+            WynntilsMod.warn("Failed to save cached user lookups", e);
+            return;
+        }
+
+        FileUtils.replaceFile(tempFile, lookupsFile);
+    }
+
     public CompletableFuture<WynnPlayerInfo> getPlayer(String username) {
         CompletableFuture<WynnPlayerInfo> future = new CompletableFuture<>();
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Collects the user lookups requested within a batch window, and looks them up together once the window
+ * is over. A surge of players joining at once is spread over the following windows, a limited amount of
+ * lookups at a time.
+ *
+ * <p>Requests for the same user within a window are coalesced into one lookup, and users that are already
+ * known are not looked up at all.</p>
+ */
+public final class UserLookupBatcher {
+    private final int windowTicks;
+    private final int maxLookupsPerBatch;
+    private final BiConsumer<Runnable, Integer> tickScheduler;
+    private final Predicate<UUID> knownUser;
+    private final BiConsumer<UUID, String> lookup;
+
+    private final Map<UUID, String> pendingLookups = new LinkedHashMap<>();
+    private boolean batchScheduled = false;
+
+    /**
+     * @param tickScheduler runs a task the given amount of ticks later
+     * @param knownUser returns true if the user does not have to be looked up, because it is already known,
+     *                  or is being looked up right now
+     * @param lookup looks up a user, with its name
+     */
+    public UserLookupBatcher(
+            int windowTicks,
+            int maxLookupsPerBatch,
+            BiConsumer<Runnable, Integer> tickScheduler,
+            Predicate<UUID> knownUser,
+            BiConsumer<UUID, String> lookup) {
+        this.windowTicks = windowTicks;
+        this.maxLookupsPerBatch = maxLookupsPerBatch;
+        this.tickScheduler = tickScheduler;
+        this.knownUser = knownUser;
+        this.lookup = lookup;
+    }
+
+    public void request(UUID uuid, String userName) {
+        if (knownUser.test(uuid)) return;
+
+        synchronized (pendingLookups) {
+            // Duplicate requests within the same window are coalesced into one lookup
+            pendingLookups.put(uuid, userName);
+
+            if (batchScheduled) return;
+            batchScheduled = true;
+        }
+
+        tickScheduler.accept(this::processBatch, windowTicks);
+    }
+
+    public void clear() {
+        synchronized (pendingLookups) {
+            pendingLookups.clear();
+        }
+    }
+
+    private void processBatch() {
+        Map<UUID, String> batch = new LinkedHashMap<>();
+        boolean moreLookups;
+
+        synchronized (pendingLookups) {
+            Iterator<Map.Entry<UUID, String>> iterator = pendingLookups.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < maxLookupsPerBatch) {
+                Map.Entry<UUID, String> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+
+            moreLookups = !pendingLookups.isEmpty();
+            batchScheduled = moreLookups;
+        }
+
+        if (moreLookups) {
+            // Spread the rest of a player surge over the next windows
+            tickScheduler.accept(this::processBatch, windowTicks);
+        }
+
+        batch.forEach((uuid, userName) -> {
+            // The user might have been resolved while this lookup was queued
+            if (knownUser.test(uuid)) return;
+
+            lookup.accept(uuid, userName);
+        });
+    }
+}
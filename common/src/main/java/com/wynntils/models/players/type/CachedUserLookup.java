@@ -0,0 +1,21 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players.type;
+
+/**
+ * The persisted result of an Athena user lookup. Only lookups that don't need any cosmetic data are kept,
+ * so no textures are ever written to disk. A {@code null} account type means Athena answered that the player
+ * does not have a Wynntils account.
+ */
+public record CachedUserLookup(AccountType accountType, long lookupTime) {
+    public boolean hasAccount() {
+        return accountType != null;
+    }
+
+    public boolean isExpired(long now, long accountTtl, long noAccountTtl) {
+        long ttl = hasAccount() ? accountTtl : noAccountTtl;
+        return now - lookupTime > ttl;
+    }
+}
@@ -25,9 +25,9 @@ import com.wynntils.models.profession.type.ProfessionType;
 import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.mc.PosUtils;
 import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.SlidingWindowSum;
 import com.wynntils.utils.type.TimedSet;
 import com.wynntils.utils.type.TimedValue;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,7 +71,7 @@ public class ProfessionModel extends Model {
 
     private final TimedSet<Position> gatheredNodes = new TimedSet<>(10, TimeUnit.SECONDS, true);
     private Map<ProfessionType, ProfessionProgress> professionProgressMap = new ConcurrentHashMap<>();
-    private final Map<ProfessionType, TimedSet<Float>> rawXpGainInLastMinute = new HashMap<>();
+    private final Map<ProfessionType, SlidingWindowSum> rawXpGainInLastMinute = new HashMap<>();
 
     private final TimedValue<StyledText> lastProfessionLabel =
             new TimedValue<>(MAX_HARVEST_LABEL_AGE, TimeUnit.MILLISECONDS);
@@ -83,7 +83,7 @@ public class ProfessionModel extends Model {
         Handlers.Label.registerParser(new GatheringStationLabelParser());
 
         for (ProfessionType pt : ProfessionType.values()) {
-            rawXpGainInLastMinute.put(pt, new TimedSet<>(1, TimeUnit.MINUTES, true));
+            rawXpGainInLastMinute.put(pt, new SlidingWindowSum(1, TimeUnit.MINUTES));
         }
     }
 
@@ -241,8 +241,8 @@ public class ProfessionModel extends Model {
         return Optional.ofNullable(lastHarvest);
     }
 
-    public Map<ProfessionType, TimedSet<Float>> getRawXpGainInLastMinute() {
-        return Collections.unmodifiableMap(rawXpGainInLastMinute);
+    public double getRawXpGainInLastMinute(ProfessionType professionType) {
+        return rawXpGainInLastMinute.get(professionType).getSum();
     }
 
     public int getProfessionDryStreak() {
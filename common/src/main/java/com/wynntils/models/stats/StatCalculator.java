@@ -8,6 +8,7 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.models.stats.type.StatActualValue;
 import com.wynntils.models.stats.type.StatCalculationInfo;
 import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatRollTable;
 import com.wynntils.models.stats.type.StatType;
 import com.wynntils.utils.MathUtils;
 import com.wynntils.utils.type.Pair;
@@ -67,98 +68,38 @@ public final class StatCalculator {
     public static RangedValue calculateInternalRollRange(StatPossibleValues possibleValues, int value, int stars) {
         // This code finds the lowest possible and highest possible rolls that result in the current
         // value (inclusive).
-        int baseValue = possibleValues.baseValue();
-
-        // If the stat is calculated as inverted,
-        // invert the base value and the actual value
-        // (this weird edge case was revealed by Wynn's star calculations)
-        if (possibleValues.statType().calculateAsInverted()) {
-            baseValue = -baseValue;
-            value = -value;
-        }
-
-        // It's important to use the non-inverted base value here,
-        // since getStatCalculationInfo() will invert the rounding mode if necessary
-        StatCalculationInfo statCalculationInfo =
-                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
-
-        double lowerRawRollBound = (value * 100 - 50) / ((double) baseValue);
-        double higherRawRollBound = (value * 100 + 49) / ((double) baseValue);
-
-        if (baseValue < 0) {
-            // Swap the bounds, since we are calculating using the negative range
-            double temp = lowerRawRollBound;
-            lowerRawRollBound = higherRawRollBound;
-            higherRawRollBound = temp;
-        }
-
-        // We can further bound the possible rolls using the star count
-        int starMin = statCalculationInfo.range().low();
-        int starMax = statCalculationInfo.range().high();
-
-        // If present, use the starInternalRollRanges to further bound the possible rolls
-        // (negative stats do not have starInternalRollRanges, we do not need to check for them)
-        // (stars is -1 if we don't want stars to be taken into account)
-        if (stars != -1 && statCalculationInfo.starInternalRollRanges().size() > stars) {
-            RangedValue rangedValue =
-                    statCalculationInfo.starInternalRollRanges().get(stars);
-            starMin = rangedValue.low();
-            starMax = rangedValue.high();
-        }
-
-        int lowerRollBound = (int) Math.max(Math.ceil(lowerRawRollBound), starMin);
-        int higherRollBound = (int) Math.max(lowerRollBound, Math.min(Math.floor(higherRawRollBound), starMax));
+        StatRollTable rollTable = possibleValues.statType().getRollTable(possibleValues.baseValue());
+        RangedValue internalRollRange = rollTable.getInternalRollRange(value, stars);
 
         // This is a costly check and can fail sporadically if the API is not up-to-date,
         // so we only do it if the developer enables it
         if (VERIFY_CALCULATED_ROLLS) {
+            StatCalculationInfo statCalculationInfo = rollTable.getStatCalculationInfo();
+            RangedValue starRange = stars != -1 && statCalculationInfo.starInternalRollRanges().size() > stars
+                    ? statCalculationInfo.starInternalRollRanges().get(stars)
+                    : statCalculationInfo.range();
+            int baseValue = possibleValues.statType().calculateAsInverted()
+                    ? -possibleValues.baseValue()
+                    : possibleValues.baseValue();
+
             verifyCalculatedInternalRoll(
-                    baseValue, statCalculationInfo, lowerRollBound, higherRollBound, starMin, starMax);
+                    baseValue,
+                    statCalculationInfo,
+                    internalRollRange.low(),
+                    internalRollRange.high(),
+                    starRange.low(),
+                    starRange.high());
         }
 
-        return RangedValue.of(lowerRollBound, higherRollBound);
+        return internalRollRange;
     }
 
     public static int calculateStarsFromInternalRoll(StatType statType, int baseValue, int internalRoll) {
-        // Star calculation reference, from salted:
-        // https://forums.wynncraft.com/threads/about-the-little-asterisks.147931/#post-1654183
-        StatCalculationInfo statCalculationInfo = statType.getStatCalculationInfo(baseValue);
-
-        // If the stat is treated as inverted, we need to invert the base value
-        // Note: This behavior could not be tested as of writing,
-        //       since no stat is treated as inverted with a negative base value
-        if (baseValue < 0 && statType.treatAsInverted()) {
-            statCalculationInfo = statType.getStatCalculationInfo(-baseValue);
-        }
-
-        for (int stars = 0; stars < statCalculationInfo.starInternalRollRanges().size(); stars++) {
-            RangedValue rangedValue =
-                    statCalculationInfo.starInternalRollRanges().get(stars);
-            if (rangedValue.inRange(internalRoll)) {
-                return stars;
-            }
-        }
-
-        return 0;
+        return statType.getRollTable(baseValue).getStars(internalRoll);
     }
 
     public static int calculateStatValue(int internalRoll, StatPossibleValues possibleValues) {
-        StatCalculationInfo statCalculationInfo =
-                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
-        RoundingMode roundingMode = statCalculationInfo.roundingMode();
-
-        int value = new BigDecimal(possibleValues.baseValue())
-                .multiply(BigDecimal.valueOf(internalRoll))
-                .divide(BigDecimal.valueOf(100), roundingMode)
-                .setScale(0, roundingMode)
-                .intValue();
-
-        if (value == 0) {
-            // If we get to 0, use 1 or -1 instead
-            value = (int) Math.signum(possibleValues.baseValue());
-        }
-
-        return value;
+        return possibleValues.statType().getRollTable(possibleValues.baseValue()).getStatValue(internalRoll);
     }
 
     public static Pair<Integer, Integer> getDisplayRange(
@@ -201,8 +142,10 @@ public final class StatCalculator {
     }
 
     public static double getPerfectChance(StatPossibleValues possibleValues) {
-        StatCalculationInfo statCalculationInfo =
-                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+        StatCalculationInfo statCalculationInfo = possibleValues
+                .statType()
+                .getRollTable(possibleValues.baseValue())
+                .getStatCalculationInfo();
         boolean treatAsNegative = possibleValues.statType().treatAsInverted();
 
         int allCases =
@@ -224,8 +167,10 @@ public final class StatCalculator {
     public static double getDecreaseChance(StatActualValue actualValue, StatPossibleValues possibleValues) {
         assert !possibleValues.range().isFixed();
 
-        StatCalculationInfo statCalculationInfo =
-                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+        StatCalculationInfo statCalculationInfo = possibleValues
+                .statType()
+                .getRollTable(possibleValues.baseValue())
+                .getStatCalculationInfo();
         boolean treatAsNegative = possibleValues.statType().treatAsInverted();
 
         // This code finds the lowest possible and highest possible rolls that achieve the correct
@@ -244,8 +189,10 @@ public final class StatCalculator {
     public static double getIncreaseChance(StatActualValue actualValue, StatPossibleValues possibleValues) {
         assert !possibleValues.range().isFixed();
 
-        StatCalculationInfo statCalculationInfo =
-                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+        StatCalculationInfo statCalculationInfo = possibleValues
+                .statType()
+                .getRollTable(possibleValues.baseValue())
+                .getStatCalculationInfo();
         boolean treatAsNegative = possibleValues.statType().treatAsInverted();
 
         // This code finds the lowest possible and highest possible rolls that achieve the correct
@@ -263,34 +210,34 @@ public final class StatCalculator {
 
     public static Optional<Float> calculateOverallQuality(
             String itemName, List<StatPossibleValues> possibleValuesList, List<StatActualValue> identifications) {
-        DoubleSummaryStatistics percents = identifications.stream()
-                .filter(actualValue -> {
-                    // We do not include values that cannot possibly change
-                    StatPossibleValues possibleValues = possibleValuesList.stream()
-                            .filter(possibleValue -> possibleValue.statType().equals(actualValue.statType()))
-                            .findFirst()
-                            .orElse(null);
-                    if (possibleValues == null) {
-                        WynntilsMod.warn(
-                                "Error:" + itemName + " claims to have identification " + actualValue.statType());
-                        return false;
-                    }
-                    return !possibleValues.range().isFixed()
-                            && possibleValues.range().inRange(actualValue.value());
-                })
-                .mapToDouble(actualValue -> {
-                    StatPossibleValues possibleValues = possibleValuesList.stream()
-                            .filter(possibleValue -> possibleValue.statType().equals(actualValue.statType()))
-                            .findFirst()
-                            .orElse(null);
-                    return StatCalculator.getPercentage(actualValue, possibleValues);
-                })
-                .summaryStatistics();
+        DoubleSummaryStatistics percents = new DoubleSummaryStatistics();
+
+        for (StatActualValue actualValue : identifications) {
+            StatPossibleValues possibleValues = getPossibleValues(possibleValuesList, actualValue.statType());
+            if (possibleValues == null) {
+                WynntilsMod.warn("Error:" + itemName + " claims to have identification " + actualValue.statType());
+                continue;
+            }
+
+            // We do not include values that cannot possibly change
+            if (possibleValues.range().isFixed() || !possibleValues.range().inRange(actualValue.value())) continue;
+
+            percents.accept(getPercentage(actualValue, possibleValues));
+        }
         if (percents.getCount() == 0) return Optional.empty();
 
         return Optional.of((float) percents.getAverage());
     }
 
+    private static StatPossibleValues getPossibleValues(
+            List<StatPossibleValues> possibleValuesList, StatType statType) {
+        for (StatPossibleValues possibleValues : possibleValuesList) {
+            if (possibleValues.statType().equals(statType)) return possibleValues;
+        }
+
+        return null;
+    }
+
     private static void verifyCalculatedInternalRoll(
             int baseValue,
             StatCalculationInfo statCalculationInfo,
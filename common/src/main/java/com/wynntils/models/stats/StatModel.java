@@ -24,9 +24,7 @@ import com.wynntils.models.stats.type.DefenceStatType;
 import com.wynntils.models.stats.type.MiscStatType;
 import com.wynntils.models.stats.type.SkillStatType;
 import com.wynntils.models.stats.type.SpellStatType;
-import com.wynntils.models.stats.type.StatActualValue;
 import com.wynntils.models.stats.type.StatListOrdering;
-import com.wynntils.models.stats.type.StatPossibleValues;
 import com.wynntils.models.stats.type.StatType;
 import com.wynntils.models.stats.type.StatUnit;
 import com.wynntils.utils.type.RangedValue;
@@ -70,14 +68,6 @@ public final class StatModel extends Model {
         registry.registerDownload(UrlId.DATA_STATIC_IDENTIFICATION_KEYS).handleReader(this::handleIdentificationKeys);
     }
 
-    public StatActualValue buildActualValue(
-            StatType statType, int value, int stars, StatPossibleValues possibleValues) {
-        RangedValue internalRoll = possibleValues != null
-                ? StatCalculator.calculateInternalRollRange(possibleValues, value, stars)
-                : RangedValue.NONE;
-        return new StatActualValue(statType, value, stars, internalRoll);
-    }
-
     public StatType fromDisplayName(String displayName, String unit) {
         return statTypeLookup.get(displayName, unit);
     }
@@ -0,0 +1,162 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.stats.type;
+
+import com.wynntils.utils.type.RangedValue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * The values and stars of every internal roll of a stat with a given base value. These are the same
+ * for every item with that stat and base value, so they are calculated once, when they are first needed,
+ * and are then looked up by {@link com.wynntils.models.stats.StatCalculator}.
+ *
+ * <p>Get these with {@link StatType#getRollTable(int)}.
+ */
+public final class StatRollTable {
+    private final StatType statType;
+    private final int baseValue;
+    private final StatCalculationInfo statCalculationInfo;
+
+    // The base value that internal rolls are calculated with, this is inverted for inverted stats
+    private final int rollBaseValue;
+    // The star ranges, which are taken from the positive base value for stats treated as inverted
+    private final List<RangedValue> starInternalRollRanges;
+
+    // The value and stars for each internal roll, starting with the lowest roll of the range
+    private final int[] values;
+    private final byte[] stars;
+
+    StatRollTable(StatType statType, int baseValue) {
+        this.statType = statType;
+        this.baseValue = baseValue;
+        this.statCalculationInfo = statType.getStatCalculationInfo(baseValue);
+        this.rollBaseValue = statType.calculateAsInverted() ? -baseValue : baseValue;
+
+        // Note: This behavior could not be tested as of writing,
+        //       since no stat is treated as inverted with a negative base value
+        this.starInternalRollRanges = baseValue < 0 && statType.treatAsInverted()
+                ? statType.getStatCalculationInfo(-baseValue).starInternalRollRanges()
+                : statCalculationInfo.starInternalRollRanges();
+
+        RangedValue range = statCalculationInfo.range();
+        int rolls = range.high() - range.low() + 1;
+        this.values = new int[rolls];
+        this.stars = new byte[rolls];
+
+        for (int i = 0; i < rolls; i++) {
+            int internalRoll = range.low() + i;
+            values[i] = calculateStatValue(internalRoll);
+            stars[i] = (byte) calculateStars(internalRoll);
+        }
+    }
+
+    public StatType getStatType() {
+        return statType;
+    }
+
+    public int getBaseValue() {
+        return baseValue;
+    }
+
+    public StatCalculationInfo getStatCalculationInfo() {
+        return statCalculationInfo;
+    }
+
+    /**
+     * @return the number of possible internal rolls
+     */
+    public int getRollCount() {
+        return values.length;
+    }
+
+    public int getStatValue(int internalRoll) {
+        int index = internalRoll - statCalculationInfo.range().low();
+        if (index < 0 || index >= values.length) return calculateStatValue(internalRoll);
+
+        return values[index];
+    }
+
+    public int getStars(int internalRoll) {
+        int index = internalRoll - statCalculationInfo.range().low();
+        if (index < 0 || index >= stars.length) return calculateStars(internalRoll);
+
+        return stars[index];
+    }
+
+    /**
+     * Finds the lowest and highest internal rolls that result in the given value (inclusive).
+     *
+     * @param value the value, as shown on the item
+     * @param stars the stars shown on the item, or -1 if stars should not be taken into account
+     */
+    public RangedValue getInternalRollRange(int value, int stars) {
+        // If the stat is calculated as inverted,
+        // invert the base value and the actual value
+        // (this weird edge case was revealed by Wynn's star calculations)
+        if (statType.calculateAsInverted()) {
+            value = -value;
+        }
+
+        double lowerRawRollBound = (value * 100 - 50) / ((double) rollBaseValue);
+        double higherRawRollBound = (value * 100 + 49) / ((double) rollBaseValue);
+
+        if (rollBaseValue < 0) {
+            // Swap the bounds, since we are calculating using the negative range
+            double temp = lowerRawRollBound;
+            lowerRawRollBound = higherRawRollBound;
+            higherRawRollBound = temp;
+        }
+
+        // We can further bound the possible rolls using the star count
+        int starMin = statCalculationInfo.range().low();
+        int starMax = statCalculationInfo.range().high();
+
+        // If present, use the starInternalRollRanges to further bound the possible rolls
+        // (negative stats do not have starInternalRollRanges, we do not need to check for them)
+        // (stars is -1 if we don't want stars to be taken into account)
+        if (stars != -1 && statCalculationInfo.starInternalRollRanges().size() > stars) {
+            RangedValue rangedValue =
+                    statCalculationInfo.starInternalRollRanges().get(stars);
+            starMin = rangedValue.low();
+            starMax = rangedValue.high();
+        }
+
+        int lowerRollBound = (int) Math.max(Math.ceil(lowerRawRollBound), starMin);
+        int higherRollBound = (int) Math.max(lowerRollBound, Math.min(Math.floor(higherRawRollBound), starMax));
+
+        return RangedValue.of(lowerRollBound, higherRollBound);
+    }
+
+    private int calculateStatValue(int internalRoll) {
+        RoundingMode roundingMode = statCalculationInfo.roundingMode();
+
+        int value = new BigDecimal(baseValue)
+                .multiply(BigDecimal.valueOf(internalRoll))
+                .divide(BigDecimal.valueOf(100), roundingMode)
+                .setScale(0, roundingMode)
+                .intValue();
+
+        if (value == 0) {
+            // If we get to 0, use 1 or -1 instead
+            value = (int) Math.signum(baseValue);
+        }
+
+        return value;
+    }
+
+    private int calculateStars(int internalRoll) {
+        // Star calculation reference, from salted:
+        // https://forums.wynncraft.com/threads/about-the-little-asterisks.147931/#post-1654183
+        for (int stars = 0; stars < starInternalRollRanges.size(); stars++) {
+            if (starInternalRollRanges.get(stars).inRange(internalRoll)) {
+                return stars;
+            }
+        }
+
+        return 0;
+    }
+}
@@ -7,8 +7,10 @@ package com.wynntils.models.stats.type;
 import com.wynntils.utils.type.RangedValue;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 // The key is strictly not necessary, but is internally useful
 // The "internalRollName" is what is used in the json lore of other player's items
@@ -28,6 +30,9 @@ public abstract class StatType {
     private final StatUnit unit;
     private final SpecialStatType specialStatType;
 
+    // The roll tables of the base values this stat has been seen with, built when first needed
+    private final Map<Integer, StatRollTable> rollTables = new ConcurrentHashMap<>();
+
     protected StatType(String key, String displayName, String apiName, String internalRollName, StatUnit unit) {
         this.key = key;
         this.displayName = displayName;
@@ -91,6 +96,10 @@ public abstract class StatType {
                         List.of());
     }
 
+    public StatRollTable getRollTable(int baseValue) {
+        return rollTables.computeIfAbsent(baseValue, value -> new StatRollTable(this, value));
+    }
+
     /**
      * Whether the stat should be displayed as inverted.
      * This should be true if a value with a positive sign should be displayed as negative.
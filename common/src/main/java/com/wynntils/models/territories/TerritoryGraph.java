@@ -0,0 +1,172 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * An immutable graph of the trading routes between territories. Territories are numbered, and every
+ * route is stored once, even if Wynn lists it in both territories (or, as it is bugged, only in one).
+ */
+public final class TerritoryGraph {
+    public static final TerritoryGraph EMPTY = build(Map.of());
+
+    public static final int NOT_CONNECTED = -1;
+
+    private final String[] names;
+    private final Object2IntOpenHashMap<String> ids;
+
+    // The neighbours of territory i are neighbours[neighbourOffsets[i]] until neighbours[neighbourOffsets[i + 1]]
+    private final int[] neighbourOffsets;
+    private final int[] neighbours;
+
+    // Every route once, from the territory with the lower id to the other
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+
+    private TerritoryGraph(
+            String[] names,
+            Object2IntOpenHashMap<String> ids,
+            int[] neighbourOffsets,
+            int[] neighbours,
+            int[] edgeFrom,
+            int[] edgeTo) {
+        this.names = names;
+        this.ids = ids;
+        this.neighbourOffsets = neighbourOffsets;
+        this.neighbours = neighbours;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+    }
+
+    public static TerritoryGraph build(Map<String, TerritoryInfo> territories) {
+        String[] names = territories.keySet().toArray(String[]::new);
+        Arrays.sort(names);
+
+        Object2IntOpenHashMap<String> ids = new Object2IntOpenHashMap<>(names.length);
+        ids.defaultReturnValue(-1);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+
+        LongOpenHashSet seenEdges = new LongOpenHashSet();
+        IntArrayList edgeFrom = new IntArrayList();
+        IntArrayList edgeTo = new IntArrayList();
+        int[] degrees = new int[names.length];
+
+        for (int from = 0; from < names.length; from++) {
+            for (String route : territories.get(names[from]).getTradingRoutes()) {
+                int to = ids.getInt(route);
+                // Routes to territories we don't know about can't be used
+                if (to == -1 || to == from) continue;
+
+                int low = Math.min(from, to);
+                int high = Math.max(from, to);
+                if (!seenEdges.add(((long) low << 32) | high)) continue;
+
+                edgeFrom.add(low);
+                edgeTo.add(high);
+                degrees[low]++;
+                degrees[high]++;
+            }
+        }
+
+        int[] neighbourOffsets = new int[names.length + 1];
+        for (int i = 0; i < names.length; i++) {
+            neighbourOffsets[i + 1] = neighbourOffsets[i] + degrees[i];
+        }
+
+        int[] neighbours = new int[neighbourOffsets[names.length]];
+        int[] fill = Arrays.copyOf(neighbourOffsets, names.length);
+        for (int i = 0; i < edgeFrom.size(); i++) {
+            int low = edgeFrom.getInt(i);
+            int high = edgeTo.getInt(i);
+            neighbours[fill[low]++] = high;
+            neighbours[fill[high]++] = low;
+        }
+
+        return new TerritoryGraph(
+                names, ids, neighbourOffsets, neighbours, edgeFrom.toIntArray(), edgeTo.toIntArray());
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @return the id of the territory, or -1 if it is not part of the graph
+     */
+    public int getId(String name) {
+        return ids.getInt(name);
+    }
+
+    public String getName(int id) {
+        return names[id];
+    }
+
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    public int getEdgeFrom(int edge) {
+        return edgeFrom[edge];
+    }
+
+    public int getEdgeTo(int edge) {
+        return edgeTo[edge];
+    }
+
+    /**
+     * Calculates how many routes each territory is away from the headquarters, only moving through the
+     * given territories. This is a single breadth first search over the graph.
+     *
+     * @param territories the territories to move through, usually the territories of a guild
+     * @param headquarters the headquarters, which should be one of the given territories
+     * @return the distances, indexed by territory id, or {@link #NOT_CONNECTED} for territories that can't
+     * be reached
+     */
+    public int[] getHeadquartersDistances(Collection<String> territories, String headquarters) {
+        int[] distances = new int[names.length];
+        Arrays.fill(distances, NOT_CONNECTED);
+
+        int headquartersId = getId(headquarters);
+        if (headquartersId == -1) return distances;
+
+        boolean[] included = new boolean[names.length];
+        for (String territory : territories) {
+            int id = getId(territory);
+            if (id != -1) {
+                included[id] = true;
+            }
+        }
+
+        // Every territory is queued at most once, so the queue never has to wrap around
+        int[] queue = new int[names.length];
+        int head = 0;
+        int tail = 0;
+
+        distances[headquartersId] = 0;
+        queue[tail++] = headquartersId;
+
+        while (head < tail) {
+            int current = queue[head++];
+
+            for (int i = neighbourOffsets[current]; i < neighbourOffsets[current + 1]; i++) {
+                int neighbour = neighbours[i];
+                if (!included[neighbour] || distances[neighbour] != NOT_CONNECTED) continue;
+
+                distances[neighbour] = distances[current] + 1;
+                queue[tail++] = neighbour;
+            }
+        }
+
+        return distances;
+    }
+}
@@ -13,6 +13,7 @@ import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.text.StyledText;
@@ -26,17 +27,13 @@ import com.wynntils.services.map.type.TerritoryDefenseFilterType;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -62,9 +59,12 @@ public final class TerritoryModel extends Model {
 
     // This is just a cache of TerritoryPois created for all territoryProfileMap values
     private Set<TerritoryPoi> allTerritoryPois = new HashSet<>();
+    private volatile int territoryPoisVersion = 0;
+
+    // The trading routes between the territories in territoryPoiMap
+    private TerritoryGraph territoryGraph = TerritoryGraph.EMPTY;
 
     private ScheduledFuture<?> scheduledFuture;
-    private final ScheduledExecutorService timerExecutor = new ScheduledThreadPoolExecutor(1);
     private long lastGuildUpdate = 0;
 
     public TerritoryModel() {
@@ -79,8 +79,8 @@ public final class TerritoryModel extends Model {
             scheduledFuture.cancel(false);
         }
 
-        scheduledFuture = timerExecutor.scheduleWithFixedDelay(
-                this::updateTerritoryProfileMap, 0, IN_GUILD_TERRITORY_UPDATE_MS, TimeUnit.MILLISECONDS);
+        scheduledFuture = Managers.Executor.scheduleWithFixedDelay(
+                TaskLane.IO, this::updateTerritoryProfileMap, 0, IN_GUILD_TERRITORY_UPDATE_MS, TimeUnit.MILLISECONDS);
     }
 
     public TerritoryProfile getTerritoryProfile(String name) {
@@ -110,6 +110,10 @@ public final class TerritoryModel extends Model {
         return allTerritoryPois;
     }
 
+    public int getTerritoryPoisVersion() {
+        return territoryPoisVersion;
+    }
+
     public List<TerritoryPoi> getTerritoryPoisFromAdvancement() {
         return new ArrayList<>(territoryPoiMap.values());
     }
@@ -182,6 +186,19 @@ public final class TerritoryModel extends Model {
             territoryPoiMap.put(
                     entry.getKey(), new TerritoryPoi(() -> getTerritoryProfile(entry.getKey()), entry.getValue()));
         }
+
+        if (!tempMap.isEmpty()) {
+            Map<String, TerritoryInfo> territoryInfos = new HashMap<>();
+            for (Map.Entry<String, TerritoryPoi> entry : territoryPoiMap.entrySet()) {
+                territoryInfos.put(entry.getKey(), entry.getValue().getTerritoryInfo());
+            }
+
+            territoryGraph = TerritoryGraph.build(territoryInfos);
+        }
+    }
+
+    public TerritoryGraph getTerritoryGraph() {
+        return territoryGraph;
     }
 
     public Map<TerritoryItem, TerritoryConnectionType> getTerritoryConnections(List<TerritoryItem> territoryItems) {
@@ -196,47 +213,21 @@ public final class TerritoryModel extends Model {
                     .collect(Collectors.toMap(item -> item, item -> TerritoryConnectionType.UNCONNECTED));
         }
 
-        // Start a BFS from the headquarters
-        Set<TerritoryItem> hqConnectedTerritories = new HashSet<>();
-        Set<TerritoryItem> connectedTerritories = new HashSet<>();
-        connectedTerritories.add(hqTerritory);
-
-        Deque<TerritoryItem> queue = new LinkedList<>();
-        queue.add(hqTerritory);
-
-        while (!queue.isEmpty()) {
-            TerritoryItem current = queue.poll();
-
-            for (TerritoryItem territoryItem : territoryItems) {
-                if (connectedTerritories.contains(territoryItem)) continue;
-
-                TerritoryInfo currentTerritoryInfo =
-                        getTerritoryPoiFromAdvancement(current.getName()).getTerritoryInfo();
-                TerritoryInfo territoryInfo =
-                        getTerritoryPoiFromAdvancement(territoryItem.getName()).getTerritoryInfo();
-
-                // Note: Wynn is bugged, and sometimes forgets to add the bi-directional trading routes to both
-                // territories
-                if ((territoryInfo != null && territoryInfo.getTradingRoutes().contains(current.getName()))
-                        || (currentTerritoryInfo != null
-                                && currentTerritoryInfo.getTradingRoutes().contains(territoryItem.getName()))) {
-                    connectedTerritories.add(territoryItem);
-                    queue.add(territoryItem);
-
-                    if (territoryItem.isHeadquarters() || current.isHeadquarters()) {
-                        hqConnectedTerritories.add(territoryItem);
-                    }
-                }
-            }
-        }
+        int[] hqDistances = territoryGraph.getHeadquartersDistances(
+                territoryItems.stream().map(TerritoryItem::getName).toList(), hqTerritory.getName());
 
         return territoryItems.stream().collect(Collectors.toMap(item -> item, item -> {
             if (item.isHeadquarters()) return TerritoryConnectionType.HEADQUARTERS;
-            if (hqConnectedTerritories.contains(item)) return TerritoryConnectionType.HEADQUARTERS_CONNECTION;
 
-            return connectedTerritories.contains(item)
-                    ? TerritoryConnectionType.CONNECTED
-                    : TerritoryConnectionType.UNCONNECTED;
+            int id = territoryGraph.getId(item.getName());
+            int distance = id == -1 ? TerritoryGraph.NOT_CONNECTED : hqDistances[id];
+
+            return switch (distance) {
+                case 0 -> TerritoryConnectionType.HEADQUARTERS;
+                case 1 -> TerritoryConnectionType.HEADQUARTERS_CONNECTION;
+                case TerritoryGraph.NOT_CONNECTED -> TerritoryConnectionType.UNCONNECTED;
+                default -> TerritoryConnectionType.CONNECTED;
+            };
         }));
     }
 
@@ -266,6 +257,7 @@ public final class TerritoryModel extends Model {
                     allTerritoryPois = territoryProfileMap.values().stream()
                             .map(TerritoryPoi::new)
                             .collect(Collectors.toSet());
+                    territoryPoisVersion++;
 
                     lastGuildUpdate = System.currentTimeMillis();
                 },
@@ -9,6 +9,7 @@ import com.google.gson.JsonObject;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.models.worlds.event.WorldStateEvent;
@@ -20,8 +21,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import net.neoforged.bus.api.SubscribeEvent;
 
@@ -30,14 +29,13 @@ public final class ServerListModel extends Model {
 
     private static final List<String> SERVER_TYPES = List.of("WC", "lobby", "GM", "DEV", "WAR", "HB", "YT");
 
-    private final ScheduledExecutorService timerExecutor = new ScheduledThreadPoolExecutor(1);
-
     private Map<String, ServerProfile> availableServers = new HashMap<>();
 
     public ServerListModel() {
         super(List.of());
 
-        timerExecutor.scheduleWithFixedDelay(this::updateServerList, 0, SERVER_UPDATE_MS, TimeUnit.MILLISECONDS);
+        Managers.Executor.scheduleWithFixedDelay(
+                TaskLane.IO, this::updateServerList, 0, SERVER_UPDATE_MS, TimeUnit.MILLISECONDS);
     }
 
     public List<String> getWynnServerTypes() {
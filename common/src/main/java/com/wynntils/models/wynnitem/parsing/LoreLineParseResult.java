@@ -0,0 +1,28 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.wynnitem.parsing;
+
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+/**
+ * The patterns a single lore line matches, as found by {@link WynnItemParser#parseLoreLine}.
+ * This does not depend on the item or on the lines before it, so it can be shared by all items
+ * that have the same line.
+ *
+ * @param pattern the first line pattern of the parser that matched, or null if none did
+ * @param match the match of that pattern, or null
+ * @param setBonusStatMatch the match of the set bonus stat pattern, or null
+ * @param effectMatch the match of the effect line pattern, only looked for if no line pattern matched
+ * @param statMatch the match of the identification pattern, only looked for if no line pattern matched
+ * @param shinyStatMatch the match of the shiny stat pattern, only looked for if no line pattern matched
+ */
+public record LoreLineParseResult(
+        Pattern pattern,
+        MatchResult match,
+        MatchResult setBonusStatMatch,
+        MatchResult effectMatch,
+        MatchResult statMatch,
+        MatchResult shinyStatMatch) {}
@@ -0,0 +1,27 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.wynnitem.parsing;
+
+import com.wynntils.models.gear.type.SetInfo;
+import com.wynntils.models.stats.type.ShinyStatType;
+import com.wynntils.models.stats.type.StatType;
+
+/**
+ * The game data {@link WynnItemParser#parseLore} resolves the names in a lore against.
+ * When parsing item stacks, this is the data of the stat, set and shiny models.
+ */
+public interface WynnItemLookup {
+    /**
+     * @return the stat with the given display name and unit, or null if there is none
+     */
+    StatType getStatType(String displayName, String unit);
+
+    /**
+     * @return the set with the given name, or null if there is none
+     */
+    SetInfo getSetInfo(String setName);
+
+    ShinyStatType getShinyStatType(String displayName);
+}
@@ -22,6 +22,7 @@ import com.wynntils.models.gear.type.SetInstance;
 import com.wynntils.models.stats.StatCalculator;
 import com.wynntils.models.stats.type.DamageType;
 import com.wynntils.models.stats.type.ShinyStat;
+import com.wynntils.models.stats.type.ShinyStatType;
 import com.wynntils.models.stats.type.SkillStatType;
 import com.wynntils.models.stats.type.StatActualValue;
 import com.wynntils.models.stats.type.StatPossibleValues;
@@ -35,11 +36,15 @@ import com.wynntils.utils.type.CappedValue;
 import com.wynntils.utils.type.Pair;
 import com.wynntils.utils.type.RangedValue;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -114,8 +119,93 @@ public final class WynnItemParser {
     public static final Pattern CRAFTED_ITEM_NAME_PATTERN = Pattern.compile(
             "^§3(?:§o)?(?<name>.+)§b(?:§o)? \\[(((?<effectStrength>\\d+)%)|((?<currentUses>\\d+)\\/(?<maxUses>\\d+)))\\]À*$");
 
+    // The patterns a lore line is tested against, in this order, until one matches. Every pattern
+    // has a cheap check on the start of the line (mostly its colour code and leading symbol),
+    // which has to pass before the pattern is tried, so most lines only run a single pattern.
+    private static final List<LoreLinePattern> LORE_LINE_PATTERNS = List.of(
+            new LoreLinePattern(POWDER_PATTERN, false, line -> line.startsWith("§7[")),
+            new LoreLinePattern(TIER_AND_REROLL_PATTERN, false, WynnItemParser::isTierLine),
+            new LoreLinePattern(HEALTH_PATTERN, false, line -> line.startsWith("§4❤ Health: ")),
+            new LoreLinePattern(
+                    ITEM_ATTACK_SPEED_PATTERN,
+                    true,
+                    line -> line.startsWith("§7") && line.endsWith(" Attack Speed")),
+            new LoreLinePattern(
+                    ITEM_DAMAGE_PATTERN,
+                    true,
+                    line -> isElementLine(line, "✤✦❉✹❋✣") && line.contains(" Damage: ")),
+            new LoreLinePattern(
+                    ITEM_DEFENCE_PATTERN,
+                    true,
+                    line -> isElementLine(line, "✤✦❉✹❋") && line.contains(" Defence: ")),
+            new LoreLinePattern(MIN_LEVEL_PATTERN, false, line -> isRequirementLine(line, "Combat Lv")),
+            new LoreLinePattern(CLASS_REQ_PATTERN, false, line -> isRequirementLine(line, "Class Req: ")),
+            new LoreLinePattern(
+                    SKILL_REQ_PATTERN, false, line -> isRequirementLine(line, "") && line.contains(" Min: ")),
+            new LoreLinePattern(QUEST_REQ_PATTERN, false, line -> isRequirementLine(line, "Quest Req: ")),
+            new LoreLinePattern(MISC_REQ_PATTERN, false, line -> isRequirementLine(line, "")),
+            new LoreLinePattern(SET_PATTERN, false, line -> line.startsWith("§a") && line.contains(" Set §7(")),
+            new LoreLinePattern(
+                    SET_ITEM_PATTERN, false, line -> line.startsWith("§a- §") || line.startsWith("§7- §")),
+            new LoreLinePattern(SET_BONUS_PATTERN, false, line -> line.equals("§aSet Bonus:")),
+            new LoreLinePattern(
+                    EFFECT_HEADER_PATTERN, false, line -> line.startsWith("§") && line.endsWith("Effect:")));
+
+    private static final List<String> TIER_PREFIXES =
+            List.of("§fNormal", "§eUnique", "§dRare", "§bLegendary", "§cFabled", "§5Mythic", "§aSet", "§3Crafted");
+
+    // The same requirement, identification and powder lines appear on thousands of items,
+    // so the result of matching a line is shared between all items. Lines with rolled values are
+    // mostly unique, so only the most recently used lines are kept.
+    private static final int LORE_LINE_CACHE_SIZE = 16384;
+    private static final Map<String, LoreLineParseResult> LORE_LINE_CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LoreLineParseResult> eldest) {
+                    return size() > LORE_LINE_CACHE_SIZE;
+                }
+            });
+
+    private static final WynnItemLookup MODEL_LOOKUP = new WynnItemLookup() {
+        @Override
+        public StatType getStatType(String displayName, String unit) {
+            return Models.Stat.fromDisplayName(displayName, unit);
+        }
+
+        @Override
+        public SetInfo getSetInfo(String setName) {
+            return Models.Set.getSetInfo(setName);
+        }
+
+        @Override
+        public ShinyStatType getShinyStatType(String displayName) {
+            return Models.Shiny.getShinyStat(displayName);
+        }
+    };
+
     public static WynnItemParseResult parseItemStack(
             ItemStack itemStack, Map<StatType, StatPossibleValues> possibleValuesMap) {
+        List<Component> lore = ComponentUtils.stripDuplicateBlank(LoreUtils.getTooltipLines(itemStack));
+        lore.removeFirst(); // remove item name
+
+        return parseLore(
+                itemStack.getHoverName().getString(),
+                lore.stream().map(StyledText::fromComponent).toList(),
+                possibleValuesMap,
+                MODEL_LOOKUP);
+    }
+
+    /**
+     * Parses the lore of an item, without its name line, for identifications, powders and rerolls.
+     *
+     * @param itemName the name of the item, only used in warnings
+     * @param lookup the stats, sets and shiny stats the lore is parsed against
+     */
+    public static WynnItemParseResult parseLore(
+            String itemName,
+            List<StyledText> lore,
+            Map<StatType, StatPossibleValues> possibleValuesMap,
+            WynnItemLookup lookup) {
         List<StatActualValue> identifications = new ArrayList<>();
         List<NamedItemEffect> namedEffects = new ArrayList<>();
         List<ItemEffect> effects = new ArrayList<>();
@@ -143,13 +233,10 @@ public final class WynnItemParser {
         int setWynnCount = 0;
         Map<StatType, Integer> wynnBonuses = new HashMap<>();
 
-        // Parse lore for identifications, powders and rerolls
-        List<Component> lore = ComponentUtils.stripDuplicateBlank(LoreUtils.getTooltipLines(itemStack));
-        lore.removeFirst(); // remove item name
-
-        for (Component loreLine : lore) {
-            StyledText coded = StyledText.fromComponent(loreLine);
+        for (StyledText coded : lore) {
             StyledText normalizedCoded = coded.getNormalized();
+            LoreLineParseResult line = parseLoreLine(coded.getString(), normalizedCoded.getString());
+            Pattern linePattern = line.pattern();
 
             if (setBonusStats) {
                 // We should revert back to normal parsing when we encounter an empty line
@@ -158,28 +245,26 @@ public final class WynnItemParser {
                     continue;
                 }
 
-                Matcher setBonusIdentificationMatcher = normalizedCoded.getMatcher(SET_BONUS_IDENTIFICATION_PATTERN);
-                if (!setBonusIdentificationMatcher.matches()) {
-                    WynntilsMod.warn("Item " + itemStack.getHoverName().getString()
-                            + " has unknown set bonus stat line: " + loreLine);
+                MatchResult setBonusIdentificationMatcher = line.setBonusStatMatch();
+                if (setBonusIdentificationMatcher == null) {
+                    WynntilsMod.warn("Item " + itemName + " has unknown set bonus stat line: " + coded.getString());
                     continue;
                 }
                 int value = Integer.parseInt(setBonusIdentificationMatcher.group(1));
                 String unit = setBonusIdentificationMatcher.group(2);
                 String statDisplayName = setBonusIdentificationMatcher.group(3);
 
-                StatType statType = Models.Stat.fromDisplayName(statDisplayName, unit);
+                StatType statType = lookup.getStatType(statDisplayName, unit);
                 if (statType == null) {
-                    WynntilsMod.warn("Item " + itemStack.getHoverName().getString()
-                            + " has unknown identified set bonus stat " + statDisplayName);
+                    WynntilsMod.warn("Item " + itemName + " has unknown identified set bonus stat " + statDisplayName);
                     continue;
                 }
                 wynnBonuses.put(statType, value);
             }
 
             // Look for powder
-            Matcher powderMatcher = normalizedCoded.getMatcher(POWDER_PATTERN);
-            if (powderMatcher.matches()) {
+            if (linePattern == POWDER_PATTERN) {
+                MatchResult powderMatcher = line.match();
                 int usedSlots = Integer.parseInt(powderMatcher.group(1));
                 powderSlots = Integer.parseInt(powderMatcher.group(2));
                 String codedPowders = powderMatcher.group(3);
@@ -188,7 +273,7 @@ public final class WynnItemParser {
                 String powderString = POWDER_MARKERS.matcher(codedPowders).replaceAll("");
                 if (powderString.length() != usedSlots) {
                     WynntilsMod.warn("Mismatch between powder slot count " + usedSlots + " and actual powder symbols: "
-                            + codedPowders + " for " + itemStack.getHoverName().getString());
+                            + codedPowders + " for " + itemName);
                     // Fall through and use codedPowders nevertheless
                 }
 
@@ -203,8 +288,8 @@ public final class WynnItemParser {
             }
 
             // Look for tier and rerolls
-            Matcher tierMatcher = normalizedCoded.getMatcher(TIER_AND_REROLL_PATTERN);
-            if (tierMatcher.matches()) {
+            if (linePattern == TIER_AND_REROLL_PATTERN) {
+                MatchResult tierMatcher = line.match();
                 String tierString = tierMatcher.group(1);
                 tier = GearTier.fromStyledText(StyledText.fromString(tierString));
                 itemType = tierMatcher.group(2);
@@ -220,29 +305,27 @@ public final class WynnItemParser {
                 continue;
             }
 
-            Matcher healthMatcher = normalizedCoded.getMatcher(HEALTH_PATTERN);
-            if (healthMatcher.matches()) {
-                health = Integer.parseInt(healthMatcher.group(1));
+            if (linePattern == HEALTH_PATTERN) {
+                health = Integer.parseInt(line.match().group(1));
                 continue;
             }
 
-            Matcher attackSpeedMatcher = coded.getMatcher(ITEM_ATTACK_SPEED_PATTERN);
-            if (attackSpeedMatcher.matches()) {
-                String speedName = attackSpeedMatcher.group(1);
+            if (linePattern == ITEM_ATTACK_SPEED_PATTERN) {
+                String speedName = line.match().group(1);
                 attackSpeed = GearAttackSpeed.fromString(speedName.replaceAll(" ", "_"));
                 continue;
             }
 
-            Matcher damageMatcher = coded.getMatcher(ITEM_DAMAGE_PATTERN);
-            if (damageMatcher.matches()) {
+            if (linePattern == ITEM_DAMAGE_PATTERN) {
+                MatchResult damageMatcher = line.match();
                 String symbol = damageMatcher.group("symbol");
                 RangedValue range = RangedValue.fromString(damageMatcher.group("range"));
                 damages.add(Pair.of(DamageType.fromSymbol(symbol), range));
                 continue;
             }
 
-            Matcher defenceMatcher = coded.getMatcher(ITEM_DEFENCE_PATTERN);
-            if (defenceMatcher.matches()) {
+            if (linePattern == ITEM_DEFENCE_PATTERN) {
+                MatchResult defenceMatcher = line.match();
                 String symbol = defenceMatcher.group("symbol");
                 int value = Integer.parseInt(defenceMatcher.group("value"));
                 defences.add(Pair.of(Element.fromSymbol(symbol), value));
@@ -251,8 +334,8 @@ public final class WynnItemParser {
 
             // Requirements
             // Combat level
-            Matcher levelMatcher = normalizedCoded.getMatcher(MIN_LEVEL_PATTERN);
-            if (levelMatcher.matches()) {
+            if (linePattern == MIN_LEVEL_PATTERN) {
+                MatchResult levelMatcher = line.match();
                 levelReq = Integer.parseInt(levelMatcher.group("level"));
 
                 String mark = levelMatcher.group(1);
@@ -264,8 +347,8 @@ public final class WynnItemParser {
             }
 
             // Class
-            Matcher classMatcher = normalizedCoded.getMatcher(CLASS_REQ_PATTERN);
-            if (classMatcher.matches()) {
+            if (linePattern == CLASS_REQ_PATTERN) {
+                MatchResult classMatcher = line.match();
                 String className = classMatcher.group("name");
                 classReq = ClassType.fromName(className);
 
@@ -278,8 +361,8 @@ public final class WynnItemParser {
             }
 
             // Skills
-            Matcher skillMatcher = normalizedCoded.getMatcher(SKILL_REQ_PATTERN);
-            if (skillMatcher.matches()) {
+            if (linePattern == SKILL_REQ_PATTERN) {
+                MatchResult skillMatcher = line.match();
                 String skillName = skillMatcher.group("skill");
                 Skill skill = Skill.fromString(skillName);
                 int value = Integer.parseInt(skillMatcher.group("value"));
@@ -294,8 +377,8 @@ public final class WynnItemParser {
             }
 
             // Quests
-            Matcher questMatcher = normalizedCoded.getMatcher(QUEST_REQ_PATTERN);
-            if (questMatcher.matches()) {
+            if (linePattern == QUEST_REQ_PATTERN) {
+                MatchResult questMatcher = line.match();
                 questReq = questMatcher.group(2);
 
                 String mark = questMatcher.group(1);
@@ -307,9 +390,8 @@ public final class WynnItemParser {
             }
 
             // Misc requirements
-            Matcher miscMatcher = normalizedCoded.getMatcher(MISC_REQ_PATTERN);
-            if (miscMatcher.matches()) {
-                String mark = miscMatcher.group(1);
+            if (linePattern == MISC_REQ_PATTERN) {
+                String mark = line.match().group(1);
                 if (mark.contains("✖")) {
                     allRequirementsMet = false;
                 }
@@ -317,24 +399,23 @@ public final class WynnItemParser {
                 continue;
             }
 
-            Matcher setMatcher = normalizedCoded.getMatcher(SET_PATTERN);
-            if (setMatcher.matches()) {
+            if (linePattern == SET_PATTERN) {
+                MatchResult setMatcher = line.match();
                 String setName = setMatcher.group(1);
-                setInfo = Models.Set.getSetInfo(setName);
+                setInfo = lookup.getSetInfo(setName);
                 setWynnCount = Integer.parseInt(setMatcher.group(2));
                 continue;
             }
 
-            Matcher setItemMatcher = normalizedCoded.getMatcher(SET_ITEM_PATTERN);
-            if (setItemMatcher.matches()) {
+            if (linePattern == SET_ITEM_PATTERN) {
+                MatchResult setItemMatcher = line.match();
                 boolean active = setItemMatcher.group(1).equals("2");
                 String itemName = setItemMatcher.group(2);
                 activeItems.put(itemName, active);
                 continue;
             }
 
-            Matcher setBonusMatcher = normalizedCoded.getMatcher(SET_BONUS_PATTERN);
-            if (setBonusMatcher.matches()) {
+            if (linePattern == SET_BONUS_PATTERN) {
                 // Any stat lines that follow from now on belongs to the Set Bonus
                 // These are collected at the top of this loop for efficiency
                 setBonusStats = true;
@@ -342,15 +423,14 @@ public final class WynnItemParser {
             }
 
             // Look for effects (only on consumables)
-            Matcher effectHeaderMatcher = normalizedCoded.getMatcher(EFFECT_HEADER_PATTERN);
-            if (effectHeaderMatcher.matches()) {
-                effectsColorCode = effectHeaderMatcher.group(1);
+            if (linePattern == EFFECT_HEADER_PATTERN) {
+                effectsColorCode = line.match().group(1);
                 parsingEffects = true;
                 continue;
             }
             if (parsingEffects) {
-                Matcher effectMatcher = normalizedCoded.getMatcher(EFFECT_LINE_PATTERN);
-                if (effectMatcher.matches()) {
+                MatchResult effectMatcher = line.effectMatch();
+                if (effectMatcher != null) {
                     String colorCode = effectMatcher.group(1);
                     String type = effectMatcher.group(2);
                     int value = Integer.parseInt(effectMatcher.group(3));
@@ -378,8 +458,8 @@ public final class WynnItemParser {
             }
 
             // Look for identifications
-            Matcher statMatcher = normalizedCoded.getMatcher(IDENTIFICATION_STAT_PATTERN);
-            if (statMatcher.matches() && !setBonusStats) {
+            MatchResult statMatcher = line.statMatch();
+            if (statMatcher != null && !setBonusStats) {
                 int value = Integer.parseInt(statMatcher.group(1));
                 // group 2 is only present for unidentified gears, as the to-part of the range
                 String unit = statMatcher.group(3);
@@ -387,10 +467,9 @@ public final class WynnItemParser {
                 String starString = statMatcher.group(5);
                 String statDisplayName = statMatcher.group(6);
 
-                StatType statType = Models.Stat.fromDisplayName(statDisplayName, unit);
+                StatType statType = lookup.getStatType(statDisplayName, unit);
                 if (statType == null) {
-                    WynntilsMod.warn(
-                            "Item " + itemStack.getHoverName() + " has unknown identified stat " + statDisplayName);
+                    WynntilsMod.warn("Item " + itemName + " has unknown identified stat " + statDisplayName);
                     continue;
                 }
                 if (statType.calculateAsInverted()) {
@@ -417,16 +496,19 @@ public final class WynnItemParser {
                     possibleValuesMap.put(statType, calculatedPossibleValues);
                 }
 
-                StatActualValue actualValue = Models.Stat.buildActualValue(statType, value, stars, possibleValues);
+                RangedValue internalRoll = possibleValues != null
+                        ? StatCalculator.calculateInternalRollRange(possibleValues, value, stars)
+                        : RangedValue.NONE;
+                StatActualValue actualValue = new StatActualValue(statType, value, stars, internalRoll);
                 identifications.add(actualValue);
             }
 
             // Look for shiny stat
-            Matcher shinyStatMatcher = normalizedCoded.getMatcher(SHINY_STAT_PATTERN);
-            if (shinyStatMatcher.matches() && shinyStat.isEmpty()) {
+            MatchResult shinyStatMatcher = line.shinyStatMatch();
+            if (shinyStatMatcher != null && shinyStat.isEmpty()) {
                 String shinyName = shinyStatMatcher.group(1);
                 int shinyValue = Integer.parseInt(shinyStatMatcher.group(2));
-                shinyStat = Optional.of(new ShinyStat(Models.Shiny.getShinyStat(shinyName), shinyValue));
+                shinyStat = Optional.of(new ShinyStat(lookup.getShinyStatType(shinyName), shinyValue));
             }
         }
 
@@ -452,6 +534,25 @@ public final class WynnItemParser {
                 Optional.of(new SetInstance(setInfo, activeItems, setWynnCount, wynnBonuses)));
     }
 
+    /**
+     * Finds the patterns a lore line matches. The result only depends on the line itself, and is cached.
+     *
+     * @param coded the line, with formatting codes
+     * @param normalizedCoded the line, with formatting codes, and normalized with {@link StyledText#getNormalized()}
+     */
+    public static LoreLineParseResult parseLoreLine(String coded, String normalizedCoded) {
+        // The lines only differ if the line contains Wynn's alignment characters
+        String key = coded.equals(normalizedCoded) ? coded : coded + "\n" + normalizedCoded;
+
+        LoreLineParseResult result = LORE_LINE_CACHE.get(key);
+        if (result != null) return result;
+
+        result = matchLoreLine(coded, normalizedCoded);
+        LORE_LINE_CACHE.put(key, result);
+
+        return result;
+    }
+
     public static WynnItemParseResult parseInternalRolls(GearInfo gearInfo, JsonObject itemData) {
         List<StatActualValue> identifications = new ArrayList<>();
 
@@ -564,4 +665,66 @@ public final class WynnItemParser {
         // In this case, we actually know the exact internal roll
         return new StatActualValue(statType, value, stars, RangedValue.of(internalRoll, internalRoll));
     }
+
+    private static LoreLineParseResult matchLoreLine(String coded, String normalizedCoded) {
+        boolean statLine = isStatLine(normalizedCoded);
+        MatchResult setBonusStatMatch =
+                statLine ? match(SET_BONUS_IDENTIFICATION_PATTERN, normalizedCoded) : null;
+
+        for (LoreLinePattern linePattern : LORE_LINE_PATTERNS) {
+            String line = linePattern.matchCoded() ? coded : normalizedCoded;
+            if (!linePattern.isCandidate().test(line)) continue;
+
+            MatchResult match = match(linePattern.pattern(), line);
+            if (match != null) {
+                return new LoreLineParseResult(linePattern.pattern(), match, setBonusStatMatch, null, null, null);
+            }
+        }
+
+        // These are only used if none of the line patterns match
+        MatchResult effectMatch = normalizedCoded.startsWith("§") && normalizedCoded.contains("- §7")
+                ? match(EFFECT_LINE_PATTERN, normalizedCoded)
+                : null;
+        MatchResult statMatch = statLine ? match(IDENTIFICATION_STAT_PATTERN, normalizedCoded) : null;
+        MatchResult shinyStatMatch =
+                normalizedCoded.startsWith("§f⬡ §7") ? match(SHINY_STAT_PATTERN, normalizedCoded) : null;
+
+        return new LoreLineParseResult(null, null, setBonusStatMatch, effectMatch, statMatch, shinyStatMatch);
+    }
+
+    private static MatchResult match(Pattern pattern, String line) {
+        Matcher matcher = pattern.matcher(line);
+        return matcher.matches() ? matcher.toMatchResult() : null;
+    }
+
+    private static boolean isTierLine(String line) {
+        for (String prefix : TIER_PREFIXES) {
+            if (line.startsWith(prefix)) return true;
+        }
+
+        return false;
+    }
+
+    // A colour code, followed by one of the symbols
+    private static boolean isElementLine(String line, String symbols) {
+        if (line.length() < 3 || line.charAt(0) != '§') return false;
+
+        int symbolIndex = 1 + Character.charCount(line.codePointAt(1));
+        return symbolIndex < line.length() && symbols.indexOf(line.charAt(symbolIndex)) != -1;
+    }
+
+    // A requirement mark, followed by the text
+    private static boolean isRequirementLine(String line, String text) {
+        return (line.startsWith("§a✔§7 ") || line.startsWith("§c✖§7 ")) && line.startsWith(text, 6);
+    }
+
+    // A green or red signed value
+    private static boolean isStatLine(String line) {
+        return line.length() >= 3
+                && line.charAt(0) == '§'
+                && (line.charAt(1) == 'a' || line.charAt(1) == 'c')
+                && (line.charAt(2) == '+' || line.charAt(2) == '-');
+    }
+
+    private record LoreLinePattern(Pattern pattern, boolean matchCoded, Predicate<String> isCandidate) {}
 }
@@ -17,9 +17,12 @@ import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.config.Config;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.features.map.MainMapFeature;
+import com.wynntils.services.hades.HadesUser;
 import com.wynntils.services.hades.type.PlayerRelation;
 import com.wynntils.services.map.MapTexture;
+import com.wynntils.services.map.PoiSnapshot;
 import com.wynntils.services.map.pois.PlayerMiniMapPoi;
+import com.wynntils.services.map.pois.PlayerPoiBase;
 import com.wynntils.services.map.pois.Poi;
 import com.wynntils.services.map.pois.WaypointPoi;
 import com.wynntils.utils.MathUtils;
@@ -42,7 +45,7 @@ import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.type.BoundingCircle;
 import com.wynntils.utils.type.BoundingShape;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.renderer.MultiBufferSource;
@@ -89,6 +92,9 @@ public class MinimapOverlay extends Overlay {
     @Persisted
     public final Config<Float> remotePlayersHeadScale = new Config<>(0.4f);
 
+    // Player pois are created with the head scale, so this is recreated when it changes
+    private PoiSnapshot poiSnapshot = createPoiSnapshot();
+
     public MinimapOverlay() {
         super(
                 new OverlayPosition(
@@ -258,22 +264,21 @@ public class MinimapOverlay extends Overlay {
 
         float currentZoom = 1f / zoomRenderScale;
 
-        Stream<? extends Poi> poisToRender = Services.Poi.getServicePois();
-        poisToRender = Stream.concat(poisToRender, Services.Poi.getCombatPois());
-        poisToRender = Stream.concat(
-                poisToRender, Managers.Feature.getFeatureInstance(MainMapFeature.class).customPois.get().stream());
-        poisToRender = Stream.concat(poisToRender, Services.Poi.getProvidedCustomPois().stream());
-        poisToRender = Stream.concat(poisToRender, Models.Marker.getAllPois());
-        poisToRender = Stream.concat(
-                poisToRender, getMiniPlayerPois(renderRemotePartyPlayers.get(), renderRemoteFriendPlayers.get()));
+        poiSnapshot.update();
+        List<Poi> pois = poiSnapshot.getPois();
 
         MultiBufferSource.BufferSource bufferSource =
                 McUtils.mc().renderBuffers().bufferSource();
 
-        Poi[] pois = poisToRender.toArray(Poi[]::new);
-        for (Poi poi : pois) {
-            float dX = (poi.getLocation().getX() - (float) playerX) / zoomRenderScale;
-            float dZ = (poi.getLocation().getZ() - (float) playerZ) / zoomRenderScale;
+        for (int i = 0; i < pois.size(); i++) {
+            Poi poi = pois.get(i);
+            PoiLocation location = poi.getLocation();
+            // Remote players are interpolated, so render them at their exact position to move smoothly
+            float poiX = poi instanceof PlayerPoiBase playerPoi ? playerPoi.getRenderX() : location.getX();
+            float poiZ = poi instanceof PlayerPoiBase playerPoi ? playerPoi.getRenderZ() : location.getZ();
+
+            float dX = (poiX - (float) playerX) / zoomRenderScale;
+            float dZ = (poiZ - (float) playerZ) / zoomRenderScale;
 
             if (followPlayerRotation.get()) {
                 float tempdX = dX * cosRotationRadians - dZ * sinRotationRadians;
@@ -288,8 +293,7 @@ public class MinimapOverlay extends Overlay {
             float poiWidth = poi.getWidth(currentZoom, poiScale.get());
             float poiHeight = poi.getHeight(currentZoom, poiScale.get());
 
-            BoundingBox box = BoundingBox.centered(
-                    poi.getLocation().getX(), poi.getLocation().getZ(), (int) poiWidth, (int) poiHeight);
+            BoundingBox box = BoundingBox.centered(location.getX(), location.getZ(), (int) poiWidth, (int) poiHeight);
 
             if (BoundingShape.intersects(box, textureBoundingCircle)) {
                 poi.renderAt(
@@ -424,12 +428,33 @@ public class MinimapOverlay extends Overlay {
         }
     }
 
-    private Stream<PlayerMiniMapPoi> getMiniPlayerPois(
-            boolean renderRemotePartyPlayers, boolean renderRemoteFriendPlayers) {
-        return Services.Hades.getHadesUsers()
-                .filter(hadesUser -> (hadesUser.getRelation() == PlayerRelation.PARTY && renderRemotePartyPlayers)
-                        || (hadesUser.getRelation() == PlayerRelation.FRIEND && renderRemoteFriendPlayers))
-                .map(PlayerMiniMapPoi::new);
+    private PoiSnapshot createPoiSnapshot() {
+        return new PoiSnapshot()
+                .addSource(() -> Services.Poi.getPoisVersion(), pois -> Services.Poi.getServicePois().forEach(pois))
+                .addSource(() -> Services.Poi.getPoisVersion(), pois -> Services.Poi.getCombatPois().forEach(pois))
+                .addSource(
+                        () -> Managers.Feature.getFeatureInstance(MainMapFeature.class)
+                                .getCustomPoisVersion(),
+                        pois -> Managers.Feature.getFeatureInstance(MainMapFeature.class)
+                                .customPois
+                                .get()
+                                .forEach(pois))
+                .addSource(
+                        () -> Services.Poi.getPoisVersion(),
+                        pois -> Services.Poi.getProvidedCustomPois().forEach(pois))
+                // Markers and players move, so they are collected every tick
+                .addSource(() -> McUtils.mc().gui.getGuiTicks(), pois -> Models.Marker.getAllPois().forEach(pois))
+                .addWrappedSource(() -> McUtils.mc().gui.getGuiTicks(), this::collectPlayers, PlayerMiniMapPoi::new);
+    }
+
+    private void collectPlayers(Consumer<HadesUser> users) {
+        boolean renderParty = renderRemotePartyPlayers.get();
+        boolean renderFriends = renderRemoteFriendPlayers.get();
+
+        Services.Hades.getHadesUsers()
+                .filter(hadesUser -> (hadesUser.getRelation() == PlayerRelation.PARTY && renderParty)
+                        || (hadesUser.getRelation() == PlayerRelation.FRIEND && renderFriends))
+                .forEach(users);
     }
 
     private void renderCardinalDirections(
@@ -549,6 +574,8 @@ public class MinimapOverlay extends Overlay {
         if (config == zoomLevel) {
             // Make sure it is a valid level
             setZoomLevel(zoomLevel.get());
+        } else if (config == remotePlayersHeadScale) {
+            poiSnapshot = createPoiSnapshot();
         }
     }
 
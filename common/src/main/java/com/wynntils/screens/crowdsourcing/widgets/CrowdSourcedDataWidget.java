@@ -5,6 +5,7 @@
 package com.wynntils.screens.crowdsourcing.widgets;
 
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.crowdsource.type.CrowdSourcedDataType;
 import com.wynntils.core.text.StyledText;
@@ -24,10 +25,10 @@ import com.wynntils.utils.render.type.TextShadow;
 import com.wynntils.utils.render.type.VerticalAlignment;
 import com.wynntils.utils.type.ConfirmedBoolean;
 import com.wynntils.utils.type.Pair;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.network.chat.Component;
@@ -132,11 +133,15 @@ public class CrowdSourcedDataWidget extends WynntilsButton implements TooltipPro
                 return true;
             }
 
-            Set<Object> data = Managers.CrowdSourcedData.getData(crowdSourcedDataType);
-
-            String jsonString = Managers.Json.GSON.toJson(Map.of(Managers.CrowdSourcedData.CURRENT_GAME_VERSION, data));
+            StringWriter writer = new StringWriter();
+            try {
+                Managers.CrowdSourcedData.exportData(crowdSourcedDataType, writer);
+            } catch (IOException e) {
+                WynntilsMod.error("Failed to export crowd sourced data", e);
+                return true;
+            }
 
-            McUtils.mc().keyboardHandler.setClipboard(jsonString);
+            McUtils.mc().keyboardHandler.setClipboard(writer.toString());
 
             return true;
         }
@@ -68,7 +68,7 @@ public class GuideCharmItemStack extends GuideItemStack {
                 Handlers.Tooltip.buildNew(new CharmItem(charmInfo, null), true, false);
         this.generatedTooltip = tooltipBuilder.getTooltipLines(Models.Character.getClassType());
 
-        // Force ItemStatInfoFeature to recreate its cache
+        // Requirements might be met differently now, so ItemStatInfoFeature has to recreate the tooltip
         Optional<CharmItem> charmItemOpt = Models.Item.asWynnItem(this, CharmItem.class);
         if (charmItemOpt.isEmpty()) return;
         charmItemOpt.get().getData().clear(WynnItemData.TOOLTIP_KEY);
@@ -69,7 +69,7 @@ public final class GuideGearItemStack extends GuideItemStack {
                 Handlers.Tooltip.buildNew(new GearItem(gearInfo, null), true, false);
         this.generatedTooltip = tooltipBuilder.getTooltipLines(Models.Character.getClassType());
 
-        // Force ItemStatInfoFeature to recreate its cache
+        // Requirements might be met differently now, so ItemStatInfoFeature has to recreate the tooltip
         Optional<GearItem> gearItemOpt = Models.Item.asWynnItem(this, GearItem.class);
         if (gearItemOpt.isEmpty()) return;
         gearItemOpt.get().getData().clear(WynnItemData.TOOLTIP_KEY);
@@ -67,7 +67,7 @@ public class GuideTomeItemStack extends GuideItemStack {
                 Handlers.Tooltip.buildNew(new TomeItem(tomeInfo, null), true, false);
         this.generatedTooltip = tooltipBuilder.getTooltipLines(Models.Character.getClassType());
 
-        // Force ItemStatInfoFeature to recreate its cache
+        // Requirements might be met differently now, so ItemStatInfoFeature has to recreate the tooltip
         Optional<TomeItem> tomeItemOpt = Models.Item.asWynnItem(this, TomeItem.class);
         if (tomeItemOpt.isEmpty()) return;
         tomeItemOpt.get().getData().clear(WynnItemData.TOOLTIP_KEY);
@@ -29,9 +29,7 @@ import com.wynntils.utils.render.type.VerticalAlignment;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
@@ -52,7 +50,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
 
     private int itemScrollOffset = 0;
     private List<Integer> selectedSlots = new ArrayList<>();
-    private Map<Integer, SavedItem> encodedItems = new TreeMap<>();
+    private List<String> categoryKeys = new ArrayList<>();
 
     private String currentCategory = Services.ItemRecord.getDefaultCategory();
     private TextInputBoxWidget categoryInput;
@@ -184,7 +182,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
         // Left click toggles the selection of the item
         if (mouseButton == GLFW.GLFW_MOUSE_BUTTON_RIGHT) {
             if (KeyboardUtils.isShiftDown()) {
-                deleteItem(encodedItems.get(slot.index).base64());
+                deleteItem(categoryKeys.get(slot.index));
             } else {
                 Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(slot.getItem());
 
@@ -306,15 +304,15 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
             int endIndex = Math.max(dragSelectionStartIndex, dragSelectionEndIndex);
 
             for (int i = index; i <= endIndex; i++) {
-                if (i >= encodedItems.size()) break;
+                if (i >= categoryKeys.size()) break;
 
-                SavedItem savedItem = encodedItems.get(i);
+                String base64 = categoryKeys.get(i);
 
-                if (selectedItems.contains(new Pair<>(currentCategory, savedItem.base64()))) {
-                    selectedItems.remove(new Pair<>(currentCategory, savedItem.base64()));
+                if (selectedItems.contains(new Pair<>(currentCategory, base64))) {
+                    selectedItems.remove(new Pair<>(currentCategory, base64));
                     selectedSlots.remove((Integer) (i));
                 } else {
-                    selectedItems.add(new Pair<>(currentCategory, savedItem.base64()));
+                    selectedItems.add(new Pair<>(currentCategory, base64));
                     selectedSlots.add(i);
                 }
             }
@@ -467,34 +465,24 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
     private void populateItems() {
         List<ItemStack> items = new ArrayList<>();
         List<ItemStack> selected = new ArrayList<>();
-        encodedItems = new TreeMap<>();
         selectedSlots = new ArrayList<>();
 
         // Clear current items
         this.menu.clear();
 
-        List<SavedItem> savedItems = Services.ItemRecord.savedItems.get().stream()
-                .filter(savedItem -> savedItem.categories().contains(currentCategory))
-                .toList();
-
-        // No items in current category
-        if (savedItems.isEmpty()) return;
-
-        // Save all items in current category
-        encodedItems = savedItems.stream()
-                .collect(TreeMap::new, (map, savedItem) -> map.put(map.size(), savedItem), TreeMap::putAll);
-
+        // Only the items that are shown are decoded, items that can't be decoded are left out of the category
         int rowOffset = ITEMS_PER_ROW * itemScrollOffset;
+        List<Pair<SavedItem, WynnItem>> savedItems =
+                Services.ItemRecord.getDecodedItems(currentCategory, rowOffset, MAX_ITEMS);
 
-        for (int i = rowOffset; i < (MAX_ITEMS + rowOffset); i++) {
-            if (i >= savedItems.size()) break;
-
-            SavedItem savedItem = savedItems.get(i);
+        // Save the keys of all items in current category
+        categoryKeys = Services.ItemRecord.getItemKeys(currentCategory);
 
-            ItemStack itemStack = savedItem.itemStack();
+        for (Pair<SavedItem, WynnItem> decodedItem : savedItems) {
+            SavedItem savedItem = decodedItem.a();
 
-            itemStack = new FakeItemStack(
-                    savedItem.wynnItem(), itemStack, "From " + McUtils.playerName() + "'s Item Record");
+            ItemStack itemStack = new FakeItemStack(
+                    decodedItem.b(), savedItem.itemStack(), "From " + McUtils.playerName() + "'s Item Record");
 
             for (Pair<String, String> selectedItem : selectedItems) {
                 if (selectedItem.a().equals(currentCategory) && selectedItem.b().equals(savedItem.base64())) {
@@ -527,13 +515,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
     }
 
     private int getMaxScrollOffset() {
-        int maxItemOffset = Math.max(
-                0,
-                Services.ItemRecord.savedItems.get().stream()
-                                .filter(savedItem -> savedItem.categories().contains(currentCategory))
-                                .toList()
-                                .size()
-                        - MAX_ITEMS);
+        int maxItemOffset = Math.max(0, Services.ItemRecord.getItemCount(currentCategory) - MAX_ITEMS);
         return maxItemOffset / ITEMS_PER_ROW + (maxItemOffset % ITEMS_PER_ROW > 0 ? 1 : 0);
     }
 }
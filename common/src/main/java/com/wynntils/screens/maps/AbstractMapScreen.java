@@ -33,9 +33,9 @@ import com.wynntils.utils.render.type.TextShadow;
 import com.wynntils.utils.render.type.VerticalAlignment;
 import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.type.BoundingShape;
+import com.wynntils.utils.type.ChunkBitmap;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Options;
 import net.minecraft.client.gui.GuiGraphics;
@@ -414,7 +414,7 @@ public abstract class AbstractMapScreen extends WynntilsScreen {
                         McUtils.options().renderDistance().get() * 16,
                         McUtils.options().renderDistance().get() * 16);
 
-        Set<Long> mappedChunks = Managers.Feature.getFeatureInstance(MappingProgressFeature.class)
+        ChunkBitmap mappedChunks = Managers.Feature.getFeatureInstance(MappingProgressFeature.class)
                 .getMappedChunks();
 
         MapRenderer.renderChunks(
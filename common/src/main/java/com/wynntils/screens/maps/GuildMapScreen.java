@@ -11,6 +11,7 @@ import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.features.map.GuildMapFeature;
+import com.wynntils.models.territories.TerritoryGraph;
 import com.wynntils.models.territories.TerritoryInfo;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.models.territories.type.GuildResource;
@@ -27,14 +28,15 @@ import com.wynntils.utils.render.FontRenderer;
 import com.wynntils.utils.render.MapRenderer;
 import com.wynntils.utils.render.RenderUtils;
 import com.wynntils.utils.render.Texture;
+import com.wynntils.utils.render.buffered.BufferedRenderUtils;
 import com.wynntils.utils.render.type.HorizontalAlignment;
 import com.wynntils.utils.render.type.TextShadow;
 import com.wynntils.utils.render.type.VerticalAlignment;
 import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.type.CappedValue;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -54,6 +56,11 @@ public final class GuildMapScreen extends AbstractMapScreen {
     private BasicTexturedButton territoryDefenseFilterButton;
     private BasicTexturedButton hybridModeButton;
 
+    // Render positions of the territories, indexed by their id in the territory graph
+    private float[] routeRenderX = new float[0];
+    private float[] routeRenderZ = new float[0];
+    private boolean[] routeRendered = new boolean[0];
+
     private GuildMapScreen() {}
 
     public static Screen create() {
@@ -233,32 +240,11 @@ public final class GuildMapScreen extends AbstractMapScreen {
 
         List<Poi> filteredPois = getRenderedPois(pois, textureBoundingBox, poiScale, mouseX, mouseY);
 
-        // Render trading routes
-        // We render them in both directions because optimizing it is not cheap either
-        for (Poi poi : filteredPois) {
-            if (!(poi instanceof TerritoryPoi territoryPoi)) continue;
-
-            float poiRenderX = MapRenderer.getRenderX(poi, mapCenterX, centerX, zoomRenderScale);
-            float poiRenderZ = MapRenderer.getRenderZ(poi, mapCenterZ, centerZ, zoomRenderScale);
-
-            for (String tradingRoute : territoryPoi.getTerritoryInfo().getTradingRoutes()) {
-                Optional<Poi> routePoi = filteredPois.stream()
-                        .filter(filteredPoi -> filteredPoi.getName().equals(tradingRoute))
-                        .findFirst();
-
-                // Only render connection if the other poi is also in the filtered pois
-                if (routePoi.isPresent() && filteredPois.contains(routePoi.get())) {
-                    float x = MapRenderer.getRenderX(routePoi.get(), mapCenterX, centerX, zoomRenderScale);
-                    float z = MapRenderer.getRenderZ(routePoi.get(), mapCenterZ, centerZ, zoomRenderScale);
-
-                    RenderUtils.drawLine(poseStack, CommonColors.DARK_GRAY, poiRenderX, poiRenderZ, x, z, 0, 1);
-                }
-            }
-        }
-
         MultiBufferSource.BufferSource bufferSource =
                 McUtils.mc().renderBuffers().bufferSource();
 
+        renderTradingRoutes(poseStack, bufferSource, filteredPois);
+
         // Reverse and Render
         for (int i = filteredPois.size() - 1; i >= 0; i--) {
             Poi poi = filteredPois.get(i);
@@ -281,6 +267,49 @@ public final class GuildMapScreen extends AbstractMapScreen {
         bufferSource.endBatch();
     }
 
+    private void renderTradingRoutes(
+            PoseStack poseStack, MultiBufferSource.BufferSource bufferSource, List<Poi> filteredPois) {
+        TerritoryGraph territoryGraph = Models.Territory.getTerritoryGraph();
+        if (routeRenderX.length != territoryGraph.size()) {
+            routeRenderX = new float[territoryGraph.size()];
+            routeRenderZ = new float[territoryGraph.size()];
+            routeRendered = new boolean[territoryGraph.size()];
+        }
+
+        Arrays.fill(routeRendered, false);
+        for (Poi poi : filteredPois) {
+            if (!(poi instanceof TerritoryPoi)) continue;
+
+            int id = territoryGraph.getId(poi.getName());
+            if (id == -1) continue;
+
+            routeRenderX[id] = MapRenderer.getRenderX(poi, mapCenterX, centerX, zoomRenderScale);
+            routeRenderZ[id] = MapRenderer.getRenderZ(poi, mapCenterZ, centerZ, zoomRenderScale);
+            routeRendered[id] = true;
+        }
+
+        // Only render routes between territories that are both rendered
+        for (int edge = 0; edge < territoryGraph.getEdgeCount(); edge++) {
+            int from = territoryGraph.getEdgeFrom(edge);
+            int to = territoryGraph.getEdgeTo(edge);
+            if (!routeRendered[from] || !routeRendered[to]) continue;
+
+            BufferedRenderUtils.drawQuadLine(
+                    poseStack,
+                    bufferSource,
+                    CommonColors.DARK_GRAY,
+                    routeRenderX[from],
+                    routeRenderZ[from],
+                    routeRenderX[to],
+                    routeRenderZ[to],
+                    0,
+                    1);
+        }
+
+        // The routes have to be drawn below the territories
+        bufferSource.endBatch();
+    }
+
     @Override
     public boolean doMouseClicked(double mouseX, double mouseY, int button) {
         for (GuiEventListener child : children()) {
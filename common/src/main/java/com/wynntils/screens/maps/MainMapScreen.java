@@ -15,8 +15,10 @@ import com.wynntils.features.map.MainMapFeature;
 import com.wynntils.models.marker.type.DynamicLocationSupplier;
 import com.wynntils.models.marker.type.MarkerInfo;
 import com.wynntils.screens.base.widgets.BasicTexturedButton;
+import com.wynntils.services.hades.HadesUser;
 import com.wynntils.services.hades.type.PlayerRelation;
 import com.wynntils.services.lootrunpaths.LootrunPathInstance;
+import com.wynntils.services.map.PoiSnapshot;
 import com.wynntils.services.map.pois.CustomPoi;
 import com.wynntils.services.map.pois.IconPoi;
 import com.wynntils.services.map.pois.PlayerMainMapPoi;
@@ -33,8 +35,7 @@ import com.wynntils.utils.render.Texture;
 import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.wynn.LocationUtils;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -66,6 +67,27 @@ public final class MainMapScreen extends AbstractMapScreen {
 
     private boolean showTerrs = false;
 
+    private final PoiSnapshot poiSnapshot = new PoiSnapshot()
+            .addSource(() -> Services.Poi.getPoisVersion(), pois -> Services.Poi.getServicePois().forEach(pois))
+            .addSource(() -> Services.Poi.getPoisVersion(), pois -> Services.Poi.getCombatPois().forEach(pois))
+            .addSource(() -> Services.Poi.getPoisVersion(), pois -> Services.Poi.getLabelPois().forEach(pois))
+            .addSource(
+                    () -> Managers.Feature.getFeatureInstance(MainMapFeature.class)
+                            .getCustomPoisVersion(),
+                    pois -> Managers.Feature.getFeatureInstance(MainMapFeature.class)
+                            .customPois
+                            .get()
+                            .forEach(pois))
+            .addSource(() -> Services.Poi.getPoisVersion(), pois -> Services.Poi.getProvidedCustomPois().forEach(pois))
+            // Markers and players move, so they are collected every tick
+            .addSource(() -> McUtils.mc().gui.getGuiTicks(), pois -> Models.Marker.getAllPois().forEach(pois))
+            .addWrappedSource(() -> McUtils.mc().gui.getGuiTicks(), this::collectPlayers, PlayerMainMapPoi::new)
+            .addSource(() -> showTerrs ? Models.Territory.getTerritoryPoisVersion() : -1, pois -> {
+                if (showTerrs) {
+                    Models.Territory.getTerritoryPois().forEach(pois);
+                }
+            });
+
     @Override
     protected void doInit() {
         super.doInit();
@@ -304,29 +326,10 @@ public final class MainMapScreen extends AbstractMapScreen {
     }
 
     private void renderPois(PoseStack poseStack, int mouseX, int mouseY) {
-        Stream<? extends Poi> pois = Services.Poi.getServicePois();
-
-        pois = Stream.concat(pois, Services.Poi.getCombatPois());
-        pois = Stream.concat(pois, Services.Poi.getLabelPois());
-        pois = Stream.concat(pois, Managers.Feature.getFeatureInstance(MainMapFeature.class).customPois.get().stream());
-        pois = Stream.concat(pois, Services.Poi.getProvidedCustomPois().stream());
-        pois = Stream.concat(pois, Models.Marker.getAllPois());
-        pois = Stream.concat(
-                pois,
-                getPlayerPois(
-                        Managers.Feature.getFeatureInstance(MainMapFeature.class)
-                                .renderRemotePartyPlayers
-                                .get(),
-                        Managers.Feature.getFeatureInstance(MainMapFeature.class)
-                                .renderRemoteFriendPlayers
-                                .get()));
-
-        if (showTerrs) {
-            pois = Stream.concat(pois, Models.Territory.getTerritoryPois().stream());
-        }
+        poiSnapshot.update();
 
         renderPois(
-                pois.collect(Collectors.toList()),
+                poiSnapshot.getPois(),
                 poseStack,
                 BoundingBox.centered(mapCenterX, mapCenterZ, width / zoomRenderScale, height / zoomRenderScale),
                 Managers.Feature.getFeatureInstance(MainMapFeature.class)
@@ -336,12 +339,18 @@ public final class MainMapScreen extends AbstractMapScreen {
                 mouseY);
     }
 
-    private Stream<PlayerMainMapPoi> getPlayerPois(
-            boolean renderRemotePartyPlayers, boolean renderRemoteFriendPlayers) {
-        return Services.Hades.getHadesUsers()
+    private void collectPlayers(Consumer<HadesUser> users) {
+        boolean renderRemotePartyPlayers = Managers.Feature.getFeatureInstance(MainMapFeature.class)
+                .renderRemotePartyPlayers
+                .get();
+        boolean renderRemoteFriendPlayers = Managers.Feature.getFeatureInstance(MainMapFeature.class)
+                .renderRemoteFriendPlayers
+                .get();
+
+        Services.Hades.getHadesUsers()
                 .filter(hadesUser -> (hadesUser.getRelation() == PlayerRelation.PARTY && renderRemotePartyPlayers)
                         || (hadesUser.getRelation() == PlayerRelation.FRIEND && renderRemoteFriendPlayers))
-                .map(PlayerMainMapPoi::new);
+                .forEach(users);
     }
 
     @Override
@@ -452,6 +461,7 @@ public final class MainMapScreen extends AbstractMapScreen {
                             Managers.Feature.getFeatureInstance(MainMapFeature.class).customPois;
                     customPois.get().remove(customPoi);
                     customPois.touched();
+                    Managers.Feature.getFeatureInstance(MainMapFeature.class).updateWaypoints();
                 }
             } else {
                 setCompassToMouseCoords(mouseX, mouseY, true);
@@ -4,12 +4,13 @@
  */
 package com.wynntils.screens.trademarket;
 
-import com.wynntils.core.components.Services;
+import com.wynntils.core.components.Models;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.wrappedscreen.WrappedScreenHolder;
 import com.wynntils.handlers.wrappedscreen.type.WrappedScreenInfo;
 import com.wynntils.mc.event.ContainerSetContentEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
+import com.wynntils.services.itemfilter.IncrementalItemFilter;
 import com.wynntils.services.itemfilter.type.ItemSearchQuery;
 import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.wynn.ContainerUtils;
@@ -18,13 +19,11 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
 import it.unimi.dsi.fastutil.objects.ObjectSortedSet;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
@@ -66,7 +65,10 @@ public class TradeMarketSearchResultHolder extends WrappedScreenHolder<TradeMark
     private Map<Integer, Int2ObjectSortedMap<ItemStack>> itemMap = new TreeMap<>();
     private int pageItemCount = 0;
 
-    private List<ItemStack> filteredItems = new ArrayList<>();
+    // The items in itemMap matching the search query, sorted as the query asks
+    private final IncrementalItemFilter<ItemStack> filteredItems = new IncrementalItemFilter<>(
+            itemStack -> Models.Item.getWynnItem(itemStack).orElse(null),
+            itemStack -> StyledText.fromComponent(itemStack.getHoverName()).getStringWithoutFormatting());
     private ItemStack sortingButtonItem = ItemStack.EMPTY;
 
     @SubscribeEvent
@@ -105,8 +107,8 @@ public class TradeMarketSearchResultHolder extends WrappedScreenHolder<TradeMark
 
         ItemStack itemStack = event.getItemStack();
 
-        handleSetItem(slot, itemStack);
         updateDisplayItems(wrappedScreen.getSearchQuery());
+        handleSetItem(slot, itemStack);
     }
 
     @Override
@@ -140,7 +142,7 @@ public class TradeMarketSearchResultHolder extends WrappedScreenHolder<TradeMark
         initialPageLoadRequested = false;
         itemMap = new TreeMap<>();
         pageItemCount = 0;
-        filteredItems = new ArrayList<>();
+        filteredItems.clear();
         sortingButtonItem = ItemStack.EMPTY;
 
         this.wrappedScreen = null;
@@ -216,6 +218,7 @@ public class TradeMarketSearchResultHolder extends WrappedScreenHolder<TradeMark
 
         // Reset the item map
         itemMap = new TreeMap<>();
+        filteredItems.clear();
         pageItemCount = 0;
 
         // Set the page loading mode so we expect the items to be loaded
@@ -234,19 +237,13 @@ public class TradeMarketSearchResultHolder extends WrappedScreenHolder<TradeMark
     }
 
     public void updateDisplayItems(ItemSearchQuery searchQuery) {
-        filteredItems.clear();
-
-        Stream<ItemStack> items = itemMap.values().stream()
-                .map(map -> map.values().toArray(new ItemStack[0]))
-                .flatMap(Stream::of);
-
-        List<ItemStack> matchingItems = Services.ItemFilter.filterAndSort(searchQuery, items.toList());
-
-        filteredItems.addAll(matchingItems);
+        // Loaded items are added to the filtered items as they arrive,
+        // so this only has to do anything if the query changed
+        filteredItems.setSearchQuery(searchQuery);
     }
 
     public List<ItemStack> getFilteredItems() {
-        return filteredItems;
+        return filteredItems.getMatchingItems();
     }
 
     public int getPageLoadBatchSize() {
@@ -286,9 +283,11 @@ public class TradeMarketSearchResultHolder extends WrappedScreenHolder<TradeMark
             // Update item in slot, when changing pages,
             // items can change
             currentItems.put(slot, itemStack);
+            filteredItems.put(currentPage, slot, itemStack);
         } else {
             // Remove the item from the map if it was there
             currentItems.remove(slot);
+            filteredItems.remove(currentPage, slot);
         }
 
         pageItemCount++;
@@ -319,6 +318,7 @@ public class TradeMarketSearchResultHolder extends WrappedScreenHolder<TradeMark
 
                 // Sync the item map and current page info
                 itemMap.put(parsedCurrentPage, itemMap.remove(currentPage));
+                filteredItems.movePage(currentPage, parsedCurrentPage);
                 currentPage = parsedCurrentPage;
 
                 // Load the pages until the first page
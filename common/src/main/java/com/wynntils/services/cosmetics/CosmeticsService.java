@@ -5,31 +5,45 @@
 package com.wynntils.services.cosmetics;
 
 import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.systems.RenderSystem;
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
+import com.wynntils.core.concurrent.type.TaskLane;
+import com.wynntils.mc.event.TickEvent;
 import com.wynntils.models.players.WynntilsUser;
 import com.wynntils.models.players.type.CosmeticInfo;
+import com.wynntils.models.worlds.event.WorldStateEvent;
+import com.wynntils.models.worlds.type.WorldState;
+import com.wynntils.services.cosmetics.type.CosmeticTexture;
 import com.wynntils.services.cosmetics.type.WynntilsCapeLayer;
 import com.wynntils.services.cosmetics.type.WynntilsElytraLayer;
 import com.wynntils.services.cosmetics.type.WynntilsLayer;
 import com.wynntils.utils.mc.McUtils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import net.minecraft.client.model.PlayerModel;
 import net.minecraft.client.model.geom.EntityModelSet;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.player.AbstractClientPlayer;
 import net.minecraft.client.renderer.entity.RenderLayerParent;
 import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.entity.player.PlayerModelPart;
+import net.neoforged.bus.api.SubscribeEvent;
+import org.apache.commons.codec.digest.DigestUtils;
 
 public class CosmeticsService extends Service {
     private static final BiFunction<
@@ -50,7 +64,22 @@ public class CosmeticsService extends Service {
                             WynntilsLayer>>
             REGISTERED_LAYERS = List.of(CAPE_LAYER, ELYTRA_LAYER);
 
-    private final Map<UUID, ResourceLocation[]> cosmeticTextures = new ConcurrentHashMap<>();
+    // Textures of players out of range for this long are released
+    private static final long EVICTION_DELAY_MILLIS = 60_000;
+    private static final int EVICTION_CHECK_INTERVAL_TICKS = 100;
+
+    private static final long FAILURE_RETRY_DELAY_MILLIS = 300_000;
+
+    // Users and textures are only modified on the render thread, but read from everywhere
+    private final Map<UUID, CosmeticTexture> userTextures = new ConcurrentHashMap<>();
+    private final Map<String, CosmeticTexture> texturesByHash = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<DecodedCosmetic>> pendingDecodes = new ConcurrentHashMap<>();
+    private final Set<UUID> loadingUsers = ConcurrentHashMap.newKeySet();
+    // Users whose textures failed to load, and when, so a failure is only retried after a while
+    private final Map<UUID, Long> failedUsers = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> outOfRangeSince = new HashMap<>();
+
+    private int ticksSinceEvictionCheck = 0;
 
     public CosmeticsService() {
         super(List.of());
@@ -70,10 +99,16 @@ public class CosmeticsService extends Service {
     public boolean shouldRenderCape(Player player, boolean elytra) {
         if (player.isInvisible() || !player.isModelPartShown(PlayerModelPart.CAPE)) return false;
 
-        if (Models.Player.getUser(player.getUUID()) == null || getUserCosmeticTexture(player.getUUID()) == null)
+        WynntilsUser user = Models.Player.getUser(player.getUUID());
+        if (user == null) return false;
+
+        if (getUserCosmeticTexture(player.getUUID()) == null) {
+            // The texture might have been evicted while the player was out of range
+            loadCosmeticTextures(player.getUUID(), user);
             return false;
+        }
 
-        CosmeticInfo cosmetics = Models.Player.getUser(player.getUUID()).cosmetics();
+        CosmeticInfo cosmetics = user.cosmetics();
         return (elytra ? cosmetics.hasElytra() : cosmetics.hasCape());
     }
 
@@ -100,41 +135,207 @@ public class CosmeticsService extends Service {
         return textures[currentFrame];
     }
 
+    /**
+     * Requests the cosmetic textures of the given user. Decoding happens on a worker thread,
+     * and identical textures are shared between users. This method can be called from any thread.
+     */
     public void loadCosmeticTextures(UUID uuid, WynntilsUser user) {
-        try {
-            if (user.cosmetics().texture() == null || user.cosmetics().texture().isEmpty()) return;
-            if (cosmeticTextures.containsKey(uuid)) return;
+        String texture = user.cosmetics().texture();
+        if (texture == null || texture.isEmpty()) return;
+        if (userTextures.containsKey(uuid) || hasRecentlyFailed(uuid)) return;
+
+        // Avoid requesting the same user multiple times
+        if (!loadingUsers.add(uuid)) return;
+
+        Managers.Executor.execute(TaskLane.CPU, () -> {
+            String contentHash = DigestUtils.sha1Hex(texture);
+
+            if (texturesByHash.containsKey(contentHash)) {
+                // Already uploaded for another user, just take a reference
+                RenderSystem.recordRenderCall(() -> attachTexture(uuid, contentHash, null));
+                return;
+            }
+
+            pendingDecodes
+                    .computeIfAbsent(
+                            contentHash,
+                            hash -> Managers.Executor.supplyAsync(TaskLane.CPU, () -> decodeTexture(texture)))
+                    .whenComplete((decoded, throwable) -> {
+                        if (throwable != null) {
+                            WynntilsMod.warn(
+                                    "Exception occurred while loading cosmetics for user " + uuid, throwable);
+                            pendingDecodes.remove(contentHash);
+                            failedUsers.put(uuid, System.currentTimeMillis());
+                            loadingUsers.remove(uuid);
+                            return;
+                        }
+
+                        RenderSystem.recordRenderCall(() -> attachTexture(uuid, contentHash, decoded));
+                    });
+        });
+    }
+
+    public ResourceLocation[] getUserCosmeticTexture(UUID uuid) {
+        CosmeticTexture texture = userTextures.get(uuid);
+        return texture == null ? null : texture.getFrames();
+    }
+
+    public int getLoadedTextureCount() {
+        return texturesByHash.size();
+    }
+
+    public int getTexturedUserCount() {
+        return userTextures.size();
+    }
+
+    public int getPendingDecodeCount() {
+        return pendingDecodes.size();
+    }
+
+    public long getTextureMemoryBytes() {
+        return texturesByHash.values().stream().mapToLong(CosmeticTexture::getMemoryBytes).sum();
+    }
+
+    @SubscribeEvent
+    public void onWorldStateChange(WorldStateEvent event) {
+        // Failures might have been caused by the connection, so try again after reconnecting
+        if (event.getNewState() == WorldState.NOT_CONNECTED) {
+            failedUsers.clear();
+        }
+    }
+
+    @SubscribeEvent
+    public void onTick(TickEvent event) {
+        if (++ticksSinceEvictionCheck < EVICTION_CHECK_INTERVAL_TICKS) return;
+        ticksSinceEvictionCheck = 0;
+
+        long now = System.currentTimeMillis();
+        ClientLevel level = McUtils.mc().level;
+
+        for (UUID uuid : List.copyOf(userTextures.keySet())) {
+            if (level != null && level.getPlayerByUUID(uuid) != null) {
+                outOfRangeSince.remove(uuid);
+                continue;
+            }
+
+            long since = outOfRangeSince.computeIfAbsent(uuid, k -> now);
+            if (now - since < EVICTION_DELAY_MILLIS) continue;
+
+            outOfRangeSince.remove(uuid);
+            releaseUserTexture(uuid);
+        }
+    }
 
-            byte[] textureBytes = Base64.getDecoder().decode(user.cosmetics().texture());
-            ByteArrayInputStream byteStream = new ByteArrayInputStream(textureBytes);
-            NativeImage image = NativeImage.read(byteStream);
+    private DecodedCosmetic decodeTexture(String texture) {
+        try {
+            byte[] textureBytes = Base64.getDecoder().decode(texture);
+            NativeImage image = NativeImage.read(new ByteArrayInputStream(textureBytes));
 
             int frames = (image.getHeight() * 2) / image.getWidth();
+            if (frames <= 1) { // not animated
+                return new DecodedCosmetic(new NativeImage[] {image});
+            }
+
+            // animated, slice the frames here so the render thread only has to upload them
             int frameHeight = image.getHeight() / frames;
+            NativeImage[] frameImages = new NativeImage[frames];
+            for (int i = 0; i < frames; i++) {
+                NativeImage frame = new NativeImage(frameHeight * 2, frameHeight, false);
+                image.copyRect(frame, 0, frameHeight * i, 0, 0, frameHeight * 2, frameHeight, false, false);
+                frameImages[i] = frame;
+            }
+            image.close();
 
-            ResourceLocation[] locations = new ResourceLocation[frames];
-            String baseLocation = "wynntils:capes/" + uuid.toString().replace("-", "");
+            return new DecodedCosmetic(frameImages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            if (frames == 1) { // not animated
-                locations[0] = ResourceLocation.parse(baseLocation);
-                McUtils.mc().getTextureManager().register(locations[0], new DynamicTexture(image));
-            } else { // animated
-                for (int i = 0; i < frames; i++) {
-                    NativeImage frame = new NativeImage(frameHeight * 2, frameHeight, false);
-                    image.copyRect(frame, 0, frameHeight * i, 0, 0, frameHeight * 2, frameHeight, false, false);
+    private boolean hasRecentlyFailed(UUID uuid) {
+        Long failureTime = failedUsers.get(uuid);
+        if (failureTime == null) return false;
+        if (System.currentTimeMillis() - failureTime < FAILURE_RETRY_DELAY_MILLIS) return true;
 
-                    locations[i] = ResourceLocation.parse(baseLocation + "/" + i);
-                    McUtils.mc().getTextureManager().register(locations[i], new DynamicTexture(frame));
-                }
+        failedUsers.remove(uuid);
+        return false;
+    }
+
+    private void attachTexture(UUID uuid, String contentHash, DecodedCosmetic decoded) {
+        loadingUsers.remove(uuid);
+
+        if (userTextures.containsKey(uuid)) {
+            // Users waiting for the same decode request it again when they are rendered
+            discardDecoded(contentHash, decoded);
+            return;
+        }
+
+        CosmeticTexture texture = texturesByHash.get(contentHash);
+
+        if (texture == null) {
+            if (decoded == null || decoded.uploaded || decoded.discarded) {
+                // The shared texture was released in the meantime, it will be requested again when needed
+                return;
             }
 
-            cosmeticTextures.put(uuid, locations);
-        } catch (IOException e) {
-            WynntilsMod.warn("IOException occurred while loading cosmetics for user " + uuid, e);
+            texture = uploadTexture(contentHash, decoded);
+            texturesByHash.put(contentHash, texture);
+            pendingDecodes.remove(contentHash);
+        } else {
+            // Another decode of the same texture was uploaded first
+            discardDecoded(contentHash, decoded);
         }
+
+        texture.retain();
+        userTextures.put(uuid, texture);
     }
 
-    public ResourceLocation[] getUserCosmeticTexture(UUID uuid) {
-        return cosmeticTextures.getOrDefault(uuid, null);
+    private void discardDecoded(String contentHash, DecodedCosmetic decoded) {
+        if (decoded == null || decoded.uploaded || decoded.discarded) return;
+
+        // Frames that are not uploaded are not owned by any texture, so they have to be closed here
+        decoded.discarded = true;
+        for (NativeImage frame : decoded.frames) {
+            frame.close();
+        }
+        pendingDecodes.remove(contentHash);
+    }
+
+    private CosmeticTexture uploadTexture(String contentHash, DecodedCosmetic decoded) {
+        decoded.uploaded = true;
+
+        ResourceLocation[] locations = new ResourceLocation[decoded.frames.length];
+        String baseLocation = "wynntils:capes/" + contentHash;
+        long memoryBytes = 0;
+
+        for (int i = 0; i < decoded.frames.length; i++) {
+            NativeImage frame = decoded.frames[i];
+            memoryBytes += (long) frame.getWidth() * frame.getHeight() * 4;
+
+            locations[i] = ResourceLocation.parse(decoded.frames.length == 1 ? baseLocation : baseLocation + "/" + i);
+            McUtils.mc().getTextureManager().register(locations[i], new DynamicTexture(frame));
+        }
+
+        return new CosmeticTexture(contentHash, locations, memoryBytes);
+    }
+
+    private void releaseUserTexture(UUID uuid) {
+        CosmeticTexture texture = userTextures.remove(uuid);
+        if (texture == null || !texture.release()) return;
+
+        texturesByHash.remove(texture.getContentHash());
+        for (ResourceLocation location : texture.getFrames()) {
+            McUtils.mc().getTextureManager().release(location);
+        }
+    }
+
+    private static final class DecodedCosmetic {
+        private final NativeImage[] frames;
+        private boolean uploaded = false;
+        private boolean discarded = false;
+
+        private DecodedCosmetic(NativeImage[] frames) {
+            this.frames = frames;
+        }
     }
 }
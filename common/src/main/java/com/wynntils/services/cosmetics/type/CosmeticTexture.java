@@ -0,0 +1,51 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.cosmetics.type;
+
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * A decoded and uploaded cosmetic texture, shared by every user with identical texture data.
+ * Reference counting is only ever done on the render thread.
+ */
+public final class CosmeticTexture {
+    private final String contentHash;
+    private final ResourceLocation[] frames;
+    private final long memoryBytes;
+
+    private int references = 0;
+
+    public CosmeticTexture(String contentHash, ResourceLocation[] frames, long memoryBytes) {
+        this.contentHash = contentHash;
+        this.frames = frames;
+        this.memoryBytes = memoryBytes;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public ResourceLocation[] getFrames() {
+        return frames;
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public int getReferences() {
+        return references;
+    }
+
+    public void retain() {
+        references++;
+    }
+
+    // Returns true if this texture is no longer referenced by any user
+    public boolean release() {
+        references--;
+        return references <= 0;
+    }
+}
@@ -12,6 +12,7 @@ import com.wynntils.features.inventory.ItemFavoriteFeature;
 import com.wynntils.models.gear.type.GearInfo;
 import com.wynntils.models.ingredients.type.IngredientInfo;
 import com.wynntils.models.items.WynnItem;
+import com.wynntils.models.items.WynnItemData;
 import com.wynntils.models.items.items.game.GearBoxItem;
 import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.models.items.items.game.IngredientItem;
@@ -23,8 +24,6 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 
 public final class FavoritesService extends Service {
-    private int revision = 1;
-
     public FavoritesService() {
         super(List.of());
     }
@@ -84,7 +83,7 @@ public final class FavoritesService extends Service {
         Managers.Feature.getFeatureInstance(ItemFavoriteFeature.class)
                 .favoriteItems
                 .touched();
-        revision++;
+        WynnItemData.FAVORITE_KEY.invalidate();
     }
 
     public void removeFavorite(String unformattedName) {
@@ -92,7 +91,7 @@ public final class FavoritesService extends Service {
         Managers.Feature.getFeatureInstance(ItemFavoriteFeature.class)
                 .favoriteItems
                 .touched();
-        revision++;
+        WynnItemData.FAVORITE_KEY.invalidate();
     }
 
     public void toggleFavorite(String unformattedName) {
@@ -103,11 +102,6 @@ public final class FavoritesService extends Service {
         }
     }
 
-    // Used to track changes in the set of favorites
-    public int getRevision() {
-        return revision;
-    }
-
     public Set<String> getFavoriteItems() {
         // This is a hack to allow saving of favorites in the config
         return Managers.Feature.getFeatureInstance(ItemFavoriteFeature.class)
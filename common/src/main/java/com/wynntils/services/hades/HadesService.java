@@ -9,6 +9,7 @@ import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.features.players.HadesFeature;
 import com.wynntils.hades.objects.HadesConnection;
 import com.wynntils.hades.protocol.builders.HadesNetworkBuilder;
@@ -31,8 +32,7 @@ import com.wynntils.utils.mc.McUtils;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
@@ -45,15 +45,13 @@ import net.minecraft.world.effect.MobEffects;
 import net.neoforged.bus.api.SubscribeEvent;
 
 public final class HadesService extends Service {
-    private static final int TICKS_PER_UPDATE = 2;
     private static final int MS_PER_PING = 1000;
 
     private final HadesUserRegistry userRegistry = new HadesUserRegistry();
 
     private HadesConnection hadesConnection;
-    private int tickCountUntilUpdate = 0;
-    private PlayerStatus lastSentStatus;
-    private ScheduledExecutorService pingScheduler;
+    private final StatusSharingPolicy sharingPolicy = new StatusSharingPolicy();
+    private ScheduledFuture<?> pingFuture;
 
     public HadesService() {
         super(List.of());
@@ -79,8 +77,7 @@ public final class HadesService extends Service {
                     .setHandlerFactory(a -> new HadesClientHandler(a, userRegistry))
                     .buildClient();
 
-            tickCountUntilUpdate = 0;
-            lastSentStatus = null;
+            sharingPolicy.reset();
         } catch (UnknownHostException e) {
             WynntilsMod.error("Could not resolve Hades host address.", e);
         }
@@ -101,15 +98,18 @@ public final class HadesService extends Service {
 
         WynntilsMod.info("Starting Hades Ping Scheduler Task");
 
-        pingScheduler = Executors.newSingleThreadScheduledExecutor();
-        pingScheduler.scheduleAtFixedRate(this::sendPing, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
+        if (pingFuture != null) {
+            pingFuture.cancel(false);
+        }
+        pingFuture = Managers.Executor.scheduleWithFixedDelay(
+                TaskLane.TIMER, this::sendPing, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
     }
 
     @SubscribeEvent
     public void onDisconnect(HadesEvent.Disconnected event) {
-        if (pingScheduler == null) return;
-        pingScheduler.shutdown();
-        pingScheduler = null;
+        if (pingFuture == null) return;
+        pingFuture.cancel(false);
+        pingFuture = null;
     }
 
     private void sendPing() {
@@ -205,36 +205,28 @@ public final class HadesService extends Service {
                         .shareWithFriends
                         .get()) return;
 
-        tickCountUntilUpdate--;
-
-        if (tickCountUntilUpdate <= 0) {
-            LocalPlayer player = McUtils.player();
-
-            float pX = (float) player.getX();
-            float pY = (float) player.getY();
-            float pZ = (float) player.getZ();
+        LocalPlayer player = McUtils.player();
 
-            PlayerStatus newStatus =
-                    new PlayerStatus(pX, pY, pZ, Models.CharacterStats.getHealth(), Models.CharacterStats.getMana());
+        float pX = (float) player.getX();
+        float pY = (float) player.getY();
+        float pZ = (float) player.getZ();
 
-            if (newStatus.equals(lastSentStatus)) {
-                tickCountUntilUpdate = 1;
-                return;
-            }
+        PlayerStatus newStatus =
+                new PlayerStatus(pX, pY, pZ, Models.CharacterStats.getHealth(), Models.CharacterStats.getMana());
 
-            tickCountUntilUpdate = TICKS_PER_UPDATE;
+        long now = System.currentTimeMillis();
+        if (!sharingPolicy.shouldSend(now, newStatus)) return;
 
-            lastSentStatus = newStatus;
+        sharingPolicy.onSent(now, newStatus);
 
-            hadesConnection.sendPacketAndFlush(new HCPacketUpdateStatus(
-                    lastSentStatus.x(),
-                    lastSentStatus.y(),
-                    lastSentStatus.z(),
-                    lastSentStatus.health().current(),
-                    lastSentStatus.health().max(),
-                    lastSentStatus.mana().current(),
-                    lastSentStatus.mana().max()));
-        }
+        hadesConnection.sendPacketAndFlush(new HCPacketUpdateStatus(
+                newStatus.x(),
+                newStatus.y(),
+                newStatus.z(),
+                newStatus.health().current(),
+                newStatus.health().max(),
+                newStatus.mana().current(),
+                newStatus.mana().max()));
     }
 
     public void tryResendWorldData() {
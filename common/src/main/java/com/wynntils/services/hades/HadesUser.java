@@ -16,9 +16,9 @@ public class HadesUser {
     private final UUID uuid;
     private final String name;
 
+    private final PositionTrack positionTrack = new PositionTrack();
+
     private PlayerRelation relation;
-    private float x, y, z;
-    private PoiLocation poiLocation;
     private CappedValue health;
     private CappedValue mana;
 
@@ -34,11 +34,7 @@ public class HadesUser {
         this.uuid = UUID.fromString("8667ba71-b85a-4004-af54-457a9734eed7"); // Steve
         this.name = name;
 
-        this.x = 0;
-        this.y = 0;
-        this.z = 0;
-
-        this.poiLocation = new PoiLocation((int) x, (int) y, (int) z);
+        this.positionTrack.update(System.currentTimeMillis(), 0, 0, 0);
 
         this.relation = PlayerRelation.FRIEND;
 
@@ -54,20 +50,24 @@ public class HadesUser {
         return name;
     }
 
+    // Positions are interpolated between updates, so they change every time they are read
+
     public float getX() {
-        return x;
+        return positionTrack.getX(System.currentTimeMillis());
     }
 
     public float getY() {
-        return y;
+        return positionTrack.getY(System.currentTimeMillis());
     }
 
     public float getZ() {
-        return z;
+        return positionTrack.getZ(System.currentTimeMillis());
     }
 
     public PoiLocation getMapLocation() {
-        return poiLocation;
+        long now = System.currentTimeMillis();
+        return new PoiLocation(
+                (int) positionTrack.getX(now), (int) positionTrack.getY(now), (int) positionTrack.getZ(now));
     }
 
     public CappedValue getHealth() {
@@ -79,10 +79,7 @@ public class HadesUser {
     }
 
     public void updateFromPacket(HSPacketUpdateMutual packet) {
-        this.x = packet.getX();
-        this.y = packet.getY();
-        this.z = packet.getZ();
-        this.poiLocation = new PoiLocation((int) x, (int) y, (int) z);
+        this.positionTrack.update(System.currentTimeMillis(), packet.getX(), packet.getY(), packet.getZ());
 
         this.health = new CappedValue(packet.getHealth(), packet.getMaxHealth());
         this.mana = new CappedValue(packet.getMana(), packet.getMaxMana());
@@ -0,0 +1,125 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.hades;
+
+import com.wynntils.utils.MathUtils;
+
+/**
+ * Tracks the position of a remote player from the updates Hades sends us. Between updates,
+ * the player is assumed to keep moving with the velocity seen between the last two updates
+ * (dead reckoning), and when a new update arrives, the rendered position blends into the new
+ * track instead of jumping to it.
+ *
+ * <p>The local player uses the same track to predict where others will see it, so it only
+ * has to send an update when that prediction drifts too far. See {@link StatusSharingPolicy}.
+ */
+public final class PositionTrack {
+    // Past this, the player most likely stopped or turned, and we would only make the error worse
+    public static final long MAX_EXTRAPOLATION_MS = 2000;
+    // How long a correction takes to blend in, roughly the time between two updates while moving
+    private static final long BLEND_MS = 250;
+    // Updates arriving in a burst would otherwise result in huge velocities
+    private static final long MIN_VELOCITY_INTERVAL_MS = 50;
+    // Moving further than this between two updates is a teleport, which should not be extrapolated or blended
+    private static final float TELEPORT_DISTANCE = 32f;
+
+    private boolean hasPosition = false;
+    private long updateTime;
+
+    private float x;
+    private float y;
+    private float z;
+
+    // In blocks per millisecond
+    private float velocityX;
+    private float velocityY;
+    private float velocityZ;
+
+    // The rendered position when the last update arrived, blended out over BLEND_MS
+    private float blendX;
+    private float blendY;
+    private float blendZ;
+
+    public synchronized void update(long time, float newX, float newY, float newZ) {
+        if (!hasPosition || isTeleport(newX, newY, newZ)) {
+            velocityX = velocityY = velocityZ = 0;
+            blendX = newX;
+            blendY = newY;
+            blendZ = newZ;
+        } else {
+            blendX = getX(time);
+            blendY = getY(time);
+            blendZ = getZ(time);
+
+            long elapsed = Math.max(time - updateTime, MIN_VELOCITY_INTERVAL_MS);
+            velocityX = (newX - x) / elapsed;
+            velocityY = (newY - y) / elapsed;
+            velocityZ = (newZ - z) / elapsed;
+        }
+
+        x = newX;
+        y = newY;
+        z = newZ;
+        updateTime = time;
+        hasPosition = true;
+    }
+
+    public synchronized void reset() {
+        hasPosition = false;
+    }
+
+    /**
+     * @return the position to render at the given time, blending from where we were rendering the
+     * player when the last update arrived to where it is predicted to be
+     */
+    public synchronized float getX(long time) {
+        return MathUtils.lerp(blendX, predictX(time), getBlendProgress(time));
+    }
+
+    public synchronized float getY(long time) {
+        return MathUtils.lerp(blendY, predictY(time), getBlendProgress(time));
+    }
+
+    public synchronized float getZ(long time) {
+        return MathUtils.lerp(blendZ, predictZ(time), getBlendProgress(time));
+    }
+
+    /**
+     * @return the dead reckoned position at the given time, without any blending
+     */
+    public synchronized float predictX(long time) {
+        return x + velocityX * getExtrapolationTime(time);
+    }
+
+    public synchronized float predictY(long time) {
+        return y + velocityY * getExtrapolationTime(time);
+    }
+
+    public synchronized float predictZ(long time) {
+        return z + velocityZ * getExtrapolationTime(time);
+    }
+
+    public synchronized float getPredictionErrorSquared(long time, float actualX, float actualY, float actualZ) {
+        float dX = predictX(time) - actualX;
+        float dY = predictY(time) - actualY;
+        float dZ = predictZ(time) - actualZ;
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+
+    private boolean isTeleport(float newX, float newY, float newZ) {
+        float dX = newX - x;
+        float dY = newY - y;
+        float dZ = newZ - z;
+        return dX * dX + dY * dY + dZ * dZ > TELEPORT_DISTANCE * TELEPORT_DISTANCE;
+    }
+
+    private long getExtrapolationTime(long time) {
+        return Math.min(Math.max(time - updateTime, 0), MAX_EXTRAPOLATION_MS);
+    }
+
+    private float getBlendProgress(long time) {
+        return MathUtils.clamp((time - updateTime) / (float) BLEND_MS, 0f, 1f);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.hades;
+
+import com.wynntils.services.hades.type.PlayerStatus;
+
+/**
+ * Decides when our status is worth sending to Hades. Other players dead reckon our position
+ * from the last updates they got (see {@link PositionTrack}), so we run the same prediction
+ * and only send a new position when it drifts too far from where we actually are. Health and
+ * mana changes are sent at a lower rate, as they change all the time while fighting.
+ */
+public final class StatusSharingPolicy {
+    // How far off, in blocks, other players' prediction of our position may be
+    private static final float MAX_POSITION_ERROR = 1f;
+    // Never send more often than this, it used to be every 2 ticks
+    private static final long MIN_UPDATE_INTERVAL_MS = 100;
+    private static final long MIN_RESOURCE_UPDATE_INTERVAL_MS = 1000;
+    // Make sure small changes that never hit any threshold still arrive eventually
+    private static final long MAX_UPDATE_INTERVAL_MS = 5000;
+
+    private final PositionTrack sentTrack = new PositionTrack();
+    private PlayerStatus lastSentStatus;
+    private long lastSentTime;
+
+    public boolean shouldSend(long time, PlayerStatus status) {
+        if (lastSentStatus == null) return true;
+
+        long elapsed = time - lastSentTime;
+        if (elapsed < MIN_UPDATE_INTERVAL_MS) return false;
+
+        if (sentTrack.getPredictionErrorSquared(time, status.x(), status.y(), status.z())
+                > MAX_POSITION_ERROR * MAX_POSITION_ERROR) {
+            return true;
+        }
+
+        if (elapsed >= MIN_RESOURCE_UPDATE_INTERVAL_MS
+                && (!status.health().equals(lastSentStatus.health())
+                        || !status.mana().equals(lastSentStatus.mana()))) {
+            return true;
+        }
+
+        return elapsed >= MAX_UPDATE_INTERVAL_MS && !status.equals(lastSentStatus);
+    }
+
+    public void onSent(long time, PlayerStatus status) {
+        sentTrack.update(time, status.x(), status.y(), status.z());
+        lastSentStatus = status;
+        lastSentTime = time;
+    }
+
+    public void reset() {
+        sentTrack.reset();
+        lastSentStatus = null;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemfilter;
+
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemfilter.type.ItemStatProvider;
+import com.wynntils.services.itemfilter.type.SortInfo;
+import com.wynntils.services.itemfilter.type.StatProviderAndFilterPair;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Keeps the items that match a search query filtered and sorted while items are added one by one,
+ * instead of running {@link ItemFilterService#filterAndSort} over all items again. New items are
+ * filtered once and inserted at their sorted position with a binary search.
+ *
+ * <p>Items are keyed by their page and slot, which also orders the items the query sorts as equal,
+ * the same way filterAndSort keeps the original order. Stat values are cached per item, so changing
+ * the query only runs the filters again.
+ *
+ * @param <T> the type of the items, usually {@link net.minecraft.world.item.ItemStack}
+ */
+public final class IncrementalItemFilter<T> {
+    private final Function<T, WynnItem> wynnItemGetter;
+    private final Function<T, String> nameGetter;
+
+    private final Long2ObjectOpenHashMap<Entry<T>> entries = new Long2ObjectOpenHashMap<>();
+    // Sorted by compare(), only contains the entries that match the query
+    private final List<Entry<T>> matches = new ArrayList<>();
+    private final List<T> matchingItems = new AbstractList<>() {
+        @Override
+        public T get(int index) {
+            return matches.get(index).item;
+        }
+
+        @Override
+        public int size() {
+            return matches.size();
+        }
+    };
+
+    private ItemSearchQuery searchQuery;
+    private Collection<List<StatProviderAndFilterPair>> filterGroups = List.of();
+    private String searchText = "";
+
+    /**
+     * @param wynnItemGetter returns the annotated item, or null if the item has none
+     * @param nameGetter returns the name of the item, without formatting
+     */
+    public IncrementalItemFilter(Function<T, WynnItem> wynnItemGetter, Function<T, String> nameGetter) {
+        this.wynnItemGetter = wynnItemGetter;
+        this.nameGetter = nameGetter;
+    }
+
+    public void put(int page, int slot, T item) {
+        long key = getKey(page, slot);
+        Entry<T> entry = new Entry<>(item, key, wynnItemGetter.apply(item));
+
+        removeMatch(entries.put(key, entry));
+
+        if (matches(entry)) {
+            int index = Collections.binarySearch(matches, entry, this::compare);
+            matches.add(-index - 1, entry);
+        }
+    }
+
+    public void remove(int page, int slot) {
+        removeMatch(entries.remove(getKey(page, slot)));
+    }
+
+    /**
+     * Moves all items on a page to another page, for when it turns out the page number was wrong.
+     */
+    public void movePage(int fromPage, int toPage) {
+        if (fromPage == toPage) return;
+
+        List<Entry<T>> moved = new ArrayList<>();
+        for (Entry<T> entry : entries.values()) {
+            if (getPage(entry.key) == fromPage) {
+                moved.add(entry);
+            }
+        }
+
+        for (Entry<T> entry : moved) {
+            remove(fromPage, getSlot(entry.key));
+        }
+        for (Entry<T> entry : moved) {
+            put(toPage, getSlot(entry.key), entry.item);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        matches.clear();
+    }
+
+    /**
+     * Changes the query, if it is not the current one already. The stat values of the items are not
+     * calculated again, only the filters are.
+     */
+    public void setSearchQuery(ItemSearchQuery searchQuery) {
+        if (searchQuery == this.searchQuery) return;
+
+        this.searchQuery = searchQuery;
+        filterGroups = searchQuery == null ? List.of() : searchQuery.filters().entries().values();
+        searchText = searchQuery == null
+                ? ""
+                : String.join(" ", searchQuery.plainTextTokens()).toLowerCase(Locale.ROOT);
+
+        matches.clear();
+        for (Entry<T> entry : entries.values()) {
+            if (matches(entry)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(this::compare);
+    }
+
+    /**
+     * @return a live view of the matching items, in sorted order
+     */
+    public List<T> getMatchingItems() {
+        return matchingItems;
+    }
+
+    private void removeMatch(Entry<T> entry) {
+        if (entry == null) return;
+
+        int index = Collections.binarySearch(matches, entry, this::compare);
+        // Entries are unique by key, so an entry found at this position is this exact entry
+        if (index >= 0) {
+            matches.remove(index);
+        }
+    }
+
+    // This mirrors ItemFilterService#filterAndSort
+    private boolean matches(Entry<T> entry) {
+        if (searchQuery == null) return true;
+
+        if (!searchQuery.isEmpty()) {
+            if (entry.wynnItem == null) return false;
+
+            for (List<StatProviderAndFilterPair> filterGroup : filterGroups) {
+                if (!matchesAny(entry, filterGroup)) return false;
+            }
+
+            if (!searchText.isEmpty() && !entry.getSearchName(nameGetter).contains(searchText)) return false;
+        }
+
+        // Sorted stat providers must be filtered as "any" filters
+        for (SortInfo sortInfo : searchQuery.sorts()) {
+            if (entry.wynnItem == null || entry.getValue(sortInfo.provider()).isEmpty()) return false;
+        }
+
+        return true;
+    }
+
+    private boolean matchesAny(Entry<T> entry, List<StatProviderAndFilterPair> filterGroup) {
+        for (StatProviderAndFilterPair filter : filterGroup) {
+            Optional<?> value = entry.getValue(filter.statProvider());
+            if (value.isPresent() && filter.statFilter().matches(value.get())) return true;
+        }
+
+        return false;
+    }
+
+    // This mirrors ItemStatProvider#compare, using the cached values
+    private int compare(Entry<T> entry1, Entry<T> entry2) {
+        if (searchQuery != null) {
+            for (SortInfo sortInfo : searchQuery.sorts()) {
+                int compare = compareValues(
+                        entry1.getValue(sortInfo.provider()), entry2.getValue(sortInfo.provider()));
+
+                if (compare != 0) {
+                    return switch (sortInfo.direction()) {
+                        case ASCENDING -> -compare;
+                        case DESCENDING -> compare;
+                    };
+                }
+            }
+        }
+
+        return Long.compare(entry1.key, entry2.key);
+    }
+
+    private static int compareValues(Optional<?> value1, Optional<?> value2) {
+        if (value1.isEmpty() && value2.isPresent()) return 1;
+        if (value1.isPresent() && value2.isEmpty()) return -1;
+        if (value1.isEmpty() && value2.isEmpty()) return 0;
+
+        return -((Comparable) value1.get()).compareTo(value2.get());
+    }
+
+    private static long getKey(int page, int slot) {
+        return ((long) page << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+    private static int getPage(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int getSlot(long key) {
+        return (int) key;
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long key;
+        private final WynnItem wynnItem;
+
+        private final Map<ItemStatProvider<?>, Optional<?>> statValues = new IdentityHashMap<>();
+        private String searchName;
+
+        private Entry(T item, long key, WynnItem wynnItem) {
+            this.item = item;
+            this.key = key;
+            this.wynnItem = wynnItem;
+        }
+
+        private Optional<?> getValue(ItemStatProvider<?> statProvider) {
+            if (wynnItem == null) return Optional.empty();
+
+            return statValues.computeIfAbsent(statProvider, provider -> provider.getValue(wynnItem));
+        }
+
+        private String getSearchName(Function<T, String> nameGetter) {
+            if (searchName == null) {
+                searchName = nameGetter.apply(item).toLowerCase(Locale.ROOT);
+            }
+
+            return searchName;
+        }
+    }
+}
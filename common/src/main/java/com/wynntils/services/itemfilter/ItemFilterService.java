@@ -69,10 +69,8 @@ import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.world.item.ItemStack;
@@ -277,7 +275,7 @@ public class ItemFilterService extends Service {
         if (wynnItemOpt.isEmpty()) return false;
 
         return filterMatches(searchQuery, wynnItemOpt.get())
-                && itemNameMatches(
+                && ItemSearchFilter.nameMatches(
                         searchQuery,
                         StyledText.fromComponent(itemStack.getHoverName()).getStringWithoutFormatting());
     }
@@ -290,50 +288,11 @@ public class ItemFilterService extends Service {
      * @return the filtered and sorted list of items
      */
     public <T extends ItemStack> List<T> filterAndSort(ItemSearchQuery searchQuery, List<T> originalList) {
-        Stream<T> filteredList = originalList.stream().filter(itemStack -> matches(searchQuery, itemStack));
-
-        // Sorted stat providers must be filtered as "any" filters
-        filteredList = filteredList.filter(itemStack -> {
-            Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(itemStack);
-
-            WynnItem wynnItem = wynnItemOpt.get();
-
-            for (SortInfo sortInfo : searchQuery.sorts()) {
-                ItemStatProvider<?> statProvider = sortInfo.provider();
-                if (statProvider.getValue(wynnItem).isEmpty()) {
-                    return false;
-                }
-            }
-
-            return true;
-        });
-
-        filteredList = filteredList.sorted((itemStack1, itemStack2) -> {
-            Optional<WynnItem> wynnItem1Opt = Models.Item.getWynnItem(itemStack1);
-            Optional<WynnItem> wynnItem2Opt = Models.Item.getWynnItem(itemStack2);
-
-            if (wynnItem1Opt.isEmpty() || wynnItem2Opt.isEmpty()) {
-                return 0;
-            }
-
-            WynnItem wynnItem1 = wynnItem1Opt.get();
-            WynnItem wynnItem2 = wynnItem2Opt.get();
-
-            for (SortInfo sortInfo : searchQuery.sorts()) {
-                int compare = sortInfo.provider().compare(wynnItem1, wynnItem2);
-
-                if (compare != 0) {
-                    return switch (sortInfo.direction()) {
-                        case ASCENDING -> -compare;
-                        case DESCENDING -> compare;
-                    };
-                }
-            }
-
-            return 0;
-        });
-
-        return filteredList.toList();
+        return ItemSearchFilter.filterAndSort(
+                searchQuery,
+                originalList,
+                itemStack -> itemStack.isEmpty() ? null : Models.Item.getWynnItem(itemStack).orElse(null),
+                itemStack -> StyledText.fromComponent(itemStack.getHoverName()).getStringWithoutFormatting());
     }
 
     /**
@@ -430,24 +389,10 @@ public class ItemFilterService extends Service {
      * @param wynnItem the wynnItem version of the item
      * @return true if the item matches all filters, false otherwise
      */
-    private boolean filterMatches(ItemSearchQuery searchQuery, WynnItem wynnItem) {
+    public boolean filterMatches(ItemSearchQuery searchQuery, WynnItem wynnItem) {
         return searchQuery.filters().matches(wynnItem);
     }
 
-    /**
-     * Checks if the given item name contains the concatenated plain text tokens of the search query. The filter tokens
-     * in the search query are ignored. If there are no plain text tokens, this method always returns true.
-     *
-     * @param itemName the name to check
-     * @return true if the name contains the concatenated plain text tokens, false otherwise
-     */
-    private boolean itemNameMatches(ItemSearchQuery searchQuery, String itemName) {
-        return searchQuery.plainTextTokens().isEmpty()
-                || itemName.toLowerCase(Locale.ROOT)
-                        .contains(
-                                String.join(" ", searchQuery.plainTextTokens()).toLowerCase(Locale.ROOT));
-    }
-
     private ErrorOr<List<SortInfo>> getStatSortOrder(
             String inputString, List<ItemProviderType> supportedProviderTypes) {
         List<Pair<SortDirection, String>> providerNamesWithDirection = Arrays.stream(inputString.split(LIST_SEPARATOR))
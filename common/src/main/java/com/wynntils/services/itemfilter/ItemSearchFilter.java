@@ -0,0 +1,92 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemfilter;
+
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemfilter.type.SortInfo;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The filtering and sorting behind {@link ItemFilterService#filterAndSort}, for any kind of item.
+ * It does not depend on the game, so it is also what {@link IncrementalItemFilter} is tested against.
+ */
+public final class ItemSearchFilter {
+    private ItemSearchFilter() {}
+
+    /**
+     * @param wynnItemGetter returns the annotated item, or null if the item has none
+     * @param nameGetter returns the name of the item, without formatting
+     * @return the items matching the search query, sorted by it, and in their original order otherwise
+     */
+    public static <T> List<T> filterAndSort(
+            ItemSearchQuery searchQuery,
+            List<T> originalList,
+            Function<T, WynnItem> wynnItemGetter,
+            Function<T, String> nameGetter) {
+        Stream<T> filteredList = originalList.stream().filter(item -> {
+            if (searchQuery.isEmpty()) return true;
+
+            WynnItem wynnItem = wynnItemGetter.apply(item);
+            return wynnItem != null
+                    && searchQuery.filters().matches(wynnItem)
+                    && nameMatches(searchQuery, nameGetter.apply(item));
+        });
+
+        // Sorted stat providers must be filtered as "any" filters
+        filteredList = filteredList.filter(item -> {
+            if (searchQuery.sorts().isEmpty()) return true;
+
+            WynnItem wynnItem = wynnItemGetter.apply(item);
+            if (wynnItem == null) return false;
+
+            for (SortInfo sortInfo : searchQuery.sorts()) {
+                if (sortInfo.provider().getValue(wynnItem).isEmpty()) {
+                    return false;
+                }
+            }
+
+            return true;
+        });
+
+        filteredList = filteredList.sorted((item1, item2) -> {
+            WynnItem wynnItem1 = wynnItemGetter.apply(item1);
+            WynnItem wynnItem2 = wynnItemGetter.apply(item2);
+
+            if (wynnItem1 == null || wynnItem2 == null) {
+                return 0;
+            }
+
+            for (SortInfo sortInfo : searchQuery.sorts()) {
+                int compare = sortInfo.provider().compare(wynnItem1, wynnItem2);
+
+                if (compare != 0) {
+                    return switch (sortInfo.direction()) {
+                        case ASCENDING -> -compare;
+                        case DESCENDING -> compare;
+                    };
+                }
+            }
+
+            return 0;
+        });
+
+        return filteredList.toList();
+    }
+
+    /**
+     * Checks if the given item name contains the concatenated plain text tokens of the search query. The filter tokens
+     * in the search query are ignored. If there are no plain text tokens, this method always returns true.
+     */
+    public static boolean nameMatches(ItemSearchQuery searchQuery, String itemName) {
+        return searchQuery.plainTextTokens().isEmpty()
+                || itemName.toLowerCase(Locale.ROOT)
+                        .contains(
+                                String.join(" ", searchQuery.plainTextTokens()).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemindex;
+
+import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Service;
+import com.wynntils.core.components.Services;
+import com.wynntils.core.persisted.Persisted;
+import com.wynntils.core.persisted.storage.Storage;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.mc.event.ContainerSetContentEvent;
+import com.wynntils.mc.event.ContainerSetSlotEvent;
+import com.wynntils.mc.event.PacketEvent;
+import com.wynntils.mc.event.ScreenClosedEvent;
+import com.wynntils.models.containers.Container;
+import com.wynntils.models.containers.containers.GuildBankContainer;
+import com.wynntils.models.containers.containers.personal.PersonalStorageContainer;
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.models.items.properties.NamedItemProperty;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemindex.type.IndexedItem;
+import com.wynntils.services.itemindex.type.ItemIndexMatch;
+import com.wynntils.services.itemindex.type.ItemIndexQuery;
+import com.wynntils.services.itemindex.type.ItemIndexSource;
+import com.wynntils.services.itemindex.type.ItemLocation;
+import com.wynntils.services.itemrecord.type.SavedItem;
+import com.wynntils.utils.mc.McUtils;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import net.minecraft.network.protocol.game.ServerboundContainerClickPacket;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+
+/**
+ * Remembers the items seen in the bank, block bank, bookshelf, misc bucket and guild bank, by page and slot,
+ * so they can be searched without paging through the container. Pages are updated whenever they are viewed.
+ * The item record is searched as well.
+ */
+public final class ItemIndexService extends Service {
+    // Containers shared by all characters are stored under this key instead of a character id
+    private static final String ACCOUNT_KEY = "account";
+
+    @Persisted
+    private final Storage<Map<String, Map<ItemIndexSource, Map<Integer, Map<Integer, IndexedItem>>>>> index =
+            new Storage<>(new TreeMap<>());
+
+    // Saved items are already stored by the item record, so they are only cached here
+    private final Map<String, IndexedItem> savedItemCache = new HashMap<>();
+
+    // The guild bank does not show the page number, so we count the page buttons that were clicked
+    private int guildBankPage = 1;
+
+    public ItemIndexService() {
+        super(List.of());
+    }
+
+    @SubscribeEvent
+    public void onScreenClosed(ScreenClosedEvent event) {
+        guildBankPage = 1;
+    }
+
+    @SubscribeEvent
+    public void onPacketSent(PacketEvent.PacketSentEvent<?> event) {
+        if (!(event.getPacket() instanceof ServerboundContainerClickPacket packet)) return;
+        if (!(Models.Container.getCurrentContainer() instanceof GuildBankContainer container)) return;
+        if (packet.getContainerId() != container.getContainerId()) return;
+
+        int slot = packet.getSlotNum();
+        if (slot == container.getNextItemSlot() && isPageButton(slot, container)) {
+            guildBankPage++;
+        } else if (slot == container.getPreviousItemSlot() && isPageButton(slot, container)) {
+            guildBankPage = Math.max(guildBankPage - 1, 1);
+        }
+    }
+
+    @SubscribeEvent
+    public void onContainerSetContent(ContainerSetContentEvent.Post event) {
+        Container container = Models.Container.getCurrentContainer();
+        if (container == null || event.getContainerId() != container.getContainerId()) return;
+
+        Map<Integer, IndexedItem> page = getCurrentPage(container);
+        if (page == null) return;
+
+        page.clear();
+        for (int slot : getSlots(container)) {
+            if (slot >= event.getItems().size()) break;
+
+            indexSlot(page, slot, event.getItems().get(slot));
+        }
+
+        index.touched();
+    }
+
+    @SubscribeEvent
+    public void onContainerSetSlot(ContainerSetSlotEvent.Post event) {
+        Container container = Models.Container.getCurrentContainer();
+        if (container == null || event.getContainerId() != container.getContainerId()) return;
+        if (!getSlots(container).contains(event.getSlot())) return;
+
+        Map<Integer, IndexedItem> page = getCurrentPage(container);
+        if (page == null) return;
+
+        page.remove(event.getSlot());
+        indexSlot(page, event.getSlot(), event.getItemStack());
+
+        index.touched();
+    }
+
+    /**
+     * @return the location of every indexed item matching the query, for the current character
+     */
+    public List<ItemLocation> find(ItemSearchQuery searchQuery) {
+        List<ItemLocation> locations = new ArrayList<>();
+        if (searchQuery.isEmpty()) return locations;
+
+        ItemIndexQuery indexQuery = createIndexQuery(searchQuery);
+
+        for (ItemIndexSource source : ItemIndexSource.values()) {
+            if (source == ItemIndexSource.SAVED_ITEMS) continue;
+
+            for (Map.Entry<Integer, Map<Integer, IndexedItem>> page : getPages(source).entrySet()) {
+                for (Map.Entry<Integer, IndexedItem> slot : page.getValue().entrySet()) {
+                    if (indexQuery.match(slot.getValue()) == ItemIndexMatch.MATCH) {
+                        locations.add(new ItemLocation(
+                                source, page.getKey(), slot.getKey(), slot.getValue().getName()));
+                    }
+                }
+            }
+        }
+
+        int savedItemSlot = 0;
+        for (String savedItemKey : Services.ItemRecord.getItemKeys()) {
+            IndexedItem indexedItem = savedItemCache.computeIfAbsent(savedItemKey, this::indexSavedItem);
+            if (indexQuery.match(indexedItem) == ItemIndexMatch.MATCH) {
+                locations.add(new ItemLocation(
+                        ItemIndexSource.SAVED_ITEMS, 1, savedItemSlot, indexedItem.getName()));
+            }
+            savedItemSlot++;
+        }
+
+        return locations;
+    }
+
+    /**
+     * @return whether the page can contain a match, {@link ItemIndexMatch#UNKNOWN} if it was never viewed
+     */
+    public ItemIndexMatch matchPage(ItemIndexSource source, int page, ItemSearchQuery searchQuery) {
+        Map<Integer, IndexedItem> slots = getPages(source).get(page);
+        if (slots == null) return ItemIndexMatch.UNKNOWN;
+
+        return createIndexQuery(searchQuery).matchPage(slots.values());
+    }
+
+    private ItemIndexQuery createIndexQuery(ItemSearchQuery searchQuery) {
+        return new ItemIndexQuery(
+                String.join(" ", searchQuery.plainTextTokens()),
+                !searchQuery.filters().isEmpty(),
+                wynnItem -> Services.ItemFilter.filterMatches(searchQuery, wynnItem));
+    }
+
+    private void indexSlot(Map<Integer, IndexedItem> page, int slot, ItemStack itemStack) {
+        if (itemStack.isEmpty()) return;
+
+        Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(itemStack);
+        if (wynnItemOpt.isEmpty()) return;
+
+        String name = StyledText.fromComponent(itemStack.getHoverName()).getStringWithoutFormatting();
+        page.put(slot, IndexedItem.create(name, wynnItemOpt.get()));
+    }
+
+    private IndexedItem indexSavedItem(String base64) {
+        try {
+            WynnItem wynnItem = SavedItem.decodeItem(base64);
+            String name = wynnItem instanceof NamedItemProperty namedItem ? namedItem.getName() : "";
+            return IndexedItem.fromEncoded(name, base64, wynnItem);
+        } catch (IllegalStateException e) {
+            // The item record keeps items it can't decode, they just can't be found
+            return IndexedItem.fromEncoded("", null, null);
+        }
+    }
+
+    private Map<Integer, IndexedItem> getCurrentPage(Container container) {
+        ItemIndexSource source;
+        int page;
+
+        if (container instanceof PersonalStorageContainer) {
+            if (Models.Bank.getStorageContainerType() == null) return null;
+
+            source = ItemIndexSource.fromPersonalStorageType(Models.Bank.getStorageContainerType());
+            page = Models.Bank.getCurrentPage();
+        } else if (container instanceof GuildBankContainer) {
+            source = ItemIndexSource.GUILD_BANK;
+            page = guildBankPage;
+        } else {
+            return null;
+        }
+
+        String key = getKey(source);
+        if (key == null) return null;
+
+        return index.get()
+                .computeIfAbsent(key, k -> new EnumMap<>(ItemIndexSource.class))
+                .computeIfAbsent(source, s -> new TreeMap<>())
+                .computeIfAbsent(page, p -> new TreeMap<>());
+    }
+
+    private Map<Integer, Map<Integer, IndexedItem>> getPages(ItemIndexSource source) {
+        String key = getKey(source);
+        if (key == null) return Map.of();
+
+        return index.get().getOrDefault(key, Map.of()).getOrDefault(source, Map.of());
+    }
+
+    private String getKey(ItemIndexSource source) {
+        if (!source.isCharacterSpecific()) return ACCOUNT_KEY;
+        if (!Models.Character.hasCharacter()) return null;
+
+        return Models.Character.getId();
+    }
+
+    private List<Integer> getSlots(Container container) {
+        if (container instanceof PersonalStorageContainer personalStorageContainer) {
+            return personalStorageContainer.getBounds().getSlots();
+        }
+        if (container instanceof GuildBankContainer guildBankContainer) {
+            return guildBankContainer.getBounds().getSlots();
+        }
+
+        return List.of();
+    }
+
+    private boolean isPageButton(int slot, GuildBankContainer container) {
+        ItemStack itemStack = McUtils.containerMenu().getItems().get(slot);
+        StyledText name = StyledText.fromComponent(itemStack.getHoverName());
+
+        return name.matches(container.getNextItemPattern()) || name.matches(container.getPreviousItemPattern());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemindex.type;
+
+import com.wynntils.core.components.Models;
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.models.items.encoding.type.EncodingSettings;
+import com.wynntils.utils.EncodedByteBuffer;
+import com.wynntils.utils.type.ErrorOr;
+import java.util.Locale;
+
+/**
+ * An item in the item index. Only the name and the encoded item are persisted, the decoded item
+ * and the lower case name are calculated the first time they are needed after loading.
+ */
+public final class IndexedItem {
+    private static final EncodingSettings INDEX_ENCODING_SETTINGS = new EncodingSettings(true, true);
+
+    private final String name;
+    // Null if the item can't be encoded, such items can only be found by name after a restart
+    private final String encodedItem;
+
+    private transient String searchName;
+    private transient WynnItem wynnItem;
+    private transient boolean decoded;
+
+    private IndexedItem(String name, String encodedItem, WynnItem wynnItem) {
+        this.name = name;
+        this.encodedItem = encodedItem;
+        this.wynnItem = wynnItem;
+        this.decoded = wynnItem != null;
+    }
+
+    public static IndexedItem create(String name, WynnItem wynnItem) {
+        ErrorOr<EncodedByteBuffer> errorOrEncoded = Models.ItemEncoding.encodeItem(wynnItem, INDEX_ENCODING_SETTINGS);
+        String encodedItem =
+                errorOrEncoded.hasError() ? null : errorOrEncoded.getValue().toBase64String();
+
+        return new IndexedItem(name, encodedItem, wynnItem);
+    }
+
+    public static IndexedItem fromEncoded(String name, String encodedItem, WynnItem wynnItem) {
+        return new IndexedItem(name, encodedItem, wynnItem);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSearchName() {
+        if (searchName == null) {
+            searchName = name.toLowerCase(Locale.ROOT);
+        }
+
+        return searchName;
+    }
+
+    /**
+     * @return the item this was created from, or the decoded item if it was loaded from storage,
+     * or null if it can't be decoded
+     */
+    public WynnItem getWynnItem() {
+        if (!decoded) {
+            decoded = true;
+
+            if (encodedItem != null) {
+                ErrorOr<WynnItem> errorOrWynnItem =
+                        Models.ItemEncoding.decodeItem(EncodedByteBuffer.fromBase64String(encodedItem), null);
+                wynnItem = errorOrWynnItem.hasError() ? null : errorOrWynnItem.getValue();
+            }
+        }
+
+        return wynnItem;
+    }
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemindex.type;
+
+public enum ItemIndexMatch {
+    MATCH,
+    NO_MATCH,
+    // The page was never viewed, or an item on it can't be decoded to run the stat filters on
+    UNKNOWN
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemindex.type;
+
+import com.wynntils.models.items.WynnItem;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * An item search query, as it is run against indexed items. The stat filters are only run on items
+ * whose name matches, as names are cached and much cheaper to compare.
+ */
+public final class ItemIndexQuery {
+    private final String searchText;
+    private final boolean hasFilters;
+    private final Predicate<WynnItem> filterMatches;
+
+    public ItemIndexQuery(String searchText, boolean hasFilters, Predicate<WynnItem> filterMatches) {
+        this.searchText = searchText.toLowerCase(Locale.ROOT);
+        this.hasFilters = hasFilters;
+        this.filterMatches = filterMatches;
+    }
+
+    public ItemIndexMatch match(IndexedItem indexedItem) {
+        if (!searchText.isEmpty() && !indexedItem.getSearchName().contains(searchText)) {
+            return ItemIndexMatch.NO_MATCH;
+        }
+        if (!hasFilters) return ItemIndexMatch.MATCH;
+
+        WynnItem wynnItem = indexedItem.getWynnItem();
+        if (wynnItem == null) return ItemIndexMatch.UNKNOWN;
+
+        return filterMatches.test(wynnItem) ? ItemIndexMatch.MATCH : ItemIndexMatch.NO_MATCH;
+    }
+
+    /**
+     * @return {@link ItemIndexMatch#NO_MATCH} only if no item on the page can match
+     */
+    public ItemIndexMatch matchPage(Collection<IndexedItem> indexedItems) {
+        ItemIndexMatch pageMatch = ItemIndexMatch.NO_MATCH;
+        for (IndexedItem indexedItem : indexedItems) {
+            ItemIndexMatch match = match(indexedItem);
+            if (match == ItemIndexMatch.MATCH) return match;
+            if (match == ItemIndexMatch.UNKNOWN) {
+                pageMatch = ItemIndexMatch.UNKNOWN;
+            }
+        }
+
+        return pageMatch;
+    }
+}
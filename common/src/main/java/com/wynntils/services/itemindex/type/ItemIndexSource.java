@@ -0,0 +1,38 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemindex.type;
+
+import com.wynntils.models.containers.type.PersonalStorageType;
+
+public enum ItemIndexSource {
+    ACCOUNT_BANK(false),
+    BLOCK_BANK(false),
+    BOOKSHELF(false),
+    CHARACTER_BANK(true),
+    MISC_BUCKET(false),
+    GUILD_BANK(false),
+    SAVED_ITEMS(false);
+
+    // Only the character bank differs between characters, the other containers are shared by the whole account
+    private final boolean characterSpecific;
+
+    ItemIndexSource(boolean characterSpecific) {
+        this.characterSpecific = characterSpecific;
+    }
+
+    public boolean isCharacterSpecific() {
+        return characterSpecific;
+    }
+
+    public static ItemIndexSource fromPersonalStorageType(PersonalStorageType type) {
+        return switch (type) {
+            case ACCOUNT_BANK -> ACCOUNT_BANK;
+            case BLOCK_BANK -> BLOCK_BANK;
+            case BOOKSHELF -> BOOKSHELF;
+            case CHARACTER_BANK -> CHARACTER_BANK;
+            case MISC_BUCKET -> MISC_BUCKET;
+        };
+    }
+}
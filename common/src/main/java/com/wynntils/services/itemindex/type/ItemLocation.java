@@ -0,0 +1,11 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemindex.type;
+
+/**
+ * Where an indexed item was last seen. For {@link ItemIndexSource#SAVED_ITEMS}, the page is always 1
+ * and the slot is the position of the item in the item record.
+ */
+public record ItemLocation(ItemIndexSource source, int page, int slot, String name) {}
@@ -4,20 +4,36 @@
  */
 package com.wynntils.services.itemrecord;
 
+import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.models.items.WynnItem;
 import com.wynntils.services.itemrecord.type.SavedItem;
+import com.wynntils.services.itemrecord.type.SavedItemEntry;
+import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.KeyboardUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.Pair;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
@@ -25,19 +41,43 @@ import net.minecraft.world.item.ItemStack;
 public class ItemRecordService extends Service {
     private static final String DEFAULT_CATEGORY = "Uncategorized";
 
+    private static final File STORAGE_DIR = WynntilsMod.getModStorageDir("storage");
+    private static final String FILE_SUFFIX = ".itemvault.bin";
+    private static final long SAVE_DELAY_MS = 2000;
+
+    // Items saved by older versions, only read to move them into the vault
     @Persisted
-    public final Storage<Set<SavedItem>> savedItems = new Storage<>(new TreeSet<>());
+    private final Storage<Set<SavedItem>> savedItems = new Storage<>(new TreeSet<>());
 
-    // This is basically a trash can for items that can't be decoded
-    // This is useful for a backup in case the item can be decoded in the future (with a new version of the mod)
     @Persisted
-    public final Storage<Set<SavedItem>> faultyItems = new Storage<>(new TreeSet<>());
+    private final Storage<Set<SavedItem>> faultyItems = new Storage<>(new TreeSet<>());
 
     @Persisted
     public final Storage<Set<String>> categories = new Storage<>(new TreeSet<>(List.of(DEFAULT_CATEGORY)));
 
+    private final File vaultFile;
+    // Faulty items are kept in the vault as well, as a backup in case they can be decoded in the future
+    // (with a new version of the mod)
+    private final SavedItemVault vault;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean(false);
+    private boolean faultyItemsChecked = false;
+
     public ItemRecordService() {
         super(List.of());
+
+        vaultFile = new File(STORAGE_DIR, UndashedUuid.toString(McUtils.mc().getUser().getProfileId()) + FILE_SUFFIX);
+        vault = loadVault();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::saveIfScheduled));
+    }
+
+    @Override
+    public void onStorageLoad(Storage<?> storage) {
+        if (storage == savedItems && !savedItems.get().isEmpty()) {
+            importItems(savedItems, false);
+        } else if (storage == faultyItems && !faultyItems.get().isEmpty()) {
+            importItems(faultyItems, true);
+        }
     }
 
     public boolean saveItem(WynnItem wynnItem, ItemStack itemStack, Component itemName) {
@@ -47,15 +87,14 @@ public class ItemRecordService extends Service {
                 SavedItem.create(wynnItem, new TreeSet<>(List.of(Services.ItemRecord.getDefaultCategory())), itemStack);
 
         // Check if the item is already saved
-        if (savedItems.get().contains(itemToSave)) {
+        if (vault.contains(itemToSave.base64())) {
             McUtils.sendMessageToClient(Component.translatable("screens.wynntils.itemSharing.alreadySaved", itemName)
                     .withStyle(ChatFormatting.RED));
             return false;
         }
 
-        savedItems.get().add(itemToSave);
-
-        Services.ItemRecord.savedItems.touched();
+        vault.put(itemToSave.toEntry(false));
+        scheduleSave();
 
         McUtils.sendMessageToClient(Component.translatable("screens.wynntils.itemSharing.savedToRecord", itemName)
                 .withStyle(ChatFormatting.GREEN));
@@ -63,35 +102,70 @@ public class ItemRecordService extends Service {
         return true;
     }
 
-    public void moveSelectedItems(List<Pair<String, String>> selectedItems, String category, boolean keepOriginal) {
-        for (Pair<String, String> selectedItem : selectedItems) {
-            SavedItem savedItem = Services.ItemRecord.getItem(selectedItem.b());
+    public int getItemCount(String category) {
+        return vault.size(category);
+    }
+
+    /**
+     * @return the encoded items of the category, in the order they are shown
+     */
+    public List<String> getItemKeys(String category) {
+        return vault.getKeys(category);
+    }
+
+    /**
+     * @return the encoded items of all categories
+     */
+    public List<String> getItemKeys() {
+        return vault.getKeys();
+    }
 
-            if (selectedItem != null) {
-                moveItemCategory(savedItem, category, selectedItem.a(), keepOriginal);
+    /**
+     * Decodes the items on one page of a category. Items that can't be decoded are moved to the faulty items,
+     * and are left out.
+     *
+     * @return up to {@code count} items of the category, starting with the item at {@code offset}
+     */
+    public List<Pair<SavedItem, WynnItem>> getDecodedItems(String category, int offset, int count) {
+        List<Pair<SavedItem, WynnItem>> items = new ArrayList<>();
+
+        for (SavedItemEntry entry : vault.getPage(category, offset, count)) {
+            try {
+                items.add(Pair.of(SavedItem.fromEntry(entry), SavedItem.decodeItem(entry.base64())));
+            } catch (Exception e) {
+                WynntilsMod.warn("Removing invalid item from item record: " + entry.base64(), e);
+                vault.put(entry.withFaulty(true));
+                scheduleSave();
             }
         }
+
+        return items;
+    }
+
+    public void moveSelectedItems(List<Pair<String, String>> selectedItems, String category, boolean keepOriginal) {
+        for (Pair<String, String> selectedItem : selectedItems) {
+            moveItemCategory(selectedItem.b(), category, selectedItem.a(), keepOriginal);
+        }
     }
 
-    public void moveItemCategory(
-            SavedItem savedItem, String currentCategory, String originalCategory, boolean keepOriginal) {
-        savedItem.categories().add(currentCategory);
+    public void moveItemCategory(String base64, String currentCategory, String originalCategory, boolean keepOriginal) {
+        SavedItemEntry entry = vault.get(base64);
+        if (entry == null) return;
+
+        Set<String> newCategories = new HashSet<>(entry.categories());
+        newCategories.add(currentCategory);
 
         if (!keepOriginal) {
-            savedItem.categories().remove(originalCategory);
+            newCategories.remove(originalCategory);
         }
 
-        Services.ItemRecord.savedItems.touched();
+        vault.put(entry.withCategories(newCategories));
+        scheduleSave();
     }
 
     public void deleteItem(String base64) {
-        for (SavedItem savedItem : savedItems.get()) {
-            if (savedItem.base64().equals(base64)) {
-                Services.ItemRecord.savedItems.get().remove(savedItem);
-                Services.ItemRecord.savedItems.touched();
-                break;
-            }
-        }
+        vault.remove(base64);
+        scheduleSave();
     }
 
     public void addCategory(String newCategory, List<Pair<String, String>> selectedItems, boolean keepOriginals) {
@@ -110,42 +184,48 @@ public class ItemRecordService extends Service {
         categories.get().remove(originalName);
         categories.touched();
 
-        for (SavedItem savedItem : savedItems.get()) {
+        for (String base64 : vault.getKeys(originalName)) {
             // If an item is in the current category, add it to the renamed and remove previous name
-            if (savedItem.categories().contains(originalName)) {
-                savedItem.categories().add(newName);
-                savedItem.categories().remove(originalName);
-            }
+            SavedItemEntry entry = vault.get(base64);
+            Set<String> newCategories = new HashSet<>(entry.categories());
+            newCategories.add(newName);
+            newCategories.remove(originalName);
+
+            vault.put(entry.withCategories(newCategories));
         }
 
-        savedItems.touched();
+        scheduleSave();
     }
 
     public void deleteCategory(String categoryToDelete) {
         if (KeyboardUtils.isShiftDown()) {
-            Set<SavedItem> newSavedItems = new TreeSet<>();
-
             // Remove category from all items
-            for (SavedItem savedItem : savedItems.get()) {
-                savedItem.categories().remove(categoryToDelete);
+            for (String base64 : vault.getKeys(categoryToDelete)) {
+                SavedItemEntry entry = vault.get(base64);
+                Set<String> newCategories = new HashSet<>(entry.categories());
+                newCategories.remove(categoryToDelete);
 
                 // If the item is no longer in any categories then it should be deleted
-                if (!savedItem.categories().isEmpty()) {
-                    newSavedItems.add(savedItem);
+                if (newCategories.isEmpty()) {
+                    vault.remove(base64);
+                } else {
+                    vault.put(entry.withCategories(newCategories));
                 }
             }
 
-            Services.ItemRecord.savedItems.store(newSavedItems);
-            Services.ItemRecord.savedItems.touched();
+            scheduleSave();
         } else if (!categoryToDelete.equals(Services.ItemRecord.getDefaultCategory())) {
             // Remove category from all items and add default
-            for (SavedItem savedItem : savedItems.get()) {
-                savedItem.categories().remove(categoryToDelete);
-                savedItem.categories().add(Services.ItemRecord.getDefaultCategory());
+            for (String base64 : vault.getKeys(categoryToDelete)) {
+                SavedItemEntry entry = vault.get(base64);
+                Set<String> newCategories = new HashSet<>(entry.categories());
+                newCategories.remove(categoryToDelete);
+                newCategories.add(Services.ItemRecord.getDefaultCategory());
+
+                vault.put(entry.withCategories(newCategories));
             }
 
-            Services.ItemRecord.savedItems.store(savedItems.get());
-            Services.ItemRecord.savedItems.touched();
+            scheduleSave();
         }
 
         // If current category is not the default, delete it
@@ -159,59 +239,116 @@ public class ItemRecordService extends Service {
         return DEFAULT_CATEGORY;
     }
 
+    /**
+     * Readds faulty items that the mod can decode now. This only has to be done once, since the mod can't
+     * change while the game is running. Items that can't be decoded anymore are found by
+     * {@link #getDecodedItems(String, int, int)}, when they would be shown.
+     */
     public void cleanupItemRecord() {
-        // Try to remove all invalid items
-        List<SavedItem> itemsToRemove = new ArrayList<>();
-        for (SavedItem savedItem : savedItems.get()) {
-            try {
-                savedItem.wynnItem();
-            } catch (Exception e) {
-                WynntilsMod.warn("Removing invalid item from item record: " + savedItem.base64(), e);
-                itemsToRemove.add(savedItem);
-                faultyItems.get().add(savedItem);
-            }
-        }
+        if (faultyItemsChecked) return;
+        faultyItemsChecked = true;
 
         // Check if the mod can decode faulty items
-        List<SavedItem> itemsToReadd = new ArrayList<>();
-        for (SavedItem faultyItem : faultyItems.get()) {
+        int itemsReadded = 0;
+        for (SavedItemEntry faultyEntry : vault.getFaultyEntries()) {
             try {
-                faultyItem.wynnItem();
-                itemsToReadd.add(faultyItem);
+                SavedItem.decodeItem(faultyEntry.base64());
+                vault.put(faultyEntry.withFaulty(false));
+                itemsReadded++;
             } catch (Exception e) {
                 // continue, we still can't decode this item
             }
         }
 
         // If there is nothing to do, return
-        if (itemsToRemove.isEmpty() && itemsToReadd.isEmpty()) return;
+        if (itemsReadded == 0) return;
 
-        // Remove invalid items
-        savedItems.get().removeAll(itemsToRemove);
-        faultyItems.get().addAll(itemsToRemove);
+        scheduleSave();
 
-        // Readd items that can now be decoded
-        faultyItems.get().removeAll(itemsToReadd);
-        savedItems.get().addAll(itemsToReadd);
+        WynntilsMod.warn("Item record cleanup complete. Readded " + itemsReadded + " items that can now be decoded.");
+        McUtils.sendMessageToClient(
+                Component.translatable("service.wynntils.itemRecord.cleanupComplete", 0, itemsReadded)
+                        .withStyle(ChatFormatting.YELLOW));
+    }
 
-        // Save changes
-        faultyItems.touched();
-        savedItems.touched();
+    private void importItems(Storage<Set<SavedItem>> storage, boolean faulty) {
+        Set<SavedItem> items = storage.get();
+        for (SavedItem savedItem : items) {
+            if (vault.contains(savedItem.base64())) continue;
 
-        WynntilsMod.warn("Item record cleanup complete. Removed " + itemsToRemove.size() + " invalid items. Readded "
-                + itemsToReadd.size() + " items that can now be decoded.");
-        McUtils.sendMessageToClient(Component.translatable(
-                        "service.wynntils.itemRecord.cleanupComplete", itemsToRemove.size(), itemsToReadd.size())
-                .withStyle(ChatFormatting.YELLOW));
+            vault.put(savedItem.toEntry(faulty));
+        }
+
+        // The items are only removed from the storage once they are in the vault file,
+        // otherwise they are moved again the next time the storage is loaded
+        if (!saveVault()) {
+            scheduleSave();
+            return;
+        }
+
+        WynntilsMod.info("Moved " + items.size() + " items from the storage into the item vault");
+        storage.store(new TreeSet<>());
+        storage.touched();
+    }
+
+    private SavedItemVault loadVault() {
+        if (!vaultFile.exists()) return new SavedItemVault();
+
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(vaultFile))) {
+            return SavedItemVault.read(inputStream);
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to load the item record, starting over", e);
+            FileUtils.tryCopyFile(vaultFile, new File(vaultFile.getPath() + ".bak"));
+            return new SavedItemVault();
+        }
     }
 
-    private SavedItem getItem(String base64) {
-        for (SavedItem savedItem : savedItems.get()) {
-            if (savedItem.base64().equals(base64)) {
-                return savedItem;
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            Managers.Executor.schedule(TaskLane.IO, this::saveIfScheduled, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void saveIfScheduled() {
+        if (!saveScheduled.getAndSet(false)) return;
+
+        if (!saveVault()) {
+            scheduleSave();
+        }
+    }
+
+    /**
+     * @return whether all changes are in the vault file
+     */
+    private synchronized boolean saveVault() {
+        FileUtils.mkdir(STORAGE_DIR);
+        if (!vault.isRewriteNeeded()) {
+            if (!vault.hasPendingChanges()) return true;
+
+            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(vaultFile, true))) {
+                vault.appendPendingChanges(outputStream);
+                return true;
+            } catch (IOException e) {
+                // The next save writes the whole vault
+                WynntilsMod.error("Failed to save the item record", e);
+                return false;
             }
         }
 
-        return null;
+        File tempFile = new File(vaultFile.getPath() + ".tmp");
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+            vault.write(outputStream);
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to save the item record", e);
+            vault.markRewriteNeeded();
+            return false;
+        }
+
+        if (!FileUtils.replaceFile(tempFile, vaultFile)) {
+            vault.markRewriteNeeded();
+            return false;
+        }
+
+        return true;
     }
 }
@@ -0,0 +1,313 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemrecord;
+
+import com.wynntils.services.itemrecord.type.SavedItemEntry;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores the saved items of the item record as a log of changes, so saving a change only appends it
+ * to the end of the file. The log is replayed on load, and rewritten once most of it is outdated.
+ *
+ * <p>The items are indexed by category, sorted by their encoded form like they were before, so a page
+ * of a category can be taken without looking at the other items. Faulty items are kept, but are not part
+ * of any category.</p>
+ *
+ * <p>The file starts with a header, followed by records, which are either a complete entry, or the removal
+ * of an entry. A truncated record at the end of the file, e.g. from the game crashing while saving, is
+ * dropped, and the file is rewritten on the next save.</p>
+ */
+public final class SavedItemVault {
+    private static final int MAGIC = 0x57495631; // "WIV1"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int PUT_RECORD = 1;
+    private static final int REMOVE_RECORD = 2;
+
+    // Outdated records are only cleaned up once there are enough of them
+    private static final int MIN_OUTDATED_RECORDS = 256;
+
+    private final Map<String, SavedItemEntry> entries = new HashMap<>();
+    private final Map<String, List<String>> categoryIndex = new HashMap<>();
+    private final List<String> allKeys = new ArrayList<>();
+    private final List<SavedItemEntry> faultyEntries = new ArrayList<>();
+
+    // Changes that have not been written yet, either entries or the keys of removed entries
+    private final List<Object> pendingRecords = new ArrayList<>();
+    private int outdatedRecords = 0;
+    private boolean rewriteNeeded = true;
+
+    public static SavedItemVault read(InputStream inputStream) throws IOException {
+        SavedItemVault vault = new SavedItemVault();
+        DataInputStream dataInput = new DataInputStream(new BufferedInputStream(inputStream));
+
+        if (dataInput.readInt() != MAGIC) {
+            throw new IOException("Not an item vault file");
+        }
+        int formatVersion = dataInput.readUnsignedByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unknown item vault format version " + formatVersion);
+        }
+
+        vault.rewriteNeeded = false;
+        try {
+            while (true) {
+                int recordType = dataInput.read();
+                if (recordType == -1) break;
+
+                switch (recordType) {
+                    case PUT_RECORD -> vault.apply(readEntry(dataInput));
+                    case REMOVE_RECORD -> vault.applyRemoval(dataInput.readUTF());
+                    default -> throw new IOException("Unknown item vault record type " + recordType);
+                }
+            }
+        } catch (EOFException e) {
+            // The last record was not written completely, it can't be appended to
+            vault.rewriteNeeded = true;
+        }
+
+        return vault;
+    }
+
+    public synchronized SavedItemEntry get(String base64) {
+        return entries.get(base64);
+    }
+
+    public synchronized boolean contains(String base64) {
+        return entries.containsKey(base64);
+    }
+
+    /**
+     * Adds the entry, or replaces the entry with the same encoded item.
+     */
+    public synchronized void put(SavedItemEntry entry) {
+        apply(entry);
+        pendingRecords.add(entry);
+    }
+
+    public synchronized void remove(String base64) {
+        if (!entries.containsKey(base64)) return;
+
+        applyRemoval(base64);
+        pendingRecords.add(base64);
+    }
+
+    public synchronized int size() {
+        return allKeys.size();
+    }
+
+    public synchronized int size(String category) {
+        return categoryIndex.getOrDefault(category, List.of()).size();
+    }
+
+    /**
+     * @return the keys of all items that are not faulty, sorted
+     */
+    public synchronized List<String> getKeys() {
+        return List.copyOf(allKeys);
+    }
+
+    /**
+     * @return the keys of the items in the category, sorted
+     */
+    public synchronized List<String> getKeys(String category) {
+        return List.copyOf(categoryIndex.getOrDefault(category, List.of()));
+    }
+
+    /**
+     * @return up to {@code count} entries of the category, starting with the entry at {@code offset}
+     */
+    public synchronized List<SavedItemEntry> getPage(String category, int offset, int count) {
+        List<String> keys = categoryIndex.getOrDefault(category, List.of());
+        int end = Math.min(keys.size(), offset + count);
+
+        List<SavedItemEntry> page = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            page.add(entries.get(keys.get(i)));
+        }
+        return page;
+    }
+
+    /**
+     * @return all entries, including faulty ones
+     */
+    public synchronized List<SavedItemEntry> getEntries() {
+        return List.copyOf(entries.values());
+    }
+
+    public synchronized List<SavedItemEntry> getFaultyEntries() {
+        return List.copyOf(faultyEntries);
+    }
+
+    /**
+     * @return whether the whole vault has to be written with {@link #write(OutputStream)}, instead of only
+     *         appending the latest changes
+     */
+    public synchronized boolean isRewriteNeeded() {
+        return rewriteNeeded || (outdatedRecords >= MIN_OUTDATED_RECORDS && outdatedRecords > entries.size());
+    }
+
+    /**
+     * Makes the next save write the whole vault, e.g. when the written vault could not replace the file.
+     */
+    public synchronized void markRewriteNeeded() {
+        rewriteNeeded = true;
+    }
+
+    public synchronized boolean hasPendingChanges() {
+        return !pendingRecords.isEmpty();
+    }
+
+    /**
+     * Writes all entries, without any outdated records.
+     */
+    public synchronized void write(OutputStream outputStream) throws IOException {
+        DataOutputStream dataOutput = new DataOutputStream(outputStream);
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeByte(FORMAT_VERSION);
+
+        for (SavedItemEntry entry : entries.values()) {
+            writeEntry(dataOutput, entry);
+        }
+        dataOutput.flush();
+
+        pendingRecords.clear();
+        outdatedRecords = 0;
+        rewriteNeeded = false;
+    }
+
+    /**
+     * Writes the changes since the last write, to be appended to the file.
+     */
+    public synchronized void appendPendingChanges(OutputStream outputStream) throws IOException {
+        DataOutputStream dataOutput = new DataOutputStream(outputStream);
+
+        try {
+            for (Object record : pendingRecords) {
+                if (record instanceof SavedItemEntry entry) {
+                    writeEntry(dataOutput, entry);
+                } else {
+                    dataOutput.writeByte(REMOVE_RECORD);
+                    dataOutput.writeUTF((String) record);
+                }
+            }
+            dataOutput.flush();
+        } catch (IOException e) {
+            // We don't know how much of the changes made it into the file
+            rewriteNeeded = true;
+            throw e;
+        }
+
+        pendingRecords.clear();
+    }
+
+    private void apply(SavedItemEntry entry) {
+        SavedItemEntry previousEntry = entries.put(entry.base64(), entry);
+        if (previousEntry != null) {
+            unindex(previousEntry);
+            outdatedRecords++;
+        }
+
+        index(entry);
+    }
+
+    private void applyRemoval(String base64) {
+        SavedItemEntry previousEntry = entries.remove(base64);
+        if (previousEntry != null) {
+            unindex(previousEntry);
+            outdatedRecords++;
+        }
+
+        // The removal itself is outdated as well once the file is rewritten
+        outdatedRecords++;
+    }
+
+    private void index(SavedItemEntry entry) {
+        if (entry.faulty()) {
+            faultyEntries.add(entry);
+            return;
+        }
+
+        insertSorted(allKeys, entry.base64());
+        for (String category : entry.categories()) {
+            insertSorted(categoryIndex.computeIfAbsent(category, key -> new ArrayList<>()), entry.base64());
+        }
+    }
+
+    private void unindex(SavedItemEntry entry) {
+        if (entry.faulty()) {
+            faultyEntries.remove(entry);
+            return;
+        }
+
+        removeSorted(allKeys, entry.base64());
+        for (String category : entry.categories()) {
+            List<String> keys = categoryIndex.get(category);
+            if (keys == null) continue;
+
+            removeSorted(keys, entry.base64());
+            if (keys.isEmpty()) {
+                categoryIndex.remove(category);
+            }
+        }
+    }
+
+    private static void insertSorted(List<String> keys, String key) {
+        int index = Collections.binarySearch(keys, key);
+        if (index < 0) {
+            keys.add(-index - 1, key);
+        }
+    }
+
+    private static void removeSorted(List<String> keys, String key) {
+        int index = Collections.binarySearch(keys, key);
+        if (index >= 0) {
+            keys.remove(index);
+        }
+    }
+
+    private static void writeEntry(DataOutputStream dataOutput, SavedItemEntry entry) throws IOException {
+        dataOutput.writeByte(PUT_RECORD);
+        dataOutput.writeUTF(entry.base64());
+        dataOutput.writeBoolean(entry.faulty());
+        dataOutput.writeShort(entry.categories().size());
+        for (String category : entry.categories()) {
+            dataOutput.writeUTF(category);
+        }
+        dataOutput.writeInt(entry.itemId());
+        dataOutput.writeInt(entry.damage());
+        dataOutput.writeInt(entry.color());
+    }
+
+    private static SavedItemEntry readEntry(DataInputStream dataInput) throws IOException {
+        String base64 = dataInput.readUTF();
+        boolean faulty = dataInput.readBoolean();
+
+        int categoryCount = dataInput.readUnsignedShort();
+        Set<String> categories = new HashSet<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(dataInput.readUTF());
+        }
+
+        int itemId = dataInput.readInt();
+        int damage = dataInput.readInt();
+        int color = dataInput.readInt();
+
+        return new SavedItemEntry(base64, categories, itemId, damage, color, faulty);
+    }
+}
@@ -45,11 +45,20 @@ public record SavedItem(String base64, Set<String> categories, ItemStack itemSta
         return new SavedItem(errorOrEncodedByteBuffer.getValue().toBase64String(), categories, itemStack);
     }
 
+    public static SavedItem fromEntry(SavedItemEntry entry) {
+        return new SavedItem(
+                entry.base64(), entry.categories(), createItemStack(entry.itemId(), entry.damage(), entry.color()));
+    }
+
     /**
      * @return The wynnItem represented by this SavedItem
      * Note that this can't be done during deserialization because the models might not have finished loading yet
      */
     public WynnItem wynnItem() {
+        return decodeItem(base64);
+    }
+
+    public static WynnItem decodeItem(String base64) {
         ErrorOr<WynnItem> errorOrWynnItem =
                 Models.ItemEncoding.decodeItem(EncodedByteBuffer.fromBase64String(base64), null);
 
@@ -61,6 +70,42 @@ public record SavedItem(String base64, Set<String> categories, ItemStack itemSta
         return errorOrWynnItem.getValue();
     }
 
+    public SavedItemEntry toEntry(boolean faulty) {
+        DataComponentMap components = itemStack.getComponents();
+
+        // Leather armor can be dyed, we need to store the color
+        int color = components
+                .getOrDefault(DataComponents.DYED_COLOR, new DyedItemColor(-1, false))
+                .rgb();
+
+        int damage = components.getOrDefault(DataComponents.DAMAGE, 0);
+
+        return new SavedItemEntry(base64, categories, Item.getId(itemStack.getItem()), damage, color, faulty);
+    }
+
+    private static ItemStack createItemStack(int itemId, int damage, int color) {
+        ItemStack itemStack = new ItemStack(Item.byId(itemId), 1);
+        DataComponentMap.Builder componentsBuilder = DataComponentMap.builder()
+                .set(DataComponents.DAMAGE, damage)
+                .set(DataComponents.UNBREAKABLE, new Unbreakable(false))
+                .set(DataComponents.HIDE_ADDITIONAL_TOOLTIP, Unit.INSTANCE);
+
+        if (color != -1) {
+            componentsBuilder.set(DataComponents.DYED_COLOR, new DyedItemColor(color, false));
+        }
+
+        itemStack.applyComponents(componentsBuilder.build());
+
+        // Also hide the attribute modifiers tooltip
+        itemStack.set(
+                DataComponents.ATTRIBUTE_MODIFIERS,
+                itemStack
+                        .getOrDefault(DataComponents.ATTRIBUTE_MODIFIERS, ItemAttributeModifiers.EMPTY)
+                        .withTooltip(false));
+
+        return itemStack;
+    }
+
     @Override
     public int compareTo(SavedItem other) {
         return this.base64.compareTo(other.base64);
@@ -82,24 +127,7 @@ public record SavedItem(String base64, Set<String> categories, ItemStack itemSta
             ItemStackInfo itemStackInfo = context.deserialize(jsonObject.get("itemStackInfo"), ItemStackInfo.class);
 
             // Create itemStack from itemStackInfo
-            ItemStack itemStack = new ItemStack(Item.byId(itemStackInfo.itemId), 1);
-            DataComponentMap.Builder componentsBuilder = DataComponentMap.builder()
-                    .set(DataComponents.DAMAGE, itemStackInfo.damage)
-                    .set(DataComponents.UNBREAKABLE, new Unbreakable(false))
-                    .set(DataComponents.HIDE_ADDITIONAL_TOOLTIP, Unit.INSTANCE);
-
-            if (itemStackInfo.color != -1) {
-                componentsBuilder.set(DataComponents.DYED_COLOR, new DyedItemColor(itemStackInfo.color, false));
-            }
-
-            itemStack.applyComponents(componentsBuilder.build());
-
-            // Also hide the attribute modifiers tooltip
-            itemStack.set(
-                    DataComponents.ATTRIBUTE_MODIFIERS,
-                    itemStack
-                            .getOrDefault(DataComponents.ATTRIBUTE_MODIFIERS, ItemAttributeModifiers.EMPTY)
-                            .withTooltip(false));
+            ItemStack itemStack = createItemStack(itemStackInfo.itemId, itemStackInfo.damage, itemStackInfo.color);
 
             return new SavedItem(base64, categories, itemStack);
         }
@@ -0,0 +1,30 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemrecord.type;
+
+import java.util.Set;
+
+/**
+ * A saved item as it is stored in the {@link com.wynntils.services.itemrecord.SavedItemVault}.
+ * Unlike {@link SavedItem}, this does not hold an ItemStack or decoded item, those are only created
+ * for the items that are shown.
+ *
+ * @param base64 the encoded item, which is also the key of the item in the vault
+ * @param faulty whether the item could not be decoded, these items are not part of any category
+ */
+public record SavedItemEntry(
+        String base64, Set<String> categories, int itemId, int damage, int color, boolean faulty) {
+    public SavedItemEntry {
+        categories = Set.copyOf(categories);
+    }
+
+    public SavedItemEntry withCategories(Set<String> categories) {
+        return new SavedItemEntry(base64, categories, itemId, damage, color, faulty);
+    }
+
+    public SavedItemEntry withFaulty(boolean faulty) {
+        return new SavedItemEntry(base64, categories, itemId, damage, color, faulty);
+    }
+}
@@ -38,6 +38,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -68,6 +69,8 @@ public class PoiService extends Service {
     private final Set<CombatPoi> combatPois = new HashSet<>();
     private final Set<CombatPoi> cavePois = new HashSet<>();
     private final Map<CustomPoiProvider, List<CustomPoi>> providedCustomPois = new ConcurrentHashMap<>();
+    // Changes whenever any of the pois above change, see PoiSnapshot
+    private final AtomicInteger poisVersion = new AtomicInteger();
 
     @Persisted
     private final Storage<List<CustomPoiProvider>> customPoiProviders = new Storage<>(new ArrayList<>());
@@ -109,6 +112,10 @@ public class PoiService extends Service {
                 .toList();
     }
 
+    public int getPoisVersion() {
+        return poisVersion.get();
+    }
+
     public List<CustomPoiProvider> getCustomPoiProviders() {
         return customPoiProviders.get();
     }
@@ -128,10 +135,16 @@ public class PoiService extends Service {
 
         customPoiProviders.get().remove(provider.get());
         providedCustomPois.remove(provider.get());
+        poisVersion.incrementAndGet();
 
         return true;
     }
 
+    public void setCustomPoiProviderEnabled(CustomPoiProvider poiProvider, boolean enabled) {
+        poiProvider.setEnabled(enabled);
+        poisVersion.incrementAndGet();
+    }
+
     public boolean isPoiProvided(CustomPoi customPoi) {
         return getProvidedCustomPois().contains(customPoi);
     }
@@ -142,6 +155,7 @@ public class PoiService extends Service {
             labelPois.add(new LabelPoi(label));
             PlaceListProvider.registerFeature(label);
         }
+        poisVersion.incrementAndGet();
     }
 
     private void handleServices(Reader reader) {
@@ -159,6 +173,7 @@ public class PoiService extends Service {
                 WynntilsMod.warn("Unknown service type in services.json: " + service.type);
             }
         }
+        poisVersion.incrementAndGet();
     }
 
     private void handleCombat(Reader reader) {
@@ -177,6 +192,7 @@ public class PoiService extends Service {
                 WynntilsMod.warn("Unknown combat type in combat.json: " + combatList.type);
             }
         }
+        poisVersion.incrementAndGet();
     }
 
     private void handleCaves(Reader reader) {
@@ -190,6 +206,7 @@ public class PoiService extends Service {
                     return new CombatPoi(PoiLocation.fromLocation(profile.location), profile.name, CombatKind.CAVES);
                 })
                 .collect(Collectors.toUnmodifiableSet()));
+        poisVersion.incrementAndGet();
     }
 
     public void loadCustomPoiProviders() {
@@ -203,6 +220,7 @@ public class PoiService extends Service {
                 }
 
                 providedCustomPois.put(poiProvider, ImmutableList.copyOf(pois));
+                poisVersion.incrementAndGet();
             });
         }
     }
@@ -0,0 +1,174 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.map;
+
+import com.wynntils.services.map.pois.Poi;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * The pois of several sources in one flat list, which is meant to be updated and rendered every frame.
+ *
+ * <p>Every source has a version, and is only collected again once its version has changed.
+ * Sources whose content moves, like players, can use their own version that changes every tick instead,
+ * and wrap their objects in pois that are kept between collections, so the pois read the current
+ * position of what they are wrapping. As long as no version changes, {@link #update()} does not allocate,
+ * and {@link #getPois()} always returns the same list.</p>
+ */
+public final class PoiSnapshot {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final List<Source> sources = new ArrayList<>();
+    private final PoiList pois = new PoiList();
+
+    /**
+     * @param version the version of the source, which has to change whenever the pois change.
+     *                Versions are never negative, so a disabled source can use -1 as its version.
+     * @param collector passes all current pois of the source to the given consumer
+     */
+    public PoiSnapshot addSource(IntSupplier version, Consumer<Consumer<Poi>> collector) {
+        sources.add(new Source(version, collector));
+        return this;
+    }
+
+    /**
+     * Adds a source of objects that are wrapped in pois. Each object keeps its wrapper for as long
+     * as it is part of the source.
+     */
+    public <T> PoiSnapshot addWrappedSource(
+            IntSupplier version, Consumer<Consumer<T>> collector, Function<T, ? extends Poi> wrapperFactory) {
+        WrapperPool<T> wrapperPool = new WrapperPool<>(wrapperFactory);
+        sources.add(new Source(version, sink -> {
+            wrapperPool.beginCollection();
+            collector.accept(object -> sink.accept(wrapperPool.get(object)));
+        }));
+        return this;
+    }
+
+    /**
+     * Collects the sources whose version changed since the last update, and rebuilds the list if any did.
+     */
+    public void update() {
+        boolean changed = false;
+        for (int i = 0; i < sources.size(); i++) {
+            changed |= sources.get(i).update();
+        }
+
+        if (changed) {
+            pois.rebuild();
+        }
+    }
+
+    /**
+     * @return the pois of all sources, in the order the sources were added. This list is reused,
+     *         and changes on the next {@link #update()}.
+     */
+    public List<Poi> getPois() {
+        return pois;
+    }
+
+    private static final class Source {
+        private final IntSupplier version;
+        private final Consumer<Consumer<Poi>> collector;
+        private final List<Poi> pois = new ArrayList<>();
+        private int collectedVersion = Integer.MIN_VALUE;
+
+        private Source(IntSupplier version, Consumer<Consumer<Poi>> collector) {
+            this.version = version;
+            this.collector = collector;
+        }
+
+        private boolean update() {
+            // Read the version first, so changes made while collecting are picked up on the next update
+            int currentVersion = version.getAsInt();
+            if (currentVersion == collectedVersion) return false;
+
+            pois.clear();
+            collector.accept(pois::add);
+            collectedVersion = currentVersion;
+            return true;
+        }
+    }
+
+    private static final class WrapperPool<T> {
+        private final Function<T, ? extends Poi> wrapperFactory;
+        private IdentityHashMap<T, Poi> wrappers = new IdentityHashMap<>();
+        private IdentityHashMap<T, Poi> previousWrappers = new IdentityHashMap<>();
+
+        private WrapperPool(Function<T, ? extends Poi> wrapperFactory) {
+            this.wrapperFactory = wrapperFactory;
+        }
+
+        // Wrappers of objects that are not collected again are dropped on the next collection
+        private void beginCollection() {
+            IdentityHashMap<T, Poi> droppedWrappers = previousWrappers;
+            droppedWrappers.clear();
+            previousWrappers = wrappers;
+            wrappers = droppedWrappers;
+        }
+
+        private Poi get(T object) {
+            Poi wrapper = previousWrappers.remove(object);
+            if (wrapper == null) {
+                wrapper = wrappers.get(object);
+            }
+            if (wrapper == null) {
+                wrapper = wrapperFactory.apply(object);
+            }
+
+            wrappers.put(object, wrapper);
+            return wrapper;
+        }
+    }
+
+    private final class PoiList extends AbstractList<Poi> implements RandomAccess {
+        private Poi[] elements = new Poi[INITIAL_CAPACITY];
+        private int size = 0;
+
+        private void rebuild() {
+            int newSize = 0;
+            for (Source source : sources) {
+                newSize += source.pois.size();
+            }
+
+            if (newSize > elements.length) {
+                elements = new Poi[Math.max(newSize, elements.length * 2)];
+            }
+
+            int index = 0;
+            for (Source source : sources) {
+                for (Poi poi : source.pois) {
+                    elements[index++] = poi;
+                }
+            }
+
+            if (newSize < size) {
+                // Do not keep removed pois alive
+                Arrays.fill(elements, newSize, size, null);
+            }
+            size = newSize;
+            modCount++;
+        }
+
+        @Override
+        public Poi get(int index) {
+            if (index >= size) throw new IndexOutOfBoundsException(index);
+
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -26,6 +26,14 @@ public abstract class PlayerPoiBase implements Poi {
         return user.getMapLocation();
     }
 
+    public float getRenderX() {
+        return user.getX();
+    }
+
+    public float getRenderZ() {
+        return user.getZ();
+    }
+
     @Override
     public boolean hasStaticLocation() {
         return false;
@@ -4,17 +4,15 @@
  */
 package com.wynntils.services.mapdata;
 
-import com.wynntils.core.components.Services;
 import com.wynntils.services.mapdata.attributes.DefaultMapAttributes;
 import com.wynntils.services.mapdata.attributes.type.MapAttributes;
 import com.wynntils.services.mapdata.attributes.type.MapVisibility;
 import com.wynntils.services.mapdata.attributes.type.ResolvedMapAttributes;
 import com.wynntils.services.mapdata.attributes.type.ResolvedMapVisibility;
-import com.wynntils.services.mapdata.type.MapCategory;
 import com.wynntils.services.mapdata.type.MapFeature;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 /**
  * This will create a special type of MapAttributes that are a record with fixed values,
@@ -24,13 +22,16 @@ import java.util.stream.Stream;
  */
 public final class MapAttributesResolver {
     private final MapFeature feature;
+    private final List<MapAttributes> categoryAttributes;
 
-    private MapAttributesResolver(MapFeature feature) {
+    private MapAttributesResolver(MapFeature feature, List<MapAttributes> categoryAttributes) {
         this.feature = feature;
+        this.categoryAttributes = categoryAttributes;
     }
 
-    public static ResolvedMapAttributes resolve(MapFeature feature) {
-        MapAttributesResolver resolver = new MapAttributesResolver(feature);
+    public static ResolvedMapAttributes resolve(MapFeature feature, MapDataSnapshot snapshot) {
+        MapAttributesResolver resolver =
+                new MapAttributesResolver(feature, snapshot.getCategoryAttributeChain(feature.getCategoryId()));
 
         return new ResolvedMapAttributes(
                 resolver.getAttribute(MapAttributes::getLabel),
@@ -52,11 +53,9 @@ public final class MapAttributesResolver {
             return featureAttribute.get();
         }
 
-        // Then try to get it from the category
-        for (String id = getCategoryId(); id != null; id = getParentCategoryId(id)) {
-            Stream<T> attributes = getAttributesForCategoryId(attributeGetter, id);
-
-            Optional<T> attribute = attributes.findFirst();
+        // Then try to get it from the category hierarchy
+        for (MapAttributes attributes : categoryAttributes) {
+            Optional<T> attribute = attributeGetter.apply(attributes);
             if (attribute.isPresent()) {
                 return attribute.get();
             }
@@ -87,18 +86,15 @@ public final class MapAttributesResolver {
             }
         }
 
-        // Otherwise try to get it from the category
-        for (String id = getCategoryId(); id != null; id = getParentCategoryId(id)) {
-            Stream<MapVisibility> attributes = getAttributesForCategoryId(attributeGetter, id);
+        // Otherwise try to get it from the category hierarchy, checking each
+        // visibility in turn for the value we're looking for
+        for (MapAttributes attributes : categoryAttributes) {
+            Optional<MapVisibility> visibility = attributeGetter.apply(attributes);
+            if (visibility.isEmpty()) continue;
 
-            // Then check each visibility in turn for the value we're looking for
-            Optional<Float> attribute = attributes
-                    .map(valueGetter)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .findFirst();
-            if (attribute.isPresent()) {
-                return attribute.get();
+            Optional<Float> value = valueGetter.apply(visibility.get());
+            if (value.isPresent()) {
+                return value.get();
             }
         }
 
@@ -108,34 +104,10 @@ public final class MapAttributesResolver {
                 .get();
     }
 
-    private String getCategoryId() {
-        return feature.getCategoryId();
-    }
-
     private <T> Optional<T> getFromFeature(Function<MapAttributes, Optional<T>> attributeGetter) {
         Optional<MapAttributes> attributes = feature.getAttributes();
         if (attributes.isEmpty()) return Optional.empty();
 
         return attributeGetter.apply(attributes.get());
     }
-
-    private <T> Stream<T> getAttributesForCategoryId(
-            Function<MapAttributes, Optional<T>> attributeGetter, String categoryId) {
-        // Find all provided MapAttributes for this category level
-        Stream<MapAttributes> allAttributes = Services.MapData.getCategoryDefinitions(categoryId)
-                .map(MapCategory::getAttributes)
-                .filter(Optional::isPresent)
-                .map(Optional::get);
-
-        // Mulitple providers might provide MapAttributes to the same category, but not
-        // all of them might provide the attribute we're actually looking for, so
-        // check all (in the arbitrary order that Services.MapData gave them to us).
-        return allAttributes.map(attributeGetter).filter(Optional::isPresent).map(Optional::get);
-    }
-
-    private String getParentCategoryId(String categoryId) {
-        int index = categoryId.lastIndexOf(':');
-        if (index == -1) return null;
-        return categoryId.substring(0, index);
-    }
 }
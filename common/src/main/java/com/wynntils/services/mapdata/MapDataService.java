@@ -39,8 +39,10 @@ public class MapDataService extends Service {
     // Used for referencing the map data service before it is fully initialized in Services
     private final Deque<String> providerOrder = new LinkedList<>();
     private final Map<String, MapDataProvider> allProviders = new HashMap<>();
-    private final Map<MapFeature, ResolvedMapAttributes> resolvedAttributesCache = new HashMap<>();
-    private final Map<String, Optional<MapIcon>> iconCache = new HashMap<>();
+
+    // Rebuilt lazily after any change to the providers
+    private volatile MapDataSnapshot snapshot;
+    private int snapshotVersion = 0;
 
     public MapDataService() {
         super(List.of());
@@ -49,22 +51,22 @@ public class MapDataService extends Service {
     }
 
     public Stream<MapFeature> getFeatures() {
-        return getProviders().flatMap(MapDataProvider::getFeatures);
+        return getSnapshot().getFeatures();
     }
 
     public Stream<Poi> getFeaturesAsPois() {
-        return getFeatures().map(feature -> new MapFeaturePoiWrapper(feature, resolveMapAttributes(feature)));
+        MapDataSnapshot currentSnapshot = getSnapshot();
+        return currentSnapshot.getFeatures().map(currentSnapshot::getPoiWrapper);
     }
 
     // region Lookup features and resolve attributes
 
     public ResolvedMapAttributes resolveMapAttributes(MapFeature feature) {
-        return resolvedAttributesCache.computeIfAbsent(feature, k -> MapAttributesResolver.resolve(feature));
+        return getSnapshot().resolveMapAttributes(feature);
     }
 
     public Stream<MapCategory> getCategoryDefinitions(String categoryId) {
-        return getProviders().flatMap(MapDataProvider::getCategories).filter(p -> p.getCategoryId()
-                .equals(categoryId));
+        return getSnapshot().getCategoryDefinitions(categoryId).stream();
     }
 
     public String getCategoryName(String categoryId) {
@@ -77,12 +79,30 @@ public class MapDataService extends Service {
     }
 
     public Optional<MapIcon> getIcon(String iconId) {
-        if (iconId.equals(MapIcon.NO_ICON_ID)) return Optional.empty();
+        return getSnapshot().getIcon(iconId);
+    }
+
+    public MapDataSnapshot getSnapshot() {
+        MapDataSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null) return currentSnapshot;
+
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshotVersion++;
+                snapshot = new MapDataSnapshot(
+                        snapshotVersion,
+                        providerOrder.stream().map(allProviders::get).toList());
+            }
+            return snapshot;
+        }
+    }
 
-        return iconCache.computeIfAbsent(iconId, k -> {
-            Stream<MapIcon> allIcons = getProviders().flatMap(MapDataProvider::getIcons);
-            return allIcons.filter(i -> i.getIconId().equals(iconId)).findFirst();
-        });
+    /**
+     * Call this when a provider has changed its categories, icons or features without
+     * being registered again.
+     */
+    public void invalidateSnapshot() {
+        snapshot = null;
     }
 
     // endregion
@@ -116,6 +136,7 @@ public class MapDataService extends Service {
         if (providerOrder.remove(providerId)) {
             // If it existed, put it back first
             providerOrder.addFirst(providerId);
+            invalidateSnapshot();
         }
     }
 
@@ -148,13 +169,7 @@ public class MapDataService extends Service {
         // Add or update the provider
         allProviders.put(providerId, provider);
 
-        // Invalidate caches
-        resolvedAttributesCache.clear();
-        iconCache.clear();
-    }
-
-    private Stream<MapDataProvider> getProviders() {
-        return providerOrder.stream().map(allProviders::get);
+        invalidateSnapshot();
     }
 
     // endregion
@@ -0,0 +1,120 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.mapdata;
+
+import com.wynntils.services.mapdata.attributes.type.MapAttributes;
+import com.wynntils.services.mapdata.attributes.type.MapIcon;
+import com.wynntils.services.mapdata.attributes.type.ResolvedMapAttributes;
+import com.wynntils.services.mapdata.providers.MapDataProvider;
+import com.wynntils.services.mapdata.type.MapCategory;
+import com.wynntils.services.mapdata.type.MapFeature;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The categories and icons of all map data providers, in provider priority order, as they
+ * were when the snapshot was taken. A new snapshot is built whenever providers are added,
+ * replaced or reordered, so everything derived from it can be cached for its lifetime.
+ *
+ * <p>Features are still read from the providers on every call, as some providers change
+ * their features on their own, but their resolved attributes and POI wrappers are cached.
+ */
+public final class MapDataSnapshot {
+    private final int version;
+    private final List<MapDataProvider> providers;
+
+    private final Map<String, List<MapCategory>> categoriesById;
+    private final Map<String, Optional<MapIcon>> iconsById;
+
+    // Lazily filled, as feature category ids do not need a category definition of their own
+    private final Map<String, List<MapAttributes>> categoryAttributeChains = new ConcurrentHashMap<>();
+    private final Map<MapFeature, MapFeaturePoiWrapper> poiWrappers = new ConcurrentHashMap<>();
+
+    public MapDataSnapshot(int version, List<MapDataProvider> providers) {
+        this.version = version;
+        this.providers = List.copyOf(providers);
+
+        Map<String, List<MapCategory>> categories = new HashMap<>();
+        Map<String, Optional<MapIcon>> icons = new HashMap<>();
+        for (MapDataProvider provider : this.providers) {
+            provider.getCategories()
+                    .forEach(category -> categories
+                            .computeIfAbsent(category.getCategoryId(), k -> new ArrayList<>())
+                            .add(category));
+            // The first provider to define an icon wins
+            provider.getIcons().forEach(icon -> icons.putIfAbsent(icon.getIconId(), Optional.of(icon)));
+        }
+
+        categories.replaceAll((id, definitions) -> List.copyOf(definitions));
+        this.categoriesById = Collections.unmodifiableMap(categories);
+        this.iconsById = Collections.unmodifiableMap(icons);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Stream<MapFeature> getFeatures() {
+        return providers.stream().flatMap(MapDataProvider::getFeatures);
+    }
+
+    public List<MapCategory> getCategoryDefinitions(String categoryId) {
+        return categoriesById.getOrDefault(categoryId, List.of());
+    }
+
+    public Optional<MapIcon> getIcon(String iconId) {
+        if (iconId.equals(MapIcon.NO_ICON_ID)) return Optional.empty();
+
+        return iconsById.getOrDefault(iconId, Optional.empty());
+    }
+
+    /**
+     * Returns the attributes of every definition of this category and all its parent
+     * categories, most specific category first, and in provider priority order within
+     * a category.
+     */
+    public List<MapAttributes> getCategoryAttributeChain(String categoryId) {
+        if (categoryId == null) return List.of();
+
+        List<MapAttributes> chain = categoryAttributeChains.get(categoryId);
+        if (chain != null) return chain;
+
+        List<MapAttributes> newChain = new ArrayList<>();
+        for (MapCategory category : getCategoryDefinitions(categoryId)) {
+            category.getAttributes().ifPresent(newChain::add);
+        }
+        newChain.addAll(getCategoryAttributeChain(getParentCategoryId(categoryId)));
+
+        chain = List.copyOf(newChain);
+        categoryAttributeChains.put(categoryId, chain);
+        return chain;
+    }
+
+    public ResolvedMapAttributes resolveMapAttributes(MapFeature feature) {
+        return getPoiWrapper(feature).getAttributes();
+    }
+
+    public MapFeaturePoiWrapper getPoiWrapper(MapFeature feature) {
+        MapFeaturePoiWrapper wrapper = poiWrappers.get(feature);
+        if (wrapper != null) return wrapper;
+
+        ResolvedMapAttributes attributes = MapAttributesResolver.resolve(feature, this);
+        wrapper = new MapFeaturePoiWrapper(feature, attributes, getIcon(attributes.iconId()));
+        poiWrappers.put(feature, wrapper);
+        return wrapper;
+    }
+
+    private static String getParentCategoryId(String categoryId) {
+        int index = categoryId.lastIndexOf(':');
+        if (index == -1) return null;
+        return categoryId.substring(0, index);
+    }
+}
@@ -23,10 +23,20 @@ public class MapFeaturePoiWrapper implements Poi {
     public static final float TEXT_SCALE = 1f;
     private final MapFeature feature;
     private final ResolvedMapAttributes attributes;
+    private final Optional<MapIcon> icon;
 
-    public MapFeaturePoiWrapper(MapFeature feature, ResolvedMapAttributes attributes) {
+    public MapFeaturePoiWrapper(MapFeature feature, ResolvedMapAttributes attributes, Optional<MapIcon> icon) {
         this.feature = feature;
         this.attributes = attributes;
+        this.icon = icon;
+    }
+
+    public MapFeature getFeature() {
+        return feature;
+    }
+
+    public ResolvedMapAttributes getAttributes() {
+        return attributes;
     }
 
     @Override
@@ -56,7 +66,6 @@ public class MapFeaturePoiWrapper implements Poi {
     @Override
     public boolean isVisible(float zoomRenderScale, float zoomLevel) {
         float iconAlpha = Services.MapData.calculateVisibility(attributes.iconVisibility(), zoomLevel);
-        Optional<MapIcon> icon = Services.MapData.getIcon(attributes.iconId());
         if (icon.isPresent() && iconAlpha > 0.01) {
             return true;
         }
@@ -71,7 +80,6 @@ public class MapFeaturePoiWrapper implements Poi {
 
     @Override
     public int getWidth(float mapZoom, float scale) {
-        Optional<MapIcon> icon = Services.MapData.getIcon(attributes.iconId());
         if (icon.isPresent()) {
             return (int) (icon.get().getWidth() * scale);
         }
@@ -88,7 +96,6 @@ public class MapFeaturePoiWrapper implements Poi {
 
     @Override
     public int getHeight(float mapZoom, float scale) {
-        Optional<MapIcon> icon = Services.MapData.getIcon(attributes.iconId());
         if (icon.isPresent()) {
             return (int) (icon.get().getHeight() * scale);
         }
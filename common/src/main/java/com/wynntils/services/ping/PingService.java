@@ -4,14 +4,15 @@
  */
 package com.wynntils.services.ping;
 
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Service;
+import com.wynntils.core.concurrent.type.TaskLane;
 import com.wynntils.mc.event.PacketEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import net.minecraft.network.protocol.game.ClientboundCommandSuggestionsPacket;
 import net.minecraft.network.protocol.game.ServerboundCommandSuggestionPacket;
@@ -19,7 +20,7 @@ import net.neoforged.bus.api.SubscribeEvent;
 
 public class PingService extends Service {
     private static final int MS_PER_PING = 1000;
-    private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private ScheduledFuture<?> pingFuture = null;
 
     private long lastPingSent = 0;
     private int lastPing = 0;
@@ -30,11 +31,14 @@ public class PingService extends Service {
 
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
+        if (pingFuture != null) {
+            pingFuture.cancel(false);
+            pingFuture = null;
+        }
+
         if (event.getNewState() == WorldState.WORLD) {
-            executor.scheduleAtFixedRate(this::sendPingPacket, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
-        } else {
-            executor.shutdownNow();
-            executor = Executors.newSingleThreadScheduledExecutor();
+            pingFuture = Managers.Executor.scheduleWithFixedDelay(
+                    TaskLane.TIMER, this::sendPingPacket, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.slotdecoration;
+
+import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Service;
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.models.items.WynnItemData;
+import com.wynntils.services.slotdecoration.type.SlotDecorationKey;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Caches the decorations that slot rendering features draw on top of items, so they are only computed
+ * when the item in a slot changes, or when the feature invalidates its {@link SlotDecorationKey}.
+ * Rendering then only replays the cached descriptor.
+ */
+public final class SlotDecorationService extends Service {
+    private long lookups = 0;
+    private long recomputes = 0;
+
+    private long currentSecond = 0;
+    private int recomputesThisSecond = 0;
+    private int recomputesLastSecond = 0;
+
+    public SlotDecorationService() {
+        super(List.of());
+    }
+
+    /**
+     * Returns the cached decoration for the given item stack, calculating it if the item is new,
+     * or the key was invalidated since it was cached.
+     * Returns an empty optional if the item is not a Wynn item, or the calculator returned null.
+     */
+    public <T> Optional<T> getDecoration(
+            ItemStack itemStack, SlotDecorationKey<T> key, Function<WynnItem, T> calculator) {
+        Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(itemStack);
+        if (wynnItemOpt.isEmpty()) return Optional.empty();
+
+        WynnItemData data = wynnItemOpt.get().getData();
+        lookups++;
+
+        if (data.has(key.getDataKey())) {
+            return Optional.ofNullable(data.get(key.getDataKey()));
+        }
+
+        T decoration = calculator.apply(wynnItemOpt.get());
+        data.store(key.getDataKey(), decoration);
+        countRecompute();
+
+        return Optional.ofNullable(decoration);
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+
+    public long getRecomputes() {
+        return recomputes;
+    }
+
+    public int getRecomputesPerSecond() {
+        rollSecond();
+        return recomputesLastSecond;
+    }
+
+    public void resetCounters() {
+        lookups = 0;
+        recomputes = 0;
+        recomputesThisSecond = 0;
+        recomputesLastSecond = 0;
+    }
+
+    private void countRecompute() {
+        recomputes++;
+        rollSecond();
+        recomputesThisSecond++;
+    }
+
+    private void rollSecond() {
+        long second = System.currentTimeMillis() / 1000;
+        if (second == currentSecond) return;
+
+        // If more than a second passed without recomputes, the last second had none
+        recomputesLastSecond = second == currentSecond + 1 ? recomputesThisSecond : 0;
+        recomputesThisSecond = 0;
+        currentSecond = second;
+    }
+}
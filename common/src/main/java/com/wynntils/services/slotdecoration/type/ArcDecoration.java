@@ -0,0 +1,15 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.slotdecoration.type;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.wynntils.utils.colors.CustomColor;
+import com.wynntils.utils.render.RenderUtils;
+
+public record ArcDecoration(CustomColor color, float fill, int offset, int innerRadius, int outerRadius) {
+    public void render(PoseStack poseStack, int slotX, int slotY, int z) {
+        RenderUtils.drawArc(poseStack, color, slotX + offset, slotY + offset, z, fill, innerRadius, outerRadius);
+    }
+}
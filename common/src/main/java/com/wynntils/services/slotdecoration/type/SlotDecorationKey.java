@@ -0,0 +1,28 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.slotdecoration.type;
+
+import com.wynntils.models.items.ItemDataKey;
+
+/**
+ * Identifies one kind of slot decoration, like a highlight or an arc, computed by a single feature.
+ * Decorations are cached in the item data under their own key; calling {@link #invalidate()}
+ * (usually when a relevant config changes) makes every cached decoration of this key stale.
+ */
+public final class SlotDecorationKey<T> {
+    private final ItemDataKey<T> dataKey;
+
+    public SlotDecorationKey(String name) {
+        this.dataKey = ItemDataKey.create("decoration:" + name);
+    }
+
+    public ItemDataKey<T> getDataKey() {
+        return dataKey;
+    }
+
+    public void invalidate() {
+        dataKey.invalidate();
+    }
+}
@@ -6,10 +6,8 @@ package com.wynntils.utils;
 
 import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.UnsignedByte;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -20,29 +18,46 @@ public final class EncodedByteBuffer {
     private static final int PRIVATE_USE_AREA_A_START = 0xF0000;
     private static final int PRIVATE_USE_AREA_B_START = 0x100000;
 
-    private UnsignedByte[] bytes;
+    private final byte[] bytes;
 
-    private EncodedByteBuffer(UnsignedByte[] bytes) {
+    private EncodedByteBuffer(byte[] bytes) {
         this.bytes = bytes;
     }
 
     public static EncodedByteBuffer fromBytes(UnsignedByte[] bytes) {
-        return new EncodedByteBuffer(bytes);
+        return new EncodedByteBuffer(UnsignedByte.toPrimitive(bytes));
     }
 
     public static EncodedByteBuffer fromUtf16String(String string) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+        return fromUtf16String(string, 0, string.length());
+    }
 
-        int[] codePoints = string.codePoints().toArray();
+    /**
+     * Decodes the characters of {@code text} from {@code start} (inclusive) to {@code end} (exclusive),
+     * without copying them into a string first.
+     */
+    public static EncodedByteBuffer fromUtf16String(CharSequence text, int start, int end) {
+        // Every code point takes two chars, and is decoded into at most two bytes
+        byte[] bytes = new byte[end - start];
+        int length = 0;
+
+        int index = start;
+        while (index < end) {
+            int codePoint = Character.codePointAt(text, index);
+            index += Character.charCount(codePoint);
+
+            if (length + 2 > bytes.length) {
+                // Only happens for characters outside the private use areas, which are not valid encoded data
+                bytes = Arrays.copyOf(bytes, bytes.length * 2 + 2);
+            }
 
-        for (int codePoint : codePoints) {
             // Special cases
             if (codePoint >= PRIVATE_USE_AREA_B_START) {
                 // Single byte
                 int singleByteOffset = PRIVATE_USE_AREA_B_START + 0xEE;
                 if ((codePoint & 0xFF) == 0xEE) {
                     int actualValue = (codePoint - singleByteOffset) >> 8;
-                    bytes.add(UnsignedByte.of((byte) actualValue));
+                    bytes[length++] = (byte) actualValue;
 
                     assert actualValue <= 255 : "Invalid code point: " + codePoint;
                     continue;
@@ -51,11 +66,8 @@ public final class EncodedByteBuffer {
                 // Two bytes
                 int values = codePoint - PRIVATE_USE_AREA_B_START;
 
-                UnsignedByte firstByte = UnsignedByte.of((byte) 255);
-                UnsignedByte secondByte = UnsignedByte.of((byte) (254 + (values & 0xFF)));
-
-                bytes.add(firstByte);
-                bytes.add(secondByte);
+                bytes[length++] = (byte) 255;
+                bytes[length++] = (byte) (254 + (values & 0xFF));
 
                 // Only 0x100000-0x100001 are used
                 assert codePoint < 0x100002 : "Invalid code point: " + codePoint;
@@ -65,23 +77,18 @@ public final class EncodedByteBuffer {
             // Normal case
             int values = codePoint - PRIVATE_USE_AREA_A_START;
 
-            UnsignedByte firstByte = UnsignedByte.of((byte) (values >> 8));
-            UnsignedByte secondByte = UnsignedByte.of((byte) (values & 0xFF));
-
-            bytes.add(firstByte);
-            bytes.add(secondByte);
+            bytes[length++] = (byte) (values >> 8);
+            bytes[length++] = (byte) (values & 0xFF);
 
             // Only 0xF0000-0xFFFFD are used
             assert codePoint < 0xFFFFE : "Invalid code point: " + codePoint;
         }
 
-        return fromBytes(bytes.toArray(UnsignedByte[]::new));
+        return new EncodedByteBuffer(length == bytes.length ? bytes : Arrays.copyOf(bytes, length));
     }
 
     public static EncodedByteBuffer fromBase64String(String string) {
-        byte[] decodedBytes = Base64.getDecoder().decode(string);
-        UnsignedByte[] bytes = UnsignedByte.of(decodedBytes);
-        return fromBytes(bytes);
+        return new EncodedByteBuffer(Base64.getDecoder().decode(string));
     }
 
     public String toUtf16String() {
@@ -92,10 +99,12 @@ public final class EncodedByteBuffer {
             int codePoint;
 
             // 0xFFFE-0xFFFF are using private use area B
-            if (bytes[i].value() == 255 && bytes[i + 1].value() >= 254) {
-                codePoint = PRIVATE_USE_AREA_B_START + (bytes[i + 1].value() - 254);
+            int first = bytes[i] & 0xFF;
+            int second = bytes[i + 1] & 0xFF;
+            if (first == 255 && second >= 254) {
+                codePoint = PRIVATE_USE_AREA_B_START + (second - 254);
             } else {
-                codePoint = PRIVATE_USE_AREA_A_START + (bytes[i].value() << 8 | bytes[i + 1].value());
+                codePoint = PRIVATE_USE_AREA_A_START + (first << 8 | second);
             }
 
             builder.appendCodePoint(codePoint);
@@ -105,29 +114,31 @@ public final class EncodedByteBuffer {
         if (bytes.length % 2 == 1) {
             // Odd number of bytes, so we add a padding character
             // Pad with 0xEE to stay in the private use area
-            builder.appendCodePoint(PRIVATE_USE_AREA_B_START + (bytes[bytes.length - 1].value() << 8) + 238);
+            builder.appendCodePoint(PRIVATE_USE_AREA_B_START + ((bytes[bytes.length - 1] & 0xFF) << 8) + 238);
         }
 
         return builder.toString();
     }
 
     public String toBase64String() {
-        byte[] bytes = UnsignedByte.toPrimitive(this.bytes);
         return Base64.getEncoder().encodeToString(bytes);
     }
 
+    /**
+     * @return a copy of the bytes, use {@link #getReader()} to read them without copying
+     */
     public UnsignedByte[] getBytes() {
-        return bytes;
+        return UnsignedByte.of(bytes);
     }
 
     public ArrayReader<UnsignedByte> getReader() {
-        return new ArrayReader<>(bytes);
+        return ArrayReader.ofUnsignedBytes(bytes);
     }
 
     @Override
     public String toString() {
         return "EncodedByteBuffer{" + "bytes="
-                + Arrays.stream(bytes)
+                + Arrays.stream(getBytes())
                         .map(UnsignedByte::value)
                         .map(Objects::toString)
                         .collect(Collectors.joining(", ")) + '}';
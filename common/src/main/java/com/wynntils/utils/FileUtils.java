@@ -10,7 +10,10 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Objects;
 
 public final class FileUtils {
@@ -75,6 +78,30 @@ public final class FileUtils {
         }
     }
 
+    /**
+     * Replaces destFile with sourceFile in a single step where the file system supports it,
+     * so readers never see a partially written file.
+     *
+     * @return whether destFile was replaced
+     */
+    public static boolean replaceFile(File sourceFile, File destFile) {
+        try {
+            try {
+                Files.move(
+                        sourceFile.toPath(),
+                        destFile.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(sourceFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException exception) {
+            WynntilsMod.error("Replace file " + destFile + " with " + sourceFile + " failed");
+            return false;
+        }
+    }
+
     public static void tryCopyFile(File sourceFile, File destFile) {
         try {
             copyFile(sourceFile, destFile);
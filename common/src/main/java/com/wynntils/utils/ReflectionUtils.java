@@ -0,0 +1,53 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+/**
+ * Field lookups that are cached per class. During startup every component and feature
+ * is scanned by several managers (commands, key binds, overlays, persisted values), and
+ * each scan used to walk the whole class hierarchy again.
+ */
+public final class ReflectionUtils {
+    private static final ClassValue<List<Field>> ALL_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            return List.copyOf(FieldUtils.getAllFieldsList(type));
+        }
+    };
+
+    private static final ClassValue<Map<Class<? extends Annotation>, List<Field>>> ANNOTATED_FIELDS =
+            new ClassValue<>() {
+                @Override
+                protected Map<Class<? extends Annotation>, List<Field>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * @return all fields of the class and its superclasses, like {@link FieldUtils#getAllFieldsList(Class)}
+     */
+    public static List<Field> getAllFields(Class<?> type) {
+        return ALL_FIELDS.get(type);
+    }
+
+    /**
+     * @return all fields of the class and its superclasses with the given annotation,
+     * like {@link FieldUtils#getFieldsWithAnnotation(Class, Class)}
+     */
+    public static List<Field> getFieldsWithAnnotation(Class<?> type, Class<? extends Annotation> annotation) {
+        return ANNOTATED_FIELDS
+                .get(type)
+                .computeIfAbsent(annotation, key -> getAllFields(type).stream()
+                        .filter(field -> field.isAnnotationPresent(key))
+                        .toList());
+    }
+}
@@ -1,19 +1,23 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.utils;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import java.util.concurrent.Executors;
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.concurrent.type.TaskLane;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.FutureTask;
 
 public final class TaskUtils {
-    private static final ScheduledExecutorService EXECUTOR_SERVICE = Executors.newSingleThreadScheduledExecutor(
-            new ThreadFactoryBuilder().setNameFormat("wynntils-utilities-%d").build());
+    // Callers rely on their tasks running one at a time, in the order they were submitted,
+    // like cached chat translations being sent in the order the messages were received
+    private static final Executor SERIAL_EXECUTOR = Managers.Executor.createSerialExecutor(TaskLane.IO);
 
     public static Future<?> runAsync(Runnable r) {
-        return EXECUTOR_SERVICE.submit(r);
+        FutureTask<Void> future = new FutureTask<>(r, null);
+        SERIAL_EXECUTOR.execute(future);
+        return future;
     }
 }
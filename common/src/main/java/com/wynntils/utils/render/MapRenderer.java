@@ -24,12 +24,13 @@ import com.wynntils.utils.render.buffered.BufferedRenderUtils;
 import com.wynntils.utils.render.buffered.CustomRenderType;
 import com.wynntils.utils.render.type.PointerType;
 import com.wynntils.utils.type.BoundingBox;
+import com.wynntils.utils.type.ChunkBitmap;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.ChunkPos;
 import org.joml.Matrix4f;
 import org.joml.Vector2d;
@@ -202,7 +203,7 @@ public final class MapRenderer {
             PoseStack poseStack,
             MultiBufferSource.BufferSource bufferSource,
             BoundingBox renderedWorldBoundingBox,
-            Set<Long> mappedChunks,
+            ChunkBitmap mappedChunks,
             float mapCenterX,
             float centerX,
             float mapCenterZ,
@@ -216,12 +217,10 @@ public final class MapRenderer {
         // Render the chunk grid, with a 1px border around each chunk.
         for (int x = topLeft.x; x <= bottomRight.x; x++) {
             for (int z = topLeft.z; z <= bottomRight.z; z++) {
-                ChunkPos chunkPos = new ChunkPos(x, z);
-
-                float worldX1 = chunkPos.getMinBlockX() - 1;
-                float worldX2 = chunkPos.getMaxBlockX() + 1;
-                float worldZ1 = chunkPos.getMinBlockZ() - 1;
-                float worldZ2 = chunkPos.getMaxBlockZ() + 1;
+                float worldX1 = SectionPos.sectionToBlockCoord(x) - 1;
+                float worldX2 = SectionPos.sectionToBlockCoord(x, 15) + 1;
+                float worldZ1 = SectionPos.sectionToBlockCoord(z) - 1;
+                float worldZ2 = SectionPos.sectionToBlockCoord(z, 15) + 1;
 
                 float x1 = getRenderX((int) worldX1, mapCenterX, centerX, zoomRenderScale);
                 float x2 = getRenderX((int) worldX2, mapCenterX, centerX, zoomRenderScale);
@@ -229,12 +228,12 @@ public final class MapRenderer {
                 float z2 = getRenderZ((int) worldZ2, mapCenterZ, centerZ, zoomRenderScale);
 
                 CustomColor renderColor =
-                        mappedChunks.contains(chunkPos.toLong()) ? CommonColors.GREEN : CommonColors.RED;
+                        mappedChunks.contains(x, z) ? CommonColors.GREEN : CommonColors.RED;
 
                 CustomColor topRenderColor =
-                        mappedChunks.contains(new ChunkPos(x, z - 1).toLong()) ? CommonColors.GREEN : renderColor;
+                        mappedChunks.contains(x, z - 1) ? CommonColors.GREEN : renderColor;
                 CustomColor leftRenderColor =
-                        mappedChunks.contains(new ChunkPos(x - 1, z).toLong()) ? CommonColors.GREEN : renderColor;
+                        mappedChunks.contains(x - 1, z) ? CommonColors.GREEN : renderColor;
 
                 // Render the top and left borders of the chunk
                 BufferedRenderUtils.drawLine(
@@ -246,7 +245,7 @@ public final class MapRenderer {
                 if (x == bottomRight.x) {
                     // Check if the chunk on the right is mapped, if it is, render with the correct color
                     CustomColor rightRenderColor =
-                            mappedChunks.contains(new ChunkPos(x + 1, z).toLong()) ? CommonColors.GREEN : renderColor;
+                            mappedChunks.contains(x + 1, z) ? CommonColors.GREEN : renderColor;
 
                     BufferedRenderUtils.drawLine(
                             poseStack, bufferSource, rightRenderColor, x2, z1, x2, z2, 0, CHUNK_LINE_WIDTH);
@@ -256,7 +255,7 @@ public final class MapRenderer {
                 if (z == bottomRight.z) {
                     // Check if the chunk on the top is mapped, if it is, render with the correct color
                     CustomColor bottomRenderColor =
-                            mappedChunks.contains(new ChunkPos(x, z + 1).toLong()) ? CommonColors.GREEN : renderColor;
+                            mappedChunks.contains(x, z + 1) ? CommonColors.GREEN : renderColor;
 
                     BufferedRenderUtils.drawLine(
                             poseStack, bufferSource, bottomRenderColor, x1, z2, x2, z2, 0, CHUNK_LINE_WIDTH);
@@ -87,6 +87,37 @@ public final class BufferedRenderUtils {
         }
     }
 
+    /**
+     * Draws a line as a separate quad, so that unlike {@link #drawLine}, many lines can be batched
+     * into the same buffer without being joined together.
+     */
+    public static void drawQuadLine(
+            PoseStack poseStack,
+            MultiBufferSource bufferSource,
+            CustomColor color,
+            float x1,
+            float y1,
+            float x2,
+            float y2,
+            float z,
+            float width) {
+        float length = Mth.sqrt((x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1));
+        if (length == 0) return;
+
+        Matrix4f matrix = poseStack.last().pose();
+
+        // Perpendicular to the line, half the width long
+        float offsetX = -(y2 - y1) / length * width / 2;
+        float offsetY = (x2 - x1) / length * width / 2;
+
+        VertexConsumer buffer = bufferSource.getBuffer(CustomRenderType.POSITION_COLOR_QUAD);
+
+        buffer.addVertex(matrix, x1 + offsetX, y1 + offsetY, z).setColor(color.r, color.g, color.b, color.a);
+        buffer.addVertex(matrix, x2 + offsetX, y2 + offsetY, z).setColor(color.r, color.g, color.b, color.a);
+        buffer.addVertex(matrix, x2 - offsetX, y2 - offsetY, z).setColor(color.r, color.g, color.b, color.a);
+        buffer.addVertex(matrix, x1 - offsetX, y1 - offsetY, z).setColor(color.r, color.g, color.b, color.a);
+    }
+
     public static void drawRectBorders(
             PoseStack poseStack,
             MultiBufferSource bufferSource,
@@ -5,50 +5,73 @@
 package com.wynntils.utils.type;
 
 import java.util.Arrays;
+import java.util.function.IntFunction;
 
 public class ArrayReader<T> {
-    private final T[] array;
+    private final int length;
+    private final IntFunction<T> elementGetter;
+    private final IntFunction<T[]> arrayCreator;
     private int index;
 
     public ArrayReader(T[] array) {
-        this.array = Arrays.copyOf(array, array.length);
+        T[] copy = Arrays.copyOf(array, array.length);
+
+        this.length = copy.length;
+        this.elementGetter = i -> copy[i];
+        this.arrayCreator = size -> Arrays.copyOf(copy, size);
+        this.index = 0;
+    }
+
+    private ArrayReader(int length, IntFunction<T> elementGetter, IntFunction<T[]> arrayCreator) {
+        this.length = length;
+        this.elementGetter = elementGetter;
+        this.arrayCreator = arrayCreator;
         this.index = 0;
     }
 
+    /**
+     * Reads the bytes as unsigned bytes, without copying them first. The bytes must not be changed while reading.
+     */
+    public static ArrayReader<UnsignedByte> ofUnsignedBytes(byte[] bytes) {
+        return new ArrayReader<>(bytes.length, i -> UnsignedByte.of(bytes[i]), UnsignedByte[]::new);
+    }
+
     public T peek() {
         // Throw an exception if we try to read past the end of the array
-        if (index >= array.length) {
+        if (index >= length) {
             throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
         }
 
-        return array[index];
+        return elementGetter.apply(index);
     }
 
     public T read() {
         // Throw an exception if we try to read past the end of the array
-        if (index >= array.length) {
+        if (index >= length) {
             throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
         }
 
-        return array[index++];
+        return elementGetter.apply(index++);
     }
 
     public T[] read(int length) {
         // Throw an exception if we try to read past the end of the array
-        if (index + length > array.length) {
+        if (index + length > this.length) {
             throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
         }
 
-        T[] result = Arrays.copyOfRange(array, index, index + length);
-        index += length;
+        T[] result = arrayCreator.apply(length);
+        for (int i = 0; i < length; i++) {
+            result[i] = elementGetter.apply(index++);
+        }
         return result;
     }
 
     public T[] readRemaining() {
-        return read(array.length - index);
+        return read(length - index);
     }
 
     public boolean hasRemaining() {
-        return index < array.length;
+        return index < length;
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Base64;
+
+/**
+ * A set of chunk positions, stored as one bitset per 32x32 chunk region. Exploring tends to
+ * map whole areas, so this is far smaller than a set of boxed chunk longs, and lookups do
+ * not allocate.
+ */
+public final class ChunkBitmap {
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+    private static final int REGION_MASK = REGION_SIZE - 1;
+    private static final int WORDS_PER_REGION = REGION_SIZE * REGION_SIZE / Long.SIZE;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Long2ObjectMap<long[]> regions = new Long2ObjectOpenHashMap<>();
+    private int size = 0;
+
+    /**
+     * @return true if the chunk was not already in the bitmap
+     */
+    public boolean add(int chunkX, int chunkZ) {
+        long[] region = regions.computeIfAbsent(regionKey(chunkX, chunkZ), key -> new long[WORDS_PER_REGION]);
+
+        int bit = bitIndex(chunkX, chunkZ);
+        long mask = 1L << bit;
+        if ((region[bit >> 6] & mask) != 0) return false;
+
+        region[bit >> 6] |= mask;
+        size++;
+        return true;
+    }
+
+    public boolean contains(int chunkX, int chunkZ) {
+        long[] region = regions.get(regionKey(chunkX, chunkZ));
+        if (region == null) return false;
+
+        int bit = bitIndex(chunkX, chunkZ);
+        return (region[bit >> 6] & (1L << bit)) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getRegionCount() {
+        return regions.size();
+    }
+
+    public void clear() {
+        regions.clear();
+        size = 0;
+    }
+
+    private static long regionKey(int chunkX, int chunkZ) {
+        int regionX = chunkX >> REGION_SHIFT;
+        int regionZ = chunkZ >> REGION_SHIFT;
+        return (regionX & 0xFFFFFFFFL) | ((regionZ & 0xFFFFFFFFL) << 32);
+    }
+
+    private static int bitIndex(int chunkX, int chunkZ) {
+        return ((chunkZ & REGION_MASK) << REGION_SHIFT) | (chunkX & REGION_MASK);
+    }
+
+    private byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(regions.size());
+            for (Long2ObjectMap.Entry<long[]> entry : regions.long2ObjectEntrySet()) {
+                out.writeLong(entry.getLongKey());
+                for (long word : entry.getValue()) {
+                    out.writeLong(word);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ChunkBitmap fromBytes(byte[] data) throws IOException {
+        ChunkBitmap bitmap = new ChunkBitmap();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown chunk bitmap format version " + version);
+            }
+
+            int regionCount = in.readInt();
+            for (int i = 0; i < regionCount; i++) {
+                long key = in.readLong();
+                long[] region = new long[WORDS_PER_REGION];
+                for (int word = 0; word < WORDS_PER_REGION; word++) {
+                    region[word] = in.readLong();
+                    bitmap.size += Long.bitCount(region[word]);
+                }
+                bitmap.regions.put(key, region);
+            }
+        }
+        return bitmap;
+    }
+
+    public static class ChunkBitmapSerializer implements JsonSerializer<ChunkBitmap>, JsonDeserializer<ChunkBitmap> {
+        @Override
+        public ChunkBitmap deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
+                throws JsonParseException {
+            // Older versions stored a plain array of chunk longs
+            if (json.isJsonArray()) {
+                ChunkBitmap bitmap = new ChunkBitmap();
+                for (JsonElement element : json.getAsJsonArray()) {
+                    long chunkPos = element.getAsLong();
+                    bitmap.add((int) chunkPos, (int) (chunkPos >>> 32));
+                }
+                return bitmap;
+            }
+
+            try {
+                return fromBytes(Base64.getDecoder().decode(json.getAsString()));
+            } catch (IOException | IllegalArgumentException e) {
+                throw new JsonParseException("Invalid chunk bitmap", e);
+            }
+        }
+
+        @Override
+        public JsonElement serialize(ChunkBitmap src, Type typeOfSrc, JsonSerializationContext context) {
+            try {
+                return new JsonPrimitive(Base64.getEncoder().encodeToString(src.toBytes()));
+            } catch (IOException e) {
+                // Writing to memory does not fail
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps numeric samples for a fixed time window and a running sum over them, so the sum
+ * over the whole window can be read without visiting every sample.
+ *
+ * <p>Samples are stored in a primitive ring buffer ordered by time. A sample added at time
+ * {@code t} expires once the current time reaches {@code t + duration}, the same rule
+ * {@link TimedSet} uses.
+ */
+public class SlidingWindowSum {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long duration;
+    private final LongSupplier clock;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    // Index of the oldest sample
+    private int head = 0;
+    private int size = 0;
+    private double sum = 0;
+
+    public SlidingWindowSum(long duration, TimeUnit unit) {
+        this(duration, unit, System::currentTimeMillis);
+    }
+
+    public SlidingWindowSum(long duration, TimeUnit unit, LongSupplier clock) {
+        this.duration = unit.toMillis(duration);
+        this.clock = clock;
+    }
+
+    public void put(double value) {
+        long now = clock.getAsLong();
+        releaseExpired(now);
+
+        if (size == timestamps.length) {
+            grow();
+        }
+
+        int index = (head + size) % timestamps.length;
+        timestamps[index] = now;
+        values[index] = value;
+        size++;
+        sum += value;
+    }
+
+    /**
+     * @return the sum of all samples in the window
+     */
+    public double getSum() {
+        releaseExpired(clock.getAsLong());
+        return sum;
+    }
+
+    /**
+     * @return the sum of the samples added at most {@code millis} milliseconds ago
+     */
+    public double getSum(long millis) {
+        long now = clock.getAsLong();
+        releaseExpired(now);
+
+        if (millis >= duration) return sum;
+
+        // Recent windows are short, so walk back from the newest sample
+        double recentSum = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int index = (head + i) % timestamps.length;
+            if (now - timestamps[index] > millis) break;
+
+            recentSum += values[index];
+        }
+        return recentSum;
+    }
+
+    public int size() {
+        releaseExpired(clock.getAsLong());
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the time the newest sample in the window was added, or 0 if the window is empty
+     */
+    public long getLastAddedTimestamp() {
+        releaseExpired(clock.getAsLong());
+        if (size == 0) return 0;
+
+        return timestamps[(head + size - 1) % timestamps.length];
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        sum = 0;
+    }
+
+    private void releaseExpired(long now) {
+        while (size > 0 && now >= timestamps[head] + duration) {
+            sum -= values[head];
+            head = (head + 1) % timestamps.length;
+            size--;
+        }
+
+        // Do not let floating point errors from the subtractions accumulate
+        if (size == 0) {
+            head = 0;
+            sum = 0;
+        }
+    }
+
+    private void grow() {
+        long[] newTimestamps = new long[timestamps.length * 2];
+        double[] newValues = new double[values.length * 2];
+
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % timestamps.length;
+            newTimestamps[i] = timestamps[index];
+            newValues[i] = values[index];
+        }
+
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+    }
+}
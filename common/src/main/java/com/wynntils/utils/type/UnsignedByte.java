@@ -7,6 +7,15 @@ package com.wynntils.utils.type;
 import java.util.Objects;
 
 public final class UnsignedByte {
+    // There are only 256 values, so every buffer can share the same instances
+    private static final UnsignedByte[] VALUES = new UnsignedByte[256];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = new UnsignedByte((byte) i);
+        }
+    }
+
     private final short value;
 
     public UnsignedByte(byte value) {
@@ -14,7 +23,7 @@ public final class UnsignedByte {
     }
 
     public static UnsignedByte of(byte value) {
-        return new UnsignedByte(value);
+        return VALUES[value & 0xFF];
     }
 
     public static UnsignedByte[] of(byte[] values) {
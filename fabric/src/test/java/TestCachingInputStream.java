@@ -0,0 +1,106 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.net.CachingInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCachingInputStream {
+    private static final String CACHED_BODY = "[\"cached\"]";
+    private static final String NEW_BODY = "[\"downloaded\",\"while\",\"parsing\"]";
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    public void close_replacesCachedFile() throws IOException {
+        File cacheFile = createCacheFile();
+
+        CachingInputStream inputStream = new CachingInputStream(body(NEW_BODY), cacheFile);
+        Assertions.assertEquals(NEW_BODY, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+
+        // The cached file stays usable until the new one is complete
+        Assertions.assertEquals(CACHED_BODY, readCacheFile(cacheFile));
+
+        inputStream.close();
+        Assertions.assertEquals(NEW_BODY, readCacheFile(cacheFile));
+        Assertions.assertFalse(partFile(cacheFile).exists());
+    }
+
+    @Test
+    public void close_readsRestOfBody() throws IOException {
+        File cacheFile = createCacheFile();
+
+        // Json parsing can stop before the end of the body
+        CachingInputStream inputStream = new CachingInputStream(body(NEW_BODY), cacheFile);
+        inputStream.readNBytes(4);
+        inputStream.close();
+
+        Assertions.assertEquals(NEW_BODY, readCacheFile(cacheFile));
+    }
+
+    @Test
+    public void discard_keepsCachedFile() throws IOException {
+        File cacheFile = createCacheFile();
+
+        // This is what happens when the handler fails on a malformed body
+        CachingInputStream inputStream = new CachingInputStream(body("[\"malformed"), cacheFile);
+        inputStream.readAllBytes();
+        inputStream.discard();
+        inputStream.close();
+
+        Assertions.assertEquals(CACHED_BODY, readCacheFile(cacheFile));
+        Assertions.assertFalse(partFile(cacheFile).exists());
+    }
+
+    @Test
+    public void close_keepsCachedFileWhenBodyFails() throws IOException {
+        File cacheFile = createCacheFile();
+
+        // The connection is lost after the first bytes
+        InputStream failingBody = new InputStream() {
+            private int read = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (read == 4) throw new IOException("Connection reset");
+
+                return NEW_BODY.charAt(read++);
+            }
+        };
+
+        CachingInputStream inputStream = new CachingInputStream(failingBody, cacheFile);
+        inputStream.readNBytes(2);
+        Assertions.assertThrows(IOException.class, inputStream::close);
+
+        Assertions.assertEquals(CACHED_BODY, readCacheFile(cacheFile));
+        Assertions.assertFalse(partFile(cacheFile).exists());
+    }
+
+    private File createCacheFile() throws IOException {
+        File cacheFile = cacheDir.resolve("dataStaticGear").toFile();
+        Files.writeString(cacheFile.toPath(), CACHED_BODY);
+        return cacheFile;
+    }
+
+    private static InputStream body(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readCacheFile(File cacheFile) throws IOException {
+        return Files.readString(cacheFile.toPath());
+    }
+
+    private static File partFile(File cacheFile) {
+        return new File(cacheFile.getPath() + ".part");
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.wynntils.utils.type.ChunkBitmap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import net.minecraft.world.level.ChunkPos;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestChunkBitmap {
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(ChunkBitmap.class, new ChunkBitmap.ChunkBitmapSerializer())
+            .create();
+
+    private static final int BENCHMARK_CHUNKS = 100_000;
+    private static final int BENCHMARK_FRAMES = 200;
+    // The chunks shown by a fullscreen map, zoomed out
+    private static final int VISIBLE_CHUNKS_X = 160;
+    private static final int VISIBLE_CHUNKS_Z = 90;
+
+    @Test
+    public void chunkBitmap_matchesSetOfChunkLongs() {
+        Random random = new Random(42);
+        ChunkBitmap bitmap = new ChunkBitmap();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(2000) - 1000;
+            int z = random.nextInt(2000) - 1000;
+
+            boolean added = bitmap.add(x, z);
+            Assertions.assertEquals(
+                    expected.add(ChunkPos.asLong(x, z)), added, "ChunkBitmap#add() did not report a new chunk");
+        }
+
+        Assertions.assertEquals(expected.size(), bitmap.size(), "ChunkBitmap#size() did not match");
+
+        for (int x = -1010; x <= 1010; x += 3) {
+            for (int z = -1010; z <= 1010; z += 7) {
+                Assertions.assertEquals(
+                        expected.contains(ChunkPos.asLong(x, z)),
+                        bitmap.contains(x, z),
+                        "ChunkBitmap#contains() did not match for " + x + ", " + z);
+            }
+        }
+    }
+
+    @Test
+    public void chunkBitmap_serializationRoundTrips() {
+        ChunkBitmap bitmap = new ChunkBitmap();
+        bitmap.add(0, 0);
+        bitmap.add(-1, -1);
+        bitmap.add(31, 32);
+        bitmap.add(-2_000_000, 1_500_000);
+
+        JsonElement json = GSON.toJsonTree(bitmap, ChunkBitmap.class);
+        ChunkBitmap result = GSON.fromJson(json, ChunkBitmap.class);
+
+        Assertions.assertEquals(4, result.size(), "Deserialized ChunkBitmap has the wrong size");
+        Assertions.assertTrue(result.contains(-1, -1));
+        Assertions.assertTrue(result.contains(31, 32));
+        Assertions.assertTrue(result.contains(-2_000_000, 1_500_000));
+        Assertions.assertFalse(result.contains(32, 31));
+    }
+
+    @Test
+    public void chunkBitmap_readsLegacyChunkLongArray() {
+        List<Long> legacy = List.of(ChunkPos.asLong(5, -7), ChunkPos.asLong(-100, 100));
+
+        ChunkBitmap result = GSON.fromJson(GSON.toJsonTree(legacy), ChunkBitmap.class);
+
+        Assertions.assertEquals(2, result.size(), "Legacy chunk list was not fully read");
+        Assertions.assertTrue(result.contains(5, -7));
+        Assertions.assertTrue(result.contains(-100, 100));
+    }
+
+    @Test
+    public void benchmark_memoryAndSizeAtHundredThousandChunks() {
+        List<Long> chunks = createMappedChunks(BENCHMARK_CHUNKS, new Random(42));
+
+        // Memory use is only known to around a megabyte, so the small bitmap is measured many times over
+        long bitmapMemory = retainedBytes(100, () -> toBitmap(chunks));
+        // Mapped chunks used to be stored as a set of chunk longs
+        long setMemory = retainedBytes(5, () -> {
+            // Every chunk read from the storage was boxed on its own
+            Set<Long> chunkSet = new TreeSet<>();
+            for (long chunk : chunks) {
+                chunkSet.add(chunk);
+            }
+            return chunkSet;
+        });
+
+        int setJsonLength = GSON.toJson(new TreeSet<>(chunks)).length();
+        int bitmapJsonLength = GSON.toJson(toBitmap(chunks), ChunkBitmap.class).length();
+
+        String results = "Keeping " + chunks.size() + " mapped chunks retains ~" + bitmapMemory / 1024
+                + " KiB as a chunk bitmap, ~" + setMemory / 1024 + " KiB as a set of chunk longs; the bitmap is "
+                + bitmapJsonLength + " chars of json, the set " + setJsonLength;
+
+        Assertions.assertTrue(bitmapMemory > 0 && bitmapMemory * 10 < setMemory, results);
+        Assertions.assertTrue(bitmapJsonLength * 10 < setJsonLength, results);
+    }
+
+    @Test
+    public void benchmark_renderIterationAtHundredThousandChunks() {
+        List<Long> chunks = createMappedChunks(BENCHMARK_CHUNKS, new Random(42));
+        Set<Long> chunkSet = new TreeSet<>(chunks);
+        ChunkBitmap bitmap = toBitmap(chunks);
+
+        // Centered on the first explored area, so the view shows explored and unexplored chunks
+        int left = ChunkPos.getX(chunks.get(0)) - VISIBLE_CHUNKS_X / 2;
+        int top = ChunkPos.getZ(chunks.get(0)) - VISIBLE_CHUNKS_Z / 2;
+
+        // Warm up both ways of looking up the chunks
+        for (int frame = 0; frame < BENCHMARK_FRAMES; frame++) {
+            renderWithSet(chunkSet, left, top);
+            renderWithBitmap(bitmap, left, top);
+        }
+
+        long setStart = System.nanoTime();
+        int setBorders = 0;
+        for (int frame = 0; frame < BENCHMARK_FRAMES; frame++) {
+            setBorders = renderWithSet(chunkSet, left, top);
+        }
+        long setMicros = (System.nanoTime() - setStart) / BENCHMARK_FRAMES / 1000;
+
+        long bitmapStart = System.nanoTime();
+        int bitmapBorders = 0;
+        for (int frame = 0; frame < BENCHMARK_FRAMES; frame++) {
+            bitmapBorders = renderWithBitmap(bitmap, left, top);
+        }
+        long bitmapMicros = (System.nanoTime() - bitmapStart) / BENCHMARK_FRAMES / 1000;
+
+        Assertions.assertEquals(
+                setBorders,
+                bitmapBorders,
+                "Looking up the borders of " + VISIBLE_CHUNKS_X * VISIBLE_CHUNKS_Z + " visible chunks took "
+                        + bitmapMicros + " us per frame with the chunk bitmap, " + setMicros
+                        + " us with the set of chunk longs");
+        Assertions.assertTrue(bitmapBorders > 0);
+    }
+
+    // Exploring maps whole areas, so the chunks are clustered in areas of a few regions
+    private static List<Long> createMappedChunks(int count, Random random) {
+        Set<Long> chunks = new LinkedHashSet<>();
+
+        while (chunks.size() < count) {
+            int areaX = random.nextInt(200) - 100;
+            int areaZ = random.nextInt(200) - 100;
+            int width = 20 + random.nextInt(30);
+            int height = 20 + random.nextInt(30);
+
+            for (int x = 0; x < width && chunks.size() < count; x++) {
+                for (int z = 0; z < height && chunks.size() < count; z++) {
+                    // Some chunks of an explored area are always missed
+                    if (random.nextInt(50) == 0) continue;
+
+                    chunks.add(ChunkPos.asLong(areaX * 16 + x, areaZ * 16 + z));
+                }
+            }
+        }
+
+        return List.copyOf(chunks);
+    }
+
+    private static ChunkBitmap toBitmap(List<Long> chunks) {
+        ChunkBitmap bitmap = new ChunkBitmap();
+        for (long chunk : chunks) {
+            bitmap.add(ChunkPos.getX(chunk), ChunkPos.getZ(chunk));
+        }
+        return bitmap;
+    }
+
+    // The lookups the map renderer did for the chunk borders, before the chunk bitmap
+    private static int renderWithSet(Set<Long> mappedChunks, int left, int top) {
+        int mappedBorders = 0;
+
+        for (int x = left; x < left + VISIBLE_CHUNKS_X; x++) {
+            for (int z = top; z < top + VISIBLE_CHUNKS_Z; z++) {
+                ChunkPos chunkPos = new ChunkPos(x, z);
+                boolean mapped = mappedChunks.contains(chunkPos.toLong());
+                boolean topMapped = mapped || mappedChunks.contains(new ChunkPos(x, z - 1).toLong());
+                boolean leftMapped = mapped || mappedChunks.contains(new ChunkPos(x - 1, z).toLong());
+
+                mappedBorders += (topMapped ? 1 : 0) + (leftMapped ? 1 : 0);
+            }
+        }
+
+        return mappedBorders;
+    }
+
+    // The lookups the map renderer does for the chunk borders
+    private static int renderWithBitmap(ChunkBitmap mappedChunks, int left, int top) {
+        int mappedBorders = 0;
+
+        for (int x = left; x < left + VISIBLE_CHUNKS_X; x++) {
+            for (int z = top; z < top + VISIBLE_CHUNKS_Z; z++) {
+                boolean mapped = mappedChunks.contains(x, z);
+                boolean topMapped = mapped || mappedChunks.contains(x, z - 1);
+                boolean leftMapped = mapped || mappedChunks.contains(x - 1, z);
+
+                mappedBorders += (topMapped ? 1 : 0) + (leftMapped ? 1 : 0);
+            }
+        }
+
+        return mappedBorders;
+    }
+
+    // The average memory retained by each of the copies that the supplier creates
+    private static long retainedBytes(int copies, Supplier<Object> supplier) {
+        Runtime runtime = Runtime.getRuntime();
+        collectGarbage();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        List<Object> retained = new ArrayList<>();
+        for (int i = 0; i < copies; i++) {
+            retained.add(supplier.get());
+        }
+
+        collectGarbage();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        // Keep the copies reachable until they were measured
+        Assertions.assertEquals(copies, retained.size());
+        return (after - before) / copies;
+    }
+
+    // A single gc does not always collect everything
+    private static void collectGarbage() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.wynntils.core.persisted.config.ConfigJsonCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestConfigJsonCache {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final int BENCHMARK_CONFIGS = 2000;
+    private static final int BENCHMARK_SAVES = 200;
+
+    @Test
+    public void getJson_reusesUnchangedImmutableValues() {
+        ConfigJsonCache<String> cache = new ConfigJsonCache<>();
+        int[] serialized = {0};
+        Function<Object, JsonElement> serializer = value -> {
+            serialized[0]++;
+            return GSON.toJsonTree(value);
+        };
+
+        Float scale = 1.5f;
+        JsonElement first = cache.getJson("scale", scale, () -> true, serializer);
+        Assertions.assertEquals(first, cache.getJson("scale", scale, () -> true, serializer));
+        Assertions.assertEquals(1, serialized[0]);
+
+        // Another instance is a new value, even if it is equal
+        Assertions.assertEquals(first, cache.getJson("scale", Float.valueOf(1.5f), () -> true, serializer));
+        Assertions.assertEquals(2, serialized[0]);
+
+        Boolean enabled = Boolean.TRUE;
+        Assertions.assertNull(cache.getJson("enabled", enabled, () -> false, GSON::toJsonTree));
+        Assertions.assertNull(cache.getJson("enabled", enabled, () -> true, GSON::toJsonTree));
+
+        // Setting the default value again marks the config as user edited
+        cache.markDirty("enabled");
+        Assertions.assertEquals(GSON.toJsonTree(true), cache.getJson("enabled", enabled, () -> true, GSON::toJsonTree));
+    }
+
+    @Test
+    public void getJson_alwaysSerializesMutableValues() {
+        ConfigJsonCache<String> cache = new ConfigJsonCache<>();
+        List<String> favorites = new ArrayList<>(List.of("Cataclysm"));
+
+        Assertions.assertEquals(
+                GSON.toJsonTree(favorites), cache.getJson("favorites", favorites, () -> true, GSON::toJsonTree));
+
+        // Screens change collections in place, without telling the config
+        favorites.add("Grandmother");
+        Assertions.assertEquals(
+                GSON.toJsonTree(favorites), cache.getJson("favorites", favorites, () -> true, GSON::toJsonTree));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void benchmark_saveWithTwoThousandConfigs() {
+        List<String> names = new ArrayList<>();
+        List<Object> defaults = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_CONFIGS; i++) {
+            names.add("feature" + i / 10 + ".config" + i % 10);
+            Object defaultValue =
+                    switch (i % 5) {
+                        case 0 -> i;
+                        case 1 -> i % 2 == 0;
+                        case 2 -> TimeUnit.values()[i % TimeUnit.values().length];
+                        case 3 -> "text " + i;
+                        default -> new ArrayList<>(List.of("entry " + i, "entry " + (i + 1)));
+                    };
+            defaults.add(defaultValue);
+            // A third of the configs were changed by the user
+            values.add(i % 3 == 0 ? changeValue(defaultValue, i) : defaultValue);
+        }
+
+        ConfigJsonCache<String> cache = new ConfigJsonCache<>();
+
+        // Warm up both ways of saving, while checking that they write the same file
+        for (int save = 0; save < BENCHMARK_SAVES; save++) {
+            dragSlider(values, save);
+            Assertions.assertEquals(
+                    saveWithoutCache(names, defaults, values), saveWithCache(cache, names, defaults, values));
+        }
+
+        long uncachedStart = System.nanoTime();
+        for (int save = 0; save < BENCHMARK_SAVES; save++) {
+            dragSlider(values, save);
+            saveWithoutCache(names, defaults, values);
+        }
+        long uncachedMicros = (System.nanoTime() - uncachedStart) / BENCHMARK_SAVES / 1000;
+
+        long cachedStart = System.nanoTime();
+        String cachedFile = null;
+        for (int save = 0; save < BENCHMARK_SAVES; save++) {
+            dragSlider(values, save);
+            cachedFile = saveWithCache(cache, names, defaults, values);
+        }
+        long cachedMicros = (System.nanoTime() - cachedStart) / BENCHMARK_SAVES / 1000;
+
+        Assertions.assertEquals(
+                saveWithoutCache(names, defaults, values),
+                cachedFile,
+                "Saving " + BENCHMARK_CONFIGS + " configs: " + uncachedMicros + " us without cache, " + cachedMicros
+                        + " us with cache");
+    }
+
+    private static String saveWithoutCache(List<String> names, List<Object> defaults, List<Object> values) {
+        JsonObject configJson = new JsonObject();
+        for (int i = 0; i < names.size(); i++) {
+            if (!isChanged(values.get(i), defaults.get(i))) continue;
+
+            configJson.add(names.get(i), GSON.toJsonTree(values.get(i)));
+        }
+        return GSON.toJson(configJson);
+    }
+
+    private static String saveWithCache(
+            ConfigJsonCache<String> cache, List<String> names, List<Object> defaults, List<Object> values) {
+        JsonObject configJson = new JsonObject();
+        for (int i = 0; i < names.size(); i++) {
+            int index = i;
+            JsonElement json = cache.getJson(
+                    names.get(i),
+                    values.get(i),
+                    () -> isChanged(values.get(index), defaults.get(index)),
+                    GSON::toJsonTree);
+            if (json == null) continue;
+
+            configJson.add(names.get(i), json);
+        }
+        return GSON.toJson(configJson);
+    }
+
+    // The same check as Config#valueChanged does for configs that were not set in this session
+    private static boolean isChanged(Object value, Object defaultValue) {
+        if (Objects.deepEquals(value, defaultValue)) return false;
+
+        try {
+            return !EqualsBuilder.reflectionEquals(value, defaultValue);
+        } catch (RuntimeException ignored) {
+            return true;
+        }
+    }
+
+    // A slider in the settings screen saves the config on every step it is dragged
+    private static void dragSlider(List<Object> values, int step) {
+        values.set(0, step);
+    }
+
+    private static Object changeValue(Object value, int i) {
+        return switch (value) {
+            case Integer number -> number + 1;
+            case Boolean bool -> !bool;
+            case TimeUnit unit -> TimeUnit.values()[(unit.ordinal() + 1) % TimeUnit.values().length];
+            case String text -> text + " changed";
+            default -> new ArrayList<>(List.of("changed " + i));
+        };
+    }
+}
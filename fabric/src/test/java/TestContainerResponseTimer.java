@@ -0,0 +1,218 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.handlers.container.ContainerResponseTimer;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestContainerResponseTimer {
+    // The fixed timings that were used before they were adapted to the latency
+    private static final int OLD_NEXT_OPERATION_DELAY = 5;
+    private static final int OLD_TIMEOUT = 60;
+
+    // Five content book scans, of 20 pages each
+    private static final int SCANS = 5;
+    private static final int PAGES_PER_SCAN = 20;
+    // A scan that timed out is started over, but given up after this many attempts
+    private static final int MAX_SCAN_ATTEMPTS = 10;
+
+    @Test
+    public void lowLatency_shortensDelay() {
+        ContainerResponseTimer timer = new ContainerResponseTimer();
+        simulateLatency(timer, new Random(1), 1, 1, 100);
+
+        Assertions.assertTrue(timer.getNextOperationDelay() < OLD_NEXT_OPERATION_DELAY);
+        // Lag spikes happen on fast connections too
+        Assertions.assertEquals(OLD_TIMEOUT, timer.getOperationTimeout());
+    }
+
+    @Test
+    public void highLatency_exceedsOldTimeout() {
+        ContainerResponseTimer timer = new ContainerResponseTimer();
+        Random random = new Random(2);
+        // Replies take 1.5 to 2.5 seconds, the old timeout of 3 seconds would be hit by any lag spike
+        simulateLatency(timer, random, 30, 20, 100);
+
+        int timeout = timer.getOperationTimeout();
+        Assertions.assertTrue(timeout > OLD_TIMEOUT, "Timeout at high latency was " + timeout + " ticks");
+
+        // No reply of the simulated connection may time out
+        for (int i = 0; i < 1000; i++) {
+            int latency = 30 + random.nextInt(20);
+            Assertions.assertTrue(
+                    latency < timer.getOperationTimeout(),
+                    "Reply after " + latency + " ticks timed out after " + timer.getOperationTimeout() + " ticks");
+            timer.recordResponse(latency);
+        }
+    }
+
+    @Test
+    public void timeout_backsOffUntilNextResponse() {
+        ContainerResponseTimer timer = new ContainerResponseTimer();
+        simulateLatency(timer, new Random(3), 10, 4, 50);
+        int timeout = timer.getOperationTimeout();
+
+        timer.recordTimeout();
+        Assertions.assertEquals(timeout * 2, timer.getOperationTimeout());
+
+        timer.recordResponse(12);
+        Assertions.assertTrue(timer.getOperationTimeout() < timeout * 2);
+    }
+
+    @Test
+    public void simulatedServer_adaptiveTimingsScanFaster() {
+        // Base latency and jitter of the replies, in ticks, and how much longer a lag spike takes
+        int[][] connections = {{1, 3, 0}, {4, 4, 0}, {12, 6, 40}, {35, 15, 35}};
+
+        StringBuilder results = new StringBuilder();
+        long[][] scanTicks = new long[connections.length][];
+        for (int i = 0; i < connections.length; i++) {
+            int[] connection = connections[i];
+
+            // Both scans see the same replies
+            long fixedTicks = scan(
+                    new FixedTimings(),
+                    new SimulatedContainerServer(connection[0], connection[1], connection[2], new Random(i)));
+            long adaptiveTicks = scan(
+                    new AdaptiveTimings(new ContainerResponseTimer()),
+                    new SimulatedContainerServer(connection[0], connection[1], connection[2], new Random(i)));
+
+            scanTicks[i] = new long[] {fixedTicks, adaptiveTicks};
+            results.append(String.format(
+                    "latency %d-%d ticks, spikes +%d: fixed %d ticks, adaptive %d ticks; ",
+                    connection[0],
+                    connection[0] + connection[1] - 1,
+                    connection[2],
+                    fixedTicks,
+                    adaptiveTicks));
+        }
+
+        // Between 10 and 20 ticks, the delay and timeout are the same as the old ones
+        Assertions.assertTrue(scanTicks[0][1] < scanTicks[0][0], results.toString());
+        Assertions.assertTrue(scanTicks[1][1] < scanTicks[1][0], results.toString());
+        Assertions.assertTrue(scanTicks[2][1] <= scanTicks[2][0], results.toString());
+        Assertions.assertTrue(scanTicks[3][1] < scanTicks[3][0], results.toString());
+    }
+
+    /**
+     * Runs the scans like the container query handler does: every page is clicked, the reply is waited for,
+     * and the next page is clicked after the next operation delay. A reply that takes longer than the timeout
+     * fails the query, which is then started over.
+     *
+     * @return the ticks until all scans are done, or Long.MAX_VALUE if a scan had to be given up
+     */
+    private static long scan(Timings timings, SimulatedContainerServer server) {
+        long ticks = 0;
+
+        for (int scan = 0; scan < SCANS; scan++) {
+            boolean done = false;
+            for (int attempt = 0; attempt < MAX_SCAN_ATTEMPTS && !done; attempt++) {
+                done = true;
+
+                for (int page = 0; page < PAGES_PER_SCAN; page++) {
+                    int latency = server.reply();
+                    int timeout = timings.timeout();
+
+                    if (latency >= timeout) {
+                        ticks += timeout;
+                        timings.recordTimeout();
+                        done = false;
+                        break;
+                    }
+
+                    ticks += latency;
+                    timings.recordResponse(latency);
+                    if (page < PAGES_PER_SCAN - 1) {
+                        ticks += timings.nextOperationDelay();
+                    }
+                }
+            }
+
+            if (!done) return Long.MAX_VALUE;
+        }
+
+        return ticks;
+    }
+
+    private static void simulateLatency(
+            ContainerResponseTimer timer, Random random, int minLatency, int jitter, int replies) {
+        for (int i = 0; i < replies; i++) {
+            timer.recordResponse(minLatency + random.nextInt(jitter));
+        }
+    }
+
+    // Stands in for the server, answering every container click after a random latency
+    private static final class SimulatedContainerServer {
+        // One in this many replies is delayed by a lag spike
+        private static final int SPIKE_CHANCE = 20;
+
+        private final int baseLatency;
+        private final int jitter;
+        private final int spikeLatency;
+        private final Random random;
+
+        private SimulatedContainerServer(int baseLatency, int jitter, int spikeLatency, Random random) {
+            this.baseLatency = baseLatency;
+            this.jitter = jitter;
+            this.spikeLatency = spikeLatency;
+            this.random = random;
+        }
+
+        private int reply() {
+            int latency = baseLatency + random.nextInt(jitter);
+            return random.nextInt(SPIKE_CHANCE) == 0 ? latency + spikeLatency : latency;
+        }
+    }
+
+    private interface Timings {
+        int nextOperationDelay();
+
+        int timeout();
+
+        void recordResponse(int latency);
+
+        void recordTimeout();
+    }
+
+    private static final class FixedTimings implements Timings {
+        @Override
+        public int nextOperationDelay() {
+            return OLD_NEXT_OPERATION_DELAY;
+        }
+
+        @Override
+        public int timeout() {
+            return OLD_TIMEOUT;
+        }
+
+        @Override
+        public void recordResponse(int latency) {}
+
+        @Override
+        public void recordTimeout() {}
+    }
+
+    private record AdaptiveTimings(ContainerResponseTimer timer) implements Timings {
+        @Override
+        public int nextOperationDelay() {
+            return timer.getNextOperationDelay();
+        }
+
+        @Override
+        public int timeout() {
+            return timer.getOperationTimeout();
+        }
+
+        @Override
+        public void recordResponse(int latency) {
+            timer.recordResponse(latency);
+        }
+
+        @Override
+        public void recordTimeout() {
+            timer.recordTimeout();
+        }
+    }
+}
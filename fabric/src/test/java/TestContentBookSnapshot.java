@@ -0,0 +1,105 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.activities.type.ActivityInfo;
+import com.wynntils.models.activities.type.ActivityRequirements;
+import com.wynntils.models.activities.type.ActivityStatus;
+import com.wynntils.models.activities.type.ActivityTrackingState;
+import com.wynntils.models.activities.type.ActivityType;
+import com.wynntils.models.activities.type.ContentBookSnapshot;
+import com.wynntils.utils.type.Pair;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestContentBookSnapshot {
+    private static final List<StyledText> PROGRESS =
+            List.of(StyledText.fromString("§aQuests"), StyledText.fromString("§712 of 150 completed"));
+    private static final String TRACKED = "King's Recruit:Talk to Caravan Leader";
+
+    @Test
+    public void matches_sameFirstPage() {
+        ContentBookSnapshot snapshot = createSnapshot(createFirstPage(ActivityStatus.AVAILABLE), TRACKED, 50);
+
+        Assertions.assertTrue(snapshot.matches(ContentBookSnapshot.createFingerprint(
+                PROGRESS, createFirstPage(ActivityStatus.AVAILABLE), TRACKED, createLevels(50))));
+    }
+
+    @Test
+    public void matches_missesStartedActivity() {
+        // Starting a quest does not change the completed count of the progress item
+        ContentBookSnapshot snapshot = createSnapshot(createFirstPage(ActivityStatus.AVAILABLE), TRACKED, 50);
+
+        Assertions.assertFalse(snapshot.matches(ContentBookSnapshot.createFingerprint(
+                PROGRESS, createFirstPage(ActivityStatus.STARTED), TRACKED, createLevels(50))));
+    }
+
+    @Test
+    public void matches_missesAdvancedStage() {
+        ContentBookSnapshot snapshot = createSnapshot(createFirstPage(ActivityStatus.STARTED), TRACKED, 50);
+
+        Assertions.assertFalse(snapshot.matches(ContentBookSnapshot.createFingerprint(
+                PROGRESS,
+                createFirstPage(ActivityStatus.STARTED),
+                "King's Recruit:Go to the Ragni gate",
+                createLevels(50))));
+    }
+
+    @Test
+    public void matches_missesLevelUp() {
+        ContentBookSnapshot snapshot = createSnapshot(createFirstPage(ActivityStatus.AVAILABLE), TRACKED, 50);
+
+        Assertions.assertFalse(snapshot.matches(ContentBookSnapshot.createFingerprint(
+                PROGRESS, createFirstPage(ActivityStatus.AVAILABLE), TRACKED, createLevels(51))));
+    }
+
+    @Test
+    public void matches_missesWithoutFingerprint() {
+        ContentBookSnapshot snapshot = createSnapshot(createFirstPage(ActivityStatus.AVAILABLE), TRACKED, 50);
+
+        Assertions.assertFalse(snapshot.matches(null));
+        Assertions.assertFalse(new ContentBookSnapshot(null, List.of(), 0).matches(null));
+    }
+
+    private static ContentBookSnapshot createSnapshot(List<ActivityInfo> firstPage, String tracked, int level) {
+        return new ContentBookSnapshot(
+                ContentBookSnapshot.createFingerprint(PROGRESS, firstPage, tracked, createLevels(level)),
+                List.of(),
+                0);
+    }
+
+    private static List<ActivityInfo> createFirstPage(ActivityStatus secondStatus) {
+        return List.of(
+                createActivity("Tutorial", ActivityStatus.COMPLETED, ActivityTrackingState.UNTRACKABLE),
+                createActivity("King's Recruit", secondStatus, ActivityTrackingState.TRACKABLE));
+    }
+
+    private static ActivityInfo createActivity(String name, ActivityStatus status, ActivityTrackingState tracking) {
+        return new ActivityInfo(
+                ActivityType.QUEST,
+                name,
+                status,
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                new ActivityRequirements(Pair.of(1, true), List.of(), List.of()),
+                List.of(),
+                tracking);
+    }
+
+    private static Map<String, Integer> createLevels(int level) {
+        Map<String, Integer> levels = new LinkedHashMap<>();
+        levels.put("level", level);
+        levels.put("MINING", 10);
+        return levels;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.wynntils.core.crowdsource.CrowdSourcedLocationStore;
+import com.wynntils.core.crowdsource.type.CrowdSourcedDataGameVersion;
+import com.wynntils.core.crowdsource.type.CrowdSourcedDataType;
+import com.wynntils.core.json.JsonManager;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.npc.label.NpcLabelInfo;
+import com.wynntils.utils.mc.type.Location;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestCrowdSourcedLocationStore {
+    private static final Gson GSON = new Gson();
+    private static final CrowdSourcedDataGameVersion VERSION = CrowdSourcedDataGameVersion.VERSION_210_BETA_2;
+    private static final CrowdSourcedDataType TYPE = CrowdSourcedDataType.NPC_LOCATIONS;
+    private static final int BENCHMARK_SIGHTINGS = 100_000;
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void locationStore_mergesNearbySightings() throws IOException {
+        CrowdSourcedLocationStore store = new CrowdSourcedLocationStore();
+
+        Assertions.assertTrue(store.add(VERSION, TYPE, 100, 64, -200, npc("Guard")));
+        Assertions.assertFalse(
+                store.add(VERSION, TYPE, 102, 63, -198, npc("Guard")), "Nearby sighting was not merged");
+        Assertions.assertTrue(
+                store.add(VERSION, TYPE, 101, 64, -200, npc("Merchant")), "Different payloads were merged");
+        Assertions.assertTrue(store.add(VERSION, TYPE, 110, 64, -200, npc("Guard")), "Far sighting was merged");
+
+        // Merging must also work across spatial hash cells and around zero
+        Assertions.assertTrue(store.add(VERSION, TYPE, -1, 0, 0, npc("Guard")));
+        Assertions.assertFalse(store.add(VERSION, TYPE, 1, -1, 1, npc("Guard")));
+
+        Assertions.assertEquals(4, store.size(VERSION, TYPE));
+        Assertions.assertEquals(0, store.size(VERSION, CrowdSourcedDataType.LOOTRUN_TASK_LOCATIONS));
+
+        JsonArray exported = export(store);
+        Assertions.assertEquals(4, exported.size());
+        JsonObject first = exported.get(0).getAsJsonObject();
+        Assertions.assertEquals("Guard", first.get("name").getAsString());
+        Assertions.assertEquals(100, first.getAsJsonObject("location").get("x").getAsInt());
+        Assertions.assertEquals(-200, first.getAsJsonObject("location").get("z").getAsInt());
+    }
+
+    @Test
+    public void locationStore_binaryFormatRoundTrips() throws IOException {
+        CrowdSourcedLocationStore store = createStore(5000, new Random(7));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.write(bytes);
+        CrowdSourcedLocationStore result =
+                CrowdSourcedLocationStore.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        Assertions.assertEquals(store.size(VERSION, TYPE), result.size(VERSION, TYPE));
+        Assertions.assertEquals(export(store), export(result), "Exported data changed after a round trip");
+
+        // Rows read from disk must still be found when merging
+        Assertions.assertFalse(result.add(VERSION, TYPE, 100, 64, -200, npc("Guard")));
+        Assertions.assertFalse(result.add(VERSION, TYPE, 101, 65, -199, npc("Guard")));
+    }
+
+    @Test
+    public void locationStore_writesFarLessThanJson() throws IOException {
+        CrowdSourcedLocationStore store = createStore(100_000, new Random(42));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.write(bytes);
+
+        StringWriter json = new StringWriter();
+        store.export(VERSION, TYPE, GSON, new JsonWriter(json));
+
+        Assertions.assertTrue(
+                bytes.size() * 10L < json.toString().length(),
+                "Binary format is " + bytes.size() + " bytes, json is " + json.toString().length() + " chars");
+    }
+
+    @Test
+    public void exportVersion_matchesOldExport() throws IOException {
+        // Older versions exported the data set they kept in the storage
+        Set<Object> oldData = new ConcurrentSkipListSet<>();
+        oldData.add(npcLabel("Guard", 100, 64, -200));
+        oldData.add(npcLabel("Merchant", 120, 64, -200));
+        oldData.add(
+                new NpcLabelInfo(StyledText.fromString("§dBlacksmith"), "Blacksmith", new Location(0, 70, 0), null));
+        String oldExport = JsonManager.GSON.toJson(Map.of(VERSION, oldData));
+
+        CrowdSourcedLocationStore store = new CrowdSourcedLocationStore();
+        for (Object data : oldData) {
+            addSighting(store, data);
+        }
+        StringWriter newExport = new StringWriter();
+        store.exportVersion(VERSION, TYPE, JsonManager.GSON, JsonManager.GSON.newJsonWriter(newExport));
+
+        Assertions.assertTrue(oldExport.contains("\"version210Beta2\""), oldExport);
+        Assertions.assertEquals(JsonParser.parseString(oldExport), JsonParser.parseString(newExport.toString()));
+    }
+
+    @Test
+    public void benchmark_retainedMemoryAtHundredThousandSightings() throws IOException {
+        int[][] sightings = createSightings(BENCHMARK_SIGHTINGS, new Random(42));
+
+        // Older versions kept every distinct sighting in a set in the storage
+        long setMemory = retainedBytes(() -> {
+            Set<Object> oldData = new ConcurrentSkipListSet<>();
+            for (int[] sighting : sightings) {
+                oldData.add(npcLabel("NPC " + sighting[0], sighting[1], sighting[2], sighting[3]));
+            }
+            return oldData;
+        });
+
+        long storeMemory = retainedBytes(() -> {
+            CrowdSourcedLocationStore store = new CrowdSourcedLocationStore();
+            for (int[] sighting : sightings) {
+                addSighting(store, npcLabel("NPC " + sighting[0], sighting[1], sighting[2], sighting[3]));
+            }
+            return store;
+        });
+
+        Assertions.assertTrue(
+                storeMemory * 4 < setMemory,
+                "Keeping " + BENCHMARK_SIGHTINGS + " sightings retains ~" + storeMemory / 1024
+                        + " KiB in the location store, ~" + setMemory / 1024 + " KiB in the old data set");
+    }
+
+    // Players walking around, seeing a limited set of NPCs over and over
+    private static CrowdSourcedLocationStore createStore(int sightings, Random random) {
+        CrowdSourcedLocationStore store = new CrowdSourcedLocationStore();
+        store.add(VERSION, TYPE, 100, 64, -200, npc("Guard"));
+
+        for (int i = 0; i < sightings; i++) {
+            int npc = random.nextInt(2000);
+            int x = (npc * 37) % 4000 - 2000 + random.nextInt(5);
+            int z = (npc * 91) % 6000 - 5000 + random.nextInt(5);
+            store.add(VERSION, TYPE, x, 40 + npc % 60, z, npc("NPC " + npc));
+        }
+
+        return store;
+    }
+
+    // The npc, x, y and z of each sighting, like createStore
+    private static int[][] createSightings(int sightings, Random random) {
+        int[][] result = new int[sightings][];
+
+        for (int i = 0; i < sightings; i++) {
+            int npc = random.nextInt(2000);
+            int x = (npc * 37) % 4000 - 2000 + random.nextInt(5);
+            int z = (npc * 91) % 6000 - 5000 + random.nextInt(5);
+            result[i] = new int[] {npc, x, 40 + npc % 60, z};
+        }
+
+        return result;
+    }
+
+    private static NpcLabelInfo npcLabel(String name, int x, int y, int z) {
+        return new NpcLabelInfo(
+                StyledText.fromString("§d" + name), name, new Location(x, y, z), null, null, "A very helpful villager");
+    }
+
+    // Splits the data into its location and payload, like the crowd sourced data manager does
+    private static void addSighting(CrowdSourcedLocationStore store, Object data) {
+        JsonObject payload = JsonManager.GSON.toJsonTree(data).getAsJsonObject();
+        JsonObject location = payload.remove("location").getAsJsonObject();
+        store.add(
+                VERSION,
+                TYPE,
+                location.get("x").getAsInt(),
+                location.get("y").getAsInt(),
+                location.get("z").getAsInt(),
+                payload.toString());
+    }
+
+    private static long retainedBytes(Supplier<Object> supplier) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        Object retained = supplier.get();
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        // Keep the result reachable until it was measured
+        Assertions.assertNotNull(retained);
+        return after - before;
+    }
+
+    private static String npc(String name) {
+        JsonObject payload = new JsonObject();
+        payload.addProperty("name", name);
+        payload.addProperty("description", "A very helpful villager");
+        return payload.toString();
+    }
+
+    private static JsonArray export(CrowdSourcedLocationStore store) throws IOException {
+        StringWriter writer = new StringWriter();
+        store.export(VERSION, TYPE, GSON, new JsonWriter(writer));
+        return JsonParser.parseString(writer.toString()).getAsJsonArray();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.components.CoreComponent;
+import com.wynntils.core.net.Dependency;
+import com.wynntils.core.net.DownloadDependencyGraph;
+import com.wynntils.core.net.QueuedDownload;
+import com.wynntils.core.net.UrlId;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestDownloadDependencyGraph {
+    private static final CoreComponent COMPONENT = new CoreComponent() {
+        @Override
+        public String getTypeName() {
+            return "Model";
+        }
+    };
+
+    private static final int PARALLEL_DOWNLOADS = 2;
+    // Every download transfers 1 KiB per millisecond
+    private static final long BYTES_PER_MILLI = 1024;
+
+    @Test
+    public void nextDownload_longestChainFirst() {
+        List<QueuedDownload> downloads = new ArrayList<>();
+        QueuedDownload small = download(UrlId.DATA_STATIC_ABILITIES, Dependency.empty());
+        QueuedDownload large = download(UrlId.DATA_STATIC_CAVE_INFO, Dependency.empty());
+        QueuedDownload root = download(UrlId.DATA_STATIC_CHARMS, Dependency.empty());
+        QueuedDownload dependent = download(UrlId.DATA_STATIC_GEAR, Dependency.simple(COMPONENT, root.urlId()));
+        downloads.addAll(List.of(small, large, root, dependent));
+
+        Map<QueuedDownload, Long> sizes = Map.of(small, 10L, large, 1000L, root, 1L, dependent, 1L);
+        DownloadDependencyGraph graph = DownloadDependencyGraph.build(downloads, sizes::get);
+
+        // The root has a dependent waiting on it, then the larger of the two independent downloads goes first
+        Assertions.assertSame(root, graph.nextDownload());
+        Assertions.assertSame(large, graph.nextDownload());
+        Assertions.assertSame(small, graph.nextDownload());
+        Assertions.assertNull(graph.nextDownload());
+
+        graph.markDownloadCompleted(root);
+        Assertions.assertEquals(DownloadDependencyGraph.NodeState.COMPLETED, graph.getDownloadState(root));
+        Assertions.assertSame(dependent, graph.nextDownload());
+    }
+
+    @Test
+    public void downloads_timeUntilAllDataReady() {
+        // Registration order puts the independent downloads in front of a chain of small ones,
+        // which previously left the chain to be downloaded last, one after another
+        List<QueuedDownload> downloads = new ArrayList<>();
+        Map<QueuedDownload, Long> sizes = new HashMap<>();
+        UrlId[] independentIds = {
+            UrlId.DATA_STATIC_ABILITIES, UrlId.DATA_STATIC_CAVE_INFO, UrlId.DATA_STATIC_CHARMS, UrlId.DATA_STATIC_GEAR
+        };
+        for (UrlId urlId : independentIds) {
+            QueuedDownload download = download(urlId, Dependency.empty());
+            downloads.add(download);
+            sizes.put(download, 384 * 1024L);
+        }
+
+        UrlId[] chainIds = {
+            UrlId.DATA_STATIC_INGREDIENTS,
+            UrlId.DATA_STATIC_ITEM_OBTAIN,
+            UrlId.DATA_STATIC_COMBAT_LOCATIONS,
+            UrlId.DATA_STATIC_DESTINATIONS,
+            UrlId.DATA_STATIC_IDENTIFICATION_KEYS,
+            UrlId.DATA_ATHENA_SERVER_LIST
+        };
+        Dependency dependency = Dependency.empty();
+        for (UrlId urlId : chainIds) {
+            QueuedDownload download = download(urlId, dependency);
+            downloads.add(download);
+            sizes.put(download, 128 * 1024L);
+            dependency = Dependency.simple(COMPONENT, urlId);
+        }
+
+        List<UrlId> previousOrder = new ArrayList<>();
+        long previousTime = simulateDownloads(new RegistrationOrderScheduler(downloads), sizes, previousOrder);
+
+        List<UrlId> prioritisedOrder = new ArrayList<>();
+        long prioritisedTime = simulateDownloads(
+                new GraphScheduler(DownloadDependencyGraph.build(downloads, sizes::get)), sizes, prioritisedOrder);
+
+        String times = "Time until all data is ready with " + PARALLEL_DOWNLOADS
+                + " parallel downloads: registration order took " + previousTime
+                + " ms, longest chain first took " + prioritisedTime + " ms";
+
+        // The chain is started right away, and the independent downloads fill the other slot around it.
+        // Its last download has no dependents left, so the larger independent downloads go before it.
+        Assertions.assertEquals(
+                List.of(
+                        UrlId.DATA_STATIC_INGREDIENTS,
+                        UrlId.DATA_STATIC_ABILITIES,
+                        UrlId.DATA_STATIC_ITEM_OBTAIN,
+                        UrlId.DATA_STATIC_COMBAT_LOCATIONS,
+                        UrlId.DATA_STATIC_CAVE_INFO,
+                        UrlId.DATA_STATIC_DESTINATIONS,
+                        UrlId.DATA_STATIC_IDENTIFICATION_KEYS,
+                        UrlId.DATA_STATIC_CHARMS,
+                        UrlId.DATA_STATIC_GEAR,
+                        UrlId.DATA_ATHENA_SERVER_LIST),
+                prioritisedOrder,
+                times);
+        Assertions.assertEquals(1536, previousTime, times);
+        Assertions.assertEquals(1152, prioritisedTime, times);
+    }
+
+    // Starts downloads like DownloadManager does, on a simulated clock where every download transfers
+    // at the same rate, and returns the time until all of them were completed
+    private static long simulateDownloads(
+            Scheduler scheduler, Map<QueuedDownload, Long> sizes, List<UrlId> startOrder) {
+        // Downloads that finish at the same time are completed in the order they were started
+        PriorityQueue<RunningDownload> running = new PriorityQueue<>(
+                Comparator.comparingLong(RunningDownload::finishTime).thenComparingInt(RunningDownload::startIndex));
+        long time = 0;
+
+        while (true) {
+            while (running.size() < PARALLEL_DOWNLOADS) {
+                QueuedDownload download = scheduler.next();
+                if (download == null) break;
+
+                long finishTime = time + sizes.get(download) / BYTES_PER_MILLI;
+                running.add(new RunningDownload(download, startOrder.size(), finishTime));
+                startOrder.add(download.urlId());
+            }
+
+            RunningDownload finished = running.poll();
+            if (finished == null) break;
+
+            time = finished.finishTime();
+            scheduler.completed(finished.download());
+        }
+
+        Assertions.assertEquals(sizes.size(), startOrder.size(), "Not all downloads were started");
+        return time;
+    }
+
+    private static QueuedDownload download(UrlId urlId, Dependency dependency) {
+        try {
+            Constructor<QueuedDownload> constructor =
+                    QueuedDownload.class.getDeclaredConstructor(CoreComponent.class, UrlId.class, Dependency.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(COMPONENT, urlId, dependency);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record RunningDownload(QueuedDownload download, int startIndex, long finishTime) {}
+
+    private interface Scheduler {
+        QueuedDownload next();
+
+        void completed(QueuedDownload download);
+
+        int size();
+    }
+
+    private record GraphScheduler(DownloadDependencyGraph graph) implements Scheduler {
+        @Override
+        public QueuedDownload next() {
+            return graph.nextDownload();
+        }
+
+        @Override
+        public void completed(QueuedDownload download) {
+            graph.markDownloadCompleted(download);
+        }
+
+        @Override
+        public int size() {
+            return graph.totalDownloads();
+        }
+    }
+
+    // Starts the first download that is ready, in the order the downloads were registered
+    private static final class RegistrationOrderScheduler implements Scheduler {
+        private final List<QueuedDownload> downloads;
+        private final Set<QueuedDownload> started = new HashSet<>();
+        private final Set<UrlId> completed = new HashSet<>();
+
+        private RegistrationOrderScheduler(List<QueuedDownload> downloads) {
+            this.downloads = downloads;
+        }
+
+        @Override
+        public QueuedDownload next() {
+            for (QueuedDownload download : downloads) {
+                if (started.contains(download)) continue;
+                if (!download.dependency().dependencies().stream()
+                        .allMatch(dependency -> completed.contains(dependency.b()))) continue;
+
+                started.add(download);
+                return download;
+            }
+
+            return null;
+        }
+
+        @Override
+        public void completed(QueuedDownload download) {
+            completed.add(download.urlId());
+        }
+
+        @Override
+        public int size() {
+            return downloads.size();
+        }
+    }
+}
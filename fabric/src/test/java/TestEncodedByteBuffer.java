@@ -3,6 +3,7 @@
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 import com.wynntils.utils.EncodedByteBuffer;
+import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.UnsignedByte;
 import net.minecraft.SharedConstants;
 import net.minecraft.server.Bootstrap;
@@ -104,4 +105,31 @@ public class TestEncodedByteBuffer {
 
         Assertions.assertArrayEquals(expected, result, "fromUtf16String() did not return the correct byte array");
     }
+
+    @Test
+    public void range_fromUtf16Works() {
+        String data = Character.toString(0xFD239) + Character.toString(0xF0F51) + Character.toString(0x1002EE);
+        String message = "[Player] look at " + data + " \"Item\"";
+
+        int start = message.indexOf(data);
+        UnsignedByte[] result = EncodedByteBuffer.fromUtf16String(message, start, start + data.length()).getBytes();
+
+        UnsignedByte[] expected = EncodedByteBuffer.fromUtf16String(data).getBytes();
+
+        Assertions.assertArrayEquals(expected, result, "fromUtf16String() did not decode only the given range");
+    }
+
+    @Test
+    public void reader_readsBytes() {
+        EncodedByteBuffer buffer = EncodedByteBuffer.fromBytes(UnsignedByte.of(new byte[] {(byte) 214, 121, 11, 49}));
+
+        ArrayReader<UnsignedByte> reader = buffer.getReader();
+
+        Assertions.assertEquals(UnsignedByte.of((byte) 214), reader.peek());
+        Assertions.assertEquals(UnsignedByte.of((byte) 214), reader.read());
+        Assertions.assertArrayEquals(UnsignedByte.of(new byte[] {121, 11}), reader.read(2));
+        Assertions.assertArrayEquals(UnsignedByte.of(new byte[] {49}), reader.readRemaining());
+        Assertions.assertFalse(reader.hasRemaining());
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, reader::read);
+    }
 }
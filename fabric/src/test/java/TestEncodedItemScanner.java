@@ -0,0 +1,132 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.items.encoding.EncodedItemScanner;
+import com.wynntils.models.items.encoding.type.EncodedItemMatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestEncodedItemScanner {
+    // The pattern of ItemEncodingModel, which chat messages used to be searched with
+    private static final Pattern ENCODED_DATA_PATTERN = Pattern.compile("(?<data>(["
+            + Character.toString(0xF0000) + "-" + Character.toString(0xFFFFD) + "]|["
+            + Character.toString(0x100000) + "-" + Character.toString(0x10FFFD) + "])+)( \"(?<name>.+)\")?");
+
+    private static final int BENCHMARK_MESSAGES = 20000;
+    private static final int BENCHMARK_RUNS = 10;
+
+    @Test
+    public void find_matchesItemWithName() {
+        String data = Character.toString(0xFD239) + Character.toString(0xF0F51) + Character.toString(0x1002EE);
+        String message = "[Player] my craft " + data + " \"Fancy \"Sword\"\" is done";
+
+        EncodedItemMatch match = EncodedItemScanner.find(message, 0);
+
+        Assertions.assertEquals(message.indexOf(data), match.start());
+        Assertions.assertEquals(message.indexOf(data) + data.length(), match.dataEnd());
+        Assertions.assertEquals(message.lastIndexOf('"') + 1, match.end());
+        Assertions.assertEquals("Fancy \"Sword\"", match.name());
+        Assertions.assertNull(EncodedItemScanner.find(message, match.end()));
+    }
+
+    @Test
+    public void find_skipsUnusedCodePoints() {
+        // U+FFFFE and U+10FFFF are outside of the encoded data, like other supplementary characters
+        String message = Character.toString(0xFFFFE) + Character.toString(0x1F600) + Character.toString(0xF0001)
+                + Character.toString(0x10FFFF);
+
+        EncodedItemMatch match = EncodedItemScanner.find(message, 0);
+
+        Assertions.assertEquals(4, match.start());
+        Assertions.assertEquals(6, match.end());
+        Assertions.assertNull(match.name());
+        Assertions.assertFalse(EncodedItemScanner.containsEncodedItem("[Player] hello " + Character.toString(0x1F600)));
+    }
+
+    @Test
+    public void find_sameAsPattern() {
+        Random random = new Random(42);
+        int[] codePoints = {
+            'a', ' ', '"', '\n', 0xF0000, 0xF1234, 0xFFFFD, 0xFFFFE, 0x100000, 0x10FFFD, 0x10FFFF, 0x1F600
+        };
+
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                message.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+            }
+
+            Assertions.assertEquals(findWithPattern(message.toString()), findWithScanner(message.toString()));
+        }
+    }
+
+    @Test
+    public void benchmark_chatWithoutItems() {
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_MESSAGES; i++) {
+            messages.add("[" + i + "] Player" + i % 50 + ": anyone selling a Cataclysm? paying 10le, pm me");
+        }
+
+        // Warm up both ways of looking for items
+        int found = 0;
+        for (int run = 0; run < BENCHMARK_RUNS; run++) {
+            for (String message : messages) {
+                found += ENCODED_DATA_PATTERN.matcher(message).find() ? 1 : 0;
+                found += EncodedItemScanner.containsEncodedItem(message) ? 1 : 0;
+            }
+        }
+
+        long patternStart = System.nanoTime();
+        for (int run = 0; run < BENCHMARK_RUNS; run++) {
+            for (String message : messages) {
+                found += ENCODED_DATA_PATTERN.matcher(message).find() ? 1 : 0;
+            }
+        }
+        long patternNanos = (System.nanoTime() - patternStart) / BENCHMARK_RUNS / BENCHMARK_MESSAGES;
+
+        long scannerStart = System.nanoTime();
+        for (int run = 0; run < BENCHMARK_RUNS; run++) {
+            for (String message : messages) {
+                found += EncodedItemScanner.containsEncodedItem(message) ? 1 : 0;
+            }
+        }
+        long scannerNanos = (System.nanoTime() - scannerStart) / BENCHMARK_RUNS / BENCHMARK_MESSAGES;
+
+        Assertions.assertEquals(
+                0,
+                found,
+                "Looking for items in a chat message without items: pattern " + patternNanos + " ns, scanner "
+                        + scannerNanos + " ns");
+    }
+
+    private static List<String> findWithPattern(String message) {
+        List<String> matches = new ArrayList<>();
+
+        Matcher matcher = ENCODED_DATA_PATTERN.matcher(message);
+        while (matcher.find()) {
+            matches.add(matcher.start() + ":" + matcher.end("data") + ":" + matcher.end() + ":"
+                    + matcher.group("name"));
+        }
+
+        return matches;
+    }
+
+    private static List<String> findWithScanner(String message) {
+        List<String> matches = new ArrayList<>();
+
+        EncodedItemMatch match = EncodedItemScanner.find(message, 0);
+        while (match != null) {
+            matches.add(match.start() + ":" + match.dataEnd() + ":" + match.end() + ":" + match.name());
+            match = EncodedItemScanner.find(message, match.end());
+        }
+
+        return matches;
+    }
+}
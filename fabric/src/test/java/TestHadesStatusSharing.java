@@ -0,0 +1,150 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.hades.PositionTrack;
+import com.wynntils.services.hades.StatusSharingPolicy;
+import com.wynntils.services.hades.type.PlayerStatus;
+import com.wynntils.utils.type.CappedValue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestHadesStatusSharing {
+    private static final long MS_PER_TICK = 50;
+    private static final int TICKS_PER_MINUTE = 20 * 60;
+    private static final long SERVER_LATENCY_MS = 60;
+
+    @Test
+    public void statusSharing_sendsFarFewerPacketsWhileTrackingClosely() {
+        Simulation result = simulate(new Random(2024), 5);
+
+        // Previously, a packet was sent every 2 ticks whenever anything changed
+        Assertions.assertTrue(
+                result.sentPackets * 4 < result.previousPolicyPackets,
+                "Sent " + result.sentPackets + " packets, the previous policy sent " + result.previousPolicyPackets);
+        Assertions.assertTrue(
+                result.sentPackets / 5 < 150, "Sent " + result.sentPackets / 5 + " packets per minute");
+
+        Assertions.assertTrue(
+                result.getMeanError() < 1f, "Mean positional error was " + result.getMeanError() + " blocks");
+        Assertions.assertTrue(result.maxError < 4f, "Max positional error was " + result.maxError + " blocks");
+    }
+
+    @Test
+    public void statusSharing_sendsStationaryChangesEventually() {
+        StatusSharingPolicy policy = new StatusSharingPolicy();
+        long time = 0;
+
+        PlayerStatus status = status(10f, 64f, 10f, 100, 50);
+        Assertions.assertTrue(policy.shouldSend(time, status));
+        policy.onSent(time, status);
+
+        // Tiny movements should not be sent right away
+        PlayerStatus moved = status(10.2f, 64f, 10.1f, 100, 50);
+        time += 1000;
+        Assertions.assertFalse(policy.shouldSend(time, moved));
+
+        time += 5000;
+        Assertions.assertTrue(policy.shouldSend(time, moved), "Small change was never sent");
+
+        // Mana changes are sent, but not more than once a second
+        policy.onSent(time, moved);
+        PlayerStatus moreMana = status(10.2f, 64f, 10.1f, 100, 51);
+        time += 200;
+        Assertions.assertFalse(policy.shouldSend(time, moreMana));
+        time += 800;
+        Assertions.assertTrue(policy.shouldSend(time, moreMana));
+    }
+
+    @Test
+    public void positionTrack_snapsOnTeleport() {
+        PositionTrack track = new PositionTrack();
+        track.update(0, 0f, 64f, 0f);
+        track.update(100, 0.5f, 64f, 0f);
+        track.update(200, 1000f, 64f, 1000f);
+
+        Assertions.assertEquals(1000f, track.getX(200), "Teleport was blended");
+        Assertions.assertEquals(1000f, track.getX(1000), "Teleport was extrapolated");
+    }
+
+    // Walks around with turns and stops, while a stand-in Hades server relays our packets to another player
+    private static Simulation simulate(Random random, int minutes) {
+        StatusSharingPolicy policy = new StatusSharingPolicy();
+        PositionTrack receiver = new PositionTrack();
+        Deque<Relayed> inFlight = new ArrayDeque<>();
+        Simulation simulation = new Simulation();
+
+        float x = 0;
+        float z = 0;
+        double heading = 0;
+        float speed = 0;
+        int mana = 100;
+        PlayerStatus previousPolicySent = null;
+
+        for (int tick = 0; tick < minutes * TICKS_PER_MINUTE; tick++) {
+            long time = tick * MS_PER_TICK;
+
+            // Change what we are doing every few seconds: walk, sprint, or stand still
+            if (random.nextInt(60) == 0) {
+                int mode = random.nextInt(4);
+                speed = mode == 0 ? 0f : mode == 3 ? 0.28f : 0.22f;
+            }
+            // Steer a little every tick, and turn corners sometimes
+            heading += random.nextGaussian() * 0.03;
+            if (random.nextInt(100) == 0) heading += random.nextBoolean() ? Math.PI / 2 : -Math.PI / 2;
+
+            x += (float) Math.cos(heading) * speed;
+            z += (float) Math.sin(heading) * speed;
+            if (tick % 20 == 0) mana = Math.min(mana + 1, 200);
+            if (random.nextInt(40) == 0) mana = Math.max(mana - 30, 0);
+
+            PlayerStatus status = status(x, 64f, z, 1000, mana);
+
+            if (tick % 2 == 0 && !status.equals(previousPolicySent)) {
+                previousPolicySent = status;
+                simulation.previousPolicyPackets++;
+            }
+
+            if (policy.shouldSend(time, status)) {
+                policy.onSent(time, status);
+                inFlight.add(new Relayed(time + SERVER_LATENCY_MS, status));
+                simulation.sentPackets++;
+            }
+
+            while (!inFlight.isEmpty() && inFlight.peek().arrival() <= time) {
+                Relayed relayed = inFlight.poll();
+                receiver.update(time, relayed.status().x(), relayed.status().y(), relayed.status().z());
+            }
+
+            float dX = receiver.getX(time) - x;
+            float dZ = receiver.getZ(time) - z;
+            float error = (float) Math.sqrt(dX * dX + dZ * dZ);
+            simulation.totalError += error;
+            simulation.maxError = Math.max(simulation.maxError, error);
+            simulation.samples++;
+        }
+
+        return simulation;
+    }
+
+    private static PlayerStatus status(float x, float y, float z, int health, int mana) {
+        return new PlayerStatus(x, y, z, new CappedValue(health, 1000), new CappedValue(mana, 200));
+    }
+
+    private record Relayed(long arrival, PlayerStatus status) {}
+
+    private static final class Simulation {
+        private int sentPackets;
+        private int previousPolicyPackets;
+        private double totalError;
+        private float maxError;
+        private int samples;
+
+        private float getMeanError() {
+            return (float) (totalError / samples);
+        }
+    }
+}
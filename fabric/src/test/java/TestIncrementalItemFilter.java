@@ -0,0 +1,182 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.services.itemfilter.IncrementalItemFilter;
+import com.wynntils.services.itemfilter.ItemSearchFilter;
+import com.wynntils.services.itemfilter.type.ItemProviderType;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemfilter.type.ItemStatProvider;
+import com.wynntils.services.itemfilter.type.SortDirection;
+import com.wynntils.services.itemfilter.type.SortInfo;
+import com.wynntils.services.itemfilter.type.StatFilter;
+import com.wynntils.services.itemfilter.type.StatProviderFilterMap;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestIncrementalItemFilter {
+    private static final int PAGES = 50;
+    private static final int ITEMS_PER_PAGE = 42;
+
+    @Test
+    public void incrementalItemFilter_loadingFiftyPages() {
+        LevelStatProvider levelProvider = new LevelStatProvider();
+        List<TestItem> items = createItems(new Random(2024), levelProvider);
+        ItemSearchQuery query = query(levelProvider, 40, "ring");
+
+        // Previously, every item that arrived filtered and sorted all the loaded items again
+        long previousStart = System.nanoTime();
+        List<TestItem> loaded = new ArrayList<>();
+        List<TestItem> previousResult = List.of();
+        for (TestItem item : items) {
+            loaded.add(item);
+            previousResult = filterAndSort(loaded, query);
+        }
+        long previousTime = System.nanoTime() - previousStart;
+        int previousLookups = levelProvider.lookups;
+
+        levelProvider.lookups = 0;
+        long incrementalStart = System.nanoTime();
+        IncrementalItemFilter<TestItem> filter = new IncrementalItemFilter<>(TestItem::wynnItem, TestItem::name);
+        filter.setSearchQuery(query);
+        for (TestItem item : items) {
+            filter.put(item.page(), item.slot(), item);
+        }
+        long incrementalTime = System.nanoTime() - incrementalStart;
+
+        String timings = "Loading " + PAGES + " pages: filter and sort everything took " + previousTime / 1_000_000
+                + " ms with " + previousLookups + " stat lookups, incremental filtering took "
+                + incrementalTime / 1_000_000 + " ms with " + levelProvider.lookups + " stat lookups";
+
+        Assertions.assertEquals(previousResult, new ArrayList<>(filter.getMatchingItems()), "Results differ");
+        Assertions.assertTrue(levelProvider.lookups <= items.size(), "Stat values were not cached. " + timings);
+        Assertions.assertTrue(previousLookups > 100 * levelProvider.lookups, timings);
+    }
+
+    @Test
+    public void incrementalItemFilter_queryChangeUsesCachedValues() {
+        LevelStatProvider levelProvider = new LevelStatProvider();
+        List<TestItem> items = createItems(new Random(7), levelProvider);
+
+        IncrementalItemFilter<TestItem> filter = new IncrementalItemFilter<>(TestItem::wynnItem, TestItem::name);
+        filter.setSearchQuery(query(levelProvider, 10, ""));
+        for (TestItem item : items) {
+            filter.put(item.page(), item.slot(), item);
+        }
+        int lookups = levelProvider.lookups;
+
+        ItemSearchQuery newQuery = query(levelProvider, 60, "helmet");
+        filter.setSearchQuery(newQuery);
+
+        Assertions.assertEquals(lookups, levelProvider.lookups, "Changing the query calculated stat values again");
+        Assertions.assertEquals(
+                filterAndSort(items, newQuery),
+                new ArrayList<>(filter.getMatchingItems()),
+                "Results differ after changing the query");
+    }
+
+    @Test
+    public void incrementalItemFilter_replacesAndMovesItems() {
+        LevelStatProvider levelProvider = new LevelStatProvider();
+        IncrementalItemFilter<TestItem> filter = new IncrementalItemFilter<>(TestItem::wynnItem, TestItem::name);
+        filter.setSearchQuery(query(levelProvider, 0, ""));
+
+        TestItem first = item(levelProvider, "First", 10, 0, 0);
+        TestItem second = item(levelProvider, "Second", 10, 0, 1);
+        TestItem replacement = item(levelProvider, "Replacement", 50, 0, 1);
+
+        filter.put(0, 0, first);
+        filter.put(0, 1, second);
+        filter.put(0, 1, replacement);
+        Assertions.assertEquals(List.of(first, replacement), new ArrayList<>(filter.getMatchingItems()));
+
+        filter.remove(0, 1);
+        Assertions.assertEquals(List.of(first), new ArrayList<>(filter.getMatchingItems()));
+
+        // Items on a page that turned out to be a later one sort after items of the same level
+        filter.put(1, 0, second);
+        filter.movePage(0, 2);
+        Assertions.assertEquals(List.of(second, first), new ArrayList<>(filter.getMatchingItems()));
+    }
+
+    // What ItemFilterService#filterAndSort runs for item stacks
+    private static List<TestItem> filterAndSort(List<TestItem> items, ItemSearchQuery query) {
+        return ItemSearchFilter.filterAndSort(query, items, TestItem::wynnItem, TestItem::name);
+    }
+
+    private static List<TestItem> createItems(Random random, LevelStatProvider levelProvider) {
+        String[] names = {"Ring", "Helmet", "Bracelet", "Necklace", "Boots"};
+
+        List<TestItem> items = new ArrayList<>();
+        for (int page = 0; page < PAGES; page++) {
+            for (int slot = 0; slot < ITEMS_PER_PAGE; slot++) {
+                String name = names[random.nextInt(names.length)] + " " + random.nextInt(1000);
+                items.add(item(levelProvider, name, 1 + random.nextInt(105), page, slot));
+            }
+        }
+
+        return items;
+    }
+
+    private static TestItem item(LevelStatProvider levelProvider, String name, int level, int page, int slot) {
+        WynnItem wynnItem = new WynnItem();
+        levelProvider.levels.put(wynnItem, level);
+        return new TestItem(name, wynnItem, page, slot);
+    }
+
+    private static ItemSearchQuery query(LevelStatProvider levelProvider, int minLevel, String text) {
+        StatProviderFilterMap filters = new StatProviderFilterMap();
+        filters.put(levelProvider, new MinimumFilter(minLevel));
+
+        return new ItemSearchQuery(
+                "lvl:" + minLevel + "+ sort:^lvl " + text,
+                filters,
+                List.of(new SortInfo(SortDirection.ASCENDING, levelProvider)),
+                List.of(),
+                List.of(),
+                text.isEmpty() ? List.of() : List.of(text));
+    }
+
+    private record TestItem(String name, WynnItem wynnItem, int page, int slot) {}
+
+    private static final class LevelStatProvider extends ItemStatProvider<Integer> {
+        private final Map<WynnItem, Integer> levels = new IdentityHashMap<>();
+        private int lookups = 0;
+
+        @Override
+        public Optional<Integer> getValue(WynnItem wynnItem) {
+            lookups++;
+            return Optional.ofNullable(levels.get(wynnItem));
+        }
+
+        @Override
+        public List<ItemProviderType> getFilterTypes() {
+            return List.of(ItemProviderType.GENERIC);
+        }
+    }
+
+    private static final class MinimumFilter extends StatFilter<Integer> {
+        private final int minimum;
+
+        private MinimumFilter(int minimum) {
+            this.minimum = minimum;
+        }
+
+        @Override
+        public boolean matches(Integer value) {
+            return value >= minimum;
+        }
+
+        @Override
+        public String asString() {
+            return minimum + "+";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.services.itemindex.type.IndexedItem;
+import com.wynntils.services.itemindex.type.ItemIndexMatch;
+import com.wynntils.services.itemindex.type.ItemIndexQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestItemIndex {
+    private static final Gson GSON = new Gson();
+
+    // Five personal storage containers with 21 pages of 45 slots each
+    private static final int BENCHMARK_PAGES = 5 * 21;
+    private static final int BENCHMARK_SLOTS = 45;
+    private static final int BENCHMARK_QUERIES = 100;
+
+    @Test
+    public void indexedItem_persistsOnlyNameAndEncodedItem() {
+        IndexedItem indexedItem = IndexedItem.fromEncoded("Cataclysm", "AAECAw==", new WynnItem());
+
+        JsonObject json = GSON.toJsonTree(indexedItem).getAsJsonObject();
+
+        Assertions.assertEquals(Set.of("name", "encodedItem"), json.keySet());
+
+        IndexedItem loadedItem = GSON.fromJson(json, IndexedItem.class);
+        Assertions.assertEquals("Cataclysm", loadedItem.getName());
+        Assertions.assertEquals("cataclysm", loadedItem.getSearchName());
+    }
+
+    @Test
+    public void query_comparesNamesBeforeFilters() {
+        int[] filterRuns = {0};
+        ItemIndexQuery query = new ItemIndexQuery("Cata", true, wynnItem -> {
+            filterRuns[0]++;
+            return true;
+        });
+
+        Assertions.assertEquals(ItemIndexMatch.NO_MATCH, query.match(createItem("Divzer")));
+        Assertions.assertEquals(0, filterRuns[0], "Filters were run on an item with another name");
+        Assertions.assertEquals(ItemIndexMatch.MATCH, query.match(createItem("Cataclysm")));
+        Assertions.assertEquals(1, filterRuns[0]);
+    }
+
+    @Test
+    public void query_matchesStatFilters() {
+        WynnItem strongItem = new WynnItem();
+        IndexedItem strong = IndexedItem.fromEncoded("Cataclysm", null, strongItem);
+        IndexedItem weak = createItem("Cataclysm");
+        ItemIndexQuery query = new ItemIndexQuery("", true, wynnItem -> wynnItem == strongItem);
+
+        Assertions.assertEquals(ItemIndexMatch.MATCH, query.match(strong));
+        Assertions.assertEquals(ItemIndexMatch.NO_MATCH, query.match(weak));
+        Assertions.assertEquals(ItemIndexMatch.NO_MATCH, query.matchPage(List.of(weak, createItem("Divzer"))));
+        Assertions.assertEquals(ItemIndexMatch.MATCH, query.matchPage(List.of(weak, strong)));
+    }
+
+    @Test
+    public void query_undecodableItemMakesPageUnknown() {
+        // An item that could not be encoded, after it was loaded from storage
+        IndexedItem undecodable = GSON.fromJson(
+                GSON.toJson(IndexedItem.fromEncoded("Cataclysm", null, new WynnItem())), IndexedItem.class);
+        Assertions.assertNull(undecodable.getWynnItem());
+
+        List<IndexedItem> page = List.of(createItem("Cataclysm"), undecodable);
+
+        // It can't be checked against the filters, so the page has to be opened
+        ItemIndexMatch statMatch = new ItemIndexQuery("", true, wynnItem -> false).matchPage(page);
+        Assertions.assertEquals(ItemIndexMatch.UNKNOWN, statMatch);
+
+        // But it can still be found by name
+        ItemIndexMatch nameMatch = new ItemIndexQuery("cataclysm", false, wynnItem -> false).match(undecodable);
+        Assertions.assertEquals(ItemIndexMatch.MATCH, nameMatch);
+
+        // And a name that doesn't match is enough to rule it out
+        ItemIndexMatch otherName = new ItemIndexQuery("Divzer", true, wynnItem -> true).matchPage(List.of(undecodable));
+        Assertions.assertEquals(ItemIndexMatch.NO_MATCH, otherName);
+    }
+
+    @Test
+    public void benchmark_queryFullStorage() {
+        List<List<IndexedItem>> pages = new ArrayList<>();
+        for (int page = 0; page < BENCHMARK_PAGES; page++) {
+            List<IndexedItem> slots = new ArrayList<>();
+            for (int slot = 0; slot < BENCHMARK_SLOTS; slot++) {
+                slots.add(createItem("Item " + page + " " + slot));
+            }
+            pages.add(slots);
+        }
+
+        ItemIndexQuery query = new ItemIndexQuery("item 7 1", true, wynnItem -> true);
+        int matches = 0;
+        long start = 0;
+        // Warm up, then measure
+        for (int run = 0; run < 2 * BENCHMARK_QUERIES; run++) {
+            if (run == BENCHMARK_QUERIES) {
+                start = System.nanoTime();
+                matches = 0;
+            }
+
+            for (List<IndexedItem> slots : pages) {
+                for (IndexedItem indexedItem : slots) {
+                    if (query.match(indexedItem) == ItemIndexMatch.MATCH) {
+                        matches++;
+                    }
+                }
+            }
+        }
+        long queryMicros = (System.nanoTime() - start) / BENCHMARK_QUERIES / 1000;
+
+        // "Item 7 1" and "Item 7 10" to "Item 7 19"
+        Assertions.assertEquals(
+                11 * BENCHMARK_QUERIES,
+                matches,
+                "Querying " + BENCHMARK_PAGES * BENCHMARK_SLOTS + " indexed items took " + queryMicros + " us");
+    }
+
+    private static IndexedItem createItem(String name) {
+        return IndexedItem.fromEncoded(name, null, new WynnItem());
+    }
+}
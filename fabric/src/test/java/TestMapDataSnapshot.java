@@ -0,0 +1,474 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.mapdata.MapDataSnapshot;
+import com.wynntils.services.mapdata.MapFeaturePoiWrapper;
+import com.wynntils.services.mapdata.attributes.AbstractMapAttributes;
+import com.wynntils.services.mapdata.attributes.DefaultMapAttributes;
+import com.wynntils.services.mapdata.attributes.type.MapAttributes;
+import com.wynntils.services.mapdata.attributes.type.MapIcon;
+import com.wynntils.services.mapdata.attributes.type.MapVisibility;
+import com.wynntils.services.mapdata.attributes.type.ResolvedMapAttributes;
+import com.wynntils.services.mapdata.attributes.type.ResolvedMapVisibility;
+import com.wynntils.services.mapdata.providers.MapDataProvider;
+import com.wynntils.services.mapdata.type.MapCategory;
+import com.wynntils.services.mapdata.type.MapFeature;
+import com.wynntils.utils.colors.CustomColor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestMapDataSnapshot {
+    private static final int PROVIDERS = 5;
+    private static final int FEATURES_PER_PROVIDER = 200;
+    private static final int ICONS_PER_PROVIDER = 50;
+    // Every provider defines the same category tree, of 10 types with 20 subcategories each
+    private static final int CATEGORY_TYPES = 10;
+    private static final int SUBCATEGORIES = 20;
+
+    private static final int COLD_RUNS = 3;
+    private static final int BENCHMARK_FRAMES = 200;
+
+    @Test
+    public void snapshot_resolvesLikeStreamingProviders() {
+        List<MapDataProvider> providers = createProviders();
+        MapDataSnapshot snapshot = new MapDataSnapshot(1, providers);
+        StreamingResolver streamingResolver = new StreamingResolver(providers);
+
+        List<MapFeature> features = snapshot.getFeatures().toList();
+        Assertions.assertEquals(PROVIDERS * FEATURES_PER_PROVIDER, features.size());
+
+        for (MapFeature feature : features) {
+            ResolvedMapAttributes expected = streamingResolver.resolveMapAttributes(feature);
+
+            Assertions.assertEquals(
+                    expected, snapshot.resolveMapAttributes(feature), "Attributes of " + feature.getFeatureId());
+            Assertions.assertEquals(
+                    streamingResolver.getIcon(expected.iconId()),
+                    snapshot.getIcon(expected.iconId()),
+                    "Icon of " + feature.getFeatureId());
+        }
+    }
+
+    @Test
+    public void snapshot_preservesProviderPriority() {
+        List<MapDataProvider> providers = createProviders();
+        MapDataSnapshot snapshot = new MapDataSnapshot(1, providers);
+
+        // Every provider defines the shared icons, and the first one wins
+        Assertions.assertSame(
+                providers.get(0).getIcons().findFirst().orElseThrow(),
+                snapshot.getIcon("icon0").orElseThrow());
+        Assertions.assertEquals(Optional.empty(), snapshot.getIcon(MapIcon.NO_ICON_ID));
+
+        // The definitions of a category are kept in provider order, before those of its parents
+        List<MapAttributes> chain = snapshot.getCategoryAttributeChain("wynntils:type3:sub7");
+        List<MapAttributes> expected = new ArrayList<>();
+        for (String categoryId : List.of("wynntils:type3:sub7", "wynntils:type3", "wynntils")) {
+            providers.stream()
+                    .flatMap(MapDataProvider::getCategories)
+                    .filter(category -> category.getCategoryId().equals(categoryId))
+                    .forEach(category -> category.getAttributes().ifPresent(expected::add));
+        }
+        Assertions.assertEquals(expected, chain);
+        Assertions.assertSame(chain, snapshot.getCategoryAttributeChain("wynntils:type3:sub7"));
+    }
+
+    @Test
+    public void benchmark_firstFrameAfterProviderChange() {
+        List<MapDataProvider> providers = createProviders();
+
+        // Warm up both ways of resolving the features
+        renderWithStreamingResolver(new StreamingResolver(providers), providers);
+        renderWithSnapshot(new MapDataSnapshot(0, providers));
+
+        long streamingStart = System.nanoTime();
+        int streamingIcons = 0;
+        for (int run = 0; run < COLD_RUNS; run++) {
+            streamingIcons = renderWithStreamingResolver(new StreamingResolver(providers), providers);
+        }
+        long streamingMicros = (System.nanoTime() - streamingStart) / COLD_RUNS / 1000;
+
+        long snapshotStart = System.nanoTime();
+        int snapshotIcons = 0;
+        for (int run = 0; run < COLD_RUNS; run++) {
+            snapshotIcons = renderWithSnapshot(new MapDataSnapshot(run + 1, providers));
+        }
+        long snapshotMicros = (System.nanoTime() - snapshotStart) / COLD_RUNS / 1000;
+
+        String results = "Resolving " + PROVIDERS * FEATURES_PER_PROVIDER + " features from " + PROVIDERS
+                + " providers after a provider change took " + snapshotMicros + " us with a snapshot, "
+                + streamingMicros + " us streaming the providers";
+        Assertions.assertEquals(streamingIcons, snapshotIcons, results);
+        Assertions.assertTrue(snapshotMicros * 10 < streamingMicros, results);
+    }
+
+    @Test
+    public void benchmark_framesWithResolvedFeatures() {
+        List<MapDataProvider> providers = createProviders();
+        StreamingResolver streamingResolver = new StreamingResolver(providers);
+        MapDataSnapshot snapshot = new MapDataSnapshot(1, providers);
+
+        // Resolve every feature once, so only the per frame lookups are measured
+        for (int frame = 0; frame < BENCHMARK_FRAMES; frame++) {
+            renderWithStreamingResolver(streamingResolver, providers);
+            renderWithSnapshot(snapshot);
+        }
+
+        long streamingStart = System.nanoTime();
+        int streamingIcons = 0;
+        for (int frame = 0; frame < BENCHMARK_FRAMES; frame++) {
+            streamingIcons = renderWithStreamingResolver(streamingResolver, providers);
+        }
+        long streamingMicros = (System.nanoTime() - streamingStart) / BENCHMARK_FRAMES / 1000;
+
+        long snapshotStart = System.nanoTime();
+        int snapshotIcons = 0;
+        for (int frame = 0; frame < BENCHMARK_FRAMES; frame++) {
+            snapshotIcons = renderWithSnapshot(snapshot);
+        }
+        long snapshotMicros = (System.nanoTime() - snapshotStart) / BENCHMARK_FRAMES / 1000;
+
+        Assertions.assertEquals(
+                streamingIcons,
+                snapshotIcons,
+                "Looking up " + PROVIDERS * FEATURES_PER_PROVIDER + " resolved features took " + snapshotMicros
+                        + " us per frame with a snapshot, " + streamingMicros + " us with the attribute cache");
+        Assertions.assertTrue(snapshotIcons > 0);
+    }
+
+    // Looks up the POI of every feature, and counts the ones with an icon
+    private static int renderWithSnapshot(MapDataSnapshot snapshot) {
+        return (int) snapshot.getFeatures()
+                .map(snapshot::getPoiWrapper)
+                .filter(poi -> !poi.getAttributes().iconId().equals(MapIcon.NO_ICON_ID))
+                .count();
+    }
+
+    // Wraps every feature the way the map did before snapshots, and counts the ones with an icon
+    private static int renderWithStreamingResolver(StreamingResolver resolver, List<MapDataProvider> providers) {
+        return (int) providers.stream()
+                .flatMap(MapDataProvider::getFeatures)
+                .map(feature -> {
+                    ResolvedMapAttributes attributes = resolver.resolveMapAttributes(feature);
+                    return new MapFeaturePoiWrapper(feature, attributes, resolver.getIcon(attributes.iconId()));
+                })
+                .filter(poi -> !poi.getAttributes().iconId().equals(MapIcon.NO_ICON_ID))
+                .count();
+    }
+
+    private static List<MapDataProvider> createProviders() {
+        List<MapDataProvider> providers = new ArrayList<>();
+        for (int provider = 0; provider < PROVIDERS; provider++) {
+            providers.add(createProvider(provider));
+        }
+        return providers;
+    }
+
+    // Each provider defines part of the attributes of the shared categories, and features of its own
+    private static MapDataProvider createProvider(int provider) {
+        List<MapCategory> categories = new ArrayList<>();
+        categories.add(new TestCategory("wynntils", provider == 0 ? new TestAttributes().withPriority(100) : null));
+
+        for (int type = 0; type < CATEGORY_TYPES; type++) {
+            String typeId = "wynntils:type" + type;
+            categories.add(new TestCategory(
+                    typeId,
+                    type % PROVIDERS == provider
+                            ? new TestAttributes()
+                                    .withIconId("icon" + type)
+                                    .withIconVisibility(MapVisibility.builder().withMin(type))
+                            : null));
+
+            for (int sub = 0; sub < SUBCATEGORIES; sub++) {
+                TestAttributes attributes = null;
+                if (sub % PROVIDERS == provider) {
+                    attributes = new TestAttributes()
+                            .withLabel("Subcategory " + type + ":" + sub)
+                            .withLabelColor(CustomColor.fromInt(type * 0x1000 + sub));
+                } else if ((sub + 1) % PROVIDERS == provider) {
+                    attributes = new TestAttributes().withIconVisibility(MapVisibility.builder().withMax(50 + sub));
+                }
+                categories.add(new TestCategory(typeId + ":sub" + sub, attributes));
+            }
+        }
+
+        List<MapIcon> icons = new ArrayList<>();
+        for (int icon = 0; icon < ICONS_PER_PROVIDER; icon++) {
+            // The first icons are defined by every provider
+            String iconId = icon < CATEGORY_TYPES ? "icon" + icon : "provider" + provider + ":icon" + icon;
+            icons.add(new TestIcon(iconId, 16 + provider));
+        }
+
+        List<MapFeature> features = new ArrayList<>();
+        for (int feature = 0; feature < FEATURES_PER_PROVIDER; feature++) {
+            String categoryId = "wynntils:type" + feature % CATEGORY_TYPES + ":sub"
+                    + (feature / CATEGORY_TYPES) % SUBCATEGORIES;
+            TestAttributes attributes = null;
+            if (feature % 4 == 0) {
+                attributes = new TestAttributes().withLabel("Feature " + feature);
+            } else if (feature % 7 == 0) {
+                attributes = new TestAttributes().withIconId(MapIcon.NO_ICON_ID);
+            }
+            features.add(new TestFeature("provider" + provider + ":feature" + feature, categoryId, attributes));
+        }
+
+        return new TestProvider(features, categories, icons);
+    }
+
+    // Resolves attributes the way the map data service did before snapshots, streaming the
+    // category definitions of every provider for each attribute and each category level
+    private static final class StreamingResolver {
+        private final List<MapDataProvider> providers;
+        private final Map<MapFeature, ResolvedMapAttributes> resolvedAttributesCache = new HashMap<>();
+        private final Map<String, Optional<MapIcon>> iconCache = new HashMap<>();
+
+        private StreamingResolver(List<MapDataProvider> providers) {
+            this.providers = providers;
+        }
+
+        private ResolvedMapAttributes resolveMapAttributes(MapFeature feature) {
+            return resolvedAttributesCache.computeIfAbsent(feature, k -> resolve(feature));
+        }
+
+        private Optional<MapIcon> getIcon(String iconId) {
+            if (iconId.equals(MapIcon.NO_ICON_ID)) return Optional.empty();
+
+            return iconCache.computeIfAbsent(iconId, k -> providers.stream()
+                    .flatMap(MapDataProvider::getIcons)
+                    .filter(i -> i.getIconId().equals(iconId))
+                    .findFirst());
+        }
+
+        private Stream<MapCategory> getCategoryDefinitions(String categoryId) {
+            return providers.stream()
+                    .flatMap(MapDataProvider::getCategories)
+                    .filter(p -> p.getCategoryId().equals(categoryId));
+        }
+
+        private ResolvedMapAttributes resolve(MapFeature feature) {
+            return new ResolvedMapAttributes(
+                    getAttribute(feature, MapAttributes::getLabel),
+                    getAttribute(feature, MapAttributes::getIconId),
+                    getAttribute(feature, MapAttributes::getPriority),
+                    getAttribute(feature, MapAttributes::getLevel),
+                    getResolvedMapVisibility(feature, MapAttributes::getLabelVisibility),
+                    getAttribute(feature, MapAttributes::getLabelColor),
+                    getAttribute(feature, MapAttributes::getLabelShadow),
+                    getResolvedMapVisibility(feature, MapAttributes::getIconVisibility),
+                    getAttribute(feature, MapAttributes::getIconColor),
+                    getAttribute(feature, MapAttributes::getIconDecoration));
+        }
+
+        private <T> T getAttribute(MapFeature feature, Function<MapAttributes, Optional<T>> attributeGetter) {
+            Optional<T> featureAttribute = feature.getAttributes().flatMap(attributeGetter);
+            if (featureAttribute.isPresent()) {
+                return featureAttribute.get();
+            }
+
+            for (String id = feature.getCategoryId(); id != null; id = getParentCategoryId(id)) {
+                Optional<T> attribute = getAttributesForCategoryId(attributeGetter, id).findFirst();
+                if (attribute.isPresent()) {
+                    return attribute.get();
+                }
+            }
+
+            return attributeGetter.apply(DefaultMapAttributes.INSTANCE).get();
+        }
+
+        private ResolvedMapVisibility getResolvedMapVisibility(
+                MapFeature feature, Function<MapAttributes, Optional<MapVisibility>> attributeGetter) {
+            return new ResolvedMapVisibility(
+                    getVisibilityValue(feature, MapVisibility::getMin, attributeGetter),
+                    getVisibilityValue(feature, MapVisibility::getMax, attributeGetter),
+                    getVisibilityValue(feature, MapVisibility::getFade, attributeGetter));
+        }
+
+        private float getVisibilityValue(
+                MapFeature feature,
+                Function<MapVisibility, Optional<Float>> valueGetter,
+                Function<MapAttributes, Optional<MapVisibility>> attributeGetter) {
+            Optional<Float> featureValue = feature.getAttributes().flatMap(attributeGetter).flatMap(valueGetter);
+            if (featureValue.isPresent()) {
+                return featureValue.get();
+            }
+
+            for (String id = feature.getCategoryId(); id != null; id = getParentCategoryId(id)) {
+                Optional<Float> attribute = getAttributesForCategoryId(attributeGetter, id)
+                        .map(valueGetter)
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .findFirst();
+                if (attribute.isPresent()) {
+                    return attribute.get();
+                }
+            }
+
+            return valueGetter
+                    .apply(attributeGetter.apply(DefaultMapAttributes.INSTANCE).get())
+                    .get();
+        }
+
+        private <T> Stream<T> getAttributesForCategoryId(
+                Function<MapAttributes, Optional<T>> attributeGetter, String categoryId) {
+            return getCategoryDefinitions(categoryId)
+                    .map(MapCategory::getAttributes)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .map(attributeGetter)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get);
+        }
+
+        private static String getParentCategoryId(String categoryId) {
+            int index = categoryId.lastIndexOf(':');
+            if (index == -1) return null;
+            return categoryId.substring(0, index);
+        }
+    }
+
+    private record TestProvider(List<MapFeature> features, List<MapCategory> categories, List<MapIcon> icons)
+            implements MapDataProvider {
+        @Override
+        public Stream<MapFeature> getFeatures() {
+            return features.stream();
+        }
+
+        @Override
+        public Stream<MapCategory> getCategories() {
+            return categories.stream();
+        }
+
+        @Override
+        public Stream<MapIcon> getIcons() {
+            return icons.stream();
+        }
+    }
+
+    private record TestFeature(String featureId, String categoryId, MapAttributes attributes) implements MapFeature {
+        @Override
+        public String getFeatureId() {
+            return featureId;
+        }
+
+        @Override
+        public String getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public Optional<MapAttributes> getAttributes() {
+            return Optional.ofNullable(attributes);
+        }
+
+        @Override
+        public List<String> getTags() {
+            return List.of();
+        }
+    }
+
+    private record TestCategory(String categoryId, MapAttributes attributes) implements MapCategory {
+        @Override
+        public String getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public Optional<String> getName() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<MapAttributes> getAttributes() {
+            return Optional.ofNullable(attributes);
+        }
+    }
+
+    private record TestIcon(String iconId, int size) implements MapIcon {
+        @Override
+        public String getIconId() {
+            return iconId;
+        }
+
+        @Override
+        public ResourceLocation getResourceLocation() {
+            return null;
+        }
+
+        @Override
+        public int getWidth() {
+            return size;
+        }
+
+        @Override
+        public int getHeight() {
+            return size;
+        }
+    }
+
+    private static final class TestAttributes extends AbstractMapAttributes {
+        private String label;
+        private String iconId;
+        private Integer priority;
+        private CustomColor labelColor;
+        private MapVisibility iconVisibility;
+
+        private TestAttributes withLabel(String label) {
+            this.label = label;
+            return this;
+        }
+
+        private TestAttributes withIconId(String iconId) {
+            this.iconId = iconId;
+            return this;
+        }
+
+        private TestAttributes withPriority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        private TestAttributes withLabelColor(CustomColor labelColor) {
+            this.labelColor = labelColor;
+            return this;
+        }
+
+        private TestAttributes withIconVisibility(MapVisibility iconVisibility) {
+            this.iconVisibility = iconVisibility;
+            return this;
+        }
+
+        @Override
+        public Optional<String> getLabel() {
+            return Optional.ofNullable(label);
+        }
+
+        @Override
+        public Optional<String> getIconId() {
+            return Optional.ofNullable(iconId);
+        }
+
+        @Override
+        public Optional<Integer> getPriority() {
+            return Optional.ofNullable(priority);
+        }
+
+        @Override
+        public Optional<CustomColor> getLabelColor() {
+            return Optional.ofNullable(labelColor);
+        }
+
+        @Override
+        public Optional<MapVisibility> getIconVisibility() {
+            return Optional.ofNullable(iconVisibility);
+        }
+    }
+}
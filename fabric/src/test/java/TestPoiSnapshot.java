@@ -0,0 +1,190 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.wynntils.services.map.PoiSnapshot;
+import com.wynntils.services.map.pois.Poi;
+import com.wynntils.services.map.type.DisplayPriority;
+import com.wynntils.utils.mc.type.PoiLocation;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import net.minecraft.client.renderer.MultiBufferSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPoiSnapshot {
+    private static final int STATIC_POIS = 5000;
+    private static final int PLAYERS = 20;
+    private static final int FRAMES = 3000;
+    // 60 frames per second at 20 ticks per second
+    private static final int FRAMES_PER_TICK = 3;
+
+    @Test
+    public void update_onlyCollectsChangedSources() {
+        List<Poi> first = createPois("first", 3);
+        List<Poi> second = createPois("second", 2);
+        AtomicInteger firstVersion = new AtomicInteger();
+        AtomicInteger secondVersion = new AtomicInteger();
+        AtomicInteger secondCollections = new AtomicInteger();
+
+        PoiSnapshot snapshot = new PoiSnapshot()
+                .addSource(firstVersion::get, first::forEach)
+                .addSource(secondVersion::get, pois -> {
+                    secondCollections.incrementAndGet();
+                    second.forEach(pois);
+                });
+
+        snapshot.update();
+        List<Poi> pois = snapshot.getPois();
+        Assertions.assertEquals(
+                List.of(first.get(0), first.get(1), first.get(2), second.get(0), second.get(1)), pois);
+
+        first.remove(0);
+        firstVersion.incrementAndGet();
+        snapshot.update();
+
+        Assertions.assertSame(pois, snapshot.getPois());
+        Assertions.assertEquals(List.of(first.get(0), first.get(1), second.get(0), second.get(1)), pois);
+        Assertions.assertEquals(1, secondCollections.get());
+    }
+
+    @Test
+    public void update_keepsWrappersOfCollectedObjects() {
+        List<String> players = new ArrayList<>(List.of("a", "b", "c"));
+        AtomicInteger tick = new AtomicInteger();
+        PoiSnapshot snapshot = new PoiSnapshot().addWrappedSource(tick::get, players::forEach, TestPoi::new);
+
+        snapshot.update();
+        List<Poi> wrappers = List.copyOf(snapshot.getPois());
+
+        players.remove("b");
+        tick.incrementAndGet();
+        snapshot.update();
+        Assertions.assertEquals(List.of(wrappers.get(0), wrappers.get(2)), snapshot.getPois());
+
+        // A player that came back after a collection without it gets a new wrapper
+        players.add("b");
+        tick.incrementAndGet();
+        snapshot.update();
+        Assertions.assertSame(wrappers.get(0), snapshot.getPois().get(0));
+        Assertions.assertNotSame(wrappers.get(1), snapshot.getPois().get(2));
+        Assertions.assertEquals("b", snapshot.getPois().get(2).getName());
+    }
+
+    @Test
+    public void update_allocationsPerFrame() {
+        List<Poi> staticPois = createPois("static", STATIC_POIS);
+        List<String> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add("player" + i);
+        }
+
+        AtomicInteger tick = new AtomicInteger();
+        PoiSnapshot snapshot = new PoiSnapshot()
+                .addSource(() -> 0, staticPois::forEach)
+                .addWrappedSource(tick::get, players::forEach, TestPoi::new);
+
+        // Warm up both ways of collecting the pois, so only the steady state is measured
+        for (int frame = 0; frame < FRAMES; frame++) {
+            concatPois(staticPois, players);
+            snapshot.update();
+        }
+
+        long concatStart = allocatedBytes();
+        int concatSize = 0;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            concatSize += concatPois(staticPois, players).size();
+        }
+        long concatBytes = (allocatedBytes() - concatStart) / FRAMES;
+
+        long snapshotStart = allocatedBytes();
+        int snapshotSize = 0;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            if (frame % FRAMES_PER_TICK == 0) {
+                tick.incrementAndGet();
+            }
+            snapshot.update();
+            snapshotSize += snapshot.getPois().size();
+        }
+        long snapshotBytes = (allocatedBytes() - snapshotStart) / FRAMES;
+
+        String allocations = "Allocated per frame for " + (STATIC_POIS + PLAYERS) + " pois: concatenating streams "
+                + concatBytes + " bytes, snapshot " + snapshotBytes + " bytes";
+
+        Assertions.assertEquals(concatSize, snapshotSize, allocations);
+        Assertions.assertTrue(snapshotBytes * 100 < concatBytes, allocations);
+    }
+
+    // How the map used to collect its pois every frame
+    private static List<Poi> concatPois(List<Poi> staticPois, List<String> players) {
+        Stream<? extends Poi> pois = staticPois.stream();
+        pois = Stream.concat(pois, players.stream().map(TestPoi::new));
+        return List.of(pois.toArray(Poi[]::new));
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static List<Poi> createPois(String name, int count) {
+        List<Poi> pois = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pois.add(new TestPoi(name + i));
+        }
+        return pois;
+    }
+
+    private static final class TestPoi implements Poi {
+        private final String name;
+
+        private TestPoi(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public PoiLocation getLocation() {
+            return null;
+        }
+
+        @Override
+        public DisplayPriority getDisplayPriority() {
+            return DisplayPriority.NORMAL;
+        }
+
+        @Override
+        public boolean hasStaticLocation() {
+            return true;
+        }
+
+        @Override
+        public void renderAt(
+                PoseStack poseStack,
+                MultiBufferSource bufferSource,
+                float renderX,
+                float renderY,
+                boolean hovered,
+                float scale,
+                float zoomRenderScale,
+                float zoomLevel,
+                boolean showLabels) {}
+
+        @Override
+        public int getWidth(float mapZoom, float scale) {
+            return 0;
+        }
+
+        @Override
+        public int getHeight(float mapZoom, float scale) {
+            return 0;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.wynntils.services.itemrecord.SavedItemVault;
+import com.wynntils.services.itemrecord.type.SavedItem;
+import com.wynntils.services.itemrecord.type.SavedItemEntry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestSavedItemVault {
+    private static final int BENCHMARK_ITEMS = 10000;
+    private static final int BENCHMARK_RUNS = 10;
+    private static final String BASE64_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    // Items are read from the storage the same way the json manager does
+    private static final Gson STORAGE_GSON = new GsonBuilder()
+            .registerTypeAdapter(SavedItem.class, new SavedItem.SavedItemSerializer())
+            .create();
+    private static final TypeToken<TreeSet<SavedItem>> STORAGE_TYPE = new TypeToken<>() {};
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void put_indexesCategoriesInOrder() {
+        SavedItemVault vault = new SavedItemVault();
+        vault.put(new SavedItemEntry("c", Set.of("Weapons"), 1, 0, -1, false));
+        vault.put(new SavedItemEntry("a", Set.of("Weapons", "Favorites"), 1, 0, -1, false));
+        vault.put(new SavedItemEntry("b", Set.of("Armour"), 1, 0, -1, false));
+        vault.put(new SavedItemEntry("d", Set.of("Weapons"), 1, 0, -1, true));
+
+        Assertions.assertEquals(List.of("a", "c"), vault.getKeys("Weapons"));
+        Assertions.assertEquals(List.of("a", "b", "c"), vault.getKeys());
+        Assertions.assertEquals(List.of("c"), entryKeys(vault.getPage("Weapons", 1, 5)));
+
+        // Moving an item to another category replaces it in the index
+        vault.put(vault.get("a").withCategories(Set.of("Armour")));
+        Assertions.assertEquals(List.of("c"), vault.getKeys("Weapons"));
+        Assertions.assertEquals(List.of("a", "b"), vault.getKeys("Armour"));
+        Assertions.assertEquals(0, vault.size("Favorites"));
+
+        // Faulty items are kept, but not shown in any category
+        Assertions.assertTrue(vault.contains("d"));
+        Assertions.assertEquals(List.of("d"), entryKeys(vault.getFaultyEntries()));
+    }
+
+    @Test
+    public void read_replaysAppendedChanges() throws IOException {
+        SavedItemVault vault = new SavedItemVault();
+        vault.put(new SavedItemEntry("a", Set.of("Weapons"), 1, 2, 0xFF0000, false));
+        vault.put(new SavedItemEntry("b", Set.of("Weapons"), 1, 0, -1, false));
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        Assertions.assertTrue(vault.isRewriteNeeded());
+        vault.write(file);
+
+        vault.remove("b");
+        vault.put(new SavedItemEntry("c", Set.of("Armour", "Weapons"), 3, 0, -1, false));
+        Assertions.assertFalse(vault.isRewriteNeeded());
+        vault.appendPendingChanges(file);
+        Assertions.assertFalse(vault.hasPendingChanges());
+
+        SavedItemVault readVault = SavedItemVault.read(new ByteArrayInputStream(file.toByteArray()));
+        Assertions.assertFalse(readVault.isRewriteNeeded());
+        Assertions.assertEquals(List.of("a", "c"), readVault.getKeys("Weapons"));
+        Assertions.assertEquals(new SavedItemEntry("a", Set.of("Weapons"), 1, 2, 0xFF0000, false), readVault.get("a"));
+        Assertions.assertFalse(readVault.contains("b"));
+    }
+
+    @Test
+    public void read_dropsTruncatedRecord() throws IOException {
+        SavedItemVault vault = new SavedItemVault();
+        vault.put(new SavedItemEntry("a", Set.of("Weapons"), 1, 0, -1, false));
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        vault.write(file);
+        int completeSize = file.size();
+
+        vault.put(new SavedItemEntry("b", Set.of("Weapons"), 1, 0, -1, false));
+        vault.appendPendingChanges(file);
+
+        byte[] truncated = Arrays.copyOf(file.toByteArray(), completeSize + 3);
+        SavedItemVault readVault = SavedItemVault.read(new ByteArrayInputStream(truncated));
+
+        Assertions.assertEquals(List.of("a"), readVault.getKeys());
+        Assertions.assertTrue(readVault.isRewriteNeeded());
+    }
+
+    @Test
+    public void isRewriteNeeded_onceMostRecordsAreOutdated() throws IOException {
+        SavedItemVault vault = new SavedItemVault();
+        vault.put(new SavedItemEntry("a", Set.of("Weapons"), 1, 0, -1, false));
+        vault.write(new ByteArrayOutputStream());
+
+        for (int i = 0; i < 300; i++) {
+            vault.put(vault.get("a").withCategories(Set.of("Category " + i)));
+        }
+        Assertions.assertTrue(vault.isRewriteNeeded());
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        vault.write(file);
+        Assertions.assertFalse(vault.isRewriteNeeded());
+
+        SavedItemVault readVault = SavedItemVault.read(new ByteArrayInputStream(file.toByteArray()));
+        Assertions.assertEquals(List.of("a"), readVault.getKeys("Category 299"));
+    }
+
+    @Test
+    public void markRewriteNeeded_keepsChangesForNextWrite() throws IOException {
+        SavedItemVault vault = new SavedItemVault();
+        vault.put(new SavedItemEntry("a", Set.of("Weapons"), 1, 0, -1, false));
+        vault.write(new ByteArrayOutputStream());
+
+        // The written vault could not replace the file, so the file still has none of the items
+        vault.markRewriteNeeded();
+        Assertions.assertTrue(vault.isRewriteNeeded());
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        vault.write(file);
+        Assertions.assertFalse(vault.isRewriteNeeded());
+        SavedItemVault readVault = SavedItemVault.read(new ByteArrayInputStream(file.toByteArray()));
+        Assertions.assertEquals(List.of("a"), readVault.getKeys());
+    }
+
+    @Test
+    public void benchmark_loadAndSaveAtTenThousandItems() throws IOException {
+        List<SavedItemEntry> entries = createEntries(BENCHMARK_ITEMS);
+
+        SavedItemVault vault = new SavedItemVault();
+        entries.forEach(vault::put);
+        ByteArrayOutputStream vaultFile = new ByteArrayOutputStream();
+        vault.write(vaultFile);
+        byte[] vaultBytes = vaultFile.toByteArray();
+
+        String json = toStorageJson(entries);
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+
+        // Warm up both ways of loading the items
+        for (int i = 0; i < BENCHMARK_RUNS; i++) {
+            SavedItemVault.read(new ByteArrayInputStream(vaultBytes));
+            STORAGE_GSON.fromJson(json, STORAGE_TYPE);
+        }
+
+        long vaultStart = System.nanoTime();
+        SavedItemVault readVault = null;
+        for (int i = 0; i < BENCHMARK_RUNS; i++) {
+            readVault = SavedItemVault.read(new ByteArrayInputStream(vaultBytes));
+        }
+        long vaultMillis = (System.nanoTime() - vaultStart) / BENCHMARK_RUNS / 1_000_000;
+
+        // The storage creates the ItemStack of every item while loading, the vault only for the shown page
+        long storageStart = System.nanoTime();
+        TreeSet<SavedItem> storageItems = null;
+        for (int i = 0; i < BENCHMARK_RUNS; i++) {
+            storageItems = STORAGE_GSON.fromJson(json, STORAGE_TYPE);
+        }
+        long storageMillis = (System.nanoTime() - storageStart) / BENCHMARK_RUNS / 1_000_000;
+
+        long vaultMemory = retainedBytes(() -> SavedItemVault.read(new ByteArrayInputStream(vaultBytes)));
+        long storageMemory = retainedBytes(() -> STORAGE_GSON.fromJson(json, STORAGE_TYPE));
+
+        // Saving one new item appends it, instead of writing all items again
+        readVault.put(new SavedItemEntry("new item", Set.of("Uncategorized"), 1, 0, -1, false));
+        ByteArrayOutputStream appended = new ByteArrayOutputStream();
+        readVault.appendPendingChanges(appended);
+
+        String results = "Loading " + BENCHMARK_ITEMS + " saved items: vault " + vaultBytes.length + " bytes in "
+                + vaultMillis + " ms, retaining ~" + vaultMemory / 1024 + " KiB; storage json " + jsonBytes.length
+                + " bytes deserialised into SavedItems with ItemStacks in " + storageMillis + " ms, retaining ~"
+                + storageMemory / 1024 + " KiB; saving one item writes " + appended.size() + " bytes instead of "
+                + jsonBytes.length;
+
+        Assertions.assertEquals(BENCHMARK_ITEMS, readVault.size() - 1, results);
+        Assertions.assertEquals(BENCHMARK_ITEMS, storageItems.size(), results);
+        Assertions.assertTrue(vaultBytes.length < jsonBytes.length, results);
+        Assertions.assertTrue(appended.size() * 1000 < jsonBytes.length, results);
+    }
+
+    private static List<SavedItemEntry> createEntries(int count) {
+        Random random = new Random(1234);
+        List<SavedItemEntry> entries = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            // Encoded items with extended identifications and names are usually around 150 characters long
+            StringBuilder base64 = new StringBuilder();
+            for (int j = 0; j < 150; j++) {
+                base64.append(BASE64_CHARS.charAt(random.nextInt(BASE64_CHARS.length())));
+            }
+
+            Set<String> categories = random.nextInt(4) == 0
+                    ? Set.of("Uncategorized", "Category " + random.nextInt(20))
+                    : Set.of("Category " + random.nextInt(20));
+            // Item ids of actual items, so the storage can create their ItemStacks
+            entries.add(new SavedItemEntry(base64.toString(), categories, 1 + random.nextInt(1000), 0, -1, false));
+        }
+
+        return entries;
+    }
+
+    // The same items, as they were saved in the storage json
+    private static String toStorageJson(List<SavedItemEntry> entries) {
+        JsonArray items = new JsonArray();
+
+        for (SavedItemEntry entry : entries) {
+            JsonObject item = new JsonObject();
+            item.addProperty("base64", entry.base64());
+
+            JsonArray categories = new JsonArray();
+            entry.categories().forEach(categories::add);
+            item.add("categories", categories);
+
+            JsonObject itemStackInfo = new JsonObject();
+            itemStackInfo.addProperty("itemId", entry.itemId());
+            itemStackInfo.addProperty("damage", entry.damage());
+            itemStackInfo.addProperty("unbreakable", true);
+            itemStackInfo.addProperty("color", entry.color());
+            item.add("itemStackInfo", itemStackInfo);
+
+            items.add(item);
+        }
+
+        return items.toString();
+    }
+
+    private static long retainedBytes(ThrowingSupplier supplier) throws IOException {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        Object retained = supplier.get();
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        // Keep the result reachable until it was measured
+        Assertions.assertNotNull(retained);
+        return after - before;
+    }
+
+    private static List<String> entryKeys(List<SavedItemEntry> entries) {
+        return entries.stream().map(SavedItemEntry::base64).toList();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier {
+        Object get() throws IOException;
+    }
+}
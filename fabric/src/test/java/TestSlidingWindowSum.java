@@ -0,0 +1,105 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.SlidingWindowSum;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSlidingWindowSum {
+    private static final long WINDOW_MILLIS = 60_000L;
+    private static final double EPSILON = 1e-6;
+
+    private long now;
+
+    @Test
+    public void slidingWindowSum_matchesTimedSetOnDamageStream() {
+        Random random = new Random(1234);
+        SlidingWindowSum window = new SlidingWindowSum(60, TimeUnit.SECONDS, () -> now);
+        List<Sample> recorded = new ArrayList<>();
+
+        now = 1_000_000L;
+        for (int i = 0; i < 5000; i++) {
+            // Bursts of hits in the same millisecond, with occasional long pauses
+            now += random.nextInt(10) == 0 ? random.nextInt(30_000) : random.nextInt(50);
+
+            if (random.nextBoolean()) {
+                long damage = random.nextInt(100_000);
+                window.put(damage);
+                recorded.add(new Sample(now, damage));
+            }
+
+            Assertions.assertEquals(
+                    (long) expectedSum(recorded, 1000L),
+                    (long) window.getSum(1000L),
+                    "SlidingWindowSum#getSum(long) did not match the previous area damage per second");
+            Assertions.assertEquals(
+                    (long) expectedSum(recorded, 10_000L) / 10d,
+                    (long) window.getSum(10_000L) / 10d,
+                    "SlidingWindowSum#getSum(long) did not match the previous average area damage");
+        }
+    }
+
+    @Test
+    public void slidingWindowSum_matchesTimedSetOnXpStream() {
+        Random random = new Random(5678);
+        SlidingWindowSum window = new SlidingWindowSum(1, TimeUnit.MINUTES, () -> now);
+        List<Sample> recorded = new ArrayList<>();
+
+        now = 0L;
+        for (int i = 0; i < 5000; i++) {
+            now += random.nextInt(2000);
+
+            if (random.nextInt(3) == 0) {
+                float xp = random.nextFloat() * 500f;
+                window.put(xp);
+                recorded.add(new Sample(now, xp));
+            }
+
+            Assertions.assertEquals(
+                    expectedSum(recorded, WINDOW_MILLIS),
+                    window.getSum(),
+                    EPSILON,
+                    "SlidingWindowSum#getSum() did not match the previous xp per minute");
+            Assertions.assertEquals(
+                    expectedSize(recorded), window.size(), "SlidingWindowSum#size() did not match");
+        }
+    }
+
+    @Test
+    public void slidingWindowSum_keepsEqualSamplesAtSameTime() {
+        SlidingWindowSum window = new SlidingWindowSum(1, TimeUnit.SECONDS, () -> now);
+
+        now = 100L;
+        window.put(5);
+        window.put(5);
+
+        Assertions.assertEquals(10d, window.getSum(), "Equal samples added at the same time were merged");
+        Assertions.assertEquals(100L, window.getLastAddedTimestamp());
+
+        now = 1100L;
+        Assertions.assertEquals(0d, window.getSum(), "Samples did not expire after the window");
+        Assertions.assertEquals(0L, window.getLastAddedTimestamp());
+    }
+
+    // This is how the sums were computed from a TimedSet before
+    private double expectedSum(List<Sample> recorded, long millis) {
+        return recorded.stream()
+                .filter(sample -> now < sample.creation() + WINDOW_MILLIS)
+                .filter(sample -> (now - sample.creation()) <= millis)
+                .mapToDouble(Sample::value)
+                .sum();
+    }
+
+    private long expectedSize(List<Sample> recorded) {
+        return recorded.stream()
+                .filter(sample -> now < sample.creation() + WINDOW_MILLIS)
+                .count();
+    }
+
+    private record Sample(long creation, double value) {}
+}
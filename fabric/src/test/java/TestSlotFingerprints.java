@@ -0,0 +1,177 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.handlers.item.SlotFingerprints;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.ItemLore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestSlotFingerprints {
+    private static final int CONTAINER_ID = 3;
+    private static final int SLOTS = 6;
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void firstContent_comparesEverySlot() {
+        SimulatedContainer container = new SimulatedContainer(new SlotFingerprints());
+
+        Assertions.assertEquals(0, container.receive(CONTAINER_ID, createItems("Page 1")));
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5), container.comparedSlots);
+        Assertions.assertEquals("Page 1 item 4", container.getAnnotation(4));
+    }
+
+    @Test
+    public void resentContent_onlyComparesChangedSlots() {
+        SimulatedContainer container = new SimulatedContainer(new SlotFingerprints());
+        container.receive(CONTAINER_ID, createItems("Page 1"));
+
+        List<ItemStack> items = createItems("Page 1");
+        items.set(2, createItem("Page 2 item 2"));
+        container.comparedSlots.clear();
+
+        Assertions.assertEquals(5, container.receive(CONTAINER_ID, items));
+        Assertions.assertEquals(List.of(2), container.comparedSlots);
+        // Kept slots take over the annotation of the item they replace
+        Assertions.assertEquals("Page 1 item 1", container.getAnnotation(1));
+        Assertions.assertEquals("Page 2 item 2", container.getAnnotation(2));
+    }
+
+    @Test
+    public void collidingFingerprints_compareChangedItems() {
+        // Every item has the same fingerprint
+        SimulatedContainer container = new SimulatedContainer(new SlotFingerprints(itemStack -> 0L));
+        container.receive(CONTAINER_ID, createItems("Page 1"));
+
+        List<ItemStack> items = createItems("Page 1");
+        items.set(1, createItem("Page 2 item 1"));
+        items.set(3, createItem("Page 1 item 3").copyWithCount(2));
+        container.comparedSlots.clear();
+
+        Assertions.assertEquals(4, container.receive(CONTAINER_ID, items));
+        Assertions.assertEquals(List.of(1, 3), container.comparedSlots);
+        Assertions.assertEquals("Page 2 item 1", container.getAnnotation(1));
+    }
+
+    @Test
+    public void replacedItems_areCompared() {
+        SimulatedContainer container = new SimulatedContainer(new SlotFingerprints());
+        container.receive(CONTAINER_ID, createItems("Page 1"));
+
+        // The player moved an item on the client, so the slot holds another instance than the server sent
+        container.slots.set(4, createItem("Page 1 item 4"));
+        container.annotations.put(container.slots.get(4), "Moved item");
+        container.comparedSlots.clear();
+
+        Assertions.assertEquals(5, container.receive(CONTAINER_ID, createItems("Page 1")));
+        Assertions.assertEquals(List.of(4), container.comparedSlots);
+    }
+
+    @Test
+    public void itemsChangedAfterReceiving_areComparedAgain() {
+        SimulatedContainer container = new SimulatedContainer(new SlotFingerprints());
+        container.changedAfterReceiving.add(0);
+        container.receive(CONTAINER_ID, createItems("Page 1"));
+        container.comparedSlots.clear();
+
+        Assertions.assertEquals(5, container.receive(CONTAINER_ID, createItems("Page 1")));
+        Assertions.assertEquals(List.of(0), container.comparedSlots);
+    }
+
+    @Test
+    public void otherContainer_comparesEverySlot() {
+        SimulatedContainer container = new SimulatedContainer(new SlotFingerprints());
+        container.receive(CONTAINER_ID, createItems("Page 1"));
+        container.comparedSlots.clear();
+
+        Assertions.assertEquals(0, container.receive(CONTAINER_ID + 1, createItems("Page 1")));
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5), container.comparedSlots);
+    }
+
+    private static List<ItemStack> createItems(String page) {
+        List<ItemStack> items = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            items.add(createItem(page + " item " + i));
+        }
+        return items;
+    }
+
+    private static ItemStack createItem(String name) {
+        ItemStack itemStack = new ItemStack(Items.DIAMOND_AXE);
+        itemStack.set(DataComponents.CUSTOM_NAME, Component.literal(name));
+        itemStack.set(DataComponents.LORE, new ItemLore(List.of(Component.literal("Lore of " + name))));
+        return itemStack;
+    }
+
+    // Stands in for the item handler, annotating items with their name, and for the client, which replaces
+    // the items in its slots with the ones the server sent
+    private static final class SimulatedContainer {
+        private final SlotFingerprints fingerprints;
+        private final List<ItemStack> slots = new ArrayList<>();
+        private final Map<ItemStack, String> annotations = new IdentityHashMap<>();
+        private final List<Integer> comparedSlots = new ArrayList<>();
+        private final Set<Integer> changedAfterReceiving = new HashSet<>();
+        private List<ItemStack> receivedItems = List.of();
+
+        private SimulatedContainer(SlotFingerprints fingerprints) {
+            this.fingerprints = fingerprints;
+            for (int i = 0; i < SLOTS; i++) {
+                slots.add(ItemStack.EMPTY);
+            }
+        }
+
+        private int receive(int containerId, List<ItemStack> newItems) {
+            receivedItems = newItems;
+            int keptSlots = fingerprints.update(
+                    containerId,
+                    slots,
+                    newItems,
+                    (existingItem, newItem) ->
+                            annotations.containsKey(existingItem) && !annotations.containsKey(newItem),
+                    (existingItem, newItem) -> annotations.put(newItem, annotations.get(existingItem)),
+                    this::compare);
+
+            for (int i = 0; i < newItems.size(); i++) {
+                slots.set(i, newItems.get(i));
+            }
+            return keptSlots;
+        }
+
+        private boolean compare(ItemStack existingItem, ItemStack newItem) {
+            int slot = getReceivedSlot(newItem);
+            comparedSlots.add(slot);
+            annotations.put(newItem, newItem.getHoverName().getString());
+            return !changedAfterReceiving.contains(slot);
+        }
+
+        private int getReceivedSlot(ItemStack itemStack) {
+            // Item stacks are compared by identity, like the slots of a real container
+            for (int i = 0; i < receivedItems.size(); i++) {
+                if (receivedItems.get(i) == itemStack) return i;
+            }
+            return -1;
+        }
+
+        private String getAnnotation(int slot) {
+            return annotations.get(slots.get(slot));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.stats.StatCalculator;
+import com.wynntils.models.stats.builders.DamageStatBuilder;
+import com.wynntils.models.stats.builders.DefenceStatBuilder;
+import com.wynntils.models.stats.builders.MiscStatBuilder;
+import com.wynntils.models.stats.builders.SkillStatBuilder;
+import com.wynntils.models.stats.builders.SpellStatBuilder;
+import com.wynntils.models.stats.type.StatActualValue;
+import com.wynntils.models.stats.type.StatCalculationInfo;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.utils.type.RangedValue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestStatCalculator {
+    private static final int[] BASE_VALUES = {
+        -2500, -1000, -777, -500, -251, -150, -99, -60, -33, -17, -13, -9, -7, -5, -4, -3, -2, -1, 1, 2, 3, 4,
+        5, 7, 9, 13, 17, 33, 60, 99, 150, 251, 500, 777, 1000, 2500
+    };
+
+    @Test
+    public void statCalculator_rollTablesMatchFormulas() {
+        List<StatType> statTypes = new ArrayList<>();
+        new SkillStatBuilder().buildStats(statTypes::add);
+        new MiscStatBuilder().buildStats(statTypes::add);
+        new DefenceStatBuilder().buildStats(statTypes::add);
+        new DamageStatBuilder().buildStats(statTypes::add);
+        new SpellStatBuilder().buildStats(statTypes::add);
+
+        for (StatType statType : statTypes) {
+            for (int baseValue : BASE_VALUES) {
+                assertMatchesFormulas(statType, baseValue);
+            }
+        }
+    }
+
+    private static void assertMatchesFormulas(StatType statType, int baseValue) {
+        String name = statType.getApiName() + " with base value " + baseValue;
+        RangedValue range = StatCalculator.calculatePossibleValuesRange(baseValue, false, statType);
+        StatPossibleValues possibleValues = new StatPossibleValues(statType, range, baseValue, false);
+
+        for (int internalRoll = 0; internalRoll <= 150; internalRoll++) {
+            Assertions.assertEquals(
+                    calculateStatValue(internalRoll, possibleValues),
+                    StatCalculator.calculateStatValue(internalRoll, possibleValues),
+                    name + " has a different value for roll " + internalRoll);
+            Assertions.assertEquals(
+                    calculateStarsFromInternalRoll(statType, baseValue, internalRoll),
+                    StatCalculator.calculateStarsFromInternalRoll(statType, baseValue, internalRoll),
+                    name + " has different stars for roll " + internalRoll);
+        }
+
+        for (int value = range.low() - 2; value <= range.high() + 2; value++) {
+            for (int stars = -1; stars <= 3; stars++) {
+                RangedValue internalRoll = calculateInternalRollRange(possibleValues, value, stars);
+                Assertions.assertEquals(
+                        internalRoll,
+                        StatCalculator.calculateInternalRollRange(possibleValues, value, stars),
+                        name + " has a different internal roll range for " + value + " with " + stars + " stars");
+
+                if (range.isFixed()) continue;
+
+                StatActualValue actualValue = new StatActualValue(statType, value, stars, internalRoll);
+                Assertions.assertEquals(
+                        getIncreaseChance(actualValue, possibleValues),
+                        StatCalculator.getIncreaseChance(actualValue, possibleValues),
+                        name + " has a different increase chance for " + value);
+                Assertions.assertEquals(
+                        getDecreaseChance(actualValue, possibleValues),
+                        StatCalculator.getDecreaseChance(actualValue, possibleValues),
+                        name + " has a different decrease chance for " + value);
+            }
+        }
+
+        Assertions.assertEquals(
+                getPerfectChance(possibleValues),
+                StatCalculator.getPerfectChance(possibleValues),
+                name + " has a different perfect chance");
+    }
+
+    // The formulas below are the ones StatCalculator used before it had roll tables
+
+    private static RangedValue calculateInternalRollRange(StatPossibleValues possibleValues, int value, int stars) {
+        int baseValue = possibleValues.baseValue();
+        if (possibleValues.statType().calculateAsInverted()) {
+            baseValue = -baseValue;
+            value = -value;
+        }
+
+        StatCalculationInfo statCalculationInfo =
+                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+
+        double lowerRawRollBound = (value * 100 - 50) / ((double) baseValue);
+        double higherRawRollBound = (value * 100 + 49) / ((double) baseValue);
+
+        if (baseValue < 0) {
+            double temp = lowerRawRollBound;
+            lowerRawRollBound = higherRawRollBound;
+            higherRawRollBound = temp;
+        }
+
+        int starMin = statCalculationInfo.range().low();
+        int starMax = statCalculationInfo.range().high();
+
+        if (stars != -1 && statCalculationInfo.starInternalRollRanges().size() > stars) {
+            RangedValue rangedValue =
+                    statCalculationInfo.starInternalRollRanges().get(stars);
+            starMin = rangedValue.low();
+            starMax = rangedValue.high();
+        }
+
+        int lowerRollBound = (int) Math.max(Math.ceil(lowerRawRollBound), starMin);
+        int higherRollBound = (int) Math.max(lowerRollBound, Math.min(Math.floor(higherRawRollBound), starMax));
+
+        return RangedValue.of(lowerRollBound, higherRollBound);
+    }
+
+    private static int calculateStarsFromInternalRoll(StatType statType, int baseValue, int internalRoll) {
+        StatCalculationInfo statCalculationInfo = statType.getStatCalculationInfo(baseValue);
+
+        if (baseValue < 0 && statType.treatAsInverted()) {
+            statCalculationInfo = statType.getStatCalculationInfo(-baseValue);
+        }
+
+        for (int stars = 0; stars < statCalculationInfo.starInternalRollRanges().size(); stars++) {
+            RangedValue rangedValue =
+                    statCalculationInfo.starInternalRollRanges().get(stars);
+            if (rangedValue.inRange(internalRoll)) {
+                return stars;
+            }
+        }
+
+        return 0;
+    }
+
+    private static int calculateStatValue(int internalRoll, StatPossibleValues possibleValues) {
+        StatCalculationInfo statCalculationInfo =
+                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+        RoundingMode roundingMode = statCalculationInfo.roundingMode();
+
+        int value = new BigDecimal(possibleValues.baseValue())
+                .multiply(BigDecimal.valueOf(internalRoll))
+                .divide(BigDecimal.valueOf(100), roundingMode)
+                .setScale(0, roundingMode)
+                .intValue();
+
+        if (value == 0) {
+            value = (int) Math.signum(possibleValues.baseValue());
+        }
+
+        return value;
+    }
+
+    private static double getPerfectChance(StatPossibleValues possibleValues) {
+        StatCalculationInfo statCalculationInfo =
+                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+        boolean treatAsNegative = possibleValues.statType().treatAsInverted();
+
+        int allCases =
+                statCalculationInfo.range().high() - statCalculationInfo.range().low() + 1;
+
+        RangedValue perfectInternalRollRange = calculateInternalRollRange(
+                possibleValues,
+                treatAsNegative
+                        ? possibleValues.range().low()
+                        : possibleValues.range().high(),
+                -1);
+        int perfectCases = perfectInternalRollRange.high() - perfectInternalRollRange.low() + 1;
+
+        return ((double) perfectCases) / allCases * 100;
+    }
+
+    private static double getDecreaseChance(StatActualValue actualValue, StatPossibleValues possibleValues) {
+        StatCalculationInfo statCalculationInfo =
+                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+        boolean treatAsNegative = possibleValues.statType().treatAsInverted();
+        RangedValue internalRollRange = actualValue.internalRoll();
+
+        int allCases =
+                statCalculationInfo.range().high() - statCalculationInfo.range().low() + 1;
+        int decreaseCases = treatAsNegative
+                ? statCalculationInfo.range().high() - internalRollRange.high()
+                : internalRollRange.low() - statCalculationInfo.range().low();
+
+        return ((double) decreaseCases) / allCases * 100;
+    }
+
+    private static double getIncreaseChance(StatActualValue actualValue, StatPossibleValues possibleValues) {
+        StatCalculationInfo statCalculationInfo =
+                possibleValues.statType().getStatCalculationInfo(possibleValues.baseValue());
+        boolean treatAsNegative = possibleValues.statType().treatAsInverted();
+        RangedValue internalRollRange = actualValue.internalRoll();
+
+        int allCases =
+                statCalculationInfo.range().high() - statCalculationInfo.range().low() + 1;
+        int increaseCases = treatAsNegative
+                ? internalRollRange.low() - statCalculationInfo.range().low()
+                : statCalculationInfo.range().high() - internalRollRange.high();
+
+        return ((double) increaseCases) / allCases * 100;
+    }
+}
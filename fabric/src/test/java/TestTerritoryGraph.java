@@ -0,0 +1,54 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.territories.TerritoryGraph;
+import com.wynntils.models.territories.TerritoryInfo;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestTerritoryGraph {
+    @Test
+    public void territoryGraph_deduplicatesRoutes() {
+        TerritoryGraph graph = TerritoryGraph.build(Map.of(
+                "Ragni", territory("Detlas", "Nemract"),
+                "Detlas", territory("Ragni"),
+                // Wynn sometimes only lists a route in one of the territories
+                "Nemract", territory(),
+                "Nesaak", territory("Unknown Territory")));
+
+        Assertions.assertEquals(4, graph.size());
+        Assertions.assertEquals(2, graph.getEdgeCount(), "Routes were not deduplicated");
+        Assertions.assertEquals(-1, graph.getId("Unknown Territory"));
+    }
+
+    @Test
+    public void territoryGraph_calculatesHeadquartersDistances() {
+        TerritoryGraph graph = TerritoryGraph.build(Map.of(
+                "A", territory("B"),
+                "B", territory("C"),
+                "C", territory("D"),
+                "D", territory(),
+                "E", territory("A")));
+
+        // D is only reachable through C, which is not one of ours
+        int[] distances = graph.getHeadquartersDistances(List.of("A", "B", "D", "E"), "A");
+
+        Assertions.assertEquals(0, distances[graph.getId("A")]);
+        Assertions.assertEquals(1, distances[graph.getId("B")]);
+        Assertions.assertEquals(1, distances[graph.getId("E")]);
+        Assertions.assertEquals(TerritoryGraph.NOT_CONNECTED, distances[graph.getId("C")]);
+        Assertions.assertEquals(TerritoryGraph.NOT_CONNECTED, distances[graph.getId("D")]);
+    }
+
+    private static TerritoryInfo territory(String... tradingRoutes) {
+        String[] raw = Arrays.stream(tradingRoutes).map(route -> "- " + route).toArray(String[]::new);
+        StyledText[] colored = Arrays.stream(raw).map(StyledText::fromString).toArray(StyledText[]::new);
+
+        return new TerritoryInfo(raw, colored, false);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.players.UserLookupBatcher;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestUserLookupBatcher {
+    // The same values the player model uses
+    private static final int WINDOW_TICKS = 10;
+    private static final int MAX_LOOKUPS_PER_BATCH = 8;
+
+    // Athena answers a lookup this many ticks after it was sent
+    private static final int RESPONSE_TICKS = 3;
+
+    @Test
+    public void surge_isSpreadOverBatchWindows() {
+        StubAthena athena = new StubAthena();
+
+        // 30 players join within the first 5 ticks, and most of them are seen twice
+        List<UUID> players = createPlayers(30);
+        for (int i = 0; i < players.size(); i++) {
+            athena.runUntil(i / 6);
+            athena.batcher.request(players.get(i), "Player" + i);
+            athena.batcher.request(players.get(i), "Player" + i);
+        }
+        athena.runUntil(100);
+
+        // One batch per window, starting one window after the first join
+        Assertions.assertEquals(
+                Map.of(10, 8, 20, 8, 30, 8, 40, 6), athena.requestsPerTick(), "Requests per tick of the surge");
+        Assertions.assertEquals(30, athena.requests.size());
+        Assertions.assertEquals(30, Set.copyOf(athena.requests).size(), "A user was looked up twice");
+    }
+
+    @Test
+    public void duplicateRequests_areCoalesced() {
+        StubAthena athena = new StubAthena();
+        UUID player = UUID.randomUUID();
+
+        // The same player is seen again while its lookup is queued, and while it is sent
+        athena.batcher.request(player, "Player");
+        athena.runUntil(5);
+        athena.batcher.request(player, "Player");
+        athena.runUntil(11);
+        athena.batcher.request(player, "Player");
+        athena.runUntil(100);
+
+        Assertions.assertEquals(List.of(player), athena.requests);
+    }
+
+    @Test
+    public void knownUsers_areNotLookedUpAgain() {
+        StubAthena athena = new StubAthena();
+        List<UUID> players = createPlayers(12);
+
+        // Users from the persisted lookup cache
+        athena.known.addAll(players.subList(0, 4));
+
+        players.forEach(player -> athena.batcher.request(player, "Player"));
+        athena.runUntil(100);
+        Assertions.assertEquals(8, athena.requests.size());
+        Assertions.assertTrue(athena.requests.stream().noneMatch(players.subList(0, 4)::contains));
+
+        // Joining another world shows the same players again
+        athena.requests.clear();
+        players.forEach(player -> athena.batcher.request(player, "Player"));
+        athena.runUntil(200);
+        Assertions.assertEquals(List.of(), athena.requests, "Looked up users were looked up again");
+    }
+
+    @Test
+    public void usersResolvedWhileQueued_areSkipped() {
+        StubAthena athena = new StubAthena();
+        List<UUID> players = createPlayers(10);
+
+        players.forEach(player -> athena.batcher.request(player, "Player"));
+        // The last two players become known before their batch is sent
+        athena.runUntil(15);
+        athena.known.addAll(players.subList(8, 10));
+        athena.runUntil(100);
+
+        Assertions.assertEquals(players.subList(0, 8), athena.requests);
+    }
+
+    private static List<UUID> createPlayers(int count) {
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new UUID(0x4000L, i));
+        }
+        return players;
+    }
+
+    // Stands in for the tick scheduler and for Athena, counting the lookups that are sent
+    private static final class StubAthena {
+        private final PriorityQueue<ScheduledTask> tasks = new PriorityQueue<>();
+        private final Set<UUID> known = new HashSet<>();
+        private final Set<UUID> fetching = new HashSet<>();
+        private final List<UUID> requests = new ArrayList<>();
+        private final List<Integer> requestTicks = new ArrayList<>();
+        private final UserLookupBatcher batcher = new UserLookupBatcher(
+                WINDOW_TICKS,
+                MAX_LOOKUPS_PER_BATCH,
+                this::schedule,
+                uuid -> known.contains(uuid) || fetching.contains(uuid),
+                this::lookup);
+        private int tick = 0;
+        private int taskCount = 0;
+
+        private void schedule(Runnable task, int ticks) {
+            tasks.add(new ScheduledTask(tick + ticks, taskCount++, task));
+        }
+
+        private void lookup(UUID uuid, String userName) {
+            requests.add(uuid);
+            requestTicks.add(tick);
+            fetching.add(uuid);
+
+            schedule(
+                    () -> {
+                        fetching.remove(uuid);
+                        known.add(uuid);
+                    },
+                    RESPONSE_TICKS);
+        }
+
+        private void runUntil(int untilTick) {
+            while (!tasks.isEmpty() && tasks.peek().tick() <= untilTick) {
+                ScheduledTask task = tasks.poll();
+                tick = task.tick();
+                task.task().run();
+            }
+            tick = untilTick;
+        }
+
+        private Map<Integer, Integer> requestsPerTick() {
+            Map<Integer, Integer> result = new TreeMap<>();
+            requestTicks.forEach(requestTick -> result.merge(requestTick, 1, Integer::sum));
+            return result;
+        }
+    }
+
+    private record ScheduledTask(int tick, int order, Runnable task) implements Comparable<ScheduledTask> {
+        @Override
+        public int compareTo(ScheduledTask other) {
+            return tick != other.tick ? Integer.compare(tick, other.tick) : Integer.compare(order, other.order);
+        }
+    }
+}
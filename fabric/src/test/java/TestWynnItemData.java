@@ -0,0 +1,131 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.items.ItemDataKey;
+import com.wynntils.models.items.WynnItemData;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestWynnItemData {
+    private static final int BENCHMARK_ITEMS = 20000;
+    // Like a decorated inventory item: item stack, tooltip, searched, favorite, highlight and overlay
+    private static final int BENCHMARK_VALUES = 6;
+
+    @Test
+    public void wynnItemData_cachesNullValues() {
+        ItemDataKey<String> key = ItemDataKey.create("testNull");
+        WynnItemData data = new WynnItemData();
+        int[] calculations = {0};
+
+        Assertions.assertFalse(data.has(key));
+        for (int i = 0; i < 3; i++) {
+            data.getOrCalculate(key, () -> {
+                calculations[0]++;
+                return null;
+            });
+        }
+
+        Assertions.assertTrue(data.has(key), "A null value was not cached");
+        Assertions.assertEquals(1, calculations[0], "A cached null value was calculated again");
+    }
+
+    @Test
+    public void wynnItemData_invalidatesKeyOnEveryItem() {
+        ItemDataKey<Integer> key = ItemDataKey.create("testInvalidate");
+        ItemDataKey<Integer> otherKey = ItemDataKey.create("testOther");
+        WynnItemData first = new WynnItemData();
+        WynnItemData second = new WynnItemData();
+
+        first.store(key, 1);
+        second.store(key, 2);
+        first.store(otherKey, 3);
+
+        key.invalidate();
+
+        Assertions.assertFalse(first.has(key), "Invalidated value is still valid");
+        Assertions.assertFalse(second.has(key), "Invalidated value is still valid");
+        Assertions.assertEquals(3, first.get(otherKey), "Invalidating a key affected another key");
+        Assertions.assertEquals(4, first.getOrCalculate(key, () -> 4), "Invalidated value was not recalculated");
+    }
+
+    @Test
+    public void wynnItemData_acceptsKeysCreatedLater() {
+        WynnItemData data = new WynnItemData();
+        ItemDataKey<String> lateKey = ItemDataKey.create("testLate");
+
+        Assertions.assertNull(data.get(lateKey));
+        data.store(lateKey, "value");
+        Assertions.assertEquals("value", data.get(lateKey));
+
+        data.clearAll();
+        Assertions.assertFalse(data.has(lateKey), "clearAll() did not clear the value");
+    }
+
+    @Test
+    public void wynnItemData_clearsKeyOnOneItem() {
+        ItemDataKey<Integer> key = ItemDataKey.create("testClear");
+        WynnItemData first = new WynnItemData();
+        WynnItemData second = new WynnItemData();
+
+        first.store(key, 1);
+        second.store(key, 2);
+
+        first.clear(key);
+
+        Assertions.assertFalse(first.has(key), "Cleared value is still valid");
+        Assertions.assertEquals(2, second.get(key), "Clearing a key affected another item");
+    }
+
+    @Test
+    public void benchmark_heapOfTwentyThousandItems() {
+        List<ItemDataKey<Object>> keys = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_VALUES; i++) {
+            keys.add(ItemDataKey.create("testHeap" + i));
+        }
+        // The values are shared, so only the data structures are measured
+        Object value = new Object();
+
+        long before = usedHeap();
+        List<Map<String, Object>> maps = new ArrayList<>(BENCHMARK_ITEMS);
+        for (int i = 0; i < BENCHMARK_ITEMS; i++) {
+            // How WynnItemData stored its values before it used slots
+            Map<String, Object> map = new HashMap<>();
+            for (ItemDataKey<Object> key : keys) {
+                map.put(key.getName(), value);
+            }
+            maps.add(map);
+        }
+        long mapBytes = (usedHeap() - before) / BENCHMARK_ITEMS;
+
+        before = usedHeap();
+        List<WynnItemData> items = new ArrayList<>(BENCHMARK_ITEMS);
+        for (int i = 0; i < BENCHMARK_ITEMS; i++) {
+            WynnItemData data = new WynnItemData();
+            for (ItemDataKey<Object> key : keys) {
+                data.store(key, value);
+            }
+            items.add(data);
+        }
+        long slotBytes = (usedHeap() - before) / BENCHMARK_ITEMS;
+
+        Assertions.assertEquals(BENCHMARK_ITEMS, maps.size());
+        Assertions.assertTrue(
+                slotBytes < mapBytes,
+                "Heap per item with " + BENCHMARK_VALUES + " values: " + mapBytes + " bytes with a HashMap, "
+                        + slotBytes + " bytes with slots");
+        Assertions.assertEquals(BENCHMARK_ITEMS, items.size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
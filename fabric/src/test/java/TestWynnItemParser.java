@@ -0,0 +1,547 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.character.type.ClassType;
+import com.wynntils.models.elements.type.Element;
+import com.wynntils.models.elements.type.Powder;
+import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.gear.type.GearAttackSpeed;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.SetInfo;
+import com.wynntils.models.gear.type.SetInstance;
+import com.wynntils.models.stats.StatModel;
+import com.wynntils.models.stats.type.DamageType;
+import com.wynntils.models.stats.type.ShinyStat;
+import com.wynntils.models.stats.type.ShinyStatType;
+import com.wynntils.models.stats.type.StatActualValue;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.models.stats.type.StatUnit;
+import com.wynntils.models.wynnitem.parsing.LoreLineParseResult;
+import com.wynntils.models.wynnitem.parsing.WynnItemLookup;
+import com.wynntils.models.wynnitem.parsing.WynnItemParseResult;
+import com.wynntils.models.wynnitem.parsing.WynnItemParser;
+import com.wynntils.models.wynnitem.type.ConsumableEffect;
+import com.wynntils.models.wynnitem.type.NamedItemEffect;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestWynnItemParser {
+    // The patterns parseItemStack tried one after another before it used parseLoreLine,
+    // and whether they were matched against the coded or the normalized line
+    private static final List<String> LINE_PATTERNS = List.of(
+            "POWDER_PATTERN",
+            "TIER_AND_REROLL_PATTERN",
+            "HEALTH_PATTERN",
+            "ITEM_ATTACK_SPEED_PATTERN",
+            "ITEM_DAMAGE_PATTERN",
+            "ITEM_DEFENCE_PATTERN",
+            "MIN_LEVEL_PATTERN",
+            "CLASS_REQ_PATTERN",
+            "SKILL_REQ_PATTERN",
+            "QUEST_REQ_PATTERN",
+            "MISC_REQ_PATTERN",
+            "SET_PATTERN",
+            "SET_ITEM_PATTERN",
+            "SET_BONUS_PATTERN",
+            "EFFECT_HEADER_PATTERN");
+    private static final List<String> CODED_LINE_PATTERNS =
+            List.of("ITEM_ATTACK_SPEED_PATTERN", "ITEM_DAMAGE_PATTERN", "ITEM_DEFENCE_PATTERN");
+
+    private static final List<String> CAPTURED_LORE = List.of(
+            "§5Mythic Item",
+            "§bLegendary Item",
+            "§dRare Item [2]",
+            "§aSet Item",
+            "§fNormal Item",
+            "§3Crafted Wand§8 [134/137 Durability]",
+            "§3Crafted by player_name§8 [177/177 Durability]",
+            "§7Normal Attack Speed",
+            "§7Super Fast Attack Speed",
+            "§6✣ Neutral Damage: 55-68",
+            "§e✦ Thunder Damage: 20-40",
+            "§b❉ Water Damage: 5-9",
+            "§e✦ Thunder§7 Defence: +56",
+            "§c✹ Fire§7 Defence: -20",
+            "§4❤ Health: +2000",
+            "§4❤ Health: -150",
+            "§a✔§7 Class Req: Shaman/Skyseer",
+            "§c✖§7 Class Req: Shaman/Skyseer§r",
+            "§a✔§7 Combat Lv. Min: 35",
+            "§c✖§7 Combat Lv. Min: 65",
+            "§a✔§7 Intelligence Min: 38",
+            "§c✖§7 Agility Min: 70",
+            "§a✔§7 Quest Req: The Qira Hive",
+            "§c✖§7 Quest Req: Realm of Light V - The Realm of Light",
+            "§a✔§7 Guild Rank Req: Chief",
+            "§a+10% §7Health Regen",
+            "§a+5%§2* §7XP Bonus",
+            "§a+5/5s §7Mana Regen",
+            "§a+42 §7Water Spell Damage",
+            "§a+1 tier§2* §7Attack Speed",
+            "§a+16%§2*** §7XP Bonus",
+            "§c-28000§4 to §c-52000%§7 Spell Damage",
+            "§a+12§2 to §a52%§7 Main Attack Damage",
+            "§c-280§4 to §c-520§7 {sp1} Cost",
+            "§a+291/3s§2** §7Life Steal",
+            "§c-28% §7Soul Point Regen",
+            "§a+18%§8/18% §7Main Attack Damage",
+            "§7[0/1] Powder Slots",
+            "§7[1/1] Powder Slots [§r§c✹§r§7]",
+            "§7[3/3] Powder Slots [§r§2✤ §r§c✹ §r§b❉§r§7]",
+            "§f⬡ §7Raids Won: §f297",
+            "§f⬡ §7Mobs Killed: §f0",
+            "§f⬡ §7: §f0",
+            "§aMorph Set §7(3/8)",
+            "§a- §2Morph-Emerald",
+            "§7- §8Morph-Iron",
+            "§aSet Bonus:",
+            "§a+10% §7Walk Speed",
+            "§6Effect:",
+            "§6- §7Effect: §f20% XP",
+            "§6- §7Heal: §f+120§7 HP",
+            "§6- §7Duration: §f180 §7Seconds",
+            "§5- §7Mana: §f+20",
+            "§8A broken sword, forged in the fires of the Molten Heights.",
+            "§7Item Lv. 95",
+            "§6Unidentified Item",
+            "§7Untradable Item",
+            "");
+
+    private static final String[] STAT_NAMES = {
+        "Health Regen", "Mana Regen", "Life Steal", "XP Bonus", "Loot Bonus", "Walk Speed", "Main Attack Damage"
+    };
+    private static final String[] SKILLS = {"Strength", "Dexterity", "Intelligence", "Defence", "Agility"};
+
+    // The game data the golden items are parsed against, in place of the downloaded data of the models
+    private static final StatModel STATS = new StatModel();
+    private static final SetInfo MORPH_SET = new SetInfo(
+            "Morph",
+            List.of(),
+            List.of("Morph-Stardust", "Morph-Steel", "Morph-Iron", "Morph-Gold", "Morph-Topaz", "Morph-Emerald"));
+    private static final ShinyStatType RAIDS_WON = new ShinyStatType(1, "raidsWon", "Raids Won", StatUnit.RAW);
+    private static final WynnItemLookup LOOKUP = new WynnItemLookup() {
+        @Override
+        public StatType getStatType(String displayName, String unit) {
+            return STATS.fromDisplayName(displayName, unit);
+        }
+
+        @Override
+        public SetInfo getSetInfo(String setName) {
+            return setName.equals(MORPH_SET.name()) ? MORPH_SET : null;
+        }
+
+        @Override
+        public ShinyStatType getShinyStatType(String displayName) {
+            return displayName.equals(RAIDS_WON.displayName()) ? RAIDS_WON : ShinyStatType.UNKNOWN;
+        }
+    };
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void parseLore_gear() {
+        WynnItemParseResult result = parseLore(
+                null,
+                "§7Fast Attack Speed",
+                "",
+                "§6✣ Neutral Damage: 55-68",
+                "§e✦ Thunder Damage: 20-40",
+                "",
+                "§e✦ Thunder§7 Defence: +56",
+                "§4❤ Health: +2000",
+                "",
+                "§a✔§7 Class Req: Shaman/Skyseer",
+                "§c✖§7 Combat Lv. Min: 65",
+                "§a✔§7 Intelligence Min: 38",
+                "§a✔§7 Quest Req: The Qira Hive",
+                "",
+                "§a+10% §7Health Regen",
+                "§a+5%§2** §7XP Bonus",
+                "§c-3/5s §7Mana Regen",
+                "",
+                "§7[2/3] Powder Slots [§c✹ §b❉§7]",
+                "§f⬡ §7Raids Won: §f297",
+                "§bLegendary Wand [2]");
+
+        WynnItemParseResult expected = new WynnItemParseResult(
+                GearTier.LEGENDARY,
+                "Wand",
+                2000,
+                65,
+                GearAttackSpeed.FAST,
+                List.of(
+                        Pair.of(DamageType.NEUTRAL, RangedValue.of(55, 68)),
+                        Pair.of(DamageType.THUNDER, RangedValue.of(20, 40))),
+                List.of(Pair.of(Element.THUNDER, 56)),
+                new GearRequirements(
+                        65,
+                        Optional.of(ClassType.SHAMAN),
+                        List.of(Pair.of(Skill.INTELLIGENCE, 38)),
+                        Optional.of("The Qira Hive")),
+                List.of(
+                        identification("Health Regen", "%", 10, 0),
+                        identification("XP Bonus", "%", 5, 2),
+                        identification("Mana Regen", "/5s", -3, 0)),
+                List.of(),
+                List.of(),
+                List.of(Powder.FIRE, Powder.WATER),
+                3,
+                2,
+                2,
+                0,
+                Optional.of(new ShinyStat(RAIDS_WON, 297)),
+                false,
+                Optional.of(new SetInstance(null, Map.of(), 0, Map.of())));
+        Assertions.assertEquals(expected, result);
+    }
+
+    @Test
+    public void parseLore_setItem() {
+        WynnItemParseResult result = parseLore(
+                null,
+                "§a✔§7 Combat Lv. Min: 60",
+                "",
+                "§a+12% §7XP Bonus",
+                "",
+                "§aMorph Set §7(3/6)",
+                "§a- §2Morph-Emerald",
+                "§7- §8Morph-Iron",
+                "§a- §2Morph-Gold",
+                "",
+                "§aSet Bonus:",
+                "§a+10% §7Walk Speed",
+                "§a+3/5s §7Mana Regen",
+                "",
+                "§aSet Boots");
+
+        WynnItemParseResult expected = new WynnItemParseResult(
+                GearTier.SET,
+                "Boots",
+                0,
+                60,
+                null,
+                List.of(),
+                List.of(),
+                new GearRequirements(60, Optional.empty(), List.of(), Optional.empty()),
+                List.of(identification("XP Bonus", "%", 12, 0)),
+                List.of(),
+                List.of(),
+                List.of(),
+                0,
+                0,
+                0,
+                0,
+                Optional.empty(),
+                true,
+                Optional.of(new SetInstance(
+                        MORPH_SET,
+                        Map.of("Morph-Emerald", true, "Morph-Iron", false, "Morph-Gold", true),
+                        3,
+                        Map.of(statType("Walk Speed", "%"), 10, statType("Mana Regen", "/5s"), 3))));
+        Assertions.assertEquals(expected, result);
+    }
+
+    @Test
+    public void parseLore_consumable() {
+        WynnItemParseResult result = parseLore(
+                null,
+                "§6Effect:",
+                "§6- §7Heal: §f+120§7 HP",
+                "§6- §7Mana: §f+20",
+                "§6- §7Duration: §f180 §7Seconds",
+                "",
+                "§a✔§7 Combat Lv. Min: 5",
+                "§7Untradable Item");
+
+        WynnItemParseResult expected = new WynnItemParseResult(
+                null,
+                "",
+                0,
+                5,
+                null,
+                List.of(),
+                List.of(),
+                new GearRequirements(5, Optional.empty(), List.of(), Optional.empty()),
+                List.of(),
+                List.of(
+                        new NamedItemEffect(ConsumableEffect.HEAL, 120),
+                        new NamedItemEffect(ConsumableEffect.MANA, 20),
+                        new NamedItemEffect(ConsumableEffect.DURATION, 180)),
+                List.of(),
+                List.of(),
+                0,
+                0,
+                0,
+                0,
+                Optional.empty(),
+                true,
+                Optional.of(new SetInstance(null, Map.of(), 0, Map.of())));
+        Assertions.assertEquals(expected, result);
+    }
+
+    @Test
+    public void parseLore_craftedGear() {
+        Map<StatType, StatPossibleValues> possibleValuesMap = new HashMap<>();
+        WynnItemParseResult result = parseLore(
+                possibleValuesMap,
+                "§3Crafted Wand§8 [134/137 Durability]",
+                "",
+                "§a+18%§8/18% §7Main Attack Damage",
+                "§7[0/2] Powder Slots");
+
+        WynnItemParseResult expected = new WynnItemParseResult(
+                GearTier.CRAFTED,
+                "Wand",
+                0,
+                0,
+                null,
+                List.of(),
+                List.of(),
+                new GearRequirements(0, Optional.empty(), List.of(), Optional.empty()),
+                List.of(identification("Main Attack Damage", "%", 18, 0)),
+                List.of(),
+                List.of(),
+                List.of(),
+                2,
+                134,
+                134,
+                137,
+                Optional.empty(),
+                true,
+                Optional.of(new SetInstance(null, Map.of(), 0, Map.of())));
+        Assertions.assertEquals(expected, result);
+
+        // Crafted items show the top value of each stat, which the possible values are calculated from
+        StatType mainAttackDamage = statType("Main Attack Damage", "%");
+        Assertions.assertEquals(
+                Map.of(
+                        mainAttackDamage,
+                        new StatPossibleValues(mainAttackDamage, RangedValue.of(2, 18), 18, false)),
+                possibleValuesMap);
+    }
+
+    @Test
+    public void parseLoreLine_matchesPatternChain() {
+        List<String> corpus = createCorpus(new Random(2024), 2000);
+
+        for (String coded : corpus) {
+            String normalized = normalize(coded);
+
+            LoreLineParseResult result = WynnItemParser.parseLoreLine(coded, normalized);
+            Assertions.assertEquals(matchPatternChain(coded, normalized), describe(result), "Line " + coded);
+            Assertions.assertTrue(
+                    result == WynnItemParser.parseLoreLine(coded, normalized), "Line " + coded + " is not cached");
+        }
+    }
+
+    @Test
+    public void parseLoreLine_alignmentCharacters() {
+        // The attack speed is matched on the coded line, everything else on the normalized one
+        LoreLineParseResult attackSpeed = WynnItemParser.parseLoreLine("§7Fast Attack SpeedÀ", "§7Fast Attack Speed");
+        Assertions.assertNull(attackSpeed.pattern());
+        Assertions.assertEquals(
+                matchPatternChain("§7Fast Attack SpeedÀ", "§7Fast Attack Speed"), describe(attackSpeed));
+
+        LoreLineParseResult health = WynnItemParser.parseLoreLine("§4❤ Health: +20À", "§4❤ Health: +20");
+        Assertions.assertEquals(matchPatternChain("§4❤ Health: +20À", "§4❤ Health: +20"), describe(health));
+        Assertions.assertEquals("+20", health.match().group(1));
+    }
+
+    @Test
+    public void parseLoreLine_keepsRecentlyUsedLines() {
+        String requirement = "§a✔§7 Combat Lv. Min: 101";
+        String rolled = "§a+1234% §7Health Regen";
+        LoreLineParseResult requirementResult = WynnItemParser.parseLoreLine(requirement, requirement);
+        LoreLineParseResult rolledResult = WynnItemParser.parseLoreLine(rolled, rolled);
+
+        // More unique lines than the cache can hold, while the requirement line keeps being parsed
+        for (int i = 0; i < 40000; i++) {
+            String line = "§a+" + i + "/3s §7Life Steal";
+            WynnItemParser.parseLoreLine(line, line);
+
+            if (i % 1000 == 0) {
+                Assertions.assertSame(
+                        requirementResult,
+                        WynnItemParser.parseLoreLine(requirement, requirement),
+                        "Line " + requirement + " was evicted after " + i + " lines");
+            }
+        }
+
+        Assertions.assertNotSame(rolledResult, WynnItemParser.parseLoreLine(rolled, rolled));
+        Assertions.assertEquals(describe(rolledResult), describe(WynnItemParser.parseLoreLine(rolled, rolled)));
+    }
+
+    @Test
+    public void parseLoreLine_benchmark() {
+        List<String> corpus = createCorpus(new Random(7), 5000);
+        List<String> normalizedCorpus = corpus.stream().map(TestWynnItemParser::normalize).toList();
+        List<Pattern> patterns = LINE_PATTERNS.stream().map(TestWynnItemParser::getPattern).toList();
+
+        long chainStart = System.nanoTime();
+        int chainMatches = 0;
+        for (int i = 0; i < corpus.size(); i++) {
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(normalizedCorpus.get(i)).matches()) {
+                    chainMatches++;
+                    break;
+                }
+            }
+        }
+        long chainTime = System.nanoTime() - chainStart;
+
+        long parseStart = System.nanoTime();
+        int parseMatches = 0;
+        for (int i = 0; i < corpus.size(); i++) {
+            if (WynnItemParser.parseLoreLine(corpus.get(i), normalizedCorpus.get(i)).pattern() != null) {
+                parseMatches++;
+            }
+        }
+        long parseTime = System.nanoTime() - parseStart;
+
+        Assertions.assertEquals(
+                chainMatches,
+                parseMatches,
+                "Parsing " + corpus.size() + " lore lines: pattern chain took " + chainTime / 1_000_000
+                        + " ms, parseLoreLine took " + parseTime / 1_000_000 + " ms");
+    }
+
+    private static WynnItemParseResult parseLore(
+            Map<StatType, StatPossibleValues> possibleValuesMap, String... lore) {
+        return WynnItemParser.parseLore(
+                "Test Item",
+                Arrays.stream(lore).map(StyledText::fromString).toList(),
+                possibleValuesMap,
+                LOOKUP);
+    }
+
+    private static StatActualValue identification(String displayName, String unit, int value, int stars) {
+        return new StatActualValue(statType(displayName, unit), value, stars, RangedValue.NONE);
+    }
+
+    private static StatType statType(String displayName, String unit) {
+        StatType statType = STATS.fromDisplayName(displayName, unit);
+        Assertions.assertNotNull(statType, "Unknown stat " + displayName + unit);
+        return statType;
+    }
+
+    // Captured lore lines, and generated lines with rolled values, in item order
+    private static List<String> createCorpus(Random random, int items) {
+        List<String> corpus = new ArrayList<>(CAPTURED_LORE);
+
+        for (int i = 0; i < items; i++) {
+            corpus.add(random.nextBoolean() ? "§bLegendary Item" : "§dRare Item [" + random.nextInt(5) + "]");
+            corpus.add("§7Fast Attack Speed");
+            corpus.add("");
+            int minDamage = random.nextInt(200);
+            corpus.add("§6✣ Neutral Damage: " + minDamage + "-" + (minDamage + random.nextInt(100)));
+            corpus.add("§4❤ Health: +" + random.nextInt(3000));
+            corpus.add("");
+            corpus.add((random.nextBoolean() ? "§a✔" : "§c✖") + "§7 Combat Lv. Min: " + (1 + random.nextInt(106)));
+            corpus.add("§a✔§7 " + SKILLS[random.nextInt(SKILLS.length)] + " Min: " + random.nextInt(120));
+            corpus.add("");
+            for (int stat = 0; stat < 4 + random.nextInt(6); stat++) {
+                boolean positive = random.nextInt(4) != 0;
+                int stars = positive ? random.nextInt(4) : 0;
+                corpus.add((positive ? "§a+" : "§c-") + (1 + random.nextInt(40)) + "%"
+                        + (stars > 0 ? "§2" + "*".repeat(stars) : "")
+                        + " §7" + STAT_NAMES[random.nextInt(STAT_NAMES.length)]);
+            }
+            corpus.add("");
+            corpus.add("§7[0/" + (1 + random.nextInt(3)) + "] Powder Slots");
+        }
+
+        return corpus;
+    }
+
+    private static String normalize(String coded) {
+        return coded.replace("ÀÀÀ", " ").replace("À", "");
+    }
+
+    private static String matchPatternChain(String coded, String normalized) {
+        List<String> description = new ArrayList<>();
+        description.add(describe(
+                "SET_BONUS_IDENTIFICATION_PATTERN", getPattern("SET_BONUS_IDENTIFICATION_PATTERN").matcher(normalized)));
+
+        for (String patternName : LINE_PATTERNS) {
+            String line = CODED_LINE_PATTERNS.contains(patternName) ? coded : normalized;
+            Matcher matcher = getPattern(patternName).matcher(line);
+            if (matcher.matches()) {
+                description.add(describe(patternName, matcher));
+                return String.join(" ", description);
+            }
+        }
+
+        description.add(describe("EFFECT_LINE_PATTERN", getPattern("EFFECT_LINE_PATTERN").matcher(normalized)));
+        description.add(describe(
+                "IDENTIFICATION_STAT_PATTERN", getPattern("IDENTIFICATION_STAT_PATTERN").matcher(normalized)));
+        description.add(describe("SHINY_STAT_PATTERN", getPattern("SHINY_STAT_PATTERN").matcher(normalized)));
+        return String.join(" ", description);
+    }
+
+    private static String describe(LoreLineParseResult result) {
+        List<String> description = new ArrayList<>();
+        description.add(describe("SET_BONUS_IDENTIFICATION_PATTERN", result.setBonusStatMatch()));
+
+        if (result.pattern() != null) {
+            String patternName = LINE_PATTERNS.stream()
+                    .filter(name -> getPattern(name) == result.pattern())
+                    .findFirst()
+                    .orElseThrow();
+            description.add(describe(patternName, result.match()));
+            return String.join(" ", description);
+        }
+
+        description.add(describe("EFFECT_LINE_PATTERN", result.effectMatch()));
+        description.add(describe("IDENTIFICATION_STAT_PATTERN", result.statMatch()));
+        description.add(describe("SHINY_STAT_PATTERN", result.shinyStatMatch()));
+        return String.join(" ", description);
+    }
+
+    private static String describe(String patternName, Matcher matcher) {
+        return describe(patternName, matcher.matches() ? matcher.toMatchResult() : null);
+    }
+
+    private static String describe(String patternName, MatchResult match) {
+        if (match == null) return patternName + "[]";
+
+        List<String> groups = new ArrayList<>();
+        for (int i = 0; i <= match.groupCount(); i++) {
+            groups.add(String.valueOf(match.group(i)));
+        }
+        return patternName + groups;
+    }
+
+    private static Pattern getPattern(String fieldName) {
+        try {
+            Field field = WynnItemParser.class.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return (Pattern) field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}